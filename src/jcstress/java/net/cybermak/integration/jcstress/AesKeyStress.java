@@ -0,0 +1,41 @@
+package net.cybermak.integration.jcstress;
+
+import net.cybermak.integration.api.utility.AES;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Two threads encrypt with different secrets. AES derives the key into static
+ * fields before using it, so one thread can encrypt with the other's key;
+ * a rewrite that keeps the key per call must only ever produce "true, true".
+ */
+@JCStressTest
+@Description("AES.encrypt with different secrets on two threads")
+@Outcome(id = "true, true", expect = ACCEPTABLE, desc = "Each thread encrypted with its own secret")
+@Outcome(expect = FORBIDDEN, desc = "A thread encrypted with the other thread's secret")
+@State
+public class AesKeyStress {
+
+    private static final String PLAIN_TEXT = "itsmAppTest";
+    private static final String ALPHA = "alpha-secret";
+    private static final String BETA = "beta-secret";
+    private static final String ALPHA_CIPHER_TEXT = AES.encrypt(PLAIN_TEXT, ALPHA);
+    private static final String BETA_CIPHER_TEXT = AES.encrypt(PLAIN_TEXT, BETA);
+
+    @Actor
+    public void alpha(ZZ_Result r) {
+        r.r1 = ALPHA_CIPHER_TEXT.equals(AES.encrypt(PLAIN_TEXT, ALPHA));
+    }
+
+    @Actor
+    public void beta(ZZ_Result r) {
+        r.r2 = BETA_CIPHER_TEXT.equals(AES.encrypt(PLAIN_TEXT, BETA));
+    }
+}
@@ -0,0 +1,91 @@
+package net.cybermak.integration.jcstress;
+
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
+import net.cybermak.integration.api.service.CreateIncidentService;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.PooledFormHandler;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import net.cybermak.integration.remedy.limit.ConcurrencyLimitedFormHandler;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.LL_Result;
+
+import java.util.Map;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Two threads create incidents through the singleton CreateIncidentService.
+ * Connection settings and the Remedy user must stay per call, and a pooled
+ * connection is leased to one thread at a time, so each thread gets back the
+ * incident created from its own alert.
+ */
+@JCStressTest
+@Description("CreateIncidentService.createIncident on two threads")
+@Outcome(id = "CPU, Disk", expect = ACCEPTABLE, desc = "Each thread created its own incident")
+@Outcome(expect = FORBIDDEN, desc = "A thread got the other thread's incident or connection settings")
+@State
+public class CreateIncidentServiceStress {
+
+    // Shared like the Spring singleton; the state under test is what it keeps between calls
+    private static final CreateIncidentService SERVICE = service();
+
+    private final IncidentEntry cpu = alert("CPU");
+    private final IncidentEntry disk = alert("Disk");
+
+    @Actor
+    public void cpu(LL_Result r) {
+        r.r1 = SERVICE.createIncident(cpu);
+    }
+
+    @Actor
+    public void disk(LL_Result r) {
+        r.r2 = SERVICE.createIncident(disk);
+    }
+
+    private static IncidentEntry alert(String alertName) {
+        return IncidentEntry.fromData(Map.of("sourceOfCreation", "SCOM", "alertName", alertName,
+            "severity", "1-Critical"));
+    }
+
+    private static CreateIncidentService service() {
+        RemedyConnectionProperties connectionProperties = new RemedyConnectionProperties();
+        RemedyConnectionProperties.ServerConfig server = new RemedyConnectionProperties.ServerConfig();
+        server.setName("remedy");
+        server.setUsername("demo");
+        server.setPassword("demo");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RemedyConnectionManager connectionManager = new RemedyConnectionManager(connectionProperties, meterRegistry,
+            EchoServerUser::new);
+        return new CreateIncidentService(new ConcurrencyLimitedFormHandler(
+            new PooledFormHandler(connectionManager, () -> server),
+            new AdaptiveConcurrencyLimiter(connectionProperties, meterRegistry)));
+    }
+
+    /**
+     * Remedy user that answers createEntry with the alert name, and only when
+     * it was logged in with the configured settings
+     */
+    private static final class EchoServerUser extends ARServerUser {
+
+        @Override
+        public void verifyUser() {
+        }
+
+        @Override
+        public String createEntry(String formName, Entry entry) {
+            if (!"remedy".equals(getServer()) || !"demo".equals(getUser())) {
+                return "settings:" + getServer() + "/" + getUser();
+            }
+            return String.valueOf(entry.get(IncidentEntry.ALERT_NAME_FIELD).getValue());
+        }
+    }
+}
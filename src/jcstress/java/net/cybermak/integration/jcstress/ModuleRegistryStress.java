@@ -0,0 +1,92 @@
+package net.cybermak.integration.jcstress;
+
+import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.ModuleRegistry;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+import org.openjdk.jcstress.infra.results.ZZZ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * ModuleRegistry.registerModule under concurrent registration
+ */
+public class ModuleRegistryStress {
+
+    /**
+     * Two threads register the same module type: exactly one wins, and the
+     * registry holds the winner's module
+     */
+    @JCStressTest
+    @Description("registerModule with the same type on two threads")
+    @Outcome(id = {"true, false, true", "false, true, true"}, expect = ACCEPTABLE,
+        desc = "One registration won and its module is registered")
+    @Outcome(id = "true, true, .*", expect = FORBIDDEN, desc = "Both registrations succeeded, one was lost")
+    @Outcome(expect = FORBIDDEN, desc = "No registration won, or the loser's module is registered")
+    @State
+    public static class SameType {
+
+        private final ModuleRegistry registry = new ModuleRegistry();
+        private final Module first = new StressModule("incident");
+        private final Module second = new StressModule("incident");
+
+        @Actor
+        public void first(ZZZ_Result r) {
+            r.r1 = register(registry, first);
+        }
+
+        @Actor
+        public void second(ZZZ_Result r) {
+            r.r2 = register(registry, second);
+        }
+
+        @Arbiter
+        public void arbiter(ZZZ_Result r) {
+            Module winner = r.r1 ? first : second;
+            r.r3 = registry.getModule("incident").orElse(null) == winner;
+        }
+    }
+
+    /**
+     * Two threads register different module types: neither registration is lost
+     */
+    @JCStressTest
+    @Description("registerModule with different types on two threads")
+    @Outcome(id = "2", expect = ACCEPTABLE, desc = "Both modules registered")
+    @Outcome(expect = FORBIDDEN, desc = "A registration was lost")
+    @State
+    public static class DifferentTypes {
+
+        private final ModuleRegistry registry = new ModuleRegistry();
+
+        @Actor
+        public void incident() {
+            registry.registerModule(new StressModule("incident"));
+        }
+
+        @Actor
+        public void change() {
+            registry.registerModule(new StressModule("change"));
+        }
+
+        @Arbiter
+        public void arbiter(I_Result r) {
+            r.r1 = registry.getModuleCount();
+        }
+    }
+
+    private static boolean register(ModuleRegistry registry, Module module) {
+        try {
+            registry.registerModule(module);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+}
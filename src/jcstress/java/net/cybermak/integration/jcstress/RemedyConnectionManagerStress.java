@@ -0,0 +1,98 @@
+package net.cybermak.integration.jcstress;
+
+import com.bmc.arsys.api.ARServerUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.RemedyConnection;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * RemedyConnectionManager pooling under concurrent borrow and close
+ */
+public class RemedyConnectionManagerStress {
+
+    /**
+     * Two threads borrow at once: leases are exclusive, so each gets its own
+     * connected connection
+     */
+    @JCStressTest
+    @Description("getConnection on two threads with an empty pool")
+    @Outcome(id = "true, true", expect = ACCEPTABLE, desc = "Two leased connections, both connected")
+    @Outcome(expect = FORBIDDEN, desc = "One connection leased twice, or one was seen before it connected")
+    @State
+    public static class ConcurrentBorrow {
+
+        private final RemedyConnectionManager manager = newManager(2);
+        private RemedyConnection first;
+        private RemedyConnection second;
+
+        @Actor
+        public void first() {
+            first = manager.getConnection();
+        }
+
+        @Actor
+        public void second() {
+            second = manager.getConnection();
+        }
+
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            r.r1 = first != second;
+            r.r2 = first.isConnected() && second.isConnected();
+        }
+    }
+
+    /**
+     * One thread borrows from a full pool of one while the holder of its only
+     * connection closes it. Leases are exclusive, so the borrower waits for
+     * the close and opens a new connection; it is never handed the closed one.
+     */
+    @JCStressTest
+    @Description("getConnection while the only leased connection is closed")
+    @Outcome(id = "false, true", expect = ACCEPTABLE, desc = "Borrowed a new connection after the close")
+    @Outcome(expect = FORBIDDEN, desc = "Borrowed the leased connection, or one closed under the borrower")
+    @State
+    public static class BorrowDuringClose {
+
+        private final RemedyConnectionManager manager = newManager(1);
+        private final RemedyConnection pooled = manager.getConnection();
+        private RemedyConnection borrowed;
+
+        @Actor
+        public void borrow() {
+            borrowed = manager.getConnection();
+        }
+
+        @Actor
+        public void close() {
+            manager.closeConnection(pooled);
+        }
+
+        @Arbiter
+        public void arbiter(ZZ_Result r) {
+            r.r1 = borrowed == pooled;
+            r.r2 = borrowed.isConnected();
+        }
+    }
+
+    private static RemedyConnectionManager newManager(int maxSize) {
+        RemedyConnectionProperties properties = new RemedyConnectionProperties();
+        properties.getConnection().getPool().setMaxSize(maxSize);
+        return new RemedyConnectionManager(properties, new SimpleMeterRegistry(), () -> new ARServerUser() {
+            @Override
+            public void verifyUser() {
+            }
+        });
+    }
+}
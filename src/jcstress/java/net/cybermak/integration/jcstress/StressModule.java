@@ -0,0 +1,40 @@
+package net.cybermak.integration.jcstress;
+
+import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.ValidationResult;
+
+import java.util.Map;
+
+/**
+ * Module that only has a type, for registry stress tests
+ */
+class StressModule implements Module {
+
+    private final String moduleType;
+
+    StressModule(String moduleType) {
+        this.moduleType = moduleType;
+    }
+
+    @Override
+    public String getModuleType() {
+        return moduleType;
+    }
+
+    @Override
+    public ValidationResult validate(GenericRequest request) {
+        return ValidationResult.valid();
+    }
+
+    @Override
+    public GenericResponse process(GenericRequest request) {
+        return GenericResponse.builder().status("SUCCESS").data(Map.of()).build();
+    }
+
+    @Override
+    public Map<String, String> getFieldMappings() {
+        return Map.of();
+    }
+}
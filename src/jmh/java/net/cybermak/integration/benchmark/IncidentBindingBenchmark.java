@@ -0,0 +1,114 @@
+package net.cybermak.integration.benchmark;
+
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.cybermak.integration.api.model.requests.IncidentDetails;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding a legacy createIncident alert into the staging form entry
+ * through {@link IncidentDetails} with streaming it straight into an
+ * {@link IncidentEntry}, for both the JSON body and the module bridge map.
+ * Run with the gc profiler (enabled by the benchmark profile) to compare
+ * allocated bytes per alert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IncidentBindingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        body = ("{\"sourceOfCreation\":\"SCOM\",\"alertName\":\"CPU above threshold\","
+            + "\"alertDescription\":\"CPU usage above 95% for 10 minutes on app-server-01\","
+            + "\"severity\":\"1-Critical\",\"alertLimitCategory\":\"Performance\","
+            + "\"add1\":\"app-server-01\",\"add2\":\"production\",\"key\":\"10\"}")
+            .getBytes(StandardCharsets.UTF_8);
+        data = Map.of(
+            "sourceOfCreation", "SCOM",
+            "alertName", "CPU above threshold",
+            "alertDescription", "CPU usage above 95% for 10 minutes on app-server-01",
+            "severity", "1-Critical",
+            "alertLimitCategory", "Performance",
+            "add1", "app-server-01",
+            "add2", "production"
+        );
+    }
+
+    @Benchmark
+    public Entry bodyViaIncidentDetails() throws IOException {
+        IncidentDetails details = objectMapper.readValue(body, IncidentDetails.class);
+        String logged = details.toString();
+        return logged.isEmpty() ? null : toEntry(details);
+    }
+
+    @Benchmark
+    public Entry bodyStreamed() throws IOException {
+        IncidentEntry incident = objectMapper.readValue(body, IncidentEntry.class);
+        String logged = incident.toString();
+        return logged.isEmpty() ? null : incident.getEntry();
+    }
+
+    @Benchmark
+    public Entry bridgeViaIncidentDetails() {
+        IncidentDetails details = new IncidentDetails();
+        details.setSourceOfCreation(getString(data, "sourceOfCreation"));
+        details.setAlertName(getString(data, "alertName"));
+        details.setAlertDescription(getString(data, "alertDescription"));
+        details.setSeverity(getString(data, "severity"));
+        details.setAlertLimitCategory(getString(data, "alertLimitCategory"));
+        details.setAdd1(getString(data, "add1"));
+        details.setAdd2(getString(data, "add2"));
+        details.setKey(getString(data, "key"));
+        return toEntry(details);
+    }
+
+    @Benchmark
+    public Entry bridgeDirect() {
+        return IncidentEntry.fromData(data).getEntry();
+    }
+
+    /**
+     * The mapping CreateIncidentService used before alerts were bound directly
+     */
+    private static Entry toEntry(IncidentDetails details) {
+        Entry coreValues = new Entry();
+        coreValues.put(Integer.valueOf(536870943), new Value(details.getSourceOfCreation()));
+        coreValues.put(Integer.valueOf(536870913), new Value(details.getAlertName()));
+        coreValues.put(Integer.valueOf(536870914), new Value(details.getAlertDescription()));
+        coreValues.put(Integer.valueOf(536870915), new Value(details.getSeverity()));
+        coreValues.put(Integer.valueOf(536870916), new Value(details.getAlertLimitCategory()));
+        coreValues.put(Integer.valueOf(536870917), new Value(details.getAdd1()));
+        coreValues.put(Integer.valueOf(536870918), new Value(details.getAdd2()));
+        return coreValues;
+    }
+
+    private static String getString(Map<String, Object> data, String key) {
+        Object value = data.get(key);
+        return value != null ? value.toString() : "";
+    }
+}
\ No newline at end of file
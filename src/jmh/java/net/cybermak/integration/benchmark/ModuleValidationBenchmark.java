@@ -0,0 +1,123 @@
+package net.cybermak.integration.benchmark;
+
+import net.cybermak.integration.api.bridge.IncidentModuleBridge;
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.ValidationResult;
+import net.cybermak.integration.modules.incident.IncidentModule;
+import net.cybermak.integration.remedy.form.FormHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of module validation on the valid and invalid paths,
+ * and of processing a request that was already validated upstream.
+ * Run with the gc profiler (enabled by the benchmark profile) to compare
+ * allocated bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModuleValidationBenchmark {
+
+    private IncidentModule incidentModule;
+    private IncidentModuleBridge incidentModuleBridge;
+    private GenericRequest validCreate;
+    private GenericRequest invalidCreate;
+    private GenericRequest validatedCreate;
+    private GenericRequest bridgeCreate;
+
+    @Setup
+    public void setUp() {
+        incidentModule = new IncidentModule(new NoOpFormHandler());
+        incidentModuleBridge = new IncidentModuleBridge(null, null);
+
+        Map<String, Object> incident = Map.of(
+            "summary", "CPU above threshold",
+            "description", "CPU usage above 95% for 10 minutes",
+            "priority", "High",
+            "submitter", "monitoring"
+        );
+        validCreate = request("incident", incident, false);
+        validatedCreate = request("incident", incident, true);
+        invalidCreate = request("incident", Map.of("summary", "CPU above threshold", "priority", "Urgent"), false);
+        bridgeCreate = request("incident", Map.of(
+            "alertName", "CPU",
+            "alertDescription", "CPU usage above 95%",
+            "severity", "Critical",
+            "sourceOfCreation", "SCOM"
+        ), false);
+    }
+
+    @Benchmark
+    public ValidationResult validateValid() {
+        return incidentModule.validate(validCreate);
+    }
+
+    @Benchmark
+    public ValidationResult validateInvalid() {
+        return incidentModule.validate(invalidCreate);
+    }
+
+    @Benchmark
+    public ValidationResult validateBridge() {
+        return incidentModuleBridge.validate(bridgeCreate);
+    }
+
+    @Benchmark
+    public GenericResponse processUnvalidated() {
+        return incidentModule.process(validCreate);
+    }
+
+    @Benchmark
+    public GenericResponse processPreValidated() {
+        return incidentModule.process(validatedCreate);
+    }
+
+    private static GenericRequest request(String moduleType, Map<String, Object> data, boolean validated) {
+        return GenericRequest.builder()
+            .moduleType(moduleType)
+            .operation("create")
+            .data(data)
+            .validated(validated)
+            .build();
+    }
+
+    /**
+     * Form handler without side effects so only module work is measured
+     */
+    private static final class NoOpFormHandler implements FormHandler {
+
+        @Override
+        public String createEntry(String formName, Map<String, Object> fields) {
+            return "INC000000000001";
+        }
+
+        @Override
+        public Map<String, Object> getEntry(String formName, String entryId) {
+            return Map.of();
+        }
+
+        @Override
+        public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+        }
+
+        @Override
+        public void deleteEntry(String formName, String entryId) {
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package net.cybermak.integration.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import net.cybermak.integration.api.controller.GenericIntegrationController;
+import net.cybermak.integration.api.logging.PayloadLogger;
+import net.cybermak.integration.api.service.modern.ModuleService;
+import net.cybermak.integration.config.AsyncProperties;
+import net.cybermak.integration.config.PayloadLoggingProperties;
+import net.cybermak.integration.core.CoarseClock;
+import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures GenericIntegrationController response throughput: handling a get
+ * and serializing the module response directly, with and without Blackbird,
+ * against the previous copy into a separate response type stamped with
+ * {@code LocalDateTime.now().toString()}. Also compares the two clocks alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private GenericIntegrationController controller;
+    private ObjectMapper reflectiveMapper;
+    private ObjectMapper blackbirdMapper;
+
+    @Setup
+    public void setUp() {
+        ModuleRegistry moduleRegistry = new ModuleRegistry();
+        moduleRegistry.registerModule(new FixedResponseModule());
+        // Run module work on the caller so only controller and serialization cost is measured
+        ModuleService moduleService = new ModuleService(moduleRegistry, Runnable::run,
+            new PayloadLogger(new PayloadLoggingProperties()));
+        controller = new GenericIntegrationController(moduleService, null, new AsyncProperties());
+
+        reflectiveMapper = new ObjectMapper();
+        blackbirdMapper = new ObjectMapper().registerModule(new BlackbirdModule());
+    }
+
+    @Benchmark
+    public byte[] getEntryReflective() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsBytes(getEntry());
+    }
+
+    @Benchmark
+    public byte[] getEntryBlackbird() throws JsonProcessingException {
+        return blackbirdMapper.writeValueAsBytes(getEntry());
+    }
+
+    @Benchmark
+    public byte[] getEntryCopiedReflective() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsBytes(new CopiedResponse(getEntry()));
+    }
+
+    @Benchmark
+    public String localDateTimeClock() {
+        return LocalDateTime.now().toString();
+    }
+
+    @Benchmark
+    public String coarseClock() {
+        return CoarseClock.now();
+    }
+
+    private GenericResponse getEntry() {
+        return controller.getEntry("bench", "INC000000000001", null).join().getBody();
+    }
+
+    /**
+     * The response copy the controller made before module responses were written directly
+     */
+    public static final class CopiedResponse {
+        private final String status;
+        private final Map<String, Object> data;
+        private final String message;
+        private final String timestamp;
+
+        CopiedResponse(GenericResponse response) {
+            this.status = response.getStatus();
+            this.data = response.getData();
+            this.message = response.getMessage();
+            this.timestamp = LocalDateTime.now().toString();
+        }
+
+        public String getStatus() { return status; }
+        public Map<String, Object> getData() { return data; }
+        public String getMessage() { return message; }
+        public String getTimestamp() { return timestamp; }
+    }
+
+    /**
+     * Module returning a typical get response without touching Remedy
+     */
+    private static final class FixedResponseModule implements Module {
+
+        @Override
+        public String getModuleType() {
+            return "bench";
+        }
+
+        @Override
+        public ValidationResult validate(GenericRequest request) {
+            return ValidationResult.valid();
+        }
+
+        @Override
+        public GenericResponse process(GenericRequest request) {
+            return GenericResponse.builder()
+                .status("SUCCESS")
+                .message("Incident retrieved successfully")
+                .data(Map.of(
+                    "incidentId", request.getData().get("id"),
+                    "status", "Active",
+                    "priority", "Medium",
+                    "description", "CPU usage above 95% for 10 minutes"
+                ))
+                .build();
+        }
+
+        @Override
+        public Map<String, String> getFieldMappings() {
+            return Map.of();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package net.cybermak.integration.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Stored p99 latency and throughput per scenario, with the regression each may take
+ * 
+ * Keys are {@code <scenario>.p99} in milliseconds and {@code <scenario>.throughput}
+ * in requests per second; {@code tolerance.p99} and {@code tolerance.throughput}
+ * are the allowed fractions of regression.
+ */
+public class LoadBaselines {
+
+    private final Path file;
+    private final Properties properties = new Properties();
+
+    private LoadBaselines(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads baselines; a missing file means no scenario has a baseline yet
+     */
+    public static LoadBaselines load(Path file) throws IOException {
+        LoadBaselines baselines = new LoadBaselines(file);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                baselines.properties.load(in);
+            }
+        }
+        return baselines;
+    }
+
+    /**
+     * Compares a result with its scenario's baseline
+     * @param result scenario result
+     * @return regressions past the tolerance, empty if none or no baseline is stored
+     */
+    public List<String> regressions(LoadResult result) {
+        List<String> regressions = new ArrayList<>();
+        String p99 = properties.getProperty(result.getScenario() + ".p99");
+        if (p99 != null) {
+            double limit = Double.parseDouble(p99) * (1 + tolerance("p99"));
+            if (result.getP99Millis() > limit) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.1f ms exceeds baseline %s ms by more than %.0f%%",
+                    result.getScenario(), result.getP99Millis(), p99, tolerance("p99") * 100));
+            }
+        }
+        String throughput = properties.getProperty(result.getScenario() + ".throughput");
+        if (throughput != null) {
+            double limit = Double.parseDouble(throughput) * (1 - tolerance("throughput"));
+            if (result.getThroughput() < limit) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.1f req/s is below baseline %s req/s by more than %.0f%%",
+                    result.getScenario(), result.getThroughput(), throughput, tolerance("throughput") * 100));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Stores a result as its scenario's new baseline
+     */
+    public void update(LoadResult result) {
+        properties.setProperty(result.getScenario() + ".p99", String.format(Locale.ROOT, "%.1f", result.getP99Millis()));
+        properties.setProperty(result.getScenario() + ".throughput", String.format(Locale.ROOT, "%.1f", result.getThroughput()));
+    }
+
+    public void save() throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "Load test baselines; refresh with -Dloadtest.update-baselines=true");
+        }
+    }
+
+    private double tolerance(String metric) {
+        return Double.parseDouble(properties.getProperty("tolerance." + metric, "0.2"));
+    }
+}
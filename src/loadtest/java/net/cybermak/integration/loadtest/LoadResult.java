@@ -0,0 +1,75 @@
+package net.cybermak.integration.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one scenario run; latencies are recorded in microseconds
+ */
+public class LoadResult {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String scenario;
+    private final Histogram histogram;
+    private final long requests;
+    private final long errors;
+    private final long elapsedNanos;
+
+    public LoadResult(String scenario, Histogram histogram, long requests, long errors, long elapsedNanos) {
+        this.scenario = scenario;
+        this.histogram = histogram;
+        this.requests = requests;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getScenario() { return scenario; }
+    public long getRequests() { return requests; }
+    public long getErrors() { return errors; }
+
+    public double getP99Millis() {
+        return histogram.getValueAtPercentile(99.0) / MICROS_PER_MILLI;
+    }
+
+    public double getP50Millis() {
+        return histogram.getValueAtPercentile(50.0) / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Successful requests per second, up to the last response
+     */
+    public double getThroughput() {
+        return (requests - errors) / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public double getErrorRate() {
+        return requests == 0 ? 0.0 : errors / (double) requests;
+    }
+
+    /**
+     * Writes the percentile distribution in HdrHistogram's .hgrm format, in milliseconds
+     * @param directory directory to write {@code <scenario>.hgrm} to
+     * @return written file
+     */
+    public Path writeHistogram(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %d requests, %d errors, %.1f req/s, p50 %.1f ms, p99 %.1f ms",
+            scenario, requests, errors, getThroughput(), getP50Millis(), getP99Millis());
+    }
+}
@@ -0,0 +1,42 @@
+package net.cybermak.integration.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * One endpoint driven at a fixed request rate
+ */
+public class LoadScenario {
+
+    private final String name;
+    private final double ratePerSecond;
+    private final Supplier<HttpRequest> requests;
+    private final Predicate<HttpResponse<String>> success;
+
+    /**
+     * @param name scenario name, used as the baseline key
+     * @param ratePerSecond requests started per second
+     * @param requests creates the next request to send
+     * @param success whether a response counts as successful
+     */
+    public LoadScenario(String name, double ratePerSecond, Supplier<HttpRequest> requests,
+                        Predicate<HttpResponse<String>> success) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.requests = requests;
+        this.success = success;
+    }
+
+    public String getName() { return name; }
+    public double getRatePerSecond() { return ratePerSecond; }
+
+    HttpRequest nextRequest() {
+        return requests.get();
+    }
+
+    boolean isSuccess(HttpResponse<String> response) {
+        return success.test(response);
+    }
+}
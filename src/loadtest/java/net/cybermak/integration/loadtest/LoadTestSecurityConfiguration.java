@@ -0,0 +1,24 @@
+package net.cybermak.integration.loadtest;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Lets the load generator authenticate with HTTP Basic on every request
+ * CSRF tokens protect browser sessions and would otherwise reject its POSTs.
+ */
+@TestConfiguration
+public class LoadTestSecurityConfiguration {
+
+    @Bean
+    public SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(requests -> requests.anyRequest().authenticated())
+            .httpBasic(Customizer.withDefaults())
+            .build();
+    }
+}
@@ -0,0 +1,75 @@
+package net.cybermak.integration.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a fixed schedule regardless of how fast responses come back
+ * 
+ * Latency is measured from when each request was due rather than when it was
+ * sent, so a stalled server shows up in the histogram instead of silently
+ * lowering the offered load (coordinated omission).
+ */
+public class OpenLoopLoadGenerator {
+
+    // Requests still running this long after the last one was sent count as errors
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+
+    public OpenLoopLoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Drives a scenario at its rate for the given duration
+     * @param scenario scenario to run
+     * @param duration how long to keep sending
+     * @return latency histogram and counts
+     */
+    public LoadResult run(LoadScenario scenario, Duration duration) {
+        ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        AtomicLong errors = new AtomicLong();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.getRatePerSecond());
+        long count = Math.max(1L, duration.toNanos() / intervalNanos);
+        List<CompletableFuture<?>> inFlight = new ArrayList<>((int) count);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < count; i++) {
+            long intended = start + i * intervalNanos;
+            long waitNanos = intended - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            inFlight.add(client.sendAsync(scenario.nextRequest(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                    if (failure != null || !scenario.isSuccess(response)) {
+                        errors.incrementAndGet();
+                    }
+                    return null;
+                }));
+        }
+
+        long timedOut = 0;
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        for (CompletableFuture<?> request : inFlight) {
+            try {
+                request.get(Math.max(0L, drainDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                timedOut++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new LoadResult(scenario.getName(), histogram, count, errors.get() + timedOut, elapsedNanos);
+    }
+}
@@ -0,0 +1,172 @@
+package net.cybermak.integration.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test: drives the legacy and module APIs at configured rates against the
+ * local Remedy stand-in and fails when p99 latency or throughput regresses past
+ * the stored baselines. Run with {@code mvn -P loadtest test}; rates and
+ * durations are overridden with -Dloadtest.* system properties.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(LoadTestSecurityConfiguration.class)
+class RemedyLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemedyLoadTest.class);
+
+    private static final String ALERT = "{\"sourceOfCreation\":\"SCOM\",\"alertName\":\"CPU above threshold\","
+        + "\"alertDescription\":\"CPU usage above 95%% for 10 minutes on app-server-%d\",\"severity\":\"3-Moderate\","
+        + "\"alertLimitCategory\":\"Performance\",\"add1\":\"app-server-%d\",\"add2\":\"production\",\"key\":\"%s\"}";
+    private static final String INCIDENT = "{\"summary\":\"CPU above threshold\","
+        + "\"description\":\"CPU usage above 95%% on app-server-%d\",\"priority\":\"Medium\","
+        + "\"submitter\":\"loadtest@example.com\"}";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.security.user.name}:${spring.security.user.password}")
+    private String credentials;
+
+    @Value("${security.api-key.legacy-key}")
+    private String legacyKey;
+
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration}")
+    private Duration duration;
+
+    @Value("${loadtest.rate.create-incident}")
+    private double createIncidentRate;
+
+    @Value("${loadtest.rate.module-create}")
+    private double moduleCreateRate;
+
+    @Value("${loadtest.rate.module-get}")
+    private double moduleGetRate;
+
+    @Value("${loadtest.max-error-rate}")
+    private double maxErrorRate;
+
+    @Value("${loadtest.baselines}")
+    private Path baselinesFile;
+
+    @Value("${loadtest.report-directory}")
+    private Path reportDirectory;
+
+    @Value("${loadtest.update-baselines}")
+    private boolean updateBaselines;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final AtomicLong sequence = new AtomicLong();
+    private OpenLoopLoadGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new OpenLoopLoadGenerator(client);
+    }
+
+    @Test
+    void legacyCreateIncidentMeetsBaseline() throws Exception {
+        LoadScenario scenario = new LoadScenario("createIncident", createIncidentRate,
+            () -> post("/api/remedyITSM/createIncident", String.format(ALERT, next(), next(), legacyKey)),
+            response -> response.statusCode() == 200 && response.body().contains("Success"));
+
+        assertMeetsBaseline(scenario);
+    }
+
+    @Test
+    void moduleCreateMeetsBaseline() throws Exception {
+        LoadScenario scenario = new LoadScenario("moduleCreate", moduleCreateRate,
+            () -> post("/api/v1/integration/incident", String.format(INCIDENT, next())),
+            response -> response.statusCode() == 201);
+
+        assertMeetsBaseline(scenario);
+    }
+
+    @Test
+    void moduleGetMeetsBaseline() throws Exception {
+        List<String> incidentIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            HttpResponse<String> created = client.send(post("/api/v1/integration/incident",
+                String.format(INCIDENT, i)), HttpResponse.BodyHandlers.ofString());
+            JsonNode body = objectMapper.readTree(created.body());
+            incidentIds.add(body.path("data").path("incidentId").asText());
+        }
+        LoadScenario scenario = new LoadScenario("moduleGet", moduleGetRate,
+            () -> get("/api/v1/integration/incident/" + incidentIds.get((int) (next() % incidentIds.size()))),
+            response -> response.statusCode() == 200);
+
+        assertMeetsBaseline(scenario);
+    }
+
+    private void assertMeetsBaseline(LoadScenario scenario) throws Exception {
+        generator.run(scenario, warmup);
+        LoadResult result = generator.run(scenario, duration);
+        result.writeHistogram(reportDirectory);
+        logger.info("{}", result);
+
+        assertThat(result.getErrorRate())
+            .as("%s error rate", scenario.getName())
+            .isLessThanOrEqualTo(maxErrorRate);
+
+        LoadBaselines baselines = LoadBaselines.load(baselinesFile);
+        if (updateBaselines) {
+            baselines.update(result);
+            baselines.save();
+            return;
+        }
+        assertThat(baselines.regressions(result)).isEmpty();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Authorization", "Basic "
+                + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private long next() {
+        return sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,116 @@
+package net.cybermak.integration.api.actuator;
+
+import net.cybermak.integration.config.FaultInjectionProperties;
+import net.cybermak.integration.remedy.fault.FaultInjector;
+import net.cybermak.integration.remedy.fault.FaultRule;
+import net.cybermak.integration.remedy.fault.FaultType;
+import net.cybermak.integration.remedy.fault.FormOperation;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Actuator endpoint injecting faults into Remedy form calls
+ * 
+ * GET /actuator/faults lists the active rules and how many faults were
+ * injected, POST adds a rule (type latency, timeout, exception or slow-drain,
+ * optionally limited to one form and operation), DELETE /actuator/faults/{id}
+ * removes a rule and DELETE /actuator/faults removes them all. Only present
+ * when remedy.fault-injection.enabled is set, and only reachable over HTTP in
+ * profiles that expose it (dev does).
+ */
+@Component
+@Endpoint(id = "faults")
+@ConditionalOnProperty(prefix = "remedy.fault-injection", name = "enabled", havingValue = "true")
+public class FaultInjectionEndpoint {
+    
+    private final FaultInjector faultInjector;
+    private final FaultInjectionProperties properties;
+    
+    public FaultInjectionEndpoint(FaultInjector faultInjector, FaultInjectionProperties properties) {
+        this.faultInjector = faultInjector;
+        this.properties = properties;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> faults() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("rules", faultInjector.getRules().stream().map(FaultInjectionEndpoint::describe).toList());
+        status.put("injected", faultInjector.getInjectedCounts());
+        return status;
+    }
+    
+    /**
+     * Adds a fault rule
+     * @param type latency, timeout, exception or slow-drain
+     * @param form form name to target, all forms if omitted
+     * @param operation create, get, update or delete, all operations if omitted
+     * @param delay milliseconds of delay, at most remedy.fault-injection.max-delay
+     * @param probability chance in [0, 1] that a matching call is hit, 1 if omitted
+     * @param duration milliseconds the rule stays active, remedy.fault-injection.default-duration if omitted
+     * @return the added rule
+     */
+    @WriteOperation
+    public Map<String, Object> addFault(String type, @Nullable String form, @Nullable String operation,
+                                        @Nullable Long delay, @Nullable Double probability,
+                                        @Nullable Long duration) {
+        FaultType faultType = parse(type, "type", FaultType::fromName);
+        FormOperation formOperation = operation != null ? parse(operation, "operation", FormOperation::fromName) : null;
+        long delayMillis = delay != null ? delay : 0L;
+        if (delayMillis < 0 || delayMillis > properties.getMaxDelay()) {
+            throw new InvalidEndpointRequestException("delay must be between 0 and " + properties.getMaxDelay() + " ms",
+                "Invalid delay");
+        }
+        double chance = probability != null ? probability : 1.0;
+        if (chance < 0.0 || chance > 1.0) {
+            throw new InvalidEndpointRequestException("probability must be between 0 and 1", "Invalid probability");
+        }
+        long durationMillis = duration != null && duration > 0 ? duration : properties.getDefaultDuration();
+        
+        return describe(faultInjector.addRule(faultType, form, formOperation, delayMillis, chance, durationMillis));
+    }
+    
+    @DeleteOperation
+    public Map<String, Object> removeFault(@Selector long id) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("removed", faultInjector.removeRule(id));
+        return result;
+    }
+    
+    @DeleteOperation
+    public Map<String, Object> clearFaults() {
+        faultInjector.clear();
+        return faults();
+    }
+    
+    private static <T> T parse(String value, String parameter, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException("Unknown " + parameter + ": " + value, "Invalid " + parameter, e);
+        }
+    }
+    
+    private static Map<String, Object> describe(FaultRule rule) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", rule.getId());
+        description.put("type", rule.getType().name());
+        description.put("form", rule.getFormName() != null ? rule.getFormName() : "*");
+        description.put("operation", rule.getOperation() != null ? rule.getOperation().name() : "*");
+        description.put("delay", rule.getDelayMillis());
+        description.put("probability", rule.getProbability());
+        description.put("expiresAt", rule.getExpiresAtMillis() > 0 ? rule.getExpiresAtMillis() : null);
+        return description;
+    }
+}
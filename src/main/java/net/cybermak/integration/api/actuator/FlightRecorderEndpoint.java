@@ -0,0 +1,154 @@
+package net.cybermak.integration.api.actuator;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import net.cybermak.integration.config.FlightRecorderProperties;
+import net.cybermak.integration.core.jfr.ModuleDispatchEvent;
+import net.cybermak.integration.core.jfr.RemedyCallEvent;
+import net.cybermak.integration.core.jfr.RemedyPoolEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint starting and stopping a JDK Flight Recorder recording
+ * 
+ * GET /actuator/jfr shows the current recording, POST starts one with the
+ * integration events enabled on top of a JDK settings file ("default" or
+ * "profile"), and DELETE stops it. The recording is written to the configured
+ * directory when it stops, either on request or after its maximum duration.
+ * Only one recording runs at a time. The default web exposure leaves it out;
+ * the dev profile exposes it.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderEndpoint.class);
+    
+    private static final String RECORDING_NAME = "remedy-integration";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final List<Class<? extends Event>> EVENTS =
+        List.of(RemedyCallEvent.class, RemedyPoolEvent.class, ModuleDispatchEvent.class);
+    
+    static {
+        // Make the events known to JFR before they are first emitted
+        EVENTS.forEach(FlightRecorder::register);
+    }
+    
+    private final FlightRecorderProperties properties;
+    
+    // Guarded by this
+    private Recording recording;
+    
+    public FlightRecorderEndpoint(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+    
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe(recording);
+    }
+    
+    /**
+     * Starts a recording unless one is already running
+     * @param settings JDK settings file name, defaults to jfr.settings
+     * @param maxDuration milliseconds after which the recording stops, at most jfr.max-duration
+     * @return the recording state
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Long maxDuration)
+            throws IOException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return describe(recording);
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        
+        String settingsName = settings != null ? settings : properties.getSettings();
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (NoSuchFileException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settingsName,
+                "Unknown JFR settings", e);
+        }
+        
+        long durationMillis = maxDuration != null
+            ? Math.min(maxDuration, properties.getMaxDuration()) : properties.getMaxDuration();
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        EVENTS.forEach(event -> started.enable(event).withThreshold(Duration.ZERO));
+        started.setToDisk(true);
+        started.setDestination(directory.resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIME) + ".jfr"));
+        started.setDuration(Duration.ofMillis(durationMillis));
+        started.start();
+        recording = started;
+        
+        logger.info("Started JFR recording {} with {} settings for at most {} ms",
+            started.getDestination(), settingsName, durationMillis);
+        return describe(started);
+    }
+    
+    /**
+     * Stops the running recording and writes it out
+     * @return the recording state, including the file written
+     */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            logger.info("Stopped JFR recording {}", recording.getDestination());
+        }
+        return describe(recording);
+    }
+    
+    @PreDestroy
+    public synchronized void shutdown() {
+        // Keep what was recorded so far
+        stop();
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("file", String.valueOf(recording.getDestination()));
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("maxDuration", String.valueOf(recording.getDuration()));
+        status.put("size", recording.getSize());
+        return status;
+    }
+}
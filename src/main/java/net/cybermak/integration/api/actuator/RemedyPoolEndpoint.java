@@ -0,0 +1,177 @@
+package net.cybermak.integration.api.actuator;
+
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.config.IngestionProperties;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.PoolStats;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint showing and tuning the Remedy connection pools
+ *
+ * GET /actuator/remedypool lists every server pool (leased, idle and waiting
+ * counts, borrow-time histogram, creation and validation failures, leases
+ * held past the leak threshold, leaks reported and reclaimed so far) with the
+ * current pool, leak, concurrency-limit, admission and ingestion settings.
+ * POST changes any of those settings on the running node; omitted values are
+ * left as they are, and if any value is invalid none is changed. Changes are
+ * not persisted and last until restart.
+ *
+ * Every Remedy call, from the legacy API and from modules alike, runs on a
+ * pooled connection, so the pool counts and settings are those of live
+ * Remedy traffic.
+ *
+ * Not exposed over HTTP unless a profile adds it to management.endpoints.web.exposure.include.
+ */
+@Component
+@Endpoint(id = "remedypool")
+public class RemedyPoolEndpoint {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RemedyPoolEndpoint.class);
+    
+    private final RemedyConnectionManager connectionManager;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final AdmissionQueue admissionQueue;
+    private final IngestionProperties ingestionProperties;
+    
+    public RemedyPoolEndpoint(RemedyConnectionManager connectionManager, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                              AdmissionQueue admissionQueue, IngestionProperties ingestionProperties) {
+        this.connectionManager = connectionManager;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.admissionQueue = admissionQueue;
+        this.ingestionProperties = ingestionProperties;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> pools() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("servers", connectionManager.getPoolStats().stream()
+            .sorted(Comparator.comparing(PoolStats::getServer))
+            .map(RemedyPoolEndpoint::describe)
+            .toList());
+        status.put("settings", settings());
+        return status;
+    }
+    
+    /**
+     * Changes pool and concurrency settings
+     * @param maxSize connections per server
+     * @param minIdle idle connections kept open per server
+     * @param minLimit lowest adaptive concurrency limit
+     * @param maxLimit highest adaptive concurrency limit
+     * @param maxQueue callers allowed to wait for Remedy capacity
+     * @param maxConcurrent incident creations admitted at once
+     * @param ingestionConcurrency incidents in flight per ingestion stream, applied to new streams
+     * @param leakThreshold milliseconds a lease may be held before it is reported as leaked
+     * @param reclaimLeaks whether leases found leaked are closed
+     * @return the settings after the change
+     */
+    @WriteOperation
+    public Map<String, Object> tune(@Nullable Integer maxSize, @Nullable Integer minIdle,
+                                    @Nullable Integer minLimit, @Nullable Integer maxLimit,
+                                    @Nullable Integer maxQueue, @Nullable Integer maxConcurrent,
+                                    @Nullable Integer ingestionConcurrency, @Nullable Long leakThreshold,
+                                    @Nullable Boolean reclaimLeaks) {
+        RemedyConnectionProperties.Pool pool = connectionManager.getPoolConfig();
+        RemedyConnectionProperties.Limit limit = concurrencyLimiter.getConfig();
+        int newMaxSize = maxSize != null ? maxSize : pool.getMaxSize();
+        int newMinIdle = minIdle != null ? minIdle : pool.getMinIdle();
+        int newMinLimit = minLimit != null ? minLimit : limit.getMinLimit();
+        int newMaxLimit = maxLimit != null ? maxLimit : limit.getMaxLimit();
+        int newMaxQueue = maxQueue != null ? maxQueue : limit.getMaxQueue();
+        
+        // Every value is checked before any is applied, so a rejected request changes nothing
+        require(newMaxSize >= 1 && newMinIdle >= 0 && newMinIdle <= newMaxSize,
+            "Pool needs 0 <= minIdle <= maxSize and maxSize >= 1, got minIdle=" + newMinIdle + ", maxSize=" + newMaxSize,
+            "Invalid pool size");
+        require(newMinLimit >= 1 && newMaxLimit >= newMinLimit && newMaxQueue >= 0,
+            "Limits need 1 <= minLimit <= maxLimit and maxQueue >= 0, got minLimit=" + newMinLimit
+                + ", maxLimit=" + newMaxLimit + ", maxQueue=" + newMaxQueue,
+            "Invalid concurrency limits");
+        require(maxConcurrent == null || maxConcurrent >= 1, "maxConcurrent must be at least 1",
+            "Invalid maxConcurrent");
+        require(ingestionConcurrency == null || ingestionConcurrency >= 1, "ingestionConcurrency must be at least 1",
+            "Invalid ingestionConcurrency");
+        require(leakThreshold == null || leakThreshold >= 1, "leakThreshold must be at least 1 ms",
+            "Invalid leakThreshold");
+        
+        if (maxSize != null || minIdle != null) {
+            connectionManager.resize(newMaxSize, newMinIdle);
+        }
+        if (minLimit != null || maxLimit != null || maxQueue != null) {
+            concurrencyLimiter.setLimits(newMinLimit, newMaxLimit, newMaxQueue);
+        }
+        if (maxConcurrent != null) {
+            admissionQueue.setMaxConcurrent(maxConcurrent);
+        }
+        if (ingestionConcurrency != null) {
+            ingestionProperties.setConcurrency(ingestionConcurrency);
+        }
+        if (leakThreshold != null) {
+            pool.setLeakThreshold(leakThreshold);
+        }
+        if (reclaimLeaks != null) {
+            pool.setReclaimLeaks(reclaimLeaks);
+        }
+        
+        Map<String, Object> settings = settings();
+        logger.info("Remedy pool settings changed: {}", settings);
+        return settings;
+    }
+    
+    private static void require(boolean valid, String reason, String summary) {
+        if (!valid) {
+            throw new InvalidEndpointRequestException(reason, summary);
+        }
+    }
+    
+    private Map<String, Object> settings() {
+        RemedyConnectionProperties.Pool pool = connectionManager.getPoolConfig();
+        RemedyConnectionProperties.Limit limit = concurrencyLimiter.getConfig();
+        
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("maxSize", pool.getMaxSize());
+        settings.put("minIdle", pool.getMinIdle());
+        settings.put("maxWaitTime", pool.getMaxWaitTime());
+        settings.put("leakThreshold", pool.getLeakThreshold());
+        settings.put("reclaimLeaks", pool.isReclaimLeaks());
+        settings.put("leakTraceSampleRate", pool.getLeakTraceSampleRate());
+        settings.put("minLimit", limit.getMinLimit());
+        settings.put("maxLimit", limit.getMaxLimit());
+        settings.put("maxQueue", limit.getMaxQueue());
+        settings.put("limit", concurrencyLimiter.getLimit());
+        settings.put("maxConcurrent", admissionQueue.getMaxConcurrent());
+        settings.put("ingestionConcurrency", ingestionProperties.getConcurrency());
+        return settings;
+    }
+    
+    private static Map<String, Object> describe(PoolStats stats) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("server", stats.getServer());
+        description.put("active", stats.getActive());
+        description.put("idle", stats.getIdle());
+        description.put("waiting", stats.getWaiting());
+        description.put("created", stats.getCreated());
+        description.put("creationFailures", stats.getCreationFailures());
+        description.put("validationFailures", stats.getValidationFailures());
+        description.put("borrowTime", stats.getBorrowTimes());
+        description.put("leakSuspects", stats.getLeakSuspects());
+        description.put("oldestLease", stats.getOldestLeaseMillis());
+        description.put("leaks", stats.getLeaks());
+        description.put("reclaimed", stats.getReclaimed());
+        return description;
+    }
+}
@@ -0,0 +1,647 @@
+package net.cybermak.integration.api.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.cybermak.integration.config.AdmissionProperties;
+import net.cybermak.integration.config.AsyncConfiguration;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Severity-prioritized admission stage in front of incident creation
+ * 
+ * At most maxConcurrent requests run at once. Pending requests wait in one
+ * queue per {@link PriorityClass} and free slots always go to the highest
+ * class first. When the queue depth reaches the shed threshold of an arriving
+ * request's class, the most backlogged waiter of a lower class is displaced to
+ * make room; if there is none, the arriving request is shed. Shed requests fail
+ * with {@link AdmissionRejectedException}.
+ * 
+ * Within a class, requests are ordered by start-time fair queuing across their
+ * sources (authenticated callers): each source is served in proportion to
+ * its configured weight, so one noisy source cannot starve the others. Each
+ * source also has its own bound on waiting requests.
+ * 
+ * A queued request holds no thread: its ticket carries a future that is
+ * completed when a slot is granted, and queued async work then starts on the
+ * module executor. One timer thread fails tickets left waiting past maxWaitTime.
+ * Nobody waits past the request {@link Deadline}: a request whose deadline
+ * passes before it is admitted, or by the time it is, fails with
+ * {@link DeadlineExceededException} without running its work. Once the
+ * queue is closed for shutdown, new requests are shed while those already
+ * queued or running carry on.
+ * 
+ * Metrics (tagged by class): admission.queue.wait, admission.queue.depth
+ * and admission.shed, plus request.deadline.expired (stage queue). The wait
+ * is also recorded as the request's {@link Phase#QUEUE} timing.
+ */
+@Component
+public class AdmissionQueue {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionQueue.class);
+    
+    private static final PriorityClass[] CLASSES = PriorityClass.values();
+    private static final String UNKNOWN_SOURCE = "unknown";
+    private static final Comparator<Ticket> FAIR_ORDER =
+        Comparator.comparingDouble((Ticket ticket) -> ticket.startTag).thenComparingLong(ticket -> ticket.sequence);
+    
+    private final AdmissionProperties properties;
+    private final Executor executor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<PriorityClass, TreeSet<Ticket>> waiting = new EnumMap<>(PriorityClass.class);
+    private final Map<PriorityClass, Timer> waitTimers = new EnumMap<>(PriorityClass.class);
+    private final Map<PriorityClass, Counter> shedCounters = new EnumMap<>(PriorityClass.class);
+    private final Counter expired;
+    
+    // Set once on shutdown, read without the lock
+    private volatile boolean closed;
+    private final ScheduledThreadPoolExecutor timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "admission-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Guarded by lock
+    private final Map<String, SourceState> sources = new HashMap<>();
+    private final List<Ticket> decided = new ArrayList<>();
+    private int running;
+    private int queued;
+    private double virtualTime;
+    private long sequence;
+    
+    public AdmissionQueue(AdmissionProperties properties, MeterRegistry meterRegistry,
+                          @Qualifier(AsyncConfiguration.REMEDY_EXECUTOR) Executor executor) {
+        this.properties = properties;
+        this.executor = executor;
+        timeouts.setRemoveOnCancelPolicy(true);
+        
+        for (PriorityClass priorityClass : CLASSES) {
+            String tag = priorityClass.name().toLowerCase();
+            waiting.put(priorityClass, new TreeSet<>(FAIR_ORDER));
+            waitTimers.put(priorityClass, Timer.builder("admission.queue.wait")
+                .description("Time spent waiting for admission")
+                .tag("class", tag)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+            shedCounters.put(priorityClass, Counter.builder("admission.shed")
+                .description("Requests shed by the admission queue")
+                .tag("class", tag)
+                .register(meterRegistry));
+            Gauge.builder("admission.queue.depth", this, queue -> queue.getQueued(priorityClass))
+                .description("Requests waiting for admission")
+                .tag("class", tag)
+                .register(meterRegistry);
+        }
+        this.expired = Counter.builder("request.deadline.expired")
+            .description("Work dropped because its request deadline had passed")
+            .tag("stage", "queue")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Runs work once it is admitted
+     * @param priorityClass priority class of the request
+     * @param work the work to run
+     * @return the work result
+     * @throws AdmissionRejectedException if the request is shed
+     */
+    public <T> T admit(PriorityClass priorityClass, Supplier<T> work) {
+        return admit(priorityClass, null, work);
+    }
+    
+    /**
+     * Runs work once it is admitted, sharing the queue fairly with other sources
+     * @param priorityClass priority class of the request
+     * @param source source of the request (authenticated caller), null if unknown
+     * @param work the work to run
+     * @return the work result
+     * @throws AdmissionRejectedException if the request is shed
+     */
+    public <T> T admit(PriorityClass priorityClass, String source, Supplier<T> work) {
+        checkOpen(priorityClass);
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        
+        Deadline deadline = Deadline.current();
+        long queueStart = System.nanoTime();
+        Ticket ticket = enter(priorityClass, normalizeSource(source), deadline);
+        if (ticket != null) {
+            await(ticket);
+        }
+        RequestTiming.current().record(Phase.QUEUE, queueStart);
+        try {
+            checkDeadline(deadline);
+            return work.get();
+        } finally {
+            leave();
+        }
+    }
+    
+    /**
+     * Runs asynchronous work once it is admitted, holding the slot until the work completes
+     * @param priorityClass priority class of the request
+     * @param source source of the request (authenticated caller), null if unknown
+     * @param work starts the work and returns its future; queued work is started on the module executor
+     * @return future of the work result, failed with {@link AdmissionRejectedException} if shed
+     */
+    public <T> CompletableFuture<T> admitAsync(PriorityClass priorityClass, String source,
+                                               Supplier<CompletableFuture<T>> work) {
+        checkOpen(priorityClass);
+        if (!properties.isEnabled()) {
+            return work.get();
+        }
+        
+        RequestTiming timing = RequestTiming.current();
+        Deadline deadline = Deadline.current();
+        long queueStart = System.nanoTime();
+        Ticket ticket;
+        try {
+            ticket = enter(priorityClass, normalizeSource(source), deadline);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (ticket == null) {
+            return start(work, timing, deadline, queueStart);
+        }
+        
+        // Start queued work on the executor rather than on the thread that freed the slot,
+        // so work that completes at once cannot admit the next waiter within its own stack
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ticket.admitted.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            try {
+                executor.execute(() -> start(work, timing, deadline, queueStart).whenComplete((value, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                leave();
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Starts admitted asynchronous work under the request timing and deadline,
+     * releasing its slot once the work completes
+     */
+    private <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> work, RequestTiming timing,
+                                           Deadline deadline, long queueStart) {
+        timing.record(Phase.QUEUE, queueStart);
+        CompletableFuture<T> result;
+        try (RequestTiming.Scope timingScope = timing.bind();
+             RequestTiming.Scope deadlineScope = deadline.bind()) {
+            checkDeadline(deadline);
+            result = work.get();
+        } catch (RuntimeException e) {
+            leave();
+            return CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, failure) -> leave());
+    }
+    
+    /**
+     * Stops admitting new requests; requests already queued or running carry on
+     */
+    public void close() {
+        closed = true;
+    }
+    
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        timeouts.shutdownNow();
+    }
+    
+    /**
+     * Returns the number of requests of all classes waiting for admission
+     * @return total queue depth
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of requests of a class waiting for admission
+     * @param priorityClass the priority class
+     * @return queue depth for the class
+     */
+    public int getQueued(PriorityClass priorityClass) {
+        lock.lock();
+        try {
+            return waiting.get(priorityClass).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of requests from a source waiting for admission
+     * @param source the request source
+     * @return queue depth for the source
+     */
+    public int getQueued(String source) {
+        lock.lock();
+        try {
+            SourceState state = sources.get(normalizeSource(source));
+            return state != null ? state.queued : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns the number of sources with requests waiting or fair-share credit to carry
+     * @return tracked source count
+     */
+    public int getSourceCount() {
+        lock.lock();
+        try {
+            return sources.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns how many requests of a source may queue at once before it is shed
+     * @param source source of the requests, null if unknown
+     * @return queue bound for the source
+     */
+    public int getMaxQueue(String source) {
+        return properties.getFairness().getMaxQueue(normalizeSource(source));
+    }
+    
+    /**
+     * Changes how many admitted requests may run at once, admitting waiters
+     * at once if the limit grew. A smaller limit takes effect as requests finish.
+     * @param maxConcurrent new limit, at least 1
+     */
+    public void setMaxConcurrent(int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1, got " + maxConcurrent);
+        }
+        lock.lock();
+        try {
+            properties.setMaxConcurrent(maxConcurrent);
+            dispatch();
+        } finally {
+            unlockAndComplete();
+        }
+    }
+    
+    public int getMaxConcurrent() {
+        return properties.getMaxConcurrent();
+    }
+    
+    /**
+     * Returns the number of admitted requests currently running
+     * @return running request count
+     */
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Takes a slot if one is free and nobody is queued, or queues a ticket
+     * @return null if a slot was taken, else the queued ticket
+     */
+    private Ticket enter(PriorityClass priorityClass, String source, Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw expired(deadline);
+        }
+        long startNanos = System.nanoTime();
+        
+        lock.lock();
+        try {
+            if (queued == 0 && running < properties.getMaxConcurrent()) {
+                running++;
+                waitTimers.get(priorityClass).record(0L, TimeUnit.NANOSECONDS);
+                return null;
+            }
+            
+            SourceState sourceState = sources.computeIfAbsent(source, key -> new SourceState(
+                Math.max(1, properties.getFairness().getWeight(key)),
+                properties.getFairness().getMaxQueue(key)));
+            if (sourceState.queued >= sourceState.maxQueue) {
+                releaseIfIdle(source, sourceState);
+                throw shed(priorityClass, "Admission queue is full for source " + describe(source)
+                    + " (" + sourceState.queued + " waiting)");
+            }
+            
+            try {
+                makeRoom(priorityClass);
+            } catch (AdmissionRejectedException e) {
+                releaseIfIdle(source, sourceState);
+                throw e;
+            }
+            
+            // Start-time fair queuing: a source's next request starts where its previous one finished
+            double startTag = Math.max(virtualTime, sourceState.lastFinishTag);
+            sourceState.lastFinishTag = startTag + 1.0 / sourceState.weight;
+            sourceState.queued++;
+            
+            Ticket ticket = new Ticket(priorityClass, source, startTag, sequence++, startNanos, deadline);
+            waiting.get(priorityClass).add(ticket);
+            queued++;
+            long maxWaitNanos = deadline.cap(TimeUnit.MILLISECONDS.toNanos(properties.getMaxWaitTime()));
+            try {
+                ticket.timeout = timeouts.schedule(() -> expire(ticket), maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                withdraw(ticket);
+                throw shed(priorityClass, "Node is shutting down");
+            }
+            return ticket;
+        } finally {
+            unlockAndComplete();
+        }
+    }
+    
+    /**
+     * Waits for a queued ticket to be granted a slot
+     */
+    private void await(Ticket ticket) {
+        try {
+            ticket.admitted.get();
+        } catch (ExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lock.lock();
+            try {
+                if (ticket.state == TicketState.GRANTED) {
+                    running--;
+                    dispatch();
+                } else if (ticket.state == TicketState.WAITING) {
+                    ticket.timeout.cancel(false);
+                    withdraw(ticket);
+                    ticket.state = TicketState.SHED;
+                }
+            } finally {
+                unlockAndComplete();
+            }
+            throw shed(ticket.priorityClass, "Interrupted while waiting for admission");
+        }
+    }
+    
+    /**
+     * Fails a ticket still waiting once its wait time or request deadline has run out
+     */
+    private void expire(Ticket ticket) {
+        lock.lock();
+        try {
+            if (ticket.state != TicketState.WAITING) {
+                return;
+            }
+            withdraw(ticket);
+            ticket.fail(ticket.deadline.isExpired()
+                ? expired(ticket.deadline)
+                : shed(ticket.priorityClass, "Timed out waiting for admission"));
+            decided.add(ticket);
+        } finally {
+            unlockAndComplete();
+        }
+    }
+    
+    /**
+     * Ensures there is room in the queue for a request of the given class,
+     * displacing the most backlogged waiter of the lowest class below it if needed
+     */
+    private void makeRoom(PriorityClass priorityClass) {
+        if (queued < properties.getShedThreshold(priorityClass)) {
+            return;
+        }
+        
+        for (int i = CLASSES.length - 1; i > priorityClass.ordinal(); i--) {
+            Ticket victim = waiting.get(CLASSES[i]).pollLast();
+            if (victim != null) {
+                dequeued(victim);
+                victim.timeout.cancel(false);
+                victim.fail(shed(victim.priorityClass, "Displaced by higher-severity work"));
+                decided.add(victim);
+                return;
+            }
+        }
+        
+        throw shed(priorityClass, "Admission queue is full for " + priorityClass + " requests (" + queued + " waiting)");
+    }
+    
+    private void leave() {
+        lock.lock();
+        try {
+            running--;
+            dispatch();
+        } finally {
+            unlockAndComplete();
+        }
+    }
+    
+    private void dispatch() {
+        while (queued > 0 && running < properties.getMaxConcurrent()) {
+            Ticket next = nextWaiter();
+            virtualTime = Math.max(virtualTime, next.startTag);
+            dequeued(next);
+            running++;
+            next.timeout.cancel(false);
+            next.state = TicketState.GRANTED;
+            waitTimers.get(next.priorityClass).record(System.nanoTime() - next.startNanos, TimeUnit.NANOSECONDS);
+            decided.add(next);
+        }
+    }
+    
+    /**
+     * Unlocks, then completes the tickets decided while locked, so admitted
+     * work never starts with the lock held
+     */
+    private void unlockAndComplete() {
+        if (decided.isEmpty() || lock.getHoldCount() > 1) {
+            lock.unlock();
+            return;
+        }
+        List<Ticket> tickets = new ArrayList<>(decided);
+        decided.clear();
+        lock.unlock();
+        for (Ticket ticket : tickets) {
+            ticket.complete();
+        }
+    }
+    
+    private Ticket nextWaiter() {
+        for (PriorityClass priorityClass : CLASSES) {
+            Ticket ticket = waiting.get(priorityClass).pollFirst();
+            if (ticket != null) {
+                return ticket;
+            }
+        }
+        throw new IllegalStateException("Admission queue count out of sync");
+    }
+    
+    private void withdraw(Ticket ticket) {
+        if (waiting.get(ticket.priorityClass).remove(ticket)) {
+            dequeued(ticket);
+        }
+    }
+    
+    private void dequeued(Ticket ticket) {
+        queued--;
+        SourceState sourceState = sources.get(ticket.source);
+        sourceState.queued--;
+        releaseIfIdle(ticket.source, sourceState);
+    }
+    
+    /**
+     * Forgets a source once it has nothing waiting and no credit left to carry,
+     * keeping the source map bounded by the number of backlogged sources
+     */
+    private void releaseIfIdle(String source, SourceState sourceState) {
+        if (sourceState.queued == 0 && sourceState.lastFinishTag <= virtualTime) {
+            sources.remove(source);
+        }
+    }
+    
+    private static String normalizeSource(String source) {
+        return source == null || source.isBlank() ? UNKNOWN_SOURCE : source;
+    }
+    
+    /**
+     * Describes a source for log and error messages: configured sources by
+     * name, any other only by a short prefix, however short the source is
+     */
+    private String describe(String source) {
+        if (UNKNOWN_SOURCE.equals(source) || properties.getFairness().getSources().containsKey(source)) {
+            return source;
+        }
+        return source.substring(0, Math.min(4, source.length() / 4)) + "...";
+    }
+    
+    private void checkOpen(PriorityClass priorityClass) {
+        if (closed) {
+            throw shed(priorityClass, "Node is shutting down");
+        }
+    }
+    
+    /**
+     * Drops admitted work whose deadline passed while it waited; the caller releases the slot
+     */
+    private void checkDeadline(Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw expired(deadline);
+        }
+    }
+    
+    private DeadlineExceededException expired(Deadline deadline) {
+        expired.increment();
+        return new DeadlineExceededException("queue", -deadline.remainingMillis());
+    }
+    
+    private AdmissionRejectedException shed(PriorityClass priorityClass, String message) {
+        shedCounters.get(priorityClass).increment();
+        logger.warn("Shedding {} request: {}", priorityClass, message);
+        return new AdmissionRejectedException(message, priorityClass, properties.getRetryAfter());
+    }
+    
+    private enum TicketState {
+        WAITING,
+        GRANTED,
+        SHED
+    }
+    
+    private static final class Ticket {
+        private final PriorityClass priorityClass;
+        private final String source;
+        private final double startTag;
+        private final long sequence;
+        private final long startNanos;
+        private final Deadline deadline;
+        private final CompletableFuture<Void> admitted = new CompletableFuture<>();
+        // Guarded by lock
+        private TicketState state = TicketState.WAITING;
+        private RuntimeException failure;
+        private ScheduledFuture<?> timeout;
+        
+        private Ticket(PriorityClass priorityClass, String source, double startTag, long sequence,
+                       long startNanos, Deadline deadline) {
+            this.priorityClass = priorityClass;
+            this.source = source;
+            this.startTag = startTag;
+            this.sequence = sequence;
+            this.startNanos = startNanos;
+            this.deadline = deadline;
+        }
+        
+        private void fail(RuntimeException failure) {
+            this.state = TicketState.SHED;
+            this.failure = failure;
+        }
+        
+        /**
+         * Completes the admitted future with the decision; called without the lock
+         */
+        private void complete() {
+            if (failure == null) {
+                admitted.complete(null);
+            } else {
+                admitted.completeExceptionally(failure);
+            }
+        }
+    }
+    
+    private static final class SourceState {
+        private final int weight;
+        private final int maxQueue;
+        private double lastFinishTag;
+        private int queued;
+        
+        private SourceState(int weight, int maxQueue) {
+            this.weight = weight;
+            this.maxQueue = maxQueue;
+        }
+    }
+}
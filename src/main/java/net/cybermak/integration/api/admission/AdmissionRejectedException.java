@@ -0,0 +1,25 @@
+package net.cybermak.integration.api.admission;
+
+/**
+ * Exception thrown when the admission queue sheds a request
+ * Controllers translate it to 429 Too Many Requests with a Retry-After header.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    
+    private final PriorityClass priorityClass;
+    private final long retryAfterSeconds;
+    
+    public AdmissionRejectedException(String message, PriorityClass priorityClass, long retryAfterSeconds) {
+        super(message);
+        this.priorityClass = priorityClass;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public PriorityClass getPriorityClass() {
+        return priorityClass;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,75 @@
+package net.cybermak.integration.api.admission;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admission priority classes, highest first
+ * Derived from the severity or priority reported by the monitoring tool.
+ */
+public enum PriorityClass {
+    CRITICAL,
+    HIGH,
+    MEDIUM,
+    LOW;
+    
+    /**
+     * Resolves the priority class of a generic request from its
+     * "severity" field, falling back to "priority"
+     * @param data request data, may be null
+     * @return the priority class, MEDIUM when unknown
+     */
+    public static PriorityClass of(Map<String, Object> data) {
+        if (data == null) {
+            return MEDIUM;
+        }
+        Object value = data.get("severity");
+        if (value == null) {
+            value = data.get("priority");
+        }
+        return fromSeverity(value != null ? value.toString() : null);
+    }
+    
+    /**
+     * Maps a severity or priority label to a priority class
+     * Accepts Remedy style values ("1-Critical" .. "4-Low") as well as
+     * common monitoring tool labels (Major, Minor, Warning, Info).
+     * @param severity severity label, may be null
+     * @return the priority class, MEDIUM when unknown
+     */
+    public static PriorityClass fromSeverity(String severity) {
+        if (severity == null) {
+            return MEDIUM;
+        }
+        String value = severity.trim().toLowerCase(Locale.ROOT);
+        if (value.isEmpty()) {
+            return MEDIUM;
+        }
+        
+        switch (value.charAt(0)) {
+            case '0':
+            case '1':
+                return CRITICAL;
+            case '2':
+                return HIGH;
+            case '3':
+                return MEDIUM;
+            case '4':
+            case '5':
+                return LOW;
+            default:
+                break;
+        }
+        
+        if (value.contains("critical") || value.contains("fatal") || value.contains("emergency")) {
+            return CRITICAL;
+        }
+        if (value.contains("high") || value.contains("major")) {
+            return HIGH;
+        }
+        if (value.contains("low") || value.contains("info")) {
+            return LOW;
+        }
+        return MEDIUM;
+    }
+}
@@ -0,0 +1,82 @@
+package net.cybermak.integration.api.binding;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import net.cybermak.integration.core.model.FieldSchema;
+import net.cybermak.integration.core.model.FieldValues;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams JSON objects into {@link FieldValues} without an intermediate map
+ *
+ * Scalar values are read straight off the parser; nested objects and arrays
+ * are bound the way Jackson binds them into a {@code Map}.
+ */
+public final class FieldValuesReader {
+    
+    private FieldValuesReader() {}
+    
+    /**
+     * Reads the JSON object at the parser's current token
+     * @param parser parser positioned on START_OBJECT
+     * @param schema schema to bind into
+     * @return bound values
+     * @throws IOException if the input is not a JSON object or cannot be read
+     */
+    public static FieldValues readObject(JsonParser parser, FieldSchema schema) throws IOException {
+        expect(parser, JsonToken.START_OBJECT, "Expected a JSON object");
+        
+        FieldValues values = schema.newValues();
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            parser.nextToken();
+            values.put(field, readValue(parser));
+        }
+        return values;
+    }
+    
+    /**
+     * Reads the JSON array of objects at the parser's current token
+     * @param parser parser positioned on START_ARRAY
+     * @param schema schema to bind each object into
+     * @return bound values in array order
+     * @throws IOException if the input is not an array of objects or cannot be read
+     */
+    public static List<Map<String, Object>> readArray(JsonParser parser, FieldSchema schema) throws IOException {
+        expect(parser, JsonToken.START_ARRAY, "Expected a JSON array");
+        
+        List<Map<String, Object>> items = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            items.add(readObject(parser, schema));
+        }
+        return items;
+    }
+    
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return parser.readValueAs(Object.class);
+        }
+    }
+    
+    private static void expect(JsonParser parser, JsonToken token, String message) throws IOException {
+        if (parser.currentToken() != token) {
+            throw new JsonParseException(parser, message);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package net.cybermak.integration.api.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds the JSON request body for the module named by the {@code moduleType}
+ * path variable
+ *
+ * Works like {@code @RequestBody} for a {@code Map<String, Object>} or a
+ * {@code List<Map<String, Object>>} parameter, but binds objects straight into
+ * the module's {@link net.cybermak.integration.core.model.FieldSchema} when it
+ * declares one.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ModuleBody {
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package net.cybermak.integration.api.binding;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.core.ModuleRegistry.Route;
+import net.cybermak.integration.core.model.FieldSchema;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves {@link ModuleBody} parameters
+ *
+ * The module is looked up from the {@code moduleType} path variable. If it
+ * declares a field schema the body is streamed into
+ * {@link net.cybermak.integration.core.model.FieldValues}; otherwise it is
+ * bound into a generic map exactly as {@code @RequestBody} would.
+ */
+public class ModuleBodyArgumentResolver implements HandlerMethodArgumentResolver {
+    
+    private static final String MODULE_TYPE_VARIABLE = "moduleType";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<Map<String, Object>>> LIST_TYPE = new TypeReference<>() {};
+    
+    private final ModuleRegistry moduleRegistry;
+    private final ObjectMapper objectMapper;
+    
+    public ModuleBodyArgumentResolver(ModuleRegistry moduleRegistry, ObjectMapper objectMapper) {
+        this.moduleRegistry = moduleRegistry;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(ModuleBody.class);
+    }
+    
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        boolean list = List.class.isAssignableFrom(parameter.getParameterType());
+        FieldSchema schema = schemaFor(request);
+        long parseStart = System.nanoTime();
+        
+        try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+            if (parser.nextToken() == null) {
+                throw new HttpMessageNotReadableException("Required request body is missing",
+                    new ServletServerHttpRequest(request));
+            }
+            if (schema == null) {
+                return list ? parser.readValueAs(LIST_TYPE) : parser.readValueAs(MAP_TYPE);
+            }
+            return list ? FieldValuesReader.readArray(parser, schema) : FieldValuesReader.readObject(parser, schema);
+        
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e,
+                new ServletServerHttpRequest(request));
+        } finally {
+            RequestTiming.current().record(Phase.PARSE, parseStart);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private FieldSchema schemaFor(HttpServletRequest request) {
+        Map<String, String> variables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String moduleType = variables != null ? variables.get(MODULE_TYPE_VARIABLE) : null;
+        return moduleRegistry.getRoute(moduleType).map(Route::getFieldSchema).orElse(null);
+    }
+}
\ No newline at end of file
@@ -1,30 +1,86 @@
 package net.cybermak.integration.api.bridge;
 
-import net.cybermak.integration.api.model.requests.IncidentDetails;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
 import net.cybermak.integration.api.service.CreateIncidentService;
 import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.OperationHandler;
+import net.cybermak.integration.core.model.FieldSchema;
 import net.cybermak.integration.core.model.GenericRequest;
 import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.Operation;
 import net.cybermak.integration.core.model.ValidationResult;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.core.validation.ModuleValidator;
+import net.cybermak.integration.remedy.exception.RemedyOverloadException;
+import net.cybermak.integration.remedy.form.FormHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Bridge between legacy incident creation and modern module architecture
- * Allows the incident module to leverage existing BMC ARS implementation
+ * Allows the incident module to leverage existing BMC ARS implementation;
+ * incidents are read and updated on the staging form through the FormHandler.
  */
 @Component
 public class IncidentModuleBridge implements Module {
     
     private static final Logger logger = LoggerFactory.getLogger(IncidentModuleBridge.class);
+    
+    // Validation rules compiled once and shared by every request
+    private static final ModuleValidator VALIDATOR = ModuleValidator.builder()
+        .requireOperation("Operation cannot be null or empty")
+        .requireData("Request data cannot be null")
+        .rejectUnsupportedOperations("Unsupported operation: ")
+        .ignoreOperationCase()
+        .failFast()
+        .required("create", "alertName", "alertName is required for incident creation")
+        .required("create", "alertDescription", "alertDescription is required for incident creation")
+        .required("create", "severity", "severity is required for incident creation")
+        .required("get", "incidentId", "incidentId is required for get operation")
+        .required("update", "incidentId", "incidentId is required for update operation")
+        .operations("search") // Search can have flexible parameters
+        .build();
+    
+    // Fields read from request data, bound by slot instead of into a map
+    private static final FieldSchema FIELD_SCHEMA = FieldSchema.of(
+        "incidentId", "sourceOfCreation", "alertName", "alertDescription", "severity",
+        "alertLimitCategory", "add1", "add2", "key");
+    
+    // BMC Remedy field IDs of the staging form fields
+    private static final Map<String, String> REMEDY_FIELDS = Map.of(
+        "sourceOfCreation", "536870943",
+        "alertName", "536870913",
+        "alertDescription", "536870914",
+        "severity", "536870915",
+        "alertLimitCategory", "536870916",
+        "add1", "536870917",
+        "add2", "536870918");
+    
     private final CreateIncidentService createIncidentService;
+    private final FormHandler formHandler;
+    
+    // Handler per operation, handed to the registry route and looked up by process
+    private final Map<Operation, OperationHandler> handlers;
     
-    public IncidentModuleBridge(CreateIncidentService createIncidentService) {
+    public IncidentModuleBridge(CreateIncidentService createIncidentService, FormHandler formHandler) {
         this.createIncidentService = createIncidentService;
+        this.formHandler = formHandler;
+        
+        Map<Operation, OperationHandler> handlers = new EnumMap<>(Operation.class);
+        handlers.put(Operation.CREATE, guarded(this::handleCreate));
+        handlers.put(Operation.GET, guarded(this::handleGet));
+        handlers.put(Operation.UPDATE, guarded(this::handleUpdate));
+        handlers.put(Operation.SEARCH, guarded(this::handleSearch));
+        this.handlers = Collections.unmodifiableMap(handlers);
     }
     
     @Override
@@ -34,90 +90,78 @@ public class IncidentModuleBridge implements Module {
     
     @Override
     public ValidationResult validate(GenericRequest request) {
-        if (request == null) {
-            return ValidationResult.invalid("Request cannot be null");
-        }
-        
-        if (request.getOperation() == null || request.getOperation().trim().isEmpty()) {
-            return ValidationResult.invalid("Operation cannot be null or empty");
-        }
-        
-        if (request.getData() == null) {
-            return ValidationResult.invalid("Request data cannot be null");
-        }
-        
-        // Validate based on operation type
-        switch (request.getOperation().toLowerCase()) {
-            case "create":
-                return validateCreateRequest(request);
-            case "get":
-            case "update":
-                return validateIncidentIdRequest(request);
-            case "search":
-                return ValidationResult.valid(); // Search can have flexible parameters
-            default:
-                return ValidationResult.invalid("Unsupported operation: " + request.getOperation());
-        }
+        return VALIDATOR.validate(request);
+    }
+    
+    @Override
+    public Set<Operation> getSupportedOperations() {
+        return handlers.keySet();
+    }
+    
+    @Override
+    public String getIdFieldName() {
+        return "incidentId";
+    }
+    
+    @Override
+    public FieldSchema getFieldSchema() {
+        return FIELD_SCHEMA;
     }
     
     @Override
     public Map<String, String> getFieldMappings() {
-        Map<String, String> mappings = new HashMap<>();
-        
-        // BMC Remedy field mappings for incident creation
-        mappings.put("sourceOfCreation", "536870943");
-        mappings.put("alertName", "536870913");
-        mappings.put("alertDescription", "536870914");
-        mappings.put("severity", "536870915");
-        mappings.put("alertLimitCategory", "536870916");
-        mappings.put("add1", "536870917");
-        mappings.put("add2", "536870918");
-        
-        return mappings;
+        return new HashMap<>(REMEDY_FIELDS);
+    }
+    
+    @Override
+    public OperationHandler getOperationHandler(Operation operation) {
+        return handlers.getOrDefault(operation, this::process);
     }
     
     @Override
     public GenericResponse process(GenericRequest request) {
-        logger.info("Processing incident request: {}", request.getOperation());
-        
-        try {
-            switch (request.getOperation().toLowerCase()) {
-                case "create":
-                    return handleCreate(request);
-                case "get":
-                    return handleGet(request);
-                case "update":
-                    return handleUpdate(request);
-                case "search":
-                    return handleSearch(request);
-                default:
-                    return GenericResponse.builder()
-                        .status("ERROR")
-                        .message("Unsupported operation: " + request.getOperation())
-                        .data(Map.of())
-                        .build();
-            }
-        } catch (Exception e) {
-            logger.error("Error processing incident request: {}", e.getMessage(), e);
+        Operation operation = request.getOperationType();
+        OperationHandler handler = operation != null ? handlers.get(operation) : null;
+        if (handler == null) {
             return GenericResponse.builder()
                 .status("ERROR")
-                .message("Error processing request: " + e.getMessage())
+                .message("Unsupported operation: " + request.getOperation())
                 .data(Map.of())
                 .build();
         }
+        return handler.handle(request);
+    }
+    
+    /**
+     * Turns failures of a handler into an error response, except overload and
+     * deadline failures, which the controller answers with 503 and 504
+     */
+    private static OperationHandler guarded(OperationHandler handler) {
+        return request -> {
+            logger.debug("Processing incident request: {}", request.getOperation());
+            try {
+                return handler.handle(request);
+            } catch (RemedyOverloadException | DeadlineExceededException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.error("Error processing incident request: {}", e.getMessage(), e);
+                return GenericResponse.builder()
+                    .status("ERROR")
+                    .message("Error processing request: " + e.getMessage())
+                    .data(Map.of())
+                    .build();
+            }
+        };
     }
     
     private GenericResponse handleCreate(GenericRequest request) {
-        // Convert generic request to IncidentDetails
-        IncidentDetails incidentDetails = convertToIncidentDetails(request.getData());
-        
-        // Set default key for legacy API compatibility
-        if (incidentDetails.getKey() == null || incidentDetails.getKey().isEmpty()) {
-            incidentDetails.setKey("10");
-        }
+        // Bind the request data straight to the staging form entry
+        long mappingStart = System.nanoTime();
+        IncidentEntry incident = IncidentEntry.fromData(request.getData());
+        RequestTiming.current().record(Phase.MAPPING, mappingStart);
         
         // Use legacy service to create incident
-        String incidentId = createIncidentService.createIncident(incidentDetails);
+        String incidentId = createIncidentService.createIncident(incident);
         
         if (incidentId != null && !incidentId.isEmpty()) {
             return GenericResponse.builder()
@@ -135,24 +179,38 @@ public class IncidentModuleBridge implements Module {
     }
     
     private GenericResponse handleGet(GenericRequest request) {
-        // For now, return mock data - in real implementation would query BMC
         String incidentId = (String) request.getData().get("incidentId");
         
+        // Read the staging form entry; hedged across servers when hedging is enabled
+        Map<String, Object> entry = formHandler.getEntry(IncidentEntry.STAGING_FORM, incidentId);
+        Map<String, Object> incident = new HashMap<>();
+        incident.put("incidentId", incidentId);
+        REMEDY_FIELDS.forEach((name, fieldId) -> {
+            Object value = entry.get(fieldId);
+            if (value != null) {
+                incident.put(name, value);
+            }
+        });
+        
         return GenericResponse.builder()
             .status("SUCCESS")
             .message("Incident retrieved successfully")
-            .data(Map.of(
-                "incidentId", incidentId,
-                "status", "Active",
-                "priority", "Medium",
-                "description", "Mock incident data"
-            ))
+            .data(incident)
             .build();
     }
     
     private GenericResponse handleUpdate(GenericRequest request) {
-        // For now, return mock success - in real implementation would update BMC
-        String incidentId = (String) request.getData().get("incidentId");
+        Map<String, Object> data = request.getData();
+        String incidentId = (String) data.get("incidentId");
+        
+        Map<String, Object> updates = new HashMap<>();
+        REMEDY_FIELDS.forEach((name, fieldId) -> {
+            Object value = data.get(name);
+            if (value != null) {
+                updates.put(fieldId, value);
+            }
+        });
+        formHandler.updateEntry(IncidentEntry.STAGING_FORM, incidentId, updates);
         
         return GenericResponse.builder()
             .status("SUCCESS")
@@ -172,66 +230,4 @@ public class IncidentModuleBridge implements Module {
             )))
             .build();
     }
-    
-    /**
-     * Convert generic request data to IncidentDetails object
-     */
-    private IncidentDetails convertToIncidentDetails(Map<String, Object> data) {
-        IncidentDetails details = new IncidentDetails();
-        
-        details.setSourceOfCreation(getString(data, "sourceOfCreation"));
-        details.setAlertName(getString(data, "alertName"));
-        details.setAlertDescription(getString(data, "alertDescription"));
-        details.setSeverity(getString(data, "severity"));
-        details.setAlertLimitCategory(getString(data, "alertLimitCategory"));
-        details.setAdd1(getString(data, "add1"));
-        details.setAdd2(getString(data, "add2"));
-        details.setKey(getString(data, "key"));
-        
-        return details;
-    }
-    
-    private String getString(Map<String, Object> data, String key) {
-        Object value = data.get(key);
-        return value != null ? value.toString() : "";
-    }
-    
-    /**
-     * Validate create incident request
-     */
-    private ValidationResult validateCreateRequest(GenericRequest request) {
-        Map<String, Object> data = request.getData();
-        
-        // Check required fields for incident creation
-        if (!data.containsKey("alertName") || isEmpty(getString(data, "alertName"))) {
-            return ValidationResult.invalid("alertName is required for incident creation");
-        }
-        
-        if (!data.containsKey("alertDescription") || isEmpty(getString(data, "alertDescription"))) {
-            return ValidationResult.invalid("alertDescription is required for incident creation");
-        }
-        
-        if (!data.containsKey("severity") || isEmpty(getString(data, "severity"))) {
-            return ValidationResult.invalid("severity is required for incident creation");
-        }
-        
-        return ValidationResult.valid();
-    }
-    
-    /**
-     * Validate requests that require incident ID
-     */
-    private ValidationResult validateIncidentIdRequest(GenericRequest request) {
-        Map<String, Object> data = request.getData();
-        
-        if (!data.containsKey("incidentId") || isEmpty(getString(data, "incidentId"))) {
-            return ValidationResult.invalid("incidentId is required for " + request.getOperation() + " operation");
-        }
-        
-        return ValidationResult.valid();
-    }
-    
-    private boolean isEmpty(String value) {
-        return value == null || value.trim().isEmpty();
-    }
 }
\ No newline at end of file
@@ -1,14 +1,26 @@
 package net.cybermak.integration.api.controller;
 
-import net.cybermak.integration.api.model.requests.IncidentDetails;
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.api.admission.AdmissionRejectedException;
+import net.cybermak.integration.api.admission.PriorityClass;
+import net.cybermak.integration.api.logging.PayloadLogger;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
 import net.cybermak.integration.api.service.CreateIncidentService;
+import net.cybermak.integration.config.AsyncProperties;
 import net.cybermak.integration.config.SecurityConfig;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.remedy.exception.RemedyOverloadException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
+
 /**
  * CreateIncidentController handles REST API requests for incident creation
  * Provides backward-compatible endpoint matching original WAR file
@@ -32,16 +44,27 @@ public class CreateIncidentController {
     
     private final CreateIncidentService createIncidentService;
     private final SecurityConfig securityConfig;
+    private final AdmissionQueue admissionQueue;
+    private final PayloadLogger payloadLogger;
+    private final AsyncProperties asyncProperties;
 
     /**
      * Constructor for dependency injection
      * 
      * @param createIncidentService Service for incident creation
      * @param securityConfig Security configuration
+     * @param admissionQueue Severity-prioritized, source-fair admission stage
+     * @param payloadLogger Sampled, redacted payload logging
+     * @param asyncProperties Request timeouts
      */
-    public CreateIncidentController(CreateIncidentService createIncidentService, SecurityConfig securityConfig) {
+    public CreateIncidentController(CreateIncidentService createIncidentService, SecurityConfig securityConfig,
+                                    AdmissionQueue admissionQueue, PayloadLogger payloadLogger,
+                                    AsyncProperties asyncProperties) {
         this.createIncidentService = createIncidentService;
         this.securityConfig = securityConfig;
+        this.admissionQueue = admissionQueue;
+        this.payloadLogger = payloadLogger;
+        this.asyncProperties = asyncProperties;
     }
 
     /**
@@ -52,21 +75,49 @@ public class CreateIncidentController {
      * - Content-Type: application/json
      * - Authentication: key field must equal "10"
      * - Response: "Success", "Failed", or error message
+     * - Returns "Failed" with 503 when Remedy has no spare capacity
+     * - Returns "Failed" with 429 and Retry-After when shed by the admission queue
+     * - Returns "Failed" with 504 when the request deadline passes before Remedy is called
+     * 
+     * The body is streamed straight into the staging form entry. With
+     * server-timing.header on, the response carries a Server-Timing header
+     * breaking the call down into parse, queue, borrow, login and remedy
+     * time. The createIncident endpoint timeout, which
+     * callers may shorten with the X-Request-Timeout header, is the request deadline.
      * 
-     * @param incidentDetails The incident details from monitoring tool
+     * @param incident The alert from the monitoring tool, bound to the staging form
+     * @param timeout Requested timeout in milliseconds, or null for the configured one
+     * @param principal Authenticated caller, the admission fairness source
      * @return ResponseEntity with success/failure message
      */
     @PostMapping(value = "/createIncident", produces = "application/json")
-    public ResponseEntity<String> createIncident(@RequestBody IncidentDetails incidentDetails) {
-        logger.info("Inside the createIncident method");
-        logger.info(incidentDetails.toString());
+    public ResponseEntity<String> createIncident(@RequestBody IncidentEntry incident,
+            @RequestHeader(value = GenericIntegrationController.TIMEOUT_HEADER, required = false) Long timeout,
+            Principal principal) {
+        logger.debug("Inside the createIncident method: {}", incident);
+        payloadLogger.log(logger, "createIncident", incident.getSourceOfCreation(), incident::toLogFields);
         
         String response = null;
         
         // Validate API key using configurable security settings
         String expectedKey = securityConfig.getApiKey().getLegacyKey();
-        if (securityConfig.getApiKey().isEnabled() && expectedKey.equals(incidentDetails.getKey())) {
-            response = createIncidentService.createIncident(incidentDetails);
+        if (securityConfig.getApiKey().isEnabled() && expectedKey.equals(incident.getKey())) {
+            long timeoutMillis = AsyncProperties.effectiveTimeout(timeout, asyncProperties.getTimeout("createIncident"));
+            try (RequestTiming.Scope scope = Deadline.after(timeoutMillis).bind()) {
+                PriorityClass priorityClass = PriorityClass.fromSeverity(incident.getSeverity());
+                response = admissionQueue.admit(priorityClass, GenericIntegrationController.sourceOf(principal),
+                    () -> createIncidentService.createIncident(incident));
+            } catch (AdmissionRejectedException e) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body("Failed");
+            } catch (RemedyOverloadException e) {
+                logger.warn("Rejected incident creation: {}", e.getMessage());
+                return new ResponseEntity<>("Failed", HttpStatus.SERVICE_UNAVAILABLE);
+            } catch (DeadlineExceededException e) {
+                logger.warn("Dropped incident creation: {}", e.getMessage());
+                return new ResponseEntity<>("Failed", HttpStatus.GATEWAY_TIMEOUT);
+            }
             
             if (response.isEmpty()) {
                 return new ResponseEntity<>("Failed", HttpStatus.OK);
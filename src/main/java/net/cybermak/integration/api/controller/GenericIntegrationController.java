@@ -1,45 +1,81 @@
 package net.cybermak.integration.api.controller;
 
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.api.admission.AdmissionRejectedException;
+import net.cybermak.integration.api.admission.PriorityClass;
+import net.cybermak.integration.api.binding.ModuleBody;
 import net.cybermak.integration.api.service.modern.ModuleService;
+import net.cybermak.integration.config.AsyncProperties;
 import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.remedy.exception.RemedyOverloadException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
+import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Generic REST API controller for BMC Remedy integrations
  * TDD: Implementation to satisfy GenericIntegrationControllerTest requirements
+ * 
+ * Module operations complete asynchronously on the Remedy executor so servlet
+ * threads are not held during Remedy I/O; when the executor is full, requests
+ * get 503 at once. Each request is bounded by the endpoint's configured
+ * timeout, which callers may shorten with the X-Request-Timeout header
+ * (milliseconds); a request that runs out of time gets 504. The timeout is
+ * carried along as the request {@link Deadline}, so queued work for a request
+ * nobody waits for any more is dropped.
+ * Entry bodies are bound with {@link ModuleBody}, straight into the module's
+ * field schema when it declares one. Module responses are written as they
+ * are, without copying them into a separate response type. With
+ * server-timing.header on, responses carry a Server-Timing header with the
+ * time spent in each handling phase.
  */
 @RestController
 @RequestMapping("/api/v1/integration")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class GenericIntegrationController {
 
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
     private final ModuleService moduleService;
+    private final AdmissionQueue admissionQueue;
+    private final AsyncProperties asyncProperties;
 
-    public GenericIntegrationController(ModuleService moduleService) {
+    public GenericIntegrationController(ModuleService moduleService, AdmissionQueue admissionQueue,
+                                        AsyncProperties asyncProperties) {
         this.moduleService = moduleService;
+        this.admissionQueue = admissionQueue;
+        this.asyncProperties = asyncProperties;
     }
 
     /**
      * Get all available modules
      */
     @GetMapping("/modules")
-    public ResponseEntity<ApiResponse> getAvailableModules() {
+    public ResponseEntity<GenericResponse> getAvailableModules() {
         try {
             List<String> moduleTypes = moduleService.getAvailableModules();
             
-            ApiResponse response = ApiResponse.builder()
+            GenericResponse response = GenericResponse.builder()
                 .status("SUCCESS")
                 .data(Map.of("modules", moduleTypes))
                 .message("Available modules retrieved successfully")
-                .timestamp(LocalDateTime.now().toString())
                 .build();
                 
             return ResponseEntity.ok(response);
@@ -51,235 +87,236 @@ public class GenericIntegrationController {
 
     /**
      * Create a new entry in the specified module
+     * Admission is shared fairly between callers, keyed on the authenticated
+     * principal; unauthenticated requests share one source.
      */
     @PostMapping("/{moduleType}")
-    public ResponseEntity<ApiResponse> createEntry(
+    public CompletableFuture<ResponseEntity<GenericResponse>> createEntry(
             @PathVariable String moduleType,
-            @RequestBody Map<String, Object> data) {
+            Principal principal,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout,
+            @ModuleBody Map<String, Object> data) {
         
-        try {
-            if (!moduleService.moduleExists(moduleType)) {
-                return createErrorResponse(HttpStatus.NOT_FOUND, 
-                    "Module not found: " + moduleType);
-            }
-
-            GenericResponse moduleResponse = moduleService.createEntry(moduleType, data);
-            
-            ApiResponse response = ApiResponse.builder()
-                .status(moduleResponse.getStatus())
-                .data(moduleResponse.getData())
-                .message(moduleResponse.getMessage())
-                .timestamp(LocalDateTime.now().toString())
-                .build();
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-            
-        } catch (IllegalArgumentException e) {
-            return createErrorResponse(HttpStatus.BAD_REQUEST, 
-                "Invalid request: " + e.getMessage());
-        } catch (Exception e) {
-            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Internal server error: " + e.getMessage());
-        }
+        return handle(moduleType, AsyncProperties.effectiveTimeout(timeout, asyncProperties.getTimeout("create")),
+            () -> admissionQueue.admitAsync(PriorityClass.of(data), sourceOf(principal),
+                () -> moduleService.createEntryAsync(moduleType, data)),
+            moduleResponse -> ResponseEntity.status(HttpStatus.CREATED).body(moduleResponse));
     }
 
     /**
      * Get an entry by ID from the specified module
      */
     @GetMapping("/{moduleType}/{entryId}")
-    public ResponseEntity<ApiResponse> getEntry(
+    public CompletableFuture<ResponseEntity<GenericResponse>> getEntry(
             @PathVariable String moduleType,
-            @PathVariable String entryId) {
+            @PathVariable String entryId,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout) {
         
-        try {
-            if (!moduleService.moduleExists(moduleType)) {
-                return createErrorResponse(HttpStatus.NOT_FOUND, 
-                    "Module not found: " + moduleType);
-            }
-
-            GenericResponse moduleResponse = moduleService.getEntry(moduleType, entryId);
-            
-            ApiResponse response = ApiResponse.builder()
-                .status(moduleResponse.getStatus())
-                .data(moduleResponse.getData())
-                .message(moduleResponse.getMessage())
-                .timestamp(LocalDateTime.now().toString())
-                .build();
-
-            return ResponseEntity.ok(response);
-            
-        } catch (IllegalArgumentException e) {
-            return createErrorResponse(HttpStatus.BAD_REQUEST, 
-                "Invalid request: " + e.getMessage());
-        } catch (Exception e) {
-            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Internal server error: " + e.getMessage());
-        }
+        return handle(moduleType, AsyncProperties.effectiveTimeout(timeout, asyncProperties.getTimeout("get")),
+            () -> moduleService.getEntryAsync(moduleType, entryId),
+            ResponseEntity::ok);
     }
 
     /**
      * Update an entry by ID in the specified module
      */
     @PutMapping("/{moduleType}/{entryId}")
-    public ResponseEntity<ApiResponse> updateEntry(
+    public CompletableFuture<ResponseEntity<GenericResponse>> updateEntry(
             @PathVariable String moduleType,
             @PathVariable String entryId,
-            @RequestBody Map<String, Object> data) {
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout,
+            @ModuleBody Map<String, Object> data) {
         
-        try {
-            if (!moduleService.moduleExists(moduleType)) {
-                return createErrorResponse(HttpStatus.NOT_FOUND, 
-                    "Module not found: " + moduleType);
-            }
-
-            GenericResponse moduleResponse = moduleService.updateEntry(moduleType, entryId, data);
-            
-            ApiResponse response = ApiResponse.builder()
-                .status(moduleResponse.getStatus())
-                .data(moduleResponse.getData())
-                .message(moduleResponse.getMessage())
-                .timestamp(LocalDateTime.now().toString())
-                .build();
-
-            return ResponseEntity.ok(response);
-            
-        } catch (IllegalArgumentException e) {
-            return createErrorResponse(HttpStatus.BAD_REQUEST, 
-                "Invalid request: " + e.getMessage());
-        } catch (Exception e) {
-            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Internal server error: " + e.getMessage());
-        }
+        return handle(moduleType, AsyncProperties.effectiveTimeout(timeout, asyncProperties.getTimeout("update")),
+            () -> moduleService.updateEntryAsync(moduleType, entryId, data),
+            ResponseEntity::ok);
     }
 
     /**
      * Batch create entries in the specified module
+     * Entries are admitted and created concurrently, up to half the caller's
+     * admission queue bound at a time; results keep the request order.
      */
     @PostMapping("/{moduleType}/batch")
-    public ResponseEntity<ApiResponse> batchCreateEntries(
+    public CompletableFuture<ResponseEntity<GenericResponse>> batchCreateEntries(
             @PathVariable String moduleType,
-            @RequestBody List<Map<String, Object>> batchData) {
+            Principal principal,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout,
+            @ModuleBody List<Map<String, Object>> batchData) {
         
-        try {
-            if (!moduleService.moduleExists(moduleType)) {
-                return createErrorResponse(HttpStatus.NOT_FOUND, 
-                    "Module not found: " + moduleType);
-            }
-
-            List<Map<String, Object>> results = new ArrayList<>();
-
-            for (Map<String, Object> data : batchData) {
-                try {
-                    GenericResponse moduleResponse = moduleService.createEntry(moduleType, data);
-                    results.add(moduleResponse.getData());
-                    
-                } catch (Exception e) {
-                    results.add(Map.of(
-                        "error", e.getMessage(),
-                        "data", data
-                    ));
-                }
-            }
-
-            ApiResponse response = ApiResponse.builder()
+        return handle(moduleType, AsyncProperties.effectiveTimeout(timeout, asyncProperties.getTimeout("batch")),
+            () -> createBatch(moduleType, sourceOf(principal), batchData),
+            results -> ResponseEntity.ok(GenericResponse.builder()
                 .status("SUCCESS")
                 .data(Map.of("results", results))
                 .message("Batch operation completed")
-                .timestamp(LocalDateTime.now().toString())
-                .build();
-
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Internal server error: " + e.getMessage());
-        }
+                .build()));
     }
 
     /**
      * Search entries in the specified module
      */
     @GetMapping("/{moduleType}/search")
-    public ResponseEntity<ApiResponse> searchEntries(
+    public CompletableFuture<ResponseEntity<GenericResponse>> searchEntries(
             @PathVariable String moduleType,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeout,
             @RequestParam Map<String, String> searchParams) {
         
+        return handle(moduleType, AsyncProperties.effectiveTimeout(timeout, asyncProperties.getTimeout("search")),
+            () -> moduleService.searchEntriesAsync(moduleType, searchParams),
+            ResponseEntity::ok);
+    }
+
+    /**
+     * Runs a module operation asynchronously with a timeout and maps its outcome to a response
+     * The servlet thread is released as soon as the operation has been started,
+     * with the timeout bound as the request deadline while it is started.
+     */
+    private <T> CompletableFuture<ResponseEntity<GenericResponse>> handle(
+            String moduleType, long timeoutMillis,
+            Supplier<CompletableFuture<T>> operation,
+            Function<T, ResponseEntity<GenericResponse>> onSuccess) {
+        
         try {
             if (!moduleService.moduleExists(moduleType)) {
-                return createErrorResponse(HttpStatus.NOT_FOUND, 
-                    "Module not found: " + moduleType);
+                return CompletableFuture.completedFuture(createErrorResponse(HttpStatus.NOT_FOUND,
+                    "Module not found: " + moduleType));
             }
 
-            GenericResponse moduleResponse = moduleService.searchEntries(moduleType, searchParams);
-            
-            ApiResponse response = ApiResponse.builder()
-                .status(moduleResponse.getStatus())
-                .data(moduleResponse.getData())
-                .message(moduleResponse.getMessage())
-                .timestamp(LocalDateTime.now().toString())
-                .build();
+            CompletableFuture<T> result;
+            try (RequestTiming.Scope scope = Deadline.after(timeoutMillis).bind()) {
+                result = operation.get();
+            }
+            return result
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .thenApply(onSuccess)
+                .exceptionally(failure -> createFailureResponse(failure, timeoutMillis));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(createFailureResponse(e, timeoutMillis));
+        }
+    }
 
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, 
-                "Internal server error: " + e.getMessage());
+    /**
+     * Create batch entries with a bounded number in flight
+     * Item i starts once item i - window is done, so a large batch never has
+     * more items waiting for admission than its source may queue and is not
+     * shed by its own fairness bound.
+     */
+    private CompletableFuture<List<Map<String, Object>>> createBatch(String moduleType, String source,
+                                                                     List<Map<String, Object>> batchData) {
+        int window = Math.max(1, admissionQueue.getMaxQueue(source) / 2);
+        RequestTiming timing = RequestTiming.current();
+        Deadline deadline = Deadline.current();
+        
+        List<CompletableFuture<Map<String, Object>>> items = new ArrayList<>(batchData.size());
+        for (int i = 0; i < batchData.size(); i++) {
+            Map<String, Object> data = batchData.get(i);
+            if (i < window) {
+                items.add(createBatchItem(moduleType, source, data));
+            } else {
+                // Started from the thread completing an earlier item, so carry the request timing and deadline over
+                items.add(items.get(i - window).thenCompose(previous -> {
+                    try (RequestTiming.Scope timingScope = timing.bind();
+                         RequestTiming.Scope deadlineScope = deadline.bind()) {
+                        return createBatchItem(moduleType, source, data);
+                    }
+                }));
+            }
         }
+        return CompletableFuture.allOf(items.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> items.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Create one batch entry, turning a failure into an error result
+     */
+    private CompletableFuture<Map<String, Object>> createBatchItem(String moduleType, String source,
+                                                                   Map<String, Object> data) {
+        try {
+            return admissionQueue.admitAsync(PriorityClass.of(data), source,
+                    () -> moduleService.createEntryAsync(moduleType, data))
+                .thenApply(GenericResponse::getData)
+                .exceptionally(failure -> Map.of(
+                    "error", String.valueOf(unwrap(failure).getMessage()),
+                    "data", data
+                ));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(Map.of(
+                "error", String.valueOf(e.getMessage()),
+                "data", data
+            ));
+        }
+    }
+
+    /**
+     * Resolve the admission fairness source of a request
+     * Only the authenticated principal is trusted; headers and entry fields
+     * are chosen by the caller and would let one caller pose as many.
+     */
+    static String sourceOf(Principal principal) {
+        return principal != null ? principal.getName() : null;
     }
 
     /**
      * Create error response
      */
-    private ResponseEntity<ApiResponse> createErrorResponse(HttpStatus status, String message) {
-        ApiResponse response = ApiResponse.builder()
+    private ResponseEntity<GenericResponse> createErrorResponse(HttpStatus status, String message) {
+        GenericResponse response = GenericResponse.builder()
             .status("ERROR")
             .message(message)
-            .timestamp(LocalDateTime.now().toString())
             .build();
             
         return ResponseEntity.status(status).body(response);
     }
 
-
     /**
-     * API Response wrapper
+     * Map a failed module operation to an error response
      */
-    public static class ApiResponse {
-        private String status;
-        private Map<String, Object> data;
-        private String message;
-        private String timestamp;
-
-        private ApiResponse() {}
-
-        private ApiResponse(Builder builder) {
-            this.status = builder.status;
-            this.data = builder.data;
-            this.message = builder.message;
-            this.timestamp = builder.timestamp;
+    private ResponseEntity<GenericResponse> createFailureResponse(Throwable failure, long timeoutMillis) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof AdmissionRejectedException rejected) {
+            return createRejectedResponse(rejected);
         }
-
-        public static Builder builder() {
-            return new Builder();
+        if (cause instanceof RemedyOverloadException) {
+            return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "Remedy is overloaded: " + cause.getMessage());
         }
+        if (cause instanceof RejectedExecutionException) {
+            return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "No capacity to run the request, retry later");
+        }
+        if (cause instanceof TimeoutException || cause instanceof DeadlineExceededException) {
+            return createErrorResponse(HttpStatus.GATEWAY_TIMEOUT,
+                "Request timed out after " + timeoutMillis + " ms");
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return createErrorResponse(HttpStatus.BAD_REQUEST,
+                "Invalid request: " + cause.getMessage());
+        }
+        return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR,
+            "Internal server error: " + cause.getMessage());
+    }
 
-        public String getStatus() { return status; }
-        public Map<String, Object> getData() { return data; }
-        public String getMessage() { return message; }
-        public String getTimestamp() { return timestamp; }
-
-        public static class Builder {
-            private String status;
-            private Map<String, Object> data;
-            private String message;
-            private String timestamp;
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
 
-            public Builder status(String status) { this.status = status; return this; }
-            public Builder data(Map<String, Object> data) { this.data = data; return this; }
-            public Builder message(String message) { this.message = message; return this; }
-            public Builder timestamp(String timestamp) { this.timestamp = timestamp; return this; }
+    /**
+     * Create 429 response for a request shed by the admission queue
+     */
+    private ResponseEntity<GenericResponse> createRejectedResponse(AdmissionRejectedException e) {
+        GenericResponse response = GenericResponse.builder()
+            .status("ERROR")
+            .message("Too many requests: " + e.getMessage())
+            .build();
 
-            public ApiResponse build() { return new ApiResponse(this); }
-        }
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package net.cybermak.integration.api.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import net.cybermak.integration.api.model.requests.IncidentDetails;
+import net.cybermak.integration.api.model.responses.IngestResult;
+import net.cybermak.integration.api.service.modern.IncidentStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+
+/**
+ * Streaming counterpart of CreateIncidentController for high-volume monitoring feeds
+ * 
+ * Accepts newline-delimited JSON IncidentDetails (the legacy request body, one
+ * per line, each carrying its own key) and streams back one newline-delimited
+ * IngestResult per incident, in order. The request body is read only as fast
+ * as incidents are processed, so TCP flow control pushes back on producers.
+ * 
+ * The legacy POST /api/remedyITSM/createIncident contract is unchanged.
+ */
+@RestController
+@RequestMapping("api/remedyITSM")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class IncidentStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentStreamController.class);
+
+    private final IncidentStreamService incidentStreamService;
+    private final ObjectReader incidentReader;
+
+    public IncidentStreamController(IncidentStreamService incidentStreamService, ObjectMapper objectMapper) {
+        this.incidentStreamService = incidentStreamService;
+        this.incidentReader = objectMapper.readerFor(IncidentDetails.class);
+    }
+
+    /**
+     * Creates incidents from a stream of monitoring tool alerts
+     * 
+     * @param body newline-delimited JSON incident details
+     * @param principal authenticated caller, the admission fairness source
+     * @return newline-delimited results, one per incident
+     */
+    @PostMapping(value = "/createIncident/stream",
+                 consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<IngestResult> createIncidents(InputStream body, Principal principal) {
+        Flux<IncidentDetails> incidents = Flux.<IncidentDetails, MappingIterator<IncidentDetails>>using(
+                () -> incidentReader.readValues(body),
+                iterator -> Flux.fromIterable(() -> iterator),
+                IncidentStreamController::close)
+            // Reading the servlet input stream blocks
+            .subscribeOn(Schedulers.boundedElastic());
+
+        return incidentStreamService.ingest(incidents, GenericIntegrationController.sourceOf(principal))
+            .onErrorResume(e -> {
+                logger.warn("Incident stream aborted: {}", e.getMessage());
+                return Flux.just(IngestResult.builder()
+                    .status(IngestResult.ERROR)
+                    .message("Incident stream aborted: " + e.getMessage())
+                    .build());
+            });
+    }
+
+    private static void close(MappingIterator<IncidentDetails> iterator) {
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package net.cybermak.integration.api.lifecycle;
+
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.config.AsyncConfiguration;
+import net.cybermak.integration.config.ShutdownProperties;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains Remedy work when the application shuts down
+ * 
+ * Runs after the web server has stopped taking requests (graceful shutdown)
+ * but before it is stopped and before any bean is destroyed. It closes the
+ * admission queue, so monitoring streams and late requests are shed rather
+ * than started, then waits up to the grace period for admitted requests,
+ * queued executor tasks and in-flight Remedy operations to finish. Pooled
+ * Remedy connections are closed last, and what was drained or abandoned is
+ * logged, so a rolling deploy does not fail creates that were already
+ * accepted.
+ */
+@Component
+public class ShutdownDrain implements SmartLifecycle {
+    
+    /**
+     * Between web server graceful shutdown (DEFAULT_PHASE - 1024) and web server stop (DEFAULT_PHASE - 2048)
+     */
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 1536;
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShutdownDrain.class);
+    
+    private final ShutdownProperties properties;
+    private final AdmissionQueue admissionQueue;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ThreadPoolTaskExecutor remedyExecutor;
+    private final RemedyConnectionManager connectionManager;
+    
+    private volatile boolean running;
+    private volatile Report lastReport;
+    
+    public ShutdownDrain(ShutdownProperties properties, AdmissionQueue admissionQueue,
+                         AdaptiveConcurrencyLimiter concurrencyLimiter,
+                         @Qualifier(AsyncConfiguration.REMEDY_EXECUTOR) ThreadPoolTaskExecutor remedyExecutor,
+                         RemedyConnectionManager connectionManager) {
+        this.properties = properties;
+        this.admissionQueue = admissionQueue;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.remedyExecutor = remedyExecutor;
+        this.connectionManager = connectionManager;
+    }
+    
+    @Override
+    public void start() {
+        running = true;
+    }
+    
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        lastReport = drain();
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+    
+    /**
+     * Returns the outcome of the last drain
+     * @return drain report, or null before shutdown
+     */
+    public Report getLastReport() {
+        return lastReport;
+    }
+    
+    /**
+     * Stops admission, waits for running and queued work within the grace
+     * period, then closes the Remedy connections
+     * @return what was drained and what was left behind
+     */
+    Report drain() {
+        long start = System.nanoTime();
+        admissionQueue.close();
+        Load before = load();
+        Load after = before;
+        
+        if (properties.isDrain() && !before.isIdle()) {
+            logger.info("Draining Remedy work before shutdown: {}", before);
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getGracePeriod());
+            try {
+                while (!after.isIdle() && System.nanoTime() < deadline) {
+                    Thread.sleep(properties.getPollInterval());
+                    after = load();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                after = load();
+            }
+        }
+        
+        int connectionsClosed = connectionManager.closeAllConnections();
+        Report report = new Report(before, after, connectionsClosed,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (after.isIdle()) {
+            logger.info("Shutdown drain complete: {}", report);
+        } else {
+            logger.warn("Shutdown drain ran out of time: {}", report);
+        }
+        return report;
+    }
+    
+    private Load load() {
+        return new Load(admissionQueue.getRunning(), admissionQueue.getQueued(),
+            remedyExecutor.getActiveCount(), remedyExecutor.getQueueSize(),
+            concurrencyLimiter.getInFlight(), concurrencyLimiter.getQueued());
+    }
+    
+    /**
+     * Remedy work present at one point of the drain
+     */
+    public static final class Load {
+        private final int admitted;
+        private final int admissionQueued;
+        private final int executing;
+        private final int executorQueued;
+        private final int remedyInFlight;
+        private final int remedyQueued;
+        
+        Load(int admitted, int admissionQueued, int executing, int executorQueued,
+             int remedyInFlight, int remedyQueued) {
+            this.admitted = admitted;
+            this.admissionQueued = admissionQueued;
+            this.executing = executing;
+            this.executorQueued = executorQueued;
+            this.remedyInFlight = remedyInFlight;
+            this.remedyQueued = remedyQueued;
+        }
+        
+        public int getAdmitted() { return admitted; }
+        public int getAdmissionQueued() { return admissionQueued; }
+        public int getExecuting() { return executing; }
+        public int getExecutorQueued() { return executorQueued; }
+        public int getRemedyInFlight() { return remedyInFlight; }
+        public int getRemedyQueued() { return remedyQueued; }
+        
+        public boolean isIdle() {
+            return admitted == 0 && admissionQueued == 0 && executing == 0 && executorQueued == 0
+                && remedyInFlight == 0 && remedyQueued == 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "admitted=" + admitted + ", admissionQueued=" + admissionQueued
+                + ", executing=" + executing + ", executorQueued=" + executorQueued
+                + ", remedyInFlight=" + remedyInFlight + ", remedyQueued=" + remedyQueued;
+        }
+    }
+    
+    /**
+     * Outcome of a shutdown drain
+     */
+    public static final class Report {
+        private final Load before;
+        private final Load abandoned;
+        private final int connectionsClosed;
+        private final long elapsedMillis;
+        
+        Report(Load before, Load abandoned, int connectionsClosed, long elapsedMillis) {
+            this.before = before;
+            this.abandoned = abandoned;
+            this.connectionsClosed = connectionsClosed;
+            this.elapsedMillis = elapsedMillis;
+        }
+        
+        /**
+         * Returns the work present when admission stopped
+         * @return load at the start of the drain
+         */
+        public Load getBefore() { return before; }
+        
+        /**
+         * Returns the work still present when the drain ended
+         * @return load left behind, idle if everything finished
+         */
+        public Load getAbandoned() { return abandoned; }
+        
+        public int getConnectionsClosed() { return connectionsClosed; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        
+        @Override
+        public String toString() {
+            return "found [" + before + "], left [" + abandoned + "] after " + elapsedMillis + " ms, closed "
+                + connectionsClosed + " Remedy connections";
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package net.cybermak.integration.api.logging;
+
+import net.cybermak.integration.config.PayloadLoggingProperties;
+import org.slf4j.Logger;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Logs request payloads as structured key-value pairs for a sample of requests
+ *
+ * Payloads are logged at INFO for {@code logging.payload.sample-rate} of
+ * requests, or for every request while the logger is at DEBUG. Configured
+ * fields are redacted and long values truncated. Unsampled requests pay for
+ * one random draw and nothing else, so payloads are never formatted on the
+ * request thread just to be discarded.
+ */
+@Component
+public class PayloadLogger {
+    
+    static final String REDACTED = "[REDACTED]";
+    
+    private final PayloadLoggingProperties properties;
+    
+    public PayloadLogger(PayloadLoggingProperties properties) {
+        this.properties = properties;
+    }
+    
+    /**
+     * Checks whether the current request's payload should be logged
+     * @param logger logger the payload would be written to
+     * @return true if the payload is sampled
+     */
+    public boolean isSampled(Logger logger) {
+        if (!properties.isEnabled() || !logger.isInfoEnabled()) {
+            return false;
+        }
+        return logger.isDebugEnabled() || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    }
+    
+    /**
+     * Logs a payload if the request is sampled
+     * @param logger logger to write to
+     * @param event short event name, e.g. "create"
+     * @param subject what the payload belongs to, e.g. the module type
+     * @param payload request fields
+     */
+    public void log(Logger logger, String event, String subject, Map<String, ?> payload) {
+        if (isSampled(logger)) {
+            write(logger, event, subject, payload);
+        }
+    }
+    
+    /**
+     * Logs a payload if the request is sampled, building it only when it is
+     * @param logger logger to write to
+     * @param event short event name, e.g. "create"
+     * @param subject what the payload belongs to, e.g. the module type
+     * @param payload supplier of the request fields
+     */
+    public void log(Logger logger, String event, String subject, Supplier<? extends Map<String, ?>> payload) {
+        if (isSampled(logger)) {
+            write(logger, event, subject, payload.get());
+        }
+    }
+    
+    private void write(Logger logger, String event, String subject, Map<String, ?> payload) {
+        LoggingEventBuilder builder = logger.atInfo()
+            .setMessage("{} payload for {}")
+            .addArgument(event)
+            .addArgument(subject)
+            .addKeyValue("event", event);
+        if (payload != null) {
+            payload.forEach((field, value) -> builder.addKeyValue("payload." + field, format(field, value)));
+        }
+        builder.log();
+    }
+    
+    /**
+     * Renders one payload value, redacted or truncated as configured
+     */
+    String format(String field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (properties.getRedactedFields().contains(field)) {
+            return REDACTED;
+        }
+        String text = value.toString();
+        int maxLength = properties.getMaxValueLength();
+        if (maxLength > 0 && text.length() > maxLength) {
+            return text.substring(0, maxLength) + "...(" + text.length() + " chars)";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,195 @@
+package net.cybermak.integration.api.model.requests;
+
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Value;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Incident alert bound straight to the Remedy staging form
+ *
+ * Holds the alert as an {@link Entry} keyed by staging form field ID, plus the
+ * few values the API itself needs (key, severity, source). JSON requests are
+ * streamed into it by {@link IncidentEntryDeserializer} without going through
+ * {@link IncidentDetails}.
+ */
+@JsonDeserialize(using = IncidentEntryDeserializer.class)
+public class IncidentEntry {
+
+    public static final String STAGING_FORM = "INTG-ITSM-MONITORING-INCIDENT-CREATE-STAGING-FORM";
+
+    // BMC Remedy staging form field IDs (from the original implementation)
+    public static final Integer SOURCE_OF_CREATION_FIELD = 536870943;
+    public static final Integer ALERT_NAME_FIELD = 536870913;
+    public static final Integer ALERT_DESCRIPTION_FIELD = 536870914;
+    public static final Integer SEVERITY_FIELD = 536870915;
+    public static final Integer ALERT_LIMIT_CATEGORY_FIELD = 536870916;
+    public static final Integer ADD1_FIELD = 536870917;
+    public static final Integer ADD2_FIELD = 536870918;
+
+    private static final Map<String, Integer> FIELD_IDS = Map.of(
+        "sourceOfCreation", SOURCE_OF_CREATION_FIELD,
+        "alertName", ALERT_NAME_FIELD,
+        "alertDescription", ALERT_DESCRIPTION_FIELD,
+        "severity", SEVERITY_FIELD,
+        "alertLimitCategory", ALERT_LIMIT_CATEGORY_FIELD,
+        "add1", ADD1_FIELD,
+        "add2", ADD2_FIELD
+    );
+
+    // Field IDs as the decimal strings form handlers key fields by, built once
+    private static final Map<Integer, String> FIELD_KEYS = Map.of(
+        SOURCE_OF_CREATION_FIELD, SOURCE_OF_CREATION_FIELD.toString(),
+        ALERT_NAME_FIELD, ALERT_NAME_FIELD.toString(),
+        ALERT_DESCRIPTION_FIELD, ALERT_DESCRIPTION_FIELD.toString(),
+        SEVERITY_FIELD, SEVERITY_FIELD.toString(),
+        ALERT_LIMIT_CATEGORY_FIELD, ALERT_LIMIT_CATEGORY_FIELD.toString(),
+        ADD1_FIELD, ADD1_FIELD.toString(),
+        ADD2_FIELD, ADD2_FIELD.toString()
+    );
+
+    private final Entry entry = new Entry();
+    private String key;
+    private String sourceOfCreation;
+    private String alertName;
+    private String severity;
+
+    /**
+     * Returns the staging form field ID for a request field
+     * @param name JSON field name, e.g. "alertName"
+     * @return field ID, or null if the field is not stored on the staging form
+     */
+    public static Integer fieldId(String name) {
+        return FIELD_IDS.get(name);
+    }
+
+    /**
+     * Builds the entry from legacy incident details
+     * @param details incident details
+     * @return entry with every staging form field set
+     */
+    public static IncidentEntry from(IncidentDetails details) {
+        IncidentEntry incident = new IncidentEntry();
+        incident.put(SOURCE_OF_CREATION_FIELD, details.getSourceOfCreation());
+        incident.put(ALERT_NAME_FIELD, details.getAlertName());
+        incident.put(ALERT_DESCRIPTION_FIELD, details.getAlertDescription());
+        incident.put(SEVERITY_FIELD, details.getSeverity());
+        incident.put(ALERT_LIMIT_CATEGORY_FIELD, details.getAlertLimitCategory());
+        incident.put(ADD1_FIELD, details.getAdd1());
+        incident.put(ADD2_FIELD, details.getAdd2());
+        incident.setKey(details.getKey());
+        return incident;
+    }
+
+    /**
+     * Builds the entry from generic module request data
+     * Missing fields are stored as empty strings, as the incident bridge always did.
+     * A missing or empty key defaults to "10" for legacy API compatibility.
+     * @param data request data keyed by JSON field name
+     * @return entry with every staging form field set
+     */
+    public static IncidentEntry fromData(Map<String, Object> data) {
+        IncidentEntry incident = new IncidentEntry();
+        FIELD_IDS.forEach((name, fieldId) -> {
+            Object value = data.get(name);
+            incident.put(fieldId, value != null ? value.toString() : "");
+        });
+        Object key = data.get("key");
+        // Set default key for legacy API compatibility
+        incident.setKey(key != null && !key.toString().isEmpty() ? key.toString() : "10");
+        return incident;
+    }
+
+    /**
+     * Sets a staging form field
+     * @param fieldId staging form field ID
+     * @param value field value, may be null
+     */
+    public void put(Integer fieldId, String value) {
+        entry.put(fieldId, new Value(value));
+        if (SEVERITY_FIELD.equals(fieldId)) {
+            severity = value;
+        } else if (SOURCE_OF_CREATION_FIELD.equals(fieldId)) {
+            sourceOfCreation = value;
+        } else if (ALERT_NAME_FIELD.equals(fieldId)) {
+            alertName = value;
+        }
+    }
+
+    /**
+     * Sets every staging form field that was not in the request to null,
+     * matching what the legacy mapping from {@link IncidentDetails} sent
+     */
+    void fillMissingFields() {
+        if (entry.size() == FIELD_IDS.size()) {
+            return;
+        }
+        for (Integer fieldId : FIELD_IDS.values()) {
+            if (!entry.containsKey(fieldId)) {
+                entry.put(fieldId, new Value((String) null));
+            }
+        }
+    }
+
+    public Entry getEntry() {
+        return entry;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getSourceOfCreation() {
+        return sourceOfCreation;
+    }
+
+    public String getAlertName() {
+        return alertName;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    /**
+     * Returns the staging form fields keyed by field ID, for a form handler
+     * @return field values keyed by field ID as a decimal string
+     */
+    public Map<String, Object> toFields() {
+        Map<String, Object> fields = new HashMap<>();
+        entry.forEach((fieldId, value) -> {
+            String fieldKey = FIELD_KEYS.get(fieldId);
+            fields.put(fieldKey != null ? fieldKey : fieldId.toString(), value != null ? value.getValue() : null);
+        });
+        return fields;
+    }
+
+    /**
+     * Returns the staging form fields keyed by JSON field name, for payload logs
+     * @return field values; the key is not included
+     */
+    public Map<String, Object> toLogFields() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        FIELD_IDS.forEach((name, fieldId) -> {
+            Value value = entry.get(fieldId);
+            fields.put(name, value != null ? value.getValue() : null);
+        });
+        return fields;
+    }
+
+    /**
+     * Short description for logs; leaves out the key and free-text fields
+     */
+    @Override
+    public String toString() {
+        return "IncidentEntry [sourceOfCreation=" + sourceOfCreation + ", alertName=" + alertName
+            + ", severity=" + severity + ", fields=" + entry.size() + "]";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package net.cybermak.integration.api.model.requests;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Streams an incident alert JSON object straight into an {@link IncidentEntry}
+ *
+ * Each field is looked up once and written to the staging form entry as it is
+ * read, so no intermediate {@link IncidentDetails} or map is built. Scalars are
+ * coerced to text the same way Jackson binds them into a String property, and
+ * unknown fields follow the mapper's FAIL_ON_UNKNOWN_PROPERTIES setting.
+ */
+public class IncidentEntryDeserializer extends StdDeserializer<IncidentEntry> {
+
+    private static final String KEY_FIELD = "key";
+
+    public IncidentEntryDeserializer() {
+        super(IncidentEntry.class);
+    }
+
+    @Override
+    public IncidentEntry deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (IncidentEntry) context.handleUnexpectedToken(IncidentEntry.class, parser);
+        }
+
+        IncidentEntry incident = new IncidentEntry();
+        for (String name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+            JsonToken token = parser.nextToken();
+            Integer fieldId = IncidentEntry.fieldId(name);
+
+            if (fieldId != null) {
+                incident.put(fieldId, text(parser, token, context));
+            } else if (KEY_FIELD.equals(name)) {
+                incident.setKey(text(parser, token, context));
+            } else {
+                context.handleUnknownProperty(parser, this, IncidentEntry.class, name);
+            }
+        }
+
+        incident.fillMissingFields();
+        return incident;
+    }
+
+    private static String text(JsonParser parser, JsonToken token, DeserializationContext context) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+}
\ No newline at end of file
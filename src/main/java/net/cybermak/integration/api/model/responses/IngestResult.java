@@ -0,0 +1,50 @@
+package net.cybermak.integration.api.model.responses;
+
+/**
+ * Outcome of one incident in a streamed ingestion request
+ * Results are emitted in the order the incidents were received; sequence is
+ * the 1-based position of the incident in the stream.
+ */
+public class IngestResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+    public static final String REJECTED = "REJECTED";
+    public static final String INVALID = "INVALID";
+    public static final String ERROR = "ERROR";
+
+    private final long sequence;
+    private final String status;
+    private final String incidentId;
+    private final String message;
+
+    private IngestResult(Builder builder) {
+        this.sequence = builder.sequence;
+        this.status = builder.status;
+        this.incidentId = builder.incidentId;
+        this.message = builder.message;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getSequence() { return sequence; }
+    public String getStatus() { return status; }
+    public String getIncidentId() { return incidentId; }
+    public String getMessage() { return message; }
+
+    public static class Builder {
+        private long sequence;
+        private String status;
+        private String incidentId;
+        private String message;
+
+        public Builder sequence(long sequence) { this.sequence = sequence; return this; }
+        public Builder status(String status) { this.status = status; return this; }
+        public Builder incidentId(String incidentId) { this.incidentId = incidentId; return this; }
+        public Builder message(String message) { this.message = message; return this; }
+
+        public IngestResult build() { return new IngestResult(this); }
+    }
+}
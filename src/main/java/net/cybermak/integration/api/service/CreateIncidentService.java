@@ -3,20 +3,26 @@ package net.cybermak.integration.api.service;
 import com.bmc.arsys.api.ARException;
 import com.bmc.arsys.api.ARServerUser;
 import com.bmc.arsys.api.Entry;
-import com.bmc.arsys.api.Value;
 import net.cybermak.integration.api.model.requests.IncidentDetails;
-import net.cybermak.integration.config.ReadProperties;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
+import net.cybermak.integration.core.jfr.RemedyCallEvent;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.remedy.exception.RemedyOverloadException;
+import net.cybermak.integration.remedy.form.FormHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * CreateIncidentService handles BMC Remedy integration for incident creation
  * Manages authentication, connection, and incident creation in BMC Remedy system
  * 
  * Key Features:
  * - BMC AR System API integration using arAPI 91.9
- * - Automated login to Remedy server
+ * - Pooled, logged-in Remedy sessions instead of a login per incident
  * - Creates incidents in INTG-ITSM-MONITORING-INCIDENT-CREATE-STAGING-FORM
  * - Field mapping from monitoring tool alerts to Remedy incident fields
  * 
@@ -29,6 +35,12 @@ import org.springframework.stereotype.Service;
  * - Field ID 536870917: add1
  * - Field ID 536870918: add2
  * 
+ * Entries are created through the application {@link FormHandler}, the same
+ * decorated handler generic modules use: within the adaptive concurrency
+ * limit, with injected faults when enabled, on a connection leased from the
+ * Remedy connection pool. The connection settings come from remedy.properties,
+ * or from the first hedge server when hedged reads are enabled.
+ * 
  * Recreated from original compiled WAR file to maintain compatibility
  * 
  * @author Reverse Engineered from WAR file
@@ -39,46 +51,40 @@ public class CreateIncidentService {
 
     static final Logger logger = LoggerFactory.getLogger(CreateIncidentService.class);
     
-    ReadProperties readProperties = ReadProperties.getInstance();
-    String servername = null;
-    String arServerUserName = null;
-    String arServerPassword = null;
-    String generateTokenURL = null;
-    String port = null;
+    private final FormHandler formHandler;
+
+    /**
+     * Constructor for dependency injection
+     * 
+     * @param formHandler Form handler making the Remedy calls
+     */
+    public CreateIncidentService(FormHandler formHandler) {
+        this.formHandler = formHandler;
+    }
 
     /**
      * Creates incident in BMC Remedy from monitoring tool incident details
      * 
      * @param incidentDetails Incident data from monitoring tool
      * @return Generated incident ID or empty string if failed
+     * @throws RemedyOverloadException if no Remedy capacity is available
      */
     public String createIncident(IncidentDetails incidentDetails) {
-        logger.info(incidentDetails.toString());
-        
-        loadProperties();
-        ARServerUser arServerUser = loginToRemedy(servername, arServerUserName, arServerPassword, Integer.parseInt(port));
-        String requestID = createInBoundEntry(arServerUser, incidentDetails);
-        return requestID;
+        return createIncident(IncidentEntry.from(incidentDetails));
     }
 
     /**
-     * Loads configuration properties from ReadProperties singleton
+     * Creates incident in BMC Remedy from an alert already bound to the staging form
+     * 
+     * @param incident Staging form entry for the alert
+     * @return Generated incident ID or empty string if failed
+     * @throws RemedyOverloadException if no Remedy capacity is available
+     * @throws DeadlineExceededException if the request deadline passes before Remedy is called
      */
-    public void loadProperties() {
-        ReadProperties readProperties = ReadProperties.getInstance();
-        logger.info("*********************Start Getting Properties****************************");
+    public String createIncident(IncidentEntry incident) {
+        logger.debug("Creating incident: {}", incident);
         
-        try {
-            servername = readProperties.serverName;
-            logger.info("ServerName :" + servername);
-            arServerUserName = readProperties.userName;
-            arServerPassword = readProperties.password;
-            port = readProperties.port;
-            logger.info("Get properties successfully");
-            
-        } catch (Exception ex) {
-            logger.error("ERROR READING CONF PROPERTIES" + ex);
-        }
+        return createInBoundEntry(incident.toFields());
     }
 
     /**
@@ -91,65 +97,100 @@ public class CreateIncidentService {
      * @return Authenticated ARServerUser instance
      */
     public static ARServerUser loginToRemedy(String servername, String userName, String userPassword, int port) {
+        return loginToRemedy(new ARServerUser(), servername, userName, userPassword, port);
+    }
+    
+    /**
+     * Authenticates the given ARServerUser against BMC Remedy server
+     * 
+     * @param serverUser Unconfigured ARServerUser to log in with
+     * @param servername Remedy server hostname
+     * @param userName Username for authentication
+     * @param userPassword Password for authentication
+     * @param port Server port number
+     * @return Authenticated ARServerUser instance
+     */
+    public static ARServerUser loginToRemedy(ARServerUser serverUser, String servername, String userName,
+                                             String userPassword, int port) {
+        try {
+            login(serverUser, servername, userName, userPassword, port);
+        } catch (ARException e) {
+            logger.error("Error while verifying the AR user :" + e.getMessage());
+        }
+        return serverUser;
+    }
+    
+    /**
+     * Authenticates the given ARServerUser, reporting a rejected login to the caller
+     * 
+     * @throws ARException if Remedy rejects the user or cannot be reached
+     */
+    private static void login(ARServerUser serverUser, String servername, String userName, String userPassword,
+                              int port) throws ARException {
         // Base64 encode the password (from original implementation)
         byte[] bytesEncoded = com.bmc.thirdparty.org.apache.commons.codec.binary.Base64.encodeBase64(userPassword.getBytes());
         
-        ARServerUser serverUser = new ARServerUser();
         serverUser.setServer(servername);
         serverUser.setUser(userName);
         serverUser.setPassword(userPassword);
         serverUser.setPort(port);
         
-        logger.info("Server Name: {} ----User Name: {} ----Port: {}", servername, userName, port);
+        logger.debug("Server Name: {} ----User Name: {} ----Port: {}", servername, userName, port);
         logger.debug("Password configured: {}", userPassword != null && !userPassword.isEmpty() ? "[CONFIGURED]" : "[MISSING]");
         
-        logger.info("Connected------User verified");
+        logger.debug("Connected------User verified");
         
-        try {
-            logger.info("----Start verifying the AR User----");
+        logger.debug("----Start verifying the AR User----");
+        RemedyCallEvent.record("verifyUser", null, servername, () -> {
             serverUser.verifyUser();
-            logger.info("Verified the AR user successfully.");
-            
-        } catch (ARException e) {
-            logger.error("Error while verifying the AR user :" + e.getMessage());
-        }
-        
-        return serverUser;
+            return null;
+        });
+        logger.debug("Verified the AR user successfully.");
     }
 
     /**
      * Creates incident entry in BMC Remedy staging form
      * Maps monitoring tool incident fields to BMC Remedy form fields
      * 
-     * @param arServerUser Authenticated AR Server user
      * @param incidentDetails Incident details from monitoring tool
      * @return Generated incident ID or empty string if failed
+     * @throws RemedyOverloadException if no Remedy capacity is available
+     */
+    public String createInBoundEntry(IncidentDetails incidentDetails) {
+        return createInBoundEntry(IncidentEntry.from(incidentDetails).toFields());
+    }
+
+    /**
+     * Creates incident entry in BMC Remedy staging form
+     * 
+     * @param coreValues Staging form field values keyed by field ID
+     * @return Generated incident ID or empty string if failed
+     * @throws RemedyOverloadException if no Remedy capacity is available
+     * @throws DeadlineExceededException if the request deadline passes before Remedy is called
+     */
+    public String createInBoundEntry(Entry coreValues) {
+        Map<String, Object> fields = new HashMap<>();
+        coreValues.forEach((fieldId, value) -> fields.put(String.valueOf(fieldId), value != null ? value.getValue() : null));
+        return createInBoundEntry(fields);
+    }
+
+    /**
+     * Creates the staging form entry, reporting failures other than overload
+     * and deadline as an empty ID, as the legacy API always did
      */
-    public String createInBoundEntry(ARServerUser arServerUser, IncidentDetails incidentDetails) {
-        logger.info("******create Monitoring Entry starts************************");
+    private String createInBoundEntry(Map<String, Object> fields) {
+        logger.debug("******create Monitoring Entry starts************************");
         String generatedID = "";
         
         try {
-            Entry coreValues = new Entry();
-            
-            // Map incident fields to BMC Remedy form fields (using original field IDs)
-            coreValues.put(Integer.valueOf(536870943), new Value(incidentDetails.getSourceOfCreation()));
-            coreValues.put(Integer.valueOf(536870913), new Value(incidentDetails.getAlertName()));
-            coreValues.put(Integer.valueOf(536870914), new Value(incidentDetails.getAlertDescription()));
-            coreValues.put(Integer.valueOf(536870915), new Value(incidentDetails.getSeverity()));
-            coreValues.put(Integer.valueOf(536870916), new Value(incidentDetails.getAlertLimitCategory()));
-            coreValues.put(Integer.valueOf(536870917), new Value(incidentDetails.getAdd1()));
-            coreValues.put(Integer.valueOf(536870918), new Value(incidentDetails.getAdd2()));
-            
-            // Create entry in BMC Remedy staging form
-            generatedID = arServerUser.createEntry("INTG-ITSM-MONITORING-INCIDENT-CREATE-STAGING-FORM", coreValues);
-            
-            logger.info("******create Monitoring Entry Ends************************");
-            
+            generatedID = formHandler.createEntry(IncidentEntry.STAGING_FORM, fields);
+            logger.debug("******create Monitoring Entry Ends************************");
+        } catch (RemedyOverloadException | DeadlineExceededException e) {
+            throw e;
         } catch (Exception var9) {
             logger.error("Exception..." + var9);
         }
         
         return generatedID;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package net.cybermak.integration.api.service.modern;
+
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.api.admission.AdmissionRejectedException;
+import net.cybermak.integration.api.admission.PriorityClass;
+import net.cybermak.integration.api.model.requests.IncidentDetails;
+import net.cybermak.integration.api.model.responses.IngestResult;
+import net.cybermak.integration.config.IngestionProperties;
+import net.cybermak.integration.config.ReactiveConfiguration;
+import net.cybermak.integration.config.SecurityConfig;
+import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.Operation;
+import net.cybermak.integration.core.model.ValidationResult;
+import net.cybermak.integration.remedy.exception.RemedyOverloadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive ingestion of incident streams from monitoring tools
+ * 
+ * Incidents go through the module registered for the configured module type
+ * (the same one the modern API uses) and through the admission queue, like
+ * the legacy endpoint. At most {@code ingestion.concurrency} incidents of a
+ * stream are in flight; upstream is only asked for more as they complete, so
+ * a fast producer is slowed to Remedy's pace instead of buffering in memory.
+ * Incidents waiting for admission hold no thread.
+ */
+@Service
+public class IncidentStreamService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IncidentStreamService.class);
+    
+    private final ModuleRegistry moduleRegistry;
+    private final AdmissionQueue admissionQueue;
+    private final SecurityConfig securityConfig;
+    private final IngestionProperties properties;
+    private final Scheduler remedyScheduler;
+    
+    public IncidentStreamService(ModuleRegistry moduleRegistry, AdmissionQueue admissionQueue,
+                                 SecurityConfig securityConfig, IngestionProperties properties,
+                                 @Qualifier(ReactiveConfiguration.REMEDY_SCHEDULER) Scheduler remedyScheduler) {
+        this.moduleRegistry = moduleRegistry;
+        this.admissionQueue = admissionQueue;
+        this.securityConfig = securityConfig;
+        this.properties = properties;
+        this.remedyScheduler = remedyScheduler;
+    }
+    
+    /**
+     * Creates incidents from a stream
+     * @param incidents incidents in arrival order
+     * @param source authenticated caller the stream is admitted for, or null if unauthenticated
+     * @return one result per incident, in the same order
+     */
+    public Flux<IngestResult> ingest(Flux<IncidentDetails> incidents, String source) {
+        return Flux.defer(() -> {
+            Module module = moduleRegistry.getModule(properties.getModuleType())
+                .orElseThrow(() -> new IllegalStateException("Module not found: " + properties.getModuleType()));
+            AtomicLong sequence = new AtomicLong();
+            
+            return incidents.flatMapSequential(
+                incident -> ingest(module, sequence.incrementAndGet(), incident, source),
+                properties.getConcurrency());
+        });
+    }
+    
+    private Mono<IngestResult> ingest(Module module, long sequence, IncidentDetails incident, String source) {
+        if (!isAuthorized(incident)) {
+            return Mono.just(IngestResult.builder()
+                .sequence(sequence)
+                .status(IngestResult.REJECTED)
+                .message("Invalid Key is Used, You are not allowed create the Incident.")
+                .build());
+        }
+        
+        GenericRequest request = GenericRequest.builder()
+            .moduleType(module.getModuleType())
+            .operation(Operation.CREATE)
+            .data(toData(incident))
+            .build();
+        ValidationResult validation = module.validate(request);
+        if (!validation.isValid()) {
+            return Mono.just(IngestResult.builder()
+                .sequence(sequence)
+                .status(IngestResult.INVALID)
+                .message(validation.getErrorMessage())
+                .build());
+        }
+        request.markValidated();
+        
+        PriorityClass priorityClass = PriorityClass.fromSeverity(incident.getSeverity());
+        
+        // Waiting for admission holds no thread; only the Remedy call itself runs on the scheduler
+        return Mono.fromFuture(() -> admissionQueue.admitAsync(priorityClass, source,
+                () -> module.processAsync(request, remedyScheduler::schedule)))
+            .map(response -> toResult(sequence, response))
+            .onErrorResume(e -> Mono.just(toResult(sequence, e)));
+    }
+    
+    private boolean isAuthorized(IncidentDetails incident) {
+        SecurityConfig.ApiKey apiKey = securityConfig.getApiKey();
+        return apiKey.isEnabled() && apiKey.getLegacyKey().equals(incident.getKey());
+    }
+    
+    private static Map<String, Object> toData(IncidentDetails incident) {
+        Map<String, Object> data = new HashMap<>();
+        putIfPresent(data, "sourceOfCreation", incident.getSourceOfCreation());
+        putIfPresent(data, "alertName", incident.getAlertName());
+        putIfPresent(data, "alertDescription", incident.getAlertDescription());
+        putIfPresent(data, "severity", incident.getSeverity());
+        putIfPresent(data, "alertLimitCategory", incident.getAlertLimitCategory());
+        putIfPresent(data, "add1", incident.getAdd1());
+        putIfPresent(data, "add2", incident.getAdd2());
+        putIfPresent(data, "key", incident.getKey());
+        return data;
+    }
+    
+    private static void putIfPresent(Map<String, Object> data, String field, String value) {
+        if (value != null) {
+            data.put(field, value);
+        }
+    }
+    
+    private static IngestResult toResult(long sequence, GenericResponse response) {
+        Object incidentId = response.getData() != null ? response.getData().get("incidentId") : null;
+        return IngestResult.builder()
+            .sequence(sequence)
+            .status(incidentId != null ? IngestResult.CREATED : IngestResult.FAILED)
+            .incidentId(incidentId != null ? incidentId.toString() : null)
+            .message(response.getMessage())
+            .build();
+    }
+    
+    private static IngestResult toResult(long sequence, Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        String status = failure instanceof AdmissionRejectedException || failure instanceof RemedyOverloadException
+            ? IngestResult.REJECTED : IngestResult.FAILED;
+        if (IngestResult.FAILED.equals(status)) {
+            logger.error("Failed to ingest incident {} of stream: {}", sequence, failure.getMessage(), failure);
+        }
+        return IngestResult.builder()
+            .sequence(sequence)
+            .status(status)
+            .message(failure.getMessage())
+            .build();
+    }
+}
@@ -1,29 +1,51 @@
 package net.cybermak.integration.api.service.modern;
 
-import net.cybermak.integration.core.Module;
+import net.cybermak.integration.api.logging.PayloadLogger;
+import net.cybermak.integration.config.AsyncConfiguration;
+import net.cybermak.integration.core.jfr.ModuleDispatchEvent;
 import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.core.ModuleRegistry.Route;
+import net.cybermak.integration.core.OperationHandler;
+import net.cybermak.integration.core.model.FieldValues;
 import net.cybermak.integration.core.model.GenericRequest;
 import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.Operation;
+import net.cybermak.integration.core.timing.Deadline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Modern service layer for generic module operations
  * Handles all BMC Remedy module interactions through the modular architecture
+ *
+ * Each operation is checked against the module's registry route before the
+ * request is built, so unknown modules and unsupported operations are
+ * rejected up front, and then dispatched to the route's handler for it. Every dispatch is recorded as a {@link ModuleDispatchEvent}
+ * for JDK Flight Recorder. Work for a request whose {@link Deadline} has
+ * already passed is dropped before it reaches the module.
  */
 @Service
 public class ModuleService {
     
     private static final Logger logger = LoggerFactory.getLogger(ModuleService.class);
     private final ModuleRegistry moduleRegistry;
+    private final Executor remedyExecutor;
+    private final PayloadLogger payloadLogger;
     
-    public ModuleService(ModuleRegistry moduleRegistry) {
+    public ModuleService(ModuleRegistry moduleRegistry,
+                         @Qualifier(AsyncConfiguration.REMEDY_EXECUTOR) Executor remedyExecutor,
+                         PayloadLogger payloadLogger) {
         this.moduleRegistry = moduleRegistry;
+        this.remedyExecutor = remedyExecutor;
+        this.payloadLogger = payloadLogger;
     }
     
     /**
@@ -44,98 +66,152 @@ public class ModuleService {
      * Create entry in specified module
      */
     public GenericResponse createEntry(String moduleType, Map<String, Object> data) {
-        logger.info("Creating entry in module: {} with data: {}", moduleType, data);
-        
-        Optional<Module> moduleOpt = moduleRegistry.getModule(moduleType);
-        if (moduleOpt.isEmpty()) {
-            throw new IllegalArgumentException("Module not found: " + moduleType);
-        }
-        
-        GenericRequest request = GenericRequest.builder()
-            .moduleType(moduleType)
-            .operation("create")
-            .data(data)
-            .build();
-            
-        return moduleOpt.get().process(request);
+        return dispatch(resolveRoute(moduleType, Operation.CREATE), createRequest(moduleType, data));
+    }
+    
+    /**
+     * Create entry in specified module without blocking the caller
+     */
+    public CompletableFuture<GenericResponse> createEntryAsync(String moduleType, Map<String, Object> data) {
+        return dispatchAsync(resolveRoute(moduleType, Operation.CREATE), createRequest(moduleType, data));
     }
     
     /**
      * Get entry by ID from specified module
      */
     public GenericResponse getEntry(String moduleType, String entryId) {
-        logger.info("Getting entry {} from module: {}", entryId, moduleType);
-        
-        Optional<Module> moduleOpt = moduleRegistry.getModule(moduleType);
-        if (moduleOpt.isEmpty()) {
-            throw new IllegalArgumentException("Module not found: " + moduleType);
-        }
-        
-        GenericRequest request = GenericRequest.builder()
-            .moduleType(moduleType)
-            .operation("get")
-            .data(Map.of(getIdFieldName(moduleType), entryId))
-            .build();
-            
-        return moduleOpt.get().process(request);
+        Route route = resolveRoute(moduleType, Operation.GET);
+        return dispatch(route, getRequest(moduleType, route, entryId));
+    }
+    
+    /**
+     * Get entry by ID from specified module without blocking the caller
+     */
+    public CompletableFuture<GenericResponse> getEntryAsync(String moduleType, String entryId) {
+        Route route = resolveRoute(moduleType, Operation.GET);
+        return dispatchAsync(route, getRequest(moduleType, route, entryId));
     }
     
     /**
      * Update entry in specified module
      */
     public GenericResponse updateEntry(String moduleType, String entryId, Map<String, Object> data) {
-        logger.info("Updating entry {} in module: {} with data: {}", entryId, moduleType, data);
-        
-        Optional<Module> moduleOpt = moduleRegistry.getModule(moduleType);
-        if (moduleOpt.isEmpty()) {
-            throw new IllegalArgumentException("Module not found: " + moduleType);
+        Route route = resolveRoute(moduleType, Operation.UPDATE);
+        return dispatch(route, updateRequest(moduleType, route, entryId, data));
+    }
+    
+    /**
+     * Update entry in specified module without blocking the caller
+     */
+    public CompletableFuture<GenericResponse> updateEntryAsync(String moduleType, String entryId,
+                                                               Map<String, Object> data) {
+        Route route = resolveRoute(moduleType, Operation.UPDATE);
+        return dispatchAsync(route, updateRequest(moduleType, route, entryId, data));
+    }
+    
+    /**
+     * Search entries in specified module
+     */
+    public GenericResponse searchEntries(String moduleType, Map<String, String> searchParams) {
+        return dispatch(resolveRoute(moduleType, Operation.SEARCH), searchRequest(moduleType, searchParams));
+    }
+    
+    /**
+     * Search entries in specified module without blocking the caller
+     */
+    public CompletableFuture<GenericResponse> searchEntriesAsync(String moduleType, Map<String, String> searchParams) {
+        return dispatchAsync(resolveRoute(moduleType, Operation.SEARCH), searchRequest(moduleType, searchParams));
+    }
+    
+    private GenericResponse dispatch(Route route, GenericRequest request) {
+        Deadline.current().check("dispatch");
+        ModuleDispatchEvent event = ModuleDispatchEvent.start(request.getModuleType(), request.getOperation(), false);
+        boolean success = false;
+        try {
+            GenericResponse response = route.getHandler(request.getOperationType()).handle(request);
+            success = true;
+            return response;
+        } finally {
+            event.complete(success);
         }
+    }
+    
+    private CompletableFuture<GenericResponse> dispatchAsync(Route route, GenericRequest request) {
+        Deadline.current().check("dispatch");
+        ModuleDispatchEvent event = ModuleDispatchEvent.start(request.getModuleType(), request.getOperation(), true);
+        OperationHandler handler = route.getHandler(request.getOperationType());
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                    Deadline.current().check("dispatch");
+                    return handler.handle(request);
+                }, remedyExecutor)
+                .whenComplete((response, failure) -> event.complete(failure == null));
+        } catch (RuntimeException e) {
+            event.complete(false);
+            throw e;
+        }
+    }
+    
+    private Route resolveRoute(String moduleType, Operation operation) {
+        Route route = moduleRegistry.getRoute(moduleType)
+            .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleType));
+        if (!route.supports(operation)) {
+            throw new IllegalArgumentException(
+                "Operation '" + operation.getName() + "' is not supported by module: " + moduleType);
+        }
+        return route;
+    }
+    
+    private GenericRequest createRequest(String moduleType, Map<String, Object> data) {
+        logger.debug("Creating entry in module: {}", moduleType);
+        payloadLogger.log(logger, "create", moduleType, data);
         
-        // Add entry ID to data
-        data.put(getIdFieldName(moduleType), entryId);
-        
-        GenericRequest request = GenericRequest.builder()
+        return GenericRequest.builder()
             .moduleType(moduleType)
-            .operation("update")
+            .operation(Operation.CREATE)
             .data(data)
             .build();
-            
-        return moduleOpt.get().process(request);
     }
     
-    /**
-     * Search entries in specified module
-     */
-    public GenericResponse searchEntries(String moduleType, Map<String, String> searchParams) {
-        logger.info("Searching in module: {} with params: {}", moduleType, searchParams);
+    private GenericRequest getRequest(String moduleType, Route route, String entryId) {
+        logger.debug("Getting entry {} from module: {}", entryId, moduleType);
+        
+        return GenericRequest.builder()
+            .moduleType(moduleType)
+            .operation(Operation.GET)
+            .data(Map.of(route.getIdFieldName(), entryId))
+            .build();
+    }
+    
+    private GenericRequest updateRequest(String moduleType, Route route, String entryId,
+                                         Map<String, Object> data) {
+        logger.debug("Updating entry {} in module: {}", entryId, moduleType);
+        payloadLogger.log(logger, "update", moduleType, data);
         
-        Optional<Module> moduleOpt = moduleRegistry.getModule(moduleType);
-        if (moduleOpt.isEmpty()) {
-            throw new IllegalArgumentException("Module not found: " + moduleType);
+        // Add entry ID to a copy so the caller's map is left untouched
+        Map<String, Object> updateData;
+        if (data instanceof FieldValues values) {
+            updateData = values.with(route.getIdFieldName(), entryId);
+        } else {
+            updateData = new HashMap<>(data);
+            updateData.put(route.getIdFieldName(), entryId);
         }
         
-        GenericRequest request = GenericRequest.builder()
+        return GenericRequest.builder()
             .moduleType(moduleType)
-            .operation("search")
-            .data(Map.copyOf(searchParams))
+            .operation(Operation.UPDATE)
+            .data(updateData)
             .build();
-            
-        return moduleOpt.get().process(request);
     }
     
-    /**
-     * Get the appropriate ID field name for different module types
-     */
-    private String getIdFieldName(String moduleType) {
-        switch (moduleType.toLowerCase()) {
-            case "incident":
-                return "incidentId";
-            case "workorder":
-                return "workOrderId";
-            case "change":
-                return "changeId";
-            default:
-                return "id";
-        }
+    private GenericRequest searchRequest(String moduleType, Map<String, String> searchParams) {
+        logger.debug("Searching in module: {}", moduleType);
+        payloadLogger.log(logger, "search", moduleType, searchParams);
+        
+        return GenericRequest.builder()
+            .moduleType(moduleType)
+            .operation(Operation.SEARCH)
+            .data(Map.copyOf(searchParams))
+            .build();
     }
 }
\ No newline at end of file
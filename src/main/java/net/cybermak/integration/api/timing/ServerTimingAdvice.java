@@ -0,0 +1,79 @@
+package net.cybermak.integration.api.timing;
+
+import net.cybermak.integration.config.ServerTimingProperties;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times {@code @RequestBody} parsing and writes the Server-Timing header
+ * 
+ * The header is only written when server-timing.header is on. It carries every phase recorded up to the moment the body is
+ * written plus the total so far; serialization itself can only be timed
+ * after the header is sent, so it is reported in metrics alone.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+    
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    
+    private final ServerTimingProperties properties;
+    
+    public ServerTimingAdvice(ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled();
+    }
+    
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) throws IOException {
+        RequestTiming.current().begin(Phase.PARSE);
+        return inputMessage;
+    }
+    
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestTiming.current().stop(Phase.PARSE);
+        return body;
+    }
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled();
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            // Async responses are written on another thread, so look the timing up on the request
+            RequestTiming timing = ServerTimingFilter.timingOf(servletRequest.getServletRequest());
+            if (timing != null) {
+                if (properties.isHeader()) {
+                    response.getHeaders().set(SERVER_TIMING_HEADER, timing.toServerTiming());
+                }
+                timing.begin(Phase.SERIALIZE);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,127 @@
+package net.cybermak.integration.api.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.cybermak.integration.config.ServerTimingProperties;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a {@link RequestTiming} for every API request
+ * 
+ * The timing is bound to the servlet thread while the request is handled and
+ * kept as a request attribute for the async dispatch that writes the
+ * response. {@link ServerTimingAdvice} writes the Server-Timing header just
+ * before the body is serialized; once the response is complete, each recorded
+ * phase, serialization included, goes to the http.server.phase timer tagged
+ * with the phase and the matched URI pattern.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+    
+    static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timing";
+    
+    private static final Phase[] PHASES = Phase.values();
+    
+    private final ServerTimingProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    public ServerTimingFilter(ServerTimingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Returns the timing of a request
+     * @param request servlet request
+     * @return the request timing, or null if the request is not timed
+     */
+    static RequestTiming timingOf(HttpServletRequest request) {
+        return (RequestTiming) request.getAttribute(TIMING_ATTRIBUTE);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().contains("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        request.setAttribute(TIMING_ATTRIBUTE, timing);
+        
+        try (RequestTiming.Scope scope = timing.bind()) {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, timing));
+            } else {
+                complete(request, timing);
+            }
+        }
+    }
+    
+    private void complete(HttpServletRequest request, RequestTiming timing) {
+        timing.stop(Phase.SERIALIZE);
+        
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        for (Phase phase : PHASES) {
+            if (timing.hasRecorded(phase)) {
+                Timer.builder("http.server.phase")
+                    .description("Time spent per request in each handling phase")
+                    .tag("phase", phase.getMetricName())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(timing.getNanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+    
+    /**
+     * Records the metrics of an async request once its response is complete
+     */
+    private final class CompletionListener implements AsyncListener {
+        
+        private final HttpServletRequest request;
+        private final RequestTiming timing;
+        
+        private CompletionListener(HttpServletRequest request, RequestTiming timing) {
+            this.request = request;
+            this.timing = timing;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(request, timing);
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Completion follows
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            // Completion follows
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Not restarted by the API
+        }
+    }
+}
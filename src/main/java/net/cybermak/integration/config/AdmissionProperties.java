@@ -0,0 +1,117 @@
+package net.cybermak.integration.config;
+
+import net.cybermak.integration.api.admission.PriorityClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission queue configuration properties
+ * Controls how many write requests run concurrently and when pending
+ * requests of each priority class are shed
+ */
+@Configuration
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+    
+    private boolean enabled = true;
+    private int maxConcurrent = 20;
+    private int maxQueue = 200;
+    private long maxWaitTime = 10000;
+    private long retryAfter = 5;
+    private Map<PriorityClass, Integer> shedThresholds = defaultShedThresholds();
+    private Fairness fairness = new Fairness();
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+    
+    public int getMaxQueue() { return maxQueue; }
+    public void setMaxQueue(int maxQueue) { this.maxQueue = maxQueue; }
+    
+    public long getMaxWaitTime() { return maxWaitTime; }
+    public void setMaxWaitTime(long maxWaitTime) { this.maxWaitTime = maxWaitTime; }
+    
+    public long getRetryAfter() { return retryAfter; }
+    public void setRetryAfter(long retryAfter) { this.retryAfter = retryAfter; }
+    
+    public Map<PriorityClass, Integer> getShedThresholds() { return shedThresholds; }
+    public void setShedThresholds(Map<PriorityClass, Integer> shedThresholds) { this.shedThresholds = shedThresholds; }
+    
+    public Fairness getFairness() { return fairness; }
+    public void setFairness(Fairness fairness) { this.fairness = fairness; }
+    
+    /**
+     * Queue depth at which new requests of a class are shed
+     * Classes without a configured threshold may fill the queue up to maxQueue.
+     * @param priorityClass the priority class
+     * @return queue depth threshold for the class
+     */
+    public int getShedThreshold(PriorityClass priorityClass) {
+        Integer threshold = shedThresholds != null ? shedThresholds.get(priorityClass) : null;
+        return threshold != null ? Math.min(threshold, maxQueue) : maxQueue;
+    }
+    
+    /**
+     * Weighted fair queuing across request sources
+     * A source is the name of the authenticated caller; unauthenticated requests share one source.
+     */
+    public static class Fairness {
+        private int defaultWeight = 1;
+        private int maxQueuePerSource = 50;
+        private Map<String, Source> sources = new HashMap<>();
+        
+        public int getDefaultWeight() { return defaultWeight; }
+        public void setDefaultWeight(int defaultWeight) { this.defaultWeight = defaultWeight; }
+        
+        public int getMaxQueuePerSource() { return maxQueuePerSource; }
+        public void setMaxQueuePerSource(int maxQueuePerSource) { this.maxQueuePerSource = maxQueuePerSource; }
+        
+        public Map<String, Source> getSources() { return sources; }
+        public void setSources(Map<String, Source> sources) { this.sources = sources; }
+        
+        /**
+         * Share of admission slots given to a source relative to other backlogged sources
+         * @param source the source key
+         * @return configured weight, or the default weight
+         */
+        public int getWeight(String source) {
+            Source config = sources != null ? sources.get(source) : null;
+            return config != null && config.getWeight() != null ? config.getWeight() : defaultWeight;
+        }
+        
+        /**
+         * Maximum number of requests a source may have waiting for admission
+         * @param source the source key
+         * @return configured bound, or the default bound
+         */
+        public int getMaxQueue(String source) {
+            Source config = sources != null ? sources.get(source) : null;
+            return config != null && config.getMaxQueue() != null ? config.getMaxQueue() : maxQueuePerSource;
+        }
+    }
+    
+    public static class Source {
+        private Integer weight;
+        private Integer maxQueue;
+        
+        public Integer getWeight() { return weight; }
+        public void setWeight(Integer weight) { this.weight = weight; }
+        
+        public Integer getMaxQueue() { return maxQueue; }
+        public void setMaxQueue(Integer maxQueue) { this.maxQueue = maxQueue; }
+    }
+    
+    private static Map<PriorityClass, Integer> defaultShedThresholds() {
+        Map<PriorityClass, Integer> thresholds = new EnumMap<>(PriorityClass.class);
+        thresholds.put(PriorityClass.LOW, 50);
+        thresholds.put(PriorityClass.MEDIUM, 100);
+        thresholds.put(PriorityClass.HIGH, 150);
+        return thresholds;
+    }
+}
@@ -0,0 +1,58 @@
+package net.cybermak.integration.config;
+
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.RequestTiming;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration of the executors that run module operations for the async API
+ * and the attempts of hedged Remedy reads
+ * Remedy calls block, so they run here instead of on servlet threads. When the
+ * executor is saturated new work is rejected, and the request fails fast with
+ * 503 instead of running Remedy I/O on the submitting thread. Tasks carry the request timing and deadline
+ * of the thread that submitted them, and record how long they queued.
+ */
+@Configuration
+public class AsyncConfiguration {
+
+    public static final String REMEDY_EXECUTOR = "remedyExecutor";
+    public static final String HEDGE_EXECUTOR = "remedyHedgeExecutor";
+
+    @Bean(name = REMEDY_EXECUTOR)
+    public ThreadPoolTaskExecutor remedyExecutor(AsyncProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("remedy-io-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(task -> RequestTiming.wrap(Deadline.wrap(task)));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the attempts of hedged Remedy reads while the caller waits for the
+     * first answer. Kept apart from the remedy executor so a waiting caller
+     * never queues behind itself. There is no queue: when the pool is
+     * saturated the attempt is rejected and the read is not hedged.
+     */
+    @Bean(name = HEDGE_EXECUTOR)
+    public ThreadPoolTaskExecutor remedyHedgeExecutor(AsyncProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize() * 2);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("remedy-hedge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(task -> RequestTiming.wrap(Deadline.wrap(task)));
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,71 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Async request processing configuration properties
+ * Sizes the executor that runs Remedy I/O off the servlet threads and
+ * bounds how long the API waits for a result. The timeout of a request is
+ * also its deadline: work for it that has not started by then is dropped.
+ * Endpoints may have their own timeout under endpoint-timeouts, keyed by
+ * create, get, update, search, batch or createIncident.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "async")
+public class AsyncProperties {
+    
+    private int corePoolSize = 16;
+    private int maxPoolSize = 64;
+    private int queueCapacity = 500;
+    private long requestTimeout = 30000;
+    private long batchTimeout = 120000;
+    private Map<String, Long> endpointTimeouts = new HashMap<>();
+    
+    public int getCorePoolSize() { return corePoolSize; }
+    public void setCorePoolSize(int corePoolSize) { this.corePoolSize = corePoolSize; }
+    
+    public int getMaxPoolSize() { return maxPoolSize; }
+    public void setMaxPoolSize(int maxPoolSize) { this.maxPoolSize = maxPoolSize; }
+    
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    
+    public long getRequestTimeout() { return requestTimeout; }
+    public void setRequestTimeout(long requestTimeout) { this.requestTimeout = requestTimeout; }
+    
+    public long getBatchTimeout() { return batchTimeout; }
+    public void setBatchTimeout(long batchTimeout) { this.batchTimeout = batchTimeout; }
+    
+    public Map<String, Long> getEndpointTimeouts() { return endpointTimeouts; }
+    public void setEndpointTimeouts(Map<String, Long> endpointTimeouts) { this.endpointTimeouts = endpointTimeouts; }
+    
+    /**
+     * Returns the configured timeout of an endpoint
+     * Endpoints without their own timeout use the batch timeout for batches
+     * and the request timeout otherwise.
+     * @param endpoint endpoint name, e.g. get or batch
+     * @return timeout in milliseconds
+     */
+    public long getTimeout(String endpoint) {
+        Long timeout = endpointTimeouts.get(endpoint);
+        if (timeout != null) {
+            return timeout;
+        }
+        return "batch".equals(endpoint) ? batchTimeout : requestTimeout;
+    }
+    
+    /**
+     * Resolves the timeout of a single request
+     * Callers may ask for a shorter timeout than configured, never a longer one.
+     * @param requested timeout requested by the caller in milliseconds, or null
+     * @param configured configured timeout in milliseconds
+     * @return effective timeout in milliseconds
+     */
+    public static long effectiveTimeout(Long requested, long configured) {
+        return requested != null && requested > 0 ? Math.min(requested, configured) : configured;
+    }
+}
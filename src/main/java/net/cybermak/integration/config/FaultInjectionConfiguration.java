@@ -0,0 +1,22 @@
+package net.cybermak.integration.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.cybermak.integration.remedy.fault.FaultInjector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of Remedy fault injection for resilience testing
+ * Off by default; with remedy.fault-injection.enabled the form handler is
+ * wrapped in the fault injector, which starts without rules.
+ */
+@Configuration
+public class FaultInjectionConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "remedy.fault-injection", name = "enabled", havingValue = "true")
+    public FaultInjector faultInjector(MeterRegistry meterRegistry) {
+        return new FaultInjector(meterRegistry);
+    }
+}
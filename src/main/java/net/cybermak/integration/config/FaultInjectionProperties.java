@@ -0,0 +1,28 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Remedy fault injection configuration properties
+ * When enabled, form calls go through the fault injector and the faults
+ * actuator endpoint adds and removes rules. Rules expire after
+ * defaultDuration unless given their own, and delays are capped at maxDelay.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "remedy.fault-injection")
+public class FaultInjectionProperties {
+    
+    private boolean enabled = false;
+    private long maxDelay = 60000;
+    private long defaultDuration = 600000;
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public long getMaxDelay() { return maxDelay; }
+    public void setMaxDelay(long maxDelay) { this.maxDelay = maxDelay; }
+    
+    public long getDefaultDuration() { return defaultDuration; }
+    public void setDefaultDuration(long defaultDuration) { this.defaultDuration = defaultDuration; }
+}
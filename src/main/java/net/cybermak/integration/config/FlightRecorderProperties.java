@@ -0,0 +1,27 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * On-demand JDK Flight Recorder configuration properties
+ * Recordings started through the jfr actuator endpoint use these defaults
+ * and always stop on their own after maxDuration
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jfr")
+public class FlightRecorderProperties {
+    
+    private String directory = "./logs/jfr";
+    private String settings = "default";
+    private long maxDuration = 600000;
+    
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    
+    public String getSettings() { return settings; }
+    public void setSettings(String settings) { this.settings = settings; }
+    
+    public long getMaxDuration() { return maxDuration; }
+    public void setMaxDuration(long maxDuration) { this.maxDuration = maxDuration; }
+}
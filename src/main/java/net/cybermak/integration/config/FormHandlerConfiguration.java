@@ -0,0 +1,101 @@
+package net.cybermak.integration.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.PooledFormHandler;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.fault.FaultInjectingFormHandler;
+import net.cybermak.integration.remedy.fault.FaultInjector;
+import net.cybermak.integration.remedy.form.FormHandler;
+import net.cybermak.integration.remedy.hedge.HedgingFormHandler;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import net.cybermak.integration.remedy.limit.ConcurrencyLimitedFormHandler;
+import net.cybermak.integration.remedy.simulator.RemedySimulator;
+import net.cybermak.integration.remedy.simulator.SimulatedFormHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration of the FormHandler used by modules and by the legacy incident API
+ * Form operations are arAPI calls on connections leased from the
+ * {@link RemedyConnectionManager}, logged in with the remedy.properties
+ * settings, and go through the adaptive Remedy concurrency limit. When the
+ * Remedy stand-in is enabled, those connections are stand-in sessions. When
+ * fault injection is enabled, faults are injected inside the limit, so the
+ * limiter sees them as a degraded Remedy.
+ * When hedging is enabled, reads are hedged across the listed servers, each
+ * with its own pooled connections, injected faults and permit of the
+ * concurrency limit; the first listed server takes the writes. With the
+ * stand-in, pooled connections all reach the one stand-in server, so the other
+ * listed servers are stand-in servers of its group instead.
+ */
+@Configuration
+public class FormHandlerConfiguration {
+
+    static final String SIMULATOR_USER = "integration";
+
+    @Bean
+    @Primary
+    public FormHandler formHandler(RemedyConnectionManager connectionManager,
+                                   RemedyConfigHolder configHolder,
+                                   AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                   RemedyConnectionProperties connectionProperties,
+                                   MeterRegistry meterRegistry,
+                                   @Qualifier(AsyncConfiguration.HEDGE_EXECUTOR) Executor hedgeExecutor,
+                                   ObjectProvider<RemedySimulator> simulator,
+                                   ObjectProvider<FaultInjector> faultInjector) {
+        RemedySimulator remedySimulator = simulator.getIfAvailable();
+        FaultInjector injector = faultInjector.getIfAvailable();
+
+        RemedyConnectionProperties.Hedge hedge = connectionProperties.getConnection().getHedge();
+        if (hedge.isEnabled() && hedge.getServers().size() > 1) {
+            Map<String, RemedyConnectionProperties.ServerConfig> configured =
+                connectionProperties.getServers() != null ? connectionProperties.getServers() : Map.of();
+            List<FormHandler> servers = new ArrayList<>();
+            for (String server : hedge.getServers()) {
+                RemedyConnectionProperties.ServerConfig serverConfig = configured.get(server);
+                if (serverConfig == null) {
+                    throw new IllegalStateException("Hedge server '" + server + "' is not configured under remedy.servers");
+                }
+                if (serverConfig.getName() == null) {
+                    throw new IllegalStateException("Hedge server '" + server + "' has no remedy.servers name");
+                }
+                FormHandler serverHandler;
+                if (remedySimulator != null && !servers.isEmpty()) {
+                    String user = serverConfig.getUsername() != null ? serverConfig.getUsername() : SIMULATOR_USER;
+                    serverHandler = new SimulatedFormHandler(remedySimulator.newServer(), user);
+                } else {
+                    serverHandler = new PooledFormHandler(connectionManager, () -> serverConfig);
+                }
+                servers.add(new ConcurrencyLimitedFormHandler(withFaults(serverHandler, injector), concurrencyLimiter));
+            }
+            return new HedgingFormHandler(servers, hedgeExecutor, hedge, meterRegistry);
+        }
+        FormHandler pooled = new PooledFormHandler(connectionManager, () -> configuredServer(configHolder.current()));
+        return new ConcurrencyLimitedFormHandler(withFaults(pooled, injector), concurrencyLimiter);
+    }
+
+    private static FormHandler withFaults(FormHandler handler, FaultInjector injector) {
+        return injector != null ? new FaultInjectingFormHandler(handler, injector) : handler;
+    }
+
+    /**
+     * Connection settings of the server configured in remedy.properties
+     */
+    private static RemedyConnectionProperties.ServerConfig configuredServer(RemedyConfigSnapshot config) {
+        RemedyConnectionProperties.ServerConfig server = new RemedyConnectionProperties.ServerConfig();
+        server.setName(config.getServerName());
+        server.setPort(config.getPort());
+        server.setUsername(config.getUserName());
+        server.setPassword(config.getPassword());
+        return server;
+    }
+}
@@ -0,0 +1,31 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Streaming ingestion configuration properties
+ * Controls how many incidents of one stream are in flight and the size of
+ * the scheduler that runs their blocking Remedy calls
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ingestion")
+public class IngestionProperties {
+    
+    private String moduleType = "incident";
+    private int concurrency = 16;
+    private int schedulerThreads = 32;
+    private int schedulerQueue = 1000;
+    
+    public String getModuleType() { return moduleType; }
+    public void setModuleType(String moduleType) { this.moduleType = moduleType; }
+    
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+    
+    public int getSchedulerThreads() { return schedulerThreads; }
+    public void setSchedulerThreads(int schedulerThreads) { this.schedulerThreads = schedulerThreads; }
+    
+    public int getSchedulerQueue() { return schedulerQueue; }
+    public void setSchedulerQueue(int schedulerQueue) { this.schedulerQueue = schedulerQueue; }
+}
@@ -0,0 +1,22 @@
+package net.cybermak.integration.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson customisation for request and response bodies
+ * Spring Boot registers every Jackson module bean with the shared ObjectMapper.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * Replaces reflective property access with generated lambdas
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -2,6 +2,7 @@ package net.cybermak.integration.config;
 
 import net.cybermak.integration.api.bridge.IncidentModuleBridge;
 import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.core.plugin.ModulePluginLoader;
 import net.cybermak.integration.modules.incident.IncidentModule;
 import net.cybermak.integration.remedy.form.FormHandler;
 import org.springframework.boot.CommandLineRunner;
@@ -19,7 +20,8 @@ public class ModuleConfiguration {
     public CommandLineRunner registerModules(
             ModuleRegistry moduleRegistry, 
             FormHandler formHandler,
-            IncidentModuleBridge incidentModuleBridge) {
+            IncidentModuleBridge incidentModuleBridge,
+            ModulePluginLoader modulePluginLoader) {
         return args -> {
             // Register the legacy-compatible incident bridge module
             moduleRegistry.registerModule(incidentModuleBridge);
@@ -27,6 +29,9 @@ public class ModuleConfiguration {
             // Optionally register the original generic incident module for comparison
             // IncidentModule incidentModule = new IncidentModule(formHandler);
             // moduleRegistry.registerModule("incident-generic", incidentModule);
+            
+            // Plugin jars are loaded last so they cannot take over built-in module types
+            modulePluginLoader.start();
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Plugin module configuration properties
+ * Plugin jars dropped into the directory are loaded at startup and, when
+ * watching is enabled, added, replaced or removed while the application runs.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "modules.plugins")
+public class ModulePluginProperties {
+    
+    private boolean enabled = false;
+    private String directory = "plugins";
+    private boolean watch = true;
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    
+    public boolean isWatch() { return watch; }
+    public void setWatch(boolean watch) { this.watch = watch; }
+}
@@ -0,0 +1,33 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Request payload logging configuration properties
+ * Payloads are only logged for a sample of requests, with sensitive
+ * fields redacted and long values truncated
+ */
+@Configuration
+@ConfigurationProperties(prefix = "logging.payload")
+public class PayloadLoggingProperties {
+    
+    private boolean enabled = true;
+    private double sampleRate = 0.01;
+    private Set<String> redactedFields = Set.of("key", "password", "userPassword", "apiKey", "token");
+    private int maxValueLength = 256;
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public double getSampleRate() { return sampleRate; }
+    public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+    
+    public Set<String> getRedactedFields() { return redactedFields; }
+    public void setRedactedFields(Set<String> redactedFields) { this.redactedFields = redactedFields; }
+    
+    public int getMaxValueLength() { return maxValueLength; }
+    public void setMaxValueLength(int maxValueLength) { this.maxValueLength = maxValueLength; }
+}
@@ -0,0 +1,23 @@
+package net.cybermak.integration.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of the Reactor scheduler used by streaming ingestion
+ * Remedy calls block, so they run on a bounded-elastic scheduler that caps both
+ * the number of threads and the number of queued calls.
+ */
+@Configuration
+public class ReactiveConfiguration {
+
+    public static final String REMEDY_SCHEDULER = "remedyScheduler";
+
+    @Bean(name = REMEDY_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler remedyScheduler(IngestionProperties properties) {
+        return Schedulers.newBoundedElastic(properties.getSchedulerThreads(), properties.getSchedulerQueue(),
+            "remedy-ingest");
+    }
+}
@@ -0,0 +1,168 @@
+package net.cybermak.integration.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the current remedy.properties snapshot and swaps it when the file changes
+ * 
+ * Readers call {@link #current()}, a single volatile read with no locking or
+ * parsing. The file is watched for
+ * changes; a changed file is loaded into a new snapshot and published
+ * atomically, and a file that fails to load leaves the previous snapshot in
+ * place.
+ */
+@Component
+public class RemedyConfigHolder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RemedyConfigHolder.class);
+    
+    private static final String CLASSPATH_RESOURCE = "remedy.properties";
+    // Editors often truncate then write; wait for the file to settle before loading
+    private static final long QUIET_PERIOD_MILLIS = 200;
+    
+    private final Path file;
+    private volatile RemedyConfigSnapshot current = RemedyConfigSnapshot.empty();
+    private WatchService watchService;
+    
+    public RemedyConfigHolder(RemedyConfigProperties properties) {
+        this.file = Paths.get(properties.getFile());
+        reload();
+        if (properties.isWatch() && Files.isRegularFile(file)) {
+            startWatching();
+        }
+    }
+    
+    /**
+     * Returns the current configuration snapshot
+     * @return the snapshot, never null
+     */
+    public RemedyConfigSnapshot current() {
+        return current;
+    }
+    
+    /**
+     * Loads the configuration again and publishes it if it loaded cleanly
+     * @return true if a new snapshot was published
+     */
+    public synchronized boolean reload() {
+        long version = current.getVersion() + 1;
+        try {
+            RemedyConfigSnapshot snapshot = load(version);
+            if (snapshot == null) {
+                logger.error("Could not load properties file from any location");
+                return false;
+            }
+            if (snapshot.getServerName() == null || snapshot.getServerName().isBlank()) {
+                logger.error("Ignoring properties from {} without serverName, keeping version {}",
+                    snapshot.getSource(), current.getVersion());
+                return false;
+            }
+            current = snapshot;
+            logger.info("Loaded properties version {} from {} - Server: {}, Port: {}",
+                version, snapshot.getSource(), snapshot.getServerName(), snapshot.getPort());
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Error loading properties, keeping version {}: {}", current.getVersion(), e.getMessage());
+            return false;
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Error closing remedy.properties watcher: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private RemedyConfigSnapshot load(long version) throws IOException {
+        Properties properties = new Properties();
+        
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+            return RemedyConfigSnapshot.from(properties, version, file.toString());
+        }
+        
+        // Fallback to classpath for Spring Boot compatibility
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CLASSPATH_RESOURCE)) {
+            if (in == null) {
+                return null;
+            }
+            properties.load(in);
+        }
+        return RemedyConfigSnapshot.from(properties, version, "classpath:" + CLASSPATH_RESOURCE);
+    }
+    
+    private void startWatching() {
+        Path directory = file.toAbsolutePath().getParent();
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.warn("Cannot watch {} for changes, edits need a restart: {}", file, e.getMessage());
+            return;
+        }
+        
+        Thread watcher = new Thread(this::watch, "remedy-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for changes", file);
+    }
+    
+    private static boolean touchesFile(WatchKey key, Path fileName) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) {
+                touched = true;
+            }
+        }
+        return touched;
+    }
+    
+    private void watch() {
+        Path fileName = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                while (key != null) {
+                    changed |= touchesFile(key, fileName);
+                    if (!key.reset()) {
+                        logger.warn("Stopped watching {}: directory is no longer accessible", file);
+                        return;
+                    }
+                    key = changed ? watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS) : null;
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
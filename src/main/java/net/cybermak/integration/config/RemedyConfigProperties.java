@@ -0,0 +1,23 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Location of the legacy remedy.properties file and whether it is watched
+ * When the file cannot be read, remedy.properties from the classpath is used
+ * (without watching).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "remedy.config")
+public class RemedyConfigProperties {
+    
+    private String file = "E:\\Program Files\\BMC Software\\Integrations\\monitoring\\remedy.properties";
+    private boolean watch = true;
+    
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+    
+    public boolean isWatch() { return watch; }
+    public void setWatch(boolean watch) { this.watch = watch; }
+}
@@ -0,0 +1,109 @@
+package net.cybermak.integration.config;
+
+import net.cybermak.integration.api.utility.AES;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable, pre-parsed view of remedy.properties
+ * 
+ * Values are parsed once when the file is loaded: the port is converted to an
+ * int and values written as ENC(...) are decrypted with {@link AES#decryptData}.
+ * A snapshot is never modified; a changed file produces a new snapshot.
+ */
+public final class RemedyConfigSnapshot {
+    
+    private static final String ENCRYPTED_PREFIX = "ENC(";
+    private static final String ENCRYPTED_SUFFIX = ")";
+    
+    private final long version;
+    private final String source;
+    private final String serverName;
+    private final String userName;
+    private final String password;
+    private final String generateTokenURL;
+    private final int port;
+    private final Map<String, String> values;
+    
+    private RemedyConfigSnapshot(long version, String source, Map<String, String> values) {
+        this.version = version;
+        this.source = source;
+        this.values = Map.copyOf(values);
+        this.serverName = values.get("serverName");
+        this.userName = values.get("userName");
+        this.password = values.get("userPassword");
+        this.generateTokenURL = values.get("generateTokenURL");
+        this.port = parsePort(values.get("port"));
+    }
+    
+    /**
+     * Builds a snapshot from loaded properties
+     * @param properties the loaded properties
+     * @param version increasing snapshot version
+     * @param source where the properties were loaded from
+     * @return the snapshot
+     * @throws IllegalArgumentException if the port is not a number or a value cannot be decrypted
+     */
+    public static RemedyConfigSnapshot from(Properties properties, long version, String source) {
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, decryptIfNeeded(name, properties.getProperty(name)));
+        }
+        return new RemedyConfigSnapshot(version, source, values);
+    }
+    
+    /**
+     * Returns an empty snapshot, used when no configuration could be loaded
+     */
+    public static RemedyConfigSnapshot empty() {
+        return new RemedyConfigSnapshot(0L, "none", Map.of());
+    }
+    
+    public long getVersion() { return version; }
+    public String getSource() { return source; }
+    public String getServerName() { return serverName; }
+    public String getUserName() { return userName; }
+    public String getPassword() { return password; }
+    public String getGenerateTokenURL() { return generateTokenURL; }
+    public int getPort() { return port; }
+    
+    /**
+     * Gets property value by key
+     * @param key Property key to retrieve
+     * @return Property value or error message if key doesn't exist
+     */
+    public String getValue(String key) {
+        return values.getOrDefault(key, String.format("The key %s does not exists!", key));
+    }
+    
+    private static String decryptIfNeeded(String name, String value) {
+        if (value == null || !value.startsWith(ENCRYPTED_PREFIX) || !value.endsWith(ENCRYPTED_SUFFIX)) {
+            return value;
+        }
+        String encrypted = value.substring(ENCRYPTED_PREFIX.length(), value.length() - ENCRYPTED_SUFFIX.length());
+        try {
+            return AES.decryptData(encrypted);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cannot decrypt property " + name, e);
+        }
+    }
+    
+    private static int parsePort(String port) {
+        if (port == null || port.isBlank()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(port.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port in remedy.properties: " + port, e);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "RemedyConfigSnapshot{version=" + version + ", source=" + source
+            + ", serverName=" + serverName + ", port=" + port + "}";
+    }
+}
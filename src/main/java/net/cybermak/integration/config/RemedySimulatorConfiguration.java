@@ -0,0 +1,34 @@
+package net.cybermak.integration.config;
+
+import com.bmc.arsys.api.ARServerUser;
+import net.cybermak.integration.remedy.connection.ARServerUserFactory;
+import net.cybermak.integration.remedy.simulator.RemedySimulator;
+import net.cybermak.integration.remedy.simulator.SimulatedARServerUser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the arAPI boundary
+ * With remedy.simulator.enabled the legacy API and modules talk to the local
+ * Remedy stand-in instead of a Remedy server, for load and latency testing.
+ */
+@Configuration
+public class RemedySimulatorConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "remedy.simulator", name = "enabled", havingValue = "true")
+    public RemedySimulator remedySimulator(RemedySimulatorProperties properties) {
+        return new RemedySimulator(properties);
+    }
+
+    @Bean
+    public ARServerUserFactory arServerUserFactory(ObjectProvider<RemedySimulator> simulator) {
+        RemedySimulator remedySimulator = simulator.getIfAvailable();
+        if (remedySimulator == null) {
+            return ARServerUser::new;
+        }
+        return () -> new SimulatedARServerUser(remedySimulator);
+    }
+}
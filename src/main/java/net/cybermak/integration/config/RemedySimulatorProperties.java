@@ -0,0 +1,96 @@
+package net.cybermak.integration.config;
+
+import net.cybermak.integration.remedy.simulator.SimulatedCall;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Local Remedy stand-in configuration properties
+ * When enabled, form operations and arAPI calls go to an in-process stand-in
+ * instead of Remedy, with log-normal latency per call kind (from a median and
+ * a p99), a transient error rate, session expiry and throughput caps
+ */
+@Configuration
+@ConfigurationProperties(prefix = "remedy.simulator")
+public class RemedySimulatorProperties {
+    
+    private boolean enabled = false;
+    private double errorRate = 0.0;
+    private long sessionTtl = 3600000;
+    private boolean reauthenticate = true;
+    private int maxConcurrent = 0;
+    private double maxCallsPerSecond = 0;
+    private long queueTimeout = 5000;
+    private Map<SimulatedCall, Latency> latency = defaultLatency();
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public double getErrorRate() { return errorRate; }
+    public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+    
+    public long getSessionTtl() { return sessionTtl; }
+    public void setSessionTtl(long sessionTtl) { this.sessionTtl = sessionTtl; }
+    
+    public boolean isReauthenticate() { return reauthenticate; }
+    public void setReauthenticate(boolean reauthenticate) { this.reauthenticate = reauthenticate; }
+    
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+    
+    public double getMaxCallsPerSecond() { return maxCallsPerSecond; }
+    public void setMaxCallsPerSecond(double maxCallsPerSecond) { this.maxCallsPerSecond = maxCallsPerSecond; }
+    
+    public long getQueueTimeout() { return queueTimeout; }
+    public void setQueueTimeout(long queueTimeout) { this.queueTimeout = queueTimeout; }
+    
+    public Map<SimulatedCall, Latency> getLatency() { return latency; }
+    public void setLatency(Map<SimulatedCall, Latency> latency) { this.latency = latency; }
+    
+    /**
+     * Latency of a call kind
+     * @param call the call kind
+     * @return configured latency, or no latency if not configured
+     */
+    public Latency getLatency(SimulatedCall call) {
+        Latency configured = latency != null ? latency.get(call) : null;
+        return configured != null ? configured : Latency.NONE;
+    }
+    
+    /**
+     * Log-normal latency given by its median and 99th percentile, in milliseconds
+     */
+    public static class Latency {
+        static final Latency NONE = new Latency(0, 0);
+        
+        private double median;
+        private double p99;
+        
+        public Latency() {
+        }
+        
+        public Latency(double median, double p99) {
+            this.median = median;
+            this.p99 = p99;
+        }
+        
+        public double getMedian() { return median; }
+        public void setMedian(double median) { this.median = median; }
+        
+        public double getP99() { return p99; }
+        public void setP99(double p99) { this.p99 = p99; }
+    }
+    
+    private static Map<SimulatedCall, Latency> defaultLatency() {
+        Map<SimulatedCall, Latency> latency = new EnumMap<>(SimulatedCall.class);
+        latency.put(SimulatedCall.LOGIN, new Latency(150, 600));
+        latency.put(SimulatedCall.CREATE, new Latency(80, 400));
+        latency.put(SimulatedCall.GET, new Latency(30, 150));
+        latency.put(SimulatedCall.SET, new Latency(60, 300));
+        latency.put(SimulatedCall.DELETE, new Latency(40, 200));
+        return latency;
+    }
+}
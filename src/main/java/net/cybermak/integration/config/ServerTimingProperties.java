@@ -0,0 +1,24 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request phase timing configuration properties
+ * Phase timings are recorded as metrics while enabled. The Server-Timing
+ * response header exposes internal timings to the caller, so it is off
+ * unless turned on for environments whose callers are trusted.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "server-timing")
+public class ServerTimingProperties {
+    
+    private boolean enabled = true;
+    private boolean header = false;
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public boolean isHeader() { return header; }
+    public void setHeader(boolean header) { this.header = header; }
+}
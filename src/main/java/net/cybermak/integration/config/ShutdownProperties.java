@@ -0,0 +1,27 @@
+package net.cybermak.integration.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shutdown drain configuration properties
+ * On shutdown, admission stops and running and queued Remedy work gets up
+ * to gracePeriod to finish before Remedy connections are closed
+ */
+@Configuration
+@ConfigurationProperties(prefix = "shutdown")
+public class ShutdownProperties {
+    
+    private boolean drain = true;
+    private long gracePeriod = 30000;
+    private long pollInterval = 50;
+    
+    public boolean isDrain() { return drain; }
+    public void setDrain(boolean drain) { this.drain = drain; }
+    
+    public long getGracePeriod() { return gracePeriod; }
+    public void setGracePeriod(long gracePeriod) { this.gracePeriod = gracePeriod; }
+    
+    public long getPollInterval() { return pollInterval; }
+    public void setPollInterval(long pollInterval) { this.pollInterval = pollInterval; }
+}
@@ -0,0 +1,31 @@
+package net.cybermak.integration.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.cybermak.integration.api.binding.ModuleBodyArgumentResolver;
+import net.cybermak.integration.core.ModuleRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC customisation for the integration API
+ */
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    private final ModuleRegistry moduleRegistry;
+    private final ObjectMapper objectMapper;
+
+    public WebMvcConfiguration(ModuleRegistry moduleRegistry, ObjectMapper objectMapper) {
+        this.moduleRegistry = moduleRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // Binds module request bodies into the module's field schema
+        resolvers.add(new ModuleBodyArgumentResolver(moduleRegistry, objectMapper));
+    }
+}
\ No newline at end of file
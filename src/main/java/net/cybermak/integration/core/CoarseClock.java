@@ -0,0 +1,58 @@
+package net.cybermak.integration.core;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Coarse-grained clock for response timestamps
+ *
+ * Formats the local date-time the same way as {@code LocalDateTime.now().toString()},
+ * but truncated to {@value #RESOLUTION_MILLIS} ms and cached, so responses
+ * created within the same tick share one string instead of each formatting
+ * their own.
+ */
+public final class CoarseClock {
+    
+    static final long RESOLUTION_MILLIS = 10;
+    
+    private static volatile Tick current = new Tick(Long.MIN_VALUE, null);
+    
+    private CoarseClock() {}
+    
+    /**
+     * Returns the current local date-time as an ISO-8601 string
+     * @return timestamp, at most {@value #RESOLUTION_MILLIS} ms old
+     */
+    public static String now() {
+        return at(System.currentTimeMillis());
+    }
+    
+    /**
+     * Returns the timestamp of the tick a point in time falls into
+     * @param epochMillis milliseconds since the epoch
+     * @return timestamp of the tick, shared with other calls in the same tick
+     */
+    static String at(long epochMillis) {
+        long tick = epochMillis / RESOLUTION_MILLIS;
+        Tick cached = current;
+        if (cached.tick != tick) {
+            // Racing threads may format the same tick twice, which is harmless
+            String text = LocalDateTime.ofInstant(Instant.ofEpochMilli(tick * RESOLUTION_MILLIS),
+                ZoneId.systemDefault()).toString();
+            cached = new Tick(tick, text);
+            current = cached;
+        }
+        return cached.text;
+    }
+    
+    private static final class Tick {
+        private final long tick;
+        private final String text;
+        
+        private Tick(long tick, String text) {
+            this.tick = tick;
+            this.text = text;
+        }
+    }
+}
\ No newline at end of file
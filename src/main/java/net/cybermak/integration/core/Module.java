@@ -1,10 +1,17 @@
 package net.cybermak.integration.core;
 
+import net.cybermak.integration.core.model.FieldSchema;
 import net.cybermak.integration.core.model.GenericRequest;
 import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.Operation;
 import net.cybermak.integration.core.model.ValidationResult;
+import net.cybermak.integration.core.timing.Deadline;
 
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Core Module interface that all integration modules must implement
@@ -27,12 +34,69 @@ public interface Module {
     
     /**
      * Processes a valid request and returns a response
+     * Implementations skip validation for requests already marked as validated
      * @param request the request to process
      * @return response containing result data
      * @throws IllegalArgumentException if request is invalid
      */
     GenericResponse process(GenericRequest request);
     
+    /**
+     * Returns the handler for one operation
+     * Resolved once for each supported operation when the module is registered,
+     * so dispatch goes straight to the handler instead of through
+     * {@link #process(GenericRequest)}. The default hands every operation to process.
+     * @param operation a supported operation
+     * @return handler for the operation
+     */
+    default OperationHandler getOperationHandler(Operation operation) {
+        return this::process;
+    }
+    
+    /**
+     * Processes a valid request without blocking the caller
+     * The default runs {@link #process(GenericRequest)} on the given executor,
+     * unless the request {@link Deadline} passed while it was queued there.
+     * @param request the request to process
+     * @param executor executor for blocking Remedy I/O
+     * @return future completed with the response, or exceptionally as process would throw
+     */
+    default CompletableFuture<GenericResponse> processAsync(GenericRequest request, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            Deadline.current().check("dispatch");
+            return process(request);
+        }, executor);
+    }
+    
+    /**
+     * Returns the operations this module can process
+     * Read once when the module is registered; requests for other operations
+     * are rejected before they reach the module.
+     * @return supported operations
+     */
+    default Set<Operation> getSupportedOperations() {
+        return EnumSet.allOf(Operation.class);
+    }
+    
+    /**
+     * Returns the data field that carries the entry ID for get and update requests
+     * @return ID field name (e.g., "incidentId")
+     */
+    default String getIdFieldName() {
+        return "id";
+    }
+    
+    /**
+     * Returns the fields this module reads from request data
+     * When present, request bodies are bound straight into
+     * {@link net.cybermak.integration.core.model.FieldValues} for this schema
+     * instead of a generic map.
+     * @return field schema, or null to receive a generic map
+     */
+    default FieldSchema getFieldSchema() {
+        return null;
+    }
+    
     /**
      * Returns field mappings for BMC Remedy integration
      * @return map of logical field names to BMC Remedy field IDs
@@ -1,21 +1,31 @@
 package net.cybermak.integration.core;
 
+import net.cybermak.integration.core.model.FieldSchema;
+import net.cybermak.integration.core.model.Operation;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Module registry for managing and discovering available modules
  * TDD: Minimal implementation to satisfy ModuleRegistryTest requirements
+ *
+ * Registered modules are held in an immutable, versioned {@link Snapshot}.
+ * Lookups are a single volatile read; changes build a new snapshot and swap
+ * it in atomically, so readers never see a partially applied change.
+ * Each snapshot also holds a {@link Route} per module with the handlers of the
+ * operations it supports, so callers can reject a request before building it
+ * and dispatch it without going through the module's own operation lookup.
  */
 @Component
 public class ModuleRegistry {
     
-    private final Map<String, Module> modules = new ConcurrentHashMap<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
     
     /**
      * Registers a module in the registry
@@ -23,13 +33,28 @@ public class ModuleRegistry {
      * @throws IllegalStateException if a module with the same type is already registered
      */
     public void registerModule(Module module) {
-        String moduleType = module.getModuleType();
-        
-        if (modules.containsKey(moduleType)) {
-            throw new IllegalStateException("Module with type '" + moduleType + "' is already registered");
-        }
-        
-        modules.put(moduleType, module);
+        replaceModules(List.of(), List.of(module));
+    }
+    
+    /**
+     * Removes and adds modules in a single atomic change
+     * @param removedTypes types of the modules to remove
+     * @param addedModules modules to add
+     * @throws IllegalStateException if an added type is already registered and not being removed
+     */
+    public void replaceModules(Collection<String> removedTypes, Collection<? extends Module> addedModules) {
+        snapshot.updateAndGet(current -> {
+            Map<String, Module> modules = new HashMap<>(current.modules);
+            modules.keySet().removeAll(removedTypes);
+            
+            for (Module module : addedModules) {
+                String moduleType = module.getModuleType();
+                if (modules.putIfAbsent(moduleType, module) != null) {
+                    throw new IllegalStateException("Module with type '" + moduleType + "' is already registered");
+                }
+            }
+            return new Snapshot(current.version + 1, modules);
+        });
     }
     
     /**
@@ -38,7 +63,16 @@ public class ModuleRegistry {
      * @return optional containing the module if found, empty otherwise
      */
     public Optional<Module> getModule(String moduleType) {
-        return Optional.ofNullable(modules.get(moduleType));
+        return snapshot.get().getModule(moduleType);
+    }
+    
+    /**
+     * Retrieves the routing entry for a module type
+     * @param moduleType the module type
+     * @return optional containing the route if the module is registered, empty otherwise
+     */
+    public Optional<Route> getRoute(String moduleType) {
+        return snapshot.get().getRoute(moduleType);
     }
     
     /**
@@ -46,23 +80,25 @@ public class ModuleRegistry {
      * @param moduleType the type of module to unregister
      */
     public void unregisterModule(String moduleType) {
-        modules.remove(moduleType);
+        if (isModuleRegistered(moduleType)) {
+            replaceModules(List.of(moduleType), List.of());
+        }
     }
     
     /**
      * Returns all registered modules
-     * @return list of all registered modules
+     * @return unmodifiable list of all registered modules
      */
     public List<Module> getAllModules() {
-        return new ArrayList<>(modules.values());
+        return snapshot.get().getModules();
     }
     
     /**
      * Returns all registered module types
-     * @return list of all registered module type identifiers
+     * @return unmodifiable list of all registered module type identifiers
      */
     public List<String> getAllModuleTypes() {
-        return new ArrayList<>(modules.keySet());
+        return snapshot.get().getModuleTypes();
     }
     
     /**
@@ -71,7 +107,7 @@ public class ModuleRegistry {
      * @return true if registered, false otherwise
      */
     public boolean isModuleRegistered(String moduleType) {
-        return modules.containsKey(moduleType);
+        return snapshot.get().modules.containsKey(moduleType);
     }
     
     /**
@@ -79,6 +115,106 @@ public class ModuleRegistry {
      * @return count of registered modules
      */
     public int getModuleCount() {
-        return modules.size();
+        return snapshot.get().modules.size();
+    }
+    
+    /**
+     * Returns the current routing snapshot
+     * @return immutable snapshot of the registered modules
+     */
+    public Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+    
+    /**
+     * Returns the version of the current snapshot, incremented on every change
+     * @return snapshot version
+     */
+    public long getVersion() {
+        return snapshot.get().version;
+    }
+    
+    /**
+     * Immutable view of the registered modules at one version
+     */
+    public static final class Snapshot {
+        
+        private static final Snapshot EMPTY = new Snapshot(0L, Map.of());
+        
+        private final long version;
+        private final Map<String, Module> modules;
+        private final Map<String, Route> routes;
+        private final List<Module> moduleList;
+        private final List<String> moduleTypes;
+        
+        private Snapshot(long version, Map<String, Module> modules) {
+            this.version = version;
+            this.modules = Map.copyOf(modules);
+            this.moduleList = List.copyOf(this.modules.values());
+            this.moduleTypes = List.copyOf(this.modules.keySet());
+            
+            Map<String, Route> compiled = new HashMap<>();
+            this.modules.forEach((moduleType, module) -> compiled.put(moduleType, Route.of(module)));
+            this.routes = Map.copyOf(compiled);
+        }
+        
+        public long getVersion() { return version; }
+        public List<Module> getModules() { return moduleList; }
+        public List<String> getModuleTypes() { return moduleTypes; }
+        
+        public Optional<Module> getModule(String moduleType) {
+            return moduleType == null ? Optional.empty() : Optional.ofNullable(modules.get(moduleType));
+        }
+        
+        public Optional<Route> getRoute(String moduleType) {
+            return moduleType == null ? Optional.empty() : Optional.ofNullable(routes.get(moduleType));
+        }
+    }
+    
+    /**
+     * Dispatch entry for one module, read from the module once at registration
+     */
+    public static final class Route {
+        
+        private final Module module;
+        private final String idFieldName;
+        private final FieldSchema fieldSchema;
+        // Handler by operation ordinal, null for unsupported operations
+        private final OperationHandler[] handlers = new OperationHandler[Operation.values().length];
+        
+        private Route(Module module) {
+            this.module = module;
+            this.idFieldName = module.getIdFieldName();
+            this.fieldSchema = module.getFieldSchema();
+            for (Operation operation : module.getSupportedOperations()) {
+                handlers[operation.ordinal()] = module.getOperationHandler(operation);
+            }
+        }
+        
+        /**
+         * Builds the route for a module
+         * @param module the module
+         * @return route with the module's operation handlers, ID field and field schema
+         */
+        public static Route of(Module module) {
+            return new Route(module);
+        }
+        
+        public Module getModule() { return module; }
+        public String getIdFieldName() { return idFieldName; }
+        public FieldSchema getFieldSchema() { return fieldSchema; }
+        
+        public boolean supports(Operation operation) {
+            return getHandler(operation) != null;
+        }
+        
+        /**
+         * Returns the module's handler for an operation
+         * @param operation the operation
+         * @return handler, or null if the module does not support the operation
+         */
+        public OperationHandler getHandler(Operation operation) {
+            return operation != null ? handlers[operation.ordinal()] : null;
+        }
     }
 }
\ No newline at end of file
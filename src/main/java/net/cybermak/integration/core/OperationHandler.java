@@ -0,0 +1,20 @@
+package net.cybermak.integration.core;
+
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.GenericResponse;
+
+/**
+ * Handles requests for one operation of a module
+ * Resolved once when the module is registered and held by its registry route.
+ */
+@FunctionalInterface
+public interface OperationHandler {
+    
+    /**
+     * Handles a request for the operation
+     * @param request the request to handle
+     * @return response containing result data
+     * @throws IllegalArgumentException if request is invalid
+     */
+    GenericResponse handle(GenericRequest request);
+}
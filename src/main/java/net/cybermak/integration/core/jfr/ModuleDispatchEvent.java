@@ -0,0 +1,60 @@
+package net.cybermak.integration.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one module operation, from dispatch until the module's response is ready
+ * Async operations are committed by the thread that completes them.
+ */
+@Name("net.cybermak.integration.ModuleDispatch")
+@Label("Module Dispatch")
+@Category({"Remedy Integration", "Modules"})
+@Description("A module operation dispatched by ModuleService")
+@StackTrace(false)
+public class ModuleDispatchEvent extends Event {
+    
+    @Label("Module")
+    String moduleType;
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Async")
+    boolean async;
+    
+    @Label("Success")
+    boolean success;
+    
+    /**
+     * Starts timing a module operation
+     * @param moduleType module type
+     * @param operation operation name
+     * @param async whether the operation runs on the Remedy executor
+     * @return the started event
+     */
+    public static ModuleDispatchEvent start(String moduleType, String operation, boolean async) {
+        ModuleDispatchEvent event = new ModuleDispatchEvent();
+        event.moduleType = moduleType;
+        event.operation = operation;
+        event.async = async;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Ends the operation and records it
+     * @param success whether the module produced a response
+     */
+    public void complete(boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.success = success;
+            commit();
+        }
+    }
+}
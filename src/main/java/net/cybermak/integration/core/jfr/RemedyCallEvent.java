@@ -0,0 +1,72 @@
+package net.cybermak.integration.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one arAPI call
+ * Emitted through {@link #record}, which costs little more than the call
+ * itself while no recording has the event enabled.
+ */
+@Name("net.cybermak.integration.RemedyCall")
+@Label("Remedy Call")
+@Category({"Remedy Integration", "Remedy"})
+@Description("An arAPI call to a Remedy server")
+@StackTrace(false)
+public class RemedyCallEvent extends Event {
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Form")
+    String form;
+    
+    @Label("Server")
+    String server;
+    
+    @Label("Success")
+    boolean success;
+    
+    /**
+     * Runs an arAPI call and records it
+     * @param operation arAPI method, e.g. "createEntry"
+     * @param form form name, or null if the call is not about a form
+     * @param server Remedy server
+     * @param call the arAPI call
+     * @return the call result
+     * @throws E if the call fails
+     */
+    public static <T, E extends Exception> T record(String operation, String form, String server,
+                                                    Call<T, E> call) throws E {
+        RemedyCallEvent event = new RemedyCallEvent();
+        event.begin();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.form = form;
+                event.server = server;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * An arAPI call
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        
+        T call() throws E;
+    }
+}
@@ -0,0 +1,64 @@
+package net.cybermak.integration.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for taking a connection from, or giving one back to, the Remedy connection pool
+ */
+@Name("net.cybermak.integration.RemedyPool")
+@Label("Remedy Connection Pool")
+@Category({"Remedy Integration", "Remedy"})
+@Description("Time spent borrowing, releasing or closing a pooled Remedy connection")
+@StackTrace(false)
+public class RemedyPoolEvent extends Event {
+    
+    public static final String BORROW = "borrow";
+    public static final String RELEASE = "release";
+    public static final String CLOSE = "close";
+    
+    @Label("Action")
+    String action;
+    
+    @Label("Connection")
+    String connection;
+    
+    @Label("Created")
+    @Description("Whether a new connection had to be opened")
+    boolean created;
+    
+    /**
+     * Starts timing a pool action
+     * @param action {@link #BORROW}, {@link #RELEASE} or {@link #CLOSE}
+     * @return the started event
+     */
+    public static RemedyPoolEvent start(String action) {
+        RemedyPoolEvent event = new RemedyPoolEvent();
+        event.action = action;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Notes that the action opened a new connection
+     */
+    public void created() {
+        created = true;
+    }
+    
+    /**
+     * Ends the action and records it
+     * @param connection pool key of the connection
+     */
+    public void complete(String connection) {
+        end();
+        if (shouldCommit()) {
+            this.connection = connection;
+            commit();
+        }
+    }
+}
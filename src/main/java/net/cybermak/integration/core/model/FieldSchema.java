@@ -0,0 +1,67 @@
+package net.cybermak.integration.core.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed, ordered set of request fields declared by a module
+ *
+ * Each field gets a slot index so request values can be held in a
+ * {@link FieldValues} array instead of a hash map per request.
+ */
+public final class FieldSchema {
+    
+    private final String[] fields;
+    private final Map<String, Integer> slots;
+    
+    private FieldSchema(String[] fields) {
+        Map<String, Integer> slots = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null || slots.putIfAbsent(fields[i], i) != null) {
+                throw new IllegalArgumentException("Invalid or duplicate schema field: " + fields[i]);
+            }
+        }
+        this.fields = fields;
+        this.slots = Map.copyOf(slots);
+    }
+    
+    /**
+     * Creates a schema; slots are assigned in declaration order
+     * @param fields field names, unique and not null
+     * @return the schema
+     */
+    public static FieldSchema of(String... fields) {
+        return new FieldSchema(fields.clone());
+    }
+    
+    /**
+     * Returns the slot of a field
+     * @param field the field name
+     * @return slot index, or -1 if the field is not part of this schema
+     */
+    public int slotOf(Object field) {
+        Integer slot = field == null ? null : slots.get(field);
+        return slot != null ? slot : -1;
+    }
+    
+    public int size() {
+        return fields.length;
+    }
+    
+    public String fieldName(int slot) {
+        return fields[slot];
+    }
+    
+    public List<String> getFields() {
+        return List.of(fields);
+    }
+    
+    /**
+     * Creates an empty value holder for this schema
+     * @return values with every slot unset
+     */
+    public FieldValues newValues() {
+        return new FieldValues(this);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package net.cybermak.integration.core.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Request data bound to a {@link FieldSchema}
+ *
+ * Values of schema fields live in an array indexed by slot; fields outside
+ * the schema go to an overflow map that is only created when one appears.
+ * The class is a regular {@code Map} so modules that read request data by
+ * name keep working, while schema-aware code can read slots directly.
+ * Presence is tracked apart from the value, so a field sent as JSON null is
+ * kept as a present field with a null value and an update can clear it.
+ * Request validation still treats a null value as missing.
+ */
+public final class FieldValues extends AbstractMap<String, Object> {
+    
+    private final FieldSchema schema;
+    private final Object[] values;
+    private final boolean[] present;
+    private Map<String, Object> overflow;
+    
+    FieldValues(FieldSchema schema) {
+        this.schema = schema;
+        this.values = new Object[schema.size()];
+        this.present = new boolean[schema.size()];
+    }
+    
+    private FieldValues(FieldValues source) {
+        this.schema = source.schema;
+        this.values = source.values.clone();
+        this.present = source.present.clone();
+        this.overflow = source.overflow != null ? new HashMap<>(source.overflow) : null;
+    }
+    
+    public FieldSchema getSchema() {
+        return schema;
+    }
+    
+    /**
+     * Returns the value of a schema field by slot
+     * @param slot the slot from {@link FieldSchema#slotOf(Object)}
+     * @return the value, or null if unset or set to null
+     */
+    public Object get(int slot) {
+        return values[slot];
+    }
+    
+    /**
+     * Tells whether a schema field was set, to null or any other value
+     * @param slot the slot from {@link FieldSchema#slotOf(Object)}
+     * @return true if the field is present
+     */
+    public boolean isPresent(int slot) {
+        return present[slot];
+    }
+    
+    /**
+     * Returns a copy of these values with one field set, leaving this instance unchanged
+     * @param field the field name
+     * @param value the value
+     * @return the copy
+     */
+    public FieldValues with(String field, Object value) {
+        FieldValues copy = new FieldValues(this);
+        copy.put(field, value);
+        return copy;
+    }
+    
+    @Override
+    public Object get(Object key) {
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            return values[slot];
+        }
+        return overflow != null ? overflow.get(key) : null;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            return present[slot];
+        }
+        return overflow != null && overflow.containsKey(key);
+    }
+    
+    @Override
+    public Object put(String key, Object value) {
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            Object previous = values[slot];
+            values[slot] = value;
+            present[slot] = true;
+            return previous;
+        }
+        if (overflow == null) {
+            overflow = new HashMap<>();
+        }
+        return overflow.put(key, value);
+    }
+    
+    @Override
+    public Object remove(Object key) {
+        int slot = schema.slotOf(key);
+        if (slot >= 0) {
+            Object previous = values[slot];
+            values[slot] = null;
+            present[slot] = false;
+            return previous;
+        }
+        return overflow != null ? overflow.remove(key) : null;
+    }
+    
+    @Override
+    public int size() {
+        int size = overflow != null ? overflow.size() : 0;
+        for (boolean set : present) {
+            if (set) {
+                size++;
+            }
+        }
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(present, false);
+        overflow = null;
+    }
+    
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+            
+            @Override
+            public int size() {
+                return FieldValues.this.size();
+            }
+        };
+    }
+    
+    /**
+     * Walks the present slots first, then the overflow fields
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        
+        private int next = advance(0);
+        private int last = -1;
+        private Iterator<Entry<String, Object>> overflowIterator;
+        
+        private int advance(int from) {
+            int slot = from;
+            while (slot < values.length && !present[slot]) {
+                slot++;
+            }
+            return slot;
+        }
+        
+        private Iterator<Entry<String, Object>> overflowIterator() {
+            if (overflowIterator == null) {
+                overflowIterator = overflow != null ? overflow.entrySet().iterator()
+                    : Map.<String, Object>of().entrySet().iterator();
+            }
+            return overflowIterator;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return next < values.length || overflowIterator().hasNext();
+        }
+        
+        @Override
+        public Entry<String, Object> next() {
+            if (next < values.length) {
+                last = next;
+                next = advance(next + 1);
+                return new SimpleImmutableEntry<>(schema.fieldName(last), values[last]);
+            }
+            if (!overflowIterator().hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = -1;
+            return overflowIterator().next();
+        }
+        
+        @Override
+        public void remove() {
+            if (last >= 0) {
+                values[last] = null;
+                present[last] = false;
+                last = -1;
+            } else {
+                overflowIterator().remove();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -10,16 +10,20 @@ public class GenericRequest {
     
     private String moduleType;
     private String operation;
+    private Operation operationType;
     private Map<String, Object> data;
     private Map<String, String> metadata;
+    private boolean validated;
     
     private GenericRequest() {}
     
     private GenericRequest(Builder builder) {
         this.moduleType = builder.moduleType;
         this.operation = builder.operation;
+        this.operationType = builder.operationType;
         this.data = builder.data;
         this.metadata = builder.metadata;
+        this.validated = builder.validated;
     }
     
     public static Builder builder() {
@@ -34,6 +38,14 @@ public class GenericRequest {
         return operation;
     }
     
+    /**
+     * Returns the operation resolved when the request was built
+     * @return the operation, or null if the operation name is not a known {@link Operation}
+     */
+    public Operation getOperationType() {
+        return operationType;
+    }
+    
     public Map<String, Object> getData() {
         return data;
     }
@@ -42,11 +54,29 @@ public class GenericRequest {
         return metadata;
     }
     
+    /**
+     * Whether this request has already passed its module's validation
+     * @return true if the module may skip validation when processing
+     */
+    public boolean isValidated() {
+        return validated;
+    }
+    
+    /**
+     * Marks this request as validated so that {@code Module.process}
+     * does not run the same validation a second time
+     */
+    public void markValidated() {
+        this.validated = true;
+    }
+    
     public static class Builder {
         private String moduleType;
         private String operation;
+        private Operation operationType;
         private Map<String, Object> data;
         private Map<String, String> metadata;
+        private boolean validated;
         
         public Builder moduleType(String moduleType) {
             this.moduleType = moduleType;
@@ -55,6 +85,13 @@ public class GenericRequest {
         
         public Builder operation(String operation) {
             this.operation = operation;
+            this.operationType = Operation.fromName(operation);
+            return this;
+        }
+        
+        public Builder operation(Operation operation) {
+            this.operation = operation != null ? operation.getName() : null;
+            this.operationType = operation;
             return this;
         }
         
@@ -68,6 +105,11 @@ public class GenericRequest {
             return this;
         }
         
+        public Builder validated(boolean validated) {
+            this.validated = validated;
+            return this;
+        }
+        
         public GenericRequest build() {
             return new GenericRequest(this);
         }
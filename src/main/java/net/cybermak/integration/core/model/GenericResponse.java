@@ -1,10 +1,15 @@
 package net.cybermak.integration.core.model;
 
+import net.cybermak.integration.core.CoarseClock;
+
 import java.util.Map;
 
 /**
  * Generic response model for all module operations
  * TDD: Minimal implementation to satisfy ModuleTest requirements
+ *
+ * Responses are written to API clients as they are, so the builder stamps
+ * responses without an explicit timestamp from the {@link CoarseClock}.
  */
 public class GenericResponse {
     
@@ -19,7 +24,7 @@ public class GenericResponse {
         this.status = builder.status;
         this.data = builder.data;
         this.message = builder.message;
-        this.timestamp = builder.timestamp;
+        this.timestamp = builder.timestamp != null ? builder.timestamp : CoarseClock.now();
     }
     
     public static Builder builder() {
@@ -0,0 +1,48 @@
+package net.cybermak.integration.core.model;
+
+/**
+ * Operations a module can perform on a Remedy form
+ *
+ * Requests carry the resolved constant so modules dispatch on it directly
+ * instead of comparing operation strings on every request.
+ */
+public enum Operation {
+    
+    CREATE("create"),
+    GET("get"),
+    UPDATE("update"),
+    SEARCH("search");
+    
+    private static final Operation[] VALUES = values();
+    
+    private final String name;
+    
+    Operation(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Returns the lower case name used in requests and validation rules
+     * @return operation name, e.g. "create"
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Resolves an operation name, ignoring case
+     * @param name the operation name
+     * @return the matching operation, or null if the name is null or unknown
+     */
+    public static Operation fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (Operation operation : VALUES) {
+            if (operation.name.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
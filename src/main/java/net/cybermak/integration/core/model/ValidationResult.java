@@ -1,42 +1,48 @@
 package net.cybermak.integration.core.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Validation result model for request validation
  * TDD: Minimal implementation to satisfy ModuleTest requirements
+ * 
+ * Results are immutable; successful validations share a single instance
+ * so the valid path allocates nothing.
  */
 public class ValidationResult {
     
+    private static final ValidationResult VALID = new ValidationResult(true, List.of());
+    
     private final boolean valid;
     private final List<String> errors;
     
     private ValidationResult(boolean valid, List<String> errors) {
         this.valid = valid;
-        this.errors = errors != null ? new ArrayList<>(errors) : new ArrayList<>();
+        this.errors = errors;
     }
     
     public static ValidationResult valid() {
-        return new ValidationResult(true, null);
+        return VALID;
     }
     
     public static ValidationResult invalid(String error) {
-        List<String> errors = new ArrayList<>();
-        errors.add(error);
-        return new ValidationResult(false, errors);
+        return new ValidationResult(false, List.of(error));
     }
     
     public static ValidationResult invalid(List<String> errors) {
-        return new ValidationResult(false, errors);
+        return new ValidationResult(false, errors != null ? List.copyOf(errors) : List.of());
     }
     
     public boolean isValid() {
         return valid;
     }
     
+    /**
+     * Returns the validation errors
+     * @return unmodifiable list of error messages, empty when valid
+     */
     public List<String> getErrors() {
-        return new ArrayList<>(errors);
+        return errors;
     }
     
     public String getErrorMessage() {
@@ -45,4 +51,4 @@ public class ValidationResult {
         }
         return String.join(", ", errors);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package net.cybermak.integration.core.plugin;
+
+import net.cybermak.integration.core.Module;
+import net.cybermak.integration.remedy.form.FormHandler;
+
+import java.util.List;
+
+/**
+ * Service provider interface for plugin jars whose modules need Remedy access
+ * 
+ * Plugin jars list implementations in
+ * META-INF/services/net.cybermak.integration.core.plugin.ModuleFactory.
+ * Modules with a no-argument constructor can instead be listed directly in
+ * META-INF/services/net.cybermak.integration.core.Module.
+ */
+public interface ModuleFactory {
+    
+    /**
+     * Creates the modules provided by a plugin
+     * @param formHandler the form handler used by built-in modules
+     * @return modules to register
+     */
+    List<Module> createModules(FormHandler formHandler);
+}
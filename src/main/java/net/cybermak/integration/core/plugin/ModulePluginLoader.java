@@ -0,0 +1,299 @@
+package net.cybermak.integration.core.plugin;
+
+import jakarta.annotation.PreDestroy;
+import net.cybermak.integration.config.ModulePluginProperties;
+import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.remedy.form.FormHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads additional modules from plugin jars at runtime
+ *
+ * Each jar in the plugin directory gets its own {@link PluginClassLoader} and
+ * contributes the modules it lists as {@link ModuleFactory} or {@link Module}
+ * services. The jar is copied before loading so the original can be replaced
+ * while it is in use. Adding, replacing or deleting a jar swaps its modules in
+ * the {@link ModuleRegistry} in one atomic change. Plugins cannot take over a
+ * module type that is already registered by the application or another plugin.
+ */
+@Component
+public class ModulePluginLoader {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ModulePluginLoader.class);
+    
+    private static final String MODULE_SERVICE = "META-INF/services/" + Module.class.getName();
+    private static final String FACTORY_SERVICE = "META-INF/services/" + ModuleFactory.class.getName();
+    private static final long QUIET_PERIOD_MILLIS = 500;
+    
+    private final ModuleRegistry moduleRegistry;
+    private final FormHandler formHandler;
+    private final ModulePluginProperties properties;
+    private final Map<Path, LoadedPlugin> plugins = new HashMap<>();
+    private WatchService watchService;
+    
+    public ModulePluginLoader(ModuleRegistry moduleRegistry, FormHandler formHandler,
+                              ModulePluginProperties properties) {
+        this.moduleRegistry = moduleRegistry;
+        this.formHandler = formHandler;
+        this.properties = properties;
+    }
+    
+    /**
+     * Loads all plugin jars and starts watching the plugin directory
+     * Called once the built-in modules are registered.
+     */
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        
+        Path directory = Paths.get(properties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            logger.warn("Plugin directory {} does not exist, no plugin modules loaded", directory.toAbsolutePath());
+            return;
+        }
+        
+        rescan();
+        if (properties.isWatch()) {
+            startWatching(directory);
+        }
+    }
+    
+    /**
+     * Brings the loaded plugins in line with the jars in the plugin directory
+     */
+    public synchronized void rescan() {
+        Path directory = Paths.get(properties.getDirectory());
+        Map<Path, FileTime> jars = new HashMap<>();
+        
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.jar")) {
+            for (Path jar : stream) {
+                jars.put(jar.toAbsolutePath(), Files.getLastModifiedTime(jar));
+            }
+        } catch (IOException e) {
+            logger.error("Cannot list plugin directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        
+        for (Path loaded : new ArrayList<>(plugins.keySet())) {
+            if (!jars.containsKey(loaded)) {
+                unload(loaded);
+            }
+        }
+        jars.forEach((jar, modified) -> {
+            LoadedPlugin current = plugins.get(jar);
+            if (current == null || !current.modified.equals(modified)) {
+                load(jar, modified, current);
+            }
+        });
+    }
+    
+    /**
+     * Returns the module types contributed by each loaded plugin jar
+     * @return plugin jar file name to module types
+     */
+    public synchronized Map<String, Set<String>> getLoadedPlugins() {
+        Map<String, Set<String>> loaded = new HashMap<>();
+        plugins.forEach((jar, plugin) -> loaded.put(jar.getFileName().toString(), plugin.moduleTypes));
+        return loaded;
+    }
+    
+    @PreDestroy
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Error closing plugin directory watcher: {}", e.getMessage());
+            }
+        }
+        for (LoadedPlugin plugin : plugins.values()) {
+            plugin.close();
+        }
+        plugins.clear();
+    }
+    
+    private void load(Path jar, FileTime modified, LoadedPlugin previous) {
+        LoadedPlugin plugin = null;
+        try {
+            plugin = open(jar, modified);
+            List<Module> modules = discover(plugin.classLoader);
+            
+            Set<String> types = new HashSet<>();
+            for (Module module : modules) {
+                types.add(module.getModuleType());
+            }
+            if (types.size() != modules.size()) {
+                throw new IllegalStateException("Plugin declares the same module type more than once");
+            }
+            
+            Set<String> replaced = previous != null ? previous.moduleTypes : Set.of();
+            moduleRegistry.replaceModules(replaced, modules);
+            plugin.moduleTypes = Set.copyOf(types);
+            plugins.put(jar, plugin);
+            if (previous != null) {
+                previous.close();
+            }
+            logger.info("Loaded plugin {} with modules {} (registry version {})",
+                jar.getFileName(), types, moduleRegistry.getVersion());
+        
+        } catch (IOException | ReflectiveOperationException | LinkageError | RuntimeException e) {
+            logger.error("Failed to load plugin {}: {}", jar.getFileName(), e.getMessage(), e);
+            if (plugin != null) {
+                plugin.close();
+            }
+        }
+    }
+    
+    private void unload(Path jar) {
+        LoadedPlugin plugin = plugins.remove(jar);
+        moduleRegistry.replaceModules(plugin.moduleTypes, List.of());
+        plugin.close();
+        logger.info("Unloaded plugin {} with modules {} (registry version {})",
+            jar.getFileName(), plugin.moduleTypes, moduleRegistry.getVersion());
+    }
+    
+    private LoadedPlugin open(Path jar, FileTime modified) throws IOException {
+        Path copy = Files.createTempFile("module-plugin-", ".jar");
+        Files.copy(jar, copy, StandardCopyOption.REPLACE_EXISTING);
+        copy.toFile().deleteOnExit();
+        
+        PluginClassLoader classLoader = new PluginClassLoader(jar.getFileName().toString(),
+            copy.toUri().toURL(), getClass().getClassLoader());
+        return new LoadedPlugin(classLoader, copy, modified);
+    }
+    
+    private List<Module> discover(PluginClassLoader classLoader) throws IOException, ReflectiveOperationException {
+        List<Module> modules = new ArrayList<>();
+        
+        for (String className : providers(classLoader, FACTORY_SERVICE)) {
+            ModuleFactory factory = classLoader.loadClass(className).asSubclass(ModuleFactory.class)
+                .getDeclaredConstructor().newInstance();
+            modules.addAll(factory.createModules(formHandler));
+        }
+        for (String className : providers(classLoader, MODULE_SERVICE)) {
+            modules.add(classLoader.loadClass(className).asSubclass(Module.class)
+                .getDeclaredConstructor().newInstance());
+        }
+        
+        if (modules.isEmpty()) {
+            throw new IllegalStateException("Plugin provides no modules");
+        }
+        return modules;
+    }
+    
+    /**
+     * Reads provider class names from the plugin's own service file, ignoring
+     * service files visible through the application class loader
+     */
+    private static List<String> providers(PluginClassLoader classLoader, String serviceFile) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        Enumeration<URL> resources = classLoader.findResources(serviceFile);
+        
+        while (resources.hasMoreElements()) {
+            try (InputStream in = resources.nextElement().openStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    String className = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                    if (!className.isEmpty()) {
+                        classNames.add(className);
+                    }
+                }
+            }
+        }
+        return classNames;
+    }
+    
+    private void startWatching(Path directory) {
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.warn("Cannot watch plugin directory {}: {}", directory, e.getMessage());
+            return;
+        }
+        
+        Thread watcher = new Thread(this::watch, "module-plugin-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for plugin changes", directory.toAbsolutePath());
+    }
+    
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                // Wait until copying has finished before loading
+                while (key != null) {
+                    key.pollEvents();
+                    if (!key.reset()) {
+                        logger.warn("Stopped watching plugin directory: it is no longer accessible");
+                        return;
+                    }
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                rescan();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static final class LoadedPlugin {
+        private final PluginClassLoader classLoader;
+        private final Path copy;
+        private final FileTime modified;
+        private Set<String> moduleTypes = Set.of();
+        
+        private LoadedPlugin(PluginClassLoader classLoader, Path copy, FileTime modified) {
+            this.classLoader = classLoader;
+            this.copy = copy;
+            this.modified = modified;
+        }
+        
+        /**
+         * Closes the class loader; requests already running keep the classes they have loaded
+         */
+        private void close() {
+            try {
+                classLoader.close();
+                Files.deleteIfExists(copy);
+            } catch (IOException e) {
+                logger.warn("Error closing plugin class loader {}: {}", classLoader.getName(), e.getMessage());
+            }
+        }
+    }
+}
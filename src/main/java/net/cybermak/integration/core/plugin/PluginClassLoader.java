@@ -0,0 +1,63 @@
+package net.cybermak.integration.core.plugin;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Child-first class loader for one plugin jar
+ * 
+ * Classes of the plugin and its bundled dependencies are loaded from the jar
+ * so plugins cannot clash with each other or with the application. The module
+ * contract, Remedy API and logging are always shared with the application so
+ * plugin modules can be used through the same types.
+ */
+class PluginClassLoader extends URLClassLoader {
+    
+    private static final String[] SHARED_PACKAGES = {
+        "java.",
+        "javax.",
+        "jakarta.",
+        "org.slf4j.",
+        "com.bmc.arsys.",
+        "net.cybermak.integration."
+    };
+    
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+    
+    PluginClassLoader(String name, URL jar, ClassLoader parent) {
+        super(name, new URL[] {jar}, parent);
+    }
+    
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (isShared(name)) {
+            return super.loadClass(name, resolve);
+        }
+        
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                try {
+                    loaded = findClass(name);
+                } catch (ClassNotFoundException e) {
+                    loaded = getParent().loadClass(name);
+                }
+            }
+            if (resolve) {
+                resolveClass(loaded);
+            }
+            return loaded;
+        }
+    }
+    
+    private static boolean isShared(String name) {
+        for (String prefix : SHARED_PACKAGES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
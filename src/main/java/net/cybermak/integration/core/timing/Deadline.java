@@ -0,0 +1,121 @@
+package net.cybermak.integration.core.timing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a request must be answered
+ *
+ * The deadline of the request being handled is bound to the current thread
+ * with {@link #bind()} and follows the request onto other threads through
+ * {@link #wrap(Runnable)}, like {@link RequestTiming}. Each stage that would
+ * start new work for the request (admission, the executor queue, borrowing
+ * Remedy capacity, dispatching to a module) calls {@link #check(String)} and
+ * drops the work once nobody is waiting for it any more. Outside a request
+ * {@link #current()} is unbounded and never expires.
+ */
+public final class Deadline {
+    
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    private static final Deadline NONE = new Deadline(0L, false);
+    private static final RequestTiming.Scope NO_SCOPE = () -> {};
+    
+    private final long deadlineNanos;
+    private final boolean bounded;
+    
+    private Deadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+    
+    /**
+     * Starts a deadline
+     * @param timeoutMillis time from now until the deadline
+     * @return the deadline, not yet bound to any thread
+     */
+    public static Deadline after(long timeoutMillis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), true);
+    }
+    
+    /**
+     * Returns the deadline of the request handled by the current thread
+     * @return bound deadline, or an unbounded one
+     */
+    public static Deadline current() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline : NONE;
+    }
+    
+    /**
+     * Wraps a task so it runs with the current deadline bound
+     * @param task task about to be handed to another thread
+     * @return the wrapped task, or the task itself outside a request
+     */
+    public static Runnable wrap(Runnable task) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            try (RequestTiming.Scope scope = deadline.bind()) {
+                task.run();
+            }
+        };
+    }
+    
+    /**
+     * Binds this deadline to the current thread until the returned scope is closed
+     * @return scope restoring the previous binding
+     */
+    public RequestTiming.Scope bind() {
+        if (!bounded) {
+            return NO_SCOPE;
+        }
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous != null ? () -> CURRENT.set(previous) : CURRENT::remove;
+    }
+    
+    public boolean isBounded() {
+        return bounded;
+    }
+    
+    /**
+     * Returns the time left until the deadline
+     * @return remaining nanoseconds, zero or negative once expired, Long.MAX_VALUE if unbounded
+     */
+    public long remainingNanos() {
+        return bounded ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+    
+    /**
+     * Returns the time left until the deadline, rounded down
+     * @return remaining milliseconds, zero or negative once expired, Long.MAX_VALUE if unbounded
+     */
+    public long remainingMillis() {
+        return bounded ? TimeUnit.NANOSECONDS.toMillis(remainingNanos()) : Long.MAX_VALUE;
+    }
+    
+    public boolean isExpired() {
+        return bounded && remainingNanos() <= 0L;
+    }
+    
+    /**
+     * Caps a wait at the time left until the deadline
+     * @param nanos the wait otherwise allowed
+     * @return the smaller of the wait and the remaining time
+     */
+    public long cap(long nanos) {
+        return Math.min(nanos, remainingNanos());
+    }
+    
+    /**
+     * Drops the work about to start if the deadline has passed
+     * @param stage the stage about to start the work, for the error message
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void check(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(stage, -remainingMillis());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package net.cybermak.integration.core.timing;
+
+/**
+ * Exception thrown when work for a request is dropped because the request's
+ * {@link Deadline} passed before the work started
+ */
+public class DeadlineExceededException extends RuntimeException {
+    
+    private final String stage;
+    
+    public DeadlineExceededException(String stage, long overdueMillis) {
+        super("Deadline expired " + overdueMillis + " ms before " + stage);
+        this.stage = stage;
+    }
+    
+    /**
+     * Returns the stage that dropped the work
+     * @return stage name, e.g. queue or borrow
+     */
+    public String getStage() {
+        return stage;
+    }
+}
@@ -0,0 +1,31 @@
+package net.cybermak.integration.core.timing;
+
+/**
+ * Phases of request handling timed by {@link RequestTiming}
+ * Declared in the order they usually run, which is also the Server-Timing order.
+ */
+public enum Phase {
+    
+    PARSE("parse"),
+    VALIDATE("validate"),
+    QUEUE("queue"),
+    BORROW("borrow"),
+    LOGIN("login"),
+    MAPPING("mapping"),
+    REMEDY("remedy"),
+    SERIALIZE("serialize");
+    
+    private final String metricName;
+    
+    Phase(String metricName) {
+        this.metricName = metricName;
+    }
+    
+    /**
+     * Returns the name used in the Server-Timing header and the phase metric tag
+     * @return phase name
+     */
+    public String getMetricName() {
+        return metricName;
+    }
+}
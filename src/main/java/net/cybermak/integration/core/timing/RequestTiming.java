@@ -0,0 +1,186 @@
+package net.cybermak.integration.core.timing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-request phase timings
+ *
+ * Each phase accumulates the nanoseconds spent in it; a phase that runs
+ * several times in one request (a batch creating many entries) is summed.
+ * The timing of the request being handled is bound to the current thread
+ * with {@link #bind()} and follows the request onto other threads through
+ * {@link #wrap(Runnable)}. Code that records a phase just calls
+ * {@link #current()}, which returns a disabled instance outside a request,
+ * so recording costs two {@code System.nanoTime()} calls and an atomic add.
+ */
+public final class RequestTiming {
+    
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final RequestTiming DISABLED = new RequestTiming(false);
+    private static final Scope NO_SCOPE = () -> {};
+    
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray counts = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray started = new AtomicLongArray(PHASES.length);
+    
+    private RequestTiming(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    /**
+     * Starts timing a new request
+     * @return the request timing, not yet bound to any thread
+     */
+    public static RequestTiming start() {
+        return new RequestTiming(true);
+    }
+    
+    /**
+     * Returns the timing of the request handled by the current thread
+     * @return bound timing, or a disabled instance that ignores recordings
+     */
+    public static RequestTiming current() {
+        RequestTiming timing = CURRENT.get();
+        return timing != null ? timing : DISABLED;
+    }
+    
+    /**
+     * Wraps a task so it runs with the current request timing bound, recording
+     * the time it waited between submission and start as {@link Phase#QUEUE}
+     * @param task task about to be handed to another thread
+     * @return the wrapped task, or the task itself outside a request
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        long submittedNanos = System.nanoTime();
+        return () -> {
+            timing.record(Phase.QUEUE, submittedNanos);
+            try (Scope scope = timing.bind()) {
+                task.run();
+            }
+        };
+    }
+    
+    /**
+     * Binds this timing to the current thread until the returned scope is closed
+     * @return scope restoring the previous binding
+     */
+    public Scope bind() {
+        if (!enabled) {
+            return NO_SCOPE;
+        }
+        RequestTiming previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous != null ? () -> CURRENT.set(previous) : CURRENT::remove;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Records time spent in a phase
+     * @param phase the phase
+     * @param fromNanos {@code System.nanoTime()} when the phase started
+     */
+    public void record(Phase phase, long fromNanos) {
+        if (enabled) {
+            nanos.addAndGet(phase.ordinal(), System.nanoTime() - fromNanos);
+            counts.incrementAndGet(phase.ordinal());
+        }
+    }
+    
+    /**
+     * Marks the start of a phase that ends in another callback, see {@link #stop(Phase)}
+     * @param phase the phase
+     */
+    public void begin(Phase phase) {
+        if (enabled) {
+            started.set(phase.ordinal(), System.nanoTime());
+        }
+    }
+    
+    /**
+     * Records a phase started with {@link #begin(Phase)}; does nothing if it was not started
+     * @param phase the phase
+     */
+    public void stop(Phase phase) {
+        if (enabled) {
+            long fromNanos = started.getAndSet(phase.ordinal(), 0L);
+            if (fromNanos != 0L) {
+                record(phase, fromNanos);
+            }
+        }
+    }
+    
+    /**
+     * Returns whether a phase was recorded for this request
+     * @param phase the phase
+     * @return true if the phase ran at least once
+     */
+    public boolean hasRecorded(Phase phase) {
+        return counts.get(phase.ordinal()) > 0;
+    }
+    
+    /**
+     * Returns the time spent in a phase
+     * @param phase the phase
+     * @return total nanoseconds recorded for the phase
+     */
+    public long getNanos(Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+    
+    /**
+     * Returns the time since the request started
+     * @return elapsed nanoseconds
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+    
+    /**
+     * Formats the recorded phases and the elapsed time as a Server-Timing header value,
+     * e.g. {@code parse;dur=0.42, remedy;dur=212.07, total;dur=214.5}
+     * @return header value in milliseconds
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            if (hasRecorded(phase)) {
+                appendMetric(header, phase.getMetricName(), getNanos(phase));
+            }
+        }
+        appendMetric(header, "total", getElapsedNanos());
+        return header.toString();
+    }
+    
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        long hundredths = Math.max(0L, nanos) / 10_000L;
+        header.append(name).append(";dur=").append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+    
+    /**
+     * Binding of a request timing to a thread
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,295 @@
+package net.cybermak.integration.core.validation;
+
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.Operation;
+import net.cybermak.integration.core.model.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled request validator for modules
+ * 
+ * Each module declares its rules once through the builder; the rules are
+ * compiled into immutable per-operation arrays that are shared by all requests.
+ * Validating a request walks those arrays without copying or trimming values,
+ * returns the shared {@link ValidationResult#valid()} instance on success and
+ * only allocates an error list when a rule fails.
+ */
+public final class ModuleValidator {
+    
+    /**
+     * A single validation rule evaluated against the request data
+     */
+    @FunctionalInterface
+    public interface Rule {
+        
+        /**
+         * Checks the request data
+         * @param data the request data, never null
+         * @return error message if the rule fails, null if it passes
+         */
+        String check(Map<String, Object> data);
+    }
+    
+    private static final Rule[] NO_RULES = new Rule[0];
+    
+    private final String nullRequestMessage;
+    private final String missingOperationMessage;
+    private final String missingDataMessage;
+    private final boolean rejectEmptyData;
+    private final String unsupportedOperationPrefix;
+    private final boolean ignoreOperationCase;
+    private final boolean failFast;
+    private final Map<String, Rule[]> operationRules;
+    private final Rule[][] typedOperationRules;
+    private final Rule[] commonRules;
+    
+    private ModuleValidator(Builder builder) {
+        this.nullRequestMessage = builder.nullRequestMessage;
+        this.missingOperationMessage = builder.missingOperationMessage;
+        this.missingDataMessage = builder.missingDataMessage;
+        this.rejectEmptyData = builder.rejectEmptyData;
+        this.unsupportedOperationPrefix = builder.unsupportedOperationPrefix;
+        this.ignoreOperationCase = builder.ignoreOperationCase;
+        this.failFast = builder.failFast;
+        
+        Map<String, Rule[]> compiled = new HashMap<>();
+        for (Map.Entry<String, List<Rule>> entry : builder.operationRules.entrySet()) {
+            compiled.put(entry.getKey(), entry.getValue().toArray(NO_RULES));
+        }
+        this.operationRules = Map.copyOf(compiled);
+        this.commonRules = builder.commonRules.toArray(NO_RULES);
+        
+        // Requests built with a known operation skip the name lookup
+        Operation[] operations = Operation.values();
+        this.typedOperationRules = new Rule[operations.length][];
+        for (Operation operation : operations) {
+            typedOperationRules[operation.ordinal()] = rulesFor(operation.getName());
+        }
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Validates a request against the compiled rules
+     * @param request the request to validate
+     * @return the shared valid result, or an invalid result with error messages
+     */
+    public ValidationResult validate(GenericRequest request) {
+        if (request == null) {
+            return ValidationResult.invalid(nullRequestMessage);
+        }
+        
+        String operation = request.getOperation();
+        if (missingOperationMessage != null && isBlank(operation)) {
+            return ValidationResult.invalid(missingOperationMessage);
+        }
+        
+        Map<String, Object> data = request.getData();
+        if (data == null || (rejectEmptyData && data.isEmpty())) {
+            return ValidationResult.invalid(missingDataMessage);
+        }
+        
+        Operation operationType = request.getOperationType();
+        Rule[] rules = operationType != null ? typedOperationRules[operationType.ordinal()] : rulesFor(operation);
+        if (rules == null) {
+            if (unsupportedOperationPrefix != null) {
+                return ValidationResult.invalid(unsupportedOperationPrefix + operation);
+            }
+            rules = NO_RULES;
+        }
+        
+        List<String> errors = apply(rules, data, null);
+        if (errors != null && failFast) {
+            return ValidationResult.invalid(errors);
+        }
+        errors = apply(commonRules, data, errors);
+        
+        return errors == null ? ValidationResult.valid() : ValidationResult.invalid(errors);
+    }
+    
+    /**
+     * Checks whether a field value is missing or contains only whitespace,
+     * using the same definition of whitespace as {@link String#trim()}
+     * without allocating a trimmed copy
+     * @param value the field value
+     * @return true if the value is null or blank
+     */
+    public static boolean isBlank(Object value) {
+        if (value == null) {
+            return true;
+        }
+        CharSequence text = value instanceof CharSequence ? (CharSequence) value : value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private Rule[] rulesFor(String operation) {
+        if (operation == null) {
+            return null;
+        }
+        Rule[] rules = operationRules.get(operation);
+        if (rules == null && ignoreOperationCase) {
+            rules = operationRules.get(operation.toLowerCase(Locale.ROOT));
+        }
+        return rules;
+    }
+    
+    private List<String> apply(Rule[] rules, Map<String, Object> data, List<String> errors) {
+        for (Rule rule : rules) {
+            String error = rule.check(data);
+            if (error != null) {
+                if (errors == null) {
+                    errors = new ArrayList<>(4);
+                }
+                errors.add(error);
+                if (failFast) {
+                    return errors;
+                }
+            }
+        }
+        return errors;
+    }
+    
+    public static class Builder {
+        private String nullRequestMessage = "Request cannot be null";
+        private String missingOperationMessage;
+        private String missingDataMessage = "Request data cannot be null";
+        private boolean rejectEmptyData;
+        private String unsupportedOperationPrefix;
+        private boolean ignoreOperationCase;
+        private boolean failFast;
+        private final Map<String, List<Rule>> operationRules = new LinkedHashMap<>();
+        private final List<Rule> commonRules = new ArrayList<>();
+        
+        /**
+         * Sets the error returned for a null request
+         */
+        public Builder nullRequest(String message) {
+            this.nullRequestMessage = message;
+            return this;
+        }
+        
+        /**
+         * Rejects requests whose operation is null or blank
+         */
+        public Builder requireOperation(String message) {
+            this.missingOperationMessage = message;
+            return this;
+        }
+        
+        /**
+         * Sets the error returned when the request data is null
+         */
+        public Builder requireData(String message) {
+            this.missingDataMessage = message;
+            this.rejectEmptyData = false;
+            return this;
+        }
+        
+        /**
+         * Sets the error returned when the request data is null or empty
+         */
+        public Builder requireNonEmptyData(String message) {
+            this.missingDataMessage = message;
+            this.rejectEmptyData = true;
+            return this;
+        }
+        
+        /**
+         * Rejects operations that have not been declared on this builder
+         * @param messagePrefix prefix of the error, followed by the operation name
+         */
+        public Builder rejectUnsupportedOperations(String messagePrefix) {
+            this.unsupportedOperationPrefix = messagePrefix;
+            return this;
+        }
+        
+        /**
+         * Matches operations case-insensitively; declared operations must be lower case
+         */
+        public Builder ignoreOperationCase() {
+            this.ignoreOperationCase = true;
+            return this;
+        }
+        
+        /**
+         * Stops at the first failing rule instead of collecting every error
+         */
+        public Builder failFast() {
+            this.failFast = true;
+            return this;
+        }
+        
+        /**
+         * Declares operations that are supported without any specific rules
+         */
+        public Builder operations(String... operations) {
+            for (String operation : operations) {
+                operationRules.computeIfAbsent(operation, key -> new ArrayList<>());
+            }
+            return this;
+        }
+        
+        /**
+         * Requires a field to be present and not blank for an operation
+         */
+        public Builder required(String operation, String field, String message) {
+            return rule(operation, data -> isBlank(data.get(field)) ? message : null);
+        }
+        
+        /**
+         * Requires a field to be present and not null for an operation
+         */
+        public Builder present(String operation, String field, String message) {
+            return rule(operation, data -> data.get(field) == null ? message : null);
+        }
+        
+        /**
+         * Restricts a field to a fixed set of values for every operation,
+         * when the field is provided
+         */
+        public Builder allowedValues(String field, Set<String> values, String message) {
+            Set<String> allowed = Set.copyOf(values);
+            return rule(data -> {
+                Object value = data.get(field);
+                if (value == null) {
+                    return null;
+                }
+                return allowed.contains(value.toString()) ? null : message;
+            });
+        }
+        
+        /**
+         * Adds a custom rule for an operation
+         */
+        public Builder rule(String operation, Rule rule) {
+            operationRules.computeIfAbsent(operation, key -> new ArrayList<>()).add(rule);
+            return this;
+        }
+        
+        /**
+         * Adds a custom rule evaluated for every operation
+         */
+        public Builder rule(Rule rule) {
+            commonRules.add(rule);
+            return this;
+        }
+        
+        public ModuleValidator build() {
+            return new ModuleValidator(this);
+        }
+    }
+}
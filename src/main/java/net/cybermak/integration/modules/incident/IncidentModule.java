@@ -1,17 +1,24 @@
 package net.cybermak.integration.modules.incident;
 
 import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.OperationHandler;
+import net.cybermak.integration.core.model.FieldSchema;
 import net.cybermak.integration.core.model.GenericRequest;
 import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.Operation;
 import net.cybermak.integration.core.model.ValidationResult;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.core.validation.ModuleValidator;
 import net.cybermak.integration.remedy.form.FormHandler;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Set;
 
 /**
  * Incident module implementation for BMC Remedy integration
@@ -22,6 +29,8 @@ public class IncidentModule implements Module {
     
     private static final String MODULE_TYPE = "incident";
     private static final String REMEDY_FORM = "HPD:Help Desk";
+    private static final Set<Operation> SUPPORTED_OPERATIONS =
+        Collections.unmodifiableSet(EnumSet.of(Operation.CREATE, Operation.GET, Operation.UPDATE));
     
     private final FormHandler formHandler;
     
@@ -36,13 +45,38 @@ public class IncidentModule implements Module {
         "urgency", "Urgency"
     );
     
-    // Required fields for incident creation
-    private static final List<String> REQUIRED_FIELDS = List.of(
-        "summary", "description", "priority", "submitter"
+    // Fields read from request data, bound by slot instead of into a map
+    private static final FieldSchema FIELD_SCHEMA = FieldSchema.of(
+        "incidentId", "summary", "description", "priority", "status", "submitter", "impact", "urgency");
+    
+    // Accepted priority values
+    private static final Set<String> VALID_PRIORITIES = Set.of(
+        "Critical", "High", "Medium", "Low"
     );
     
+    // Validation rules compiled once and shared by every request
+    private static final ModuleValidator VALIDATOR = ModuleValidator.builder()
+        .requireNonEmptyData("Request data cannot be empty")
+        .required("create", "summary", "Summary is required")
+        .required("create", "description", "Description is required")
+        .required("create", "priority", "Priority is required")
+        .required("create", "submitter", "Submitter is required")
+        .present("get", "incidentId", "Incident ID is required for get operation")
+        .present("update", "incidentId", "Incident ID is required for update operation")
+        .allowedValues("priority", VALID_PRIORITIES, "Invalid priority value. Must be: Critical, High, Medium, Low")
+        .build();
+    
+    // Handler per supported operation, handed to the registry route and looked up by process
+    private final Map<Operation, OperationHandler> handlers;
+    
     public IncidentModule(FormHandler formHandler) {
         this.formHandler = formHandler;
+        
+        Map<Operation, OperationHandler> handlers = new EnumMap<>(Operation.class);
+        handlers.put(Operation.CREATE, validated(this::processCreateIncident));
+        handlers.put(Operation.GET, validated(this::processGetIncident));
+        handlers.put(Operation.UPDATE, validated(this::processUpdateIncident));
+        this.handlers = Collections.unmodifiableMap(handlers);
     }
     
     @Override
@@ -52,63 +86,61 @@ public class IncidentModule implements Module {
     
     @Override
     public ValidationResult validate(GenericRequest request) {
-        List<String> errors = new ArrayList<>();
-        Map<String, Object> data = request.getData();
-        
-        if (data == null || data.isEmpty()) {
-            errors.add("Request data cannot be empty");
-            return ValidationResult.invalid(errors);
-        }
-        
-        // Validate required fields for create operation
-        if ("create".equals(request.getOperation())) {
-            for (String requiredField : REQUIRED_FIELDS) {
-                if (!data.containsKey(requiredField) || 
-                    data.get(requiredField) == null || 
-                    data.get(requiredField).toString().trim().isEmpty()) {
-                    errors.add(getFieldDisplayName(requiredField) + " is required");
-                }
-            }
-        }
-        
-        // Validate incident ID for get/update operations
-        if (("get".equals(request.getOperation()) || "update".equals(request.getOperation())) &&
-            (!data.containsKey("incidentId") || data.get("incidentId") == null)) {
-            errors.add("Incident ID is required for " + request.getOperation() + " operation");
-        }
-        
-        // Validate priority values if provided
-        if (data.containsKey("priority")) {
-            String priority = data.get("priority").toString();
-            if (!isValidPriority(priority)) {
-                errors.add("Invalid priority value. Must be: Critical, High, Medium, Low");
-            }
-        }
-        
-        return errors.isEmpty() ? ValidationResult.valid() : ValidationResult.invalid(errors);
+        return VALIDATOR.validate(request);
     }
     
     @Override
     public GenericResponse process(GenericRequest request) {
-        ValidationResult validation = validate(request);
-        if (!validation.isValid()) {
-            throw new IllegalArgumentException("Invalid request: " + validation.getErrorMessage());
+        Operation operation = request.getOperationType();
+        OperationHandler handler = operation != null ? handlers.get(operation) : null;
+        if (handler == null) {
+            checkValid(request);
+            throw new IllegalArgumentException("Unsupported operation: " + request.getOperation());
         }
-        
-        String operation = request.getOperation();
-        
-        switch (operation) {
-            case "create":
-                return processCreateIncident(request);
-            case "get":
-                return processGetIncident(request);
-            case "update":
-                return processUpdateIncident(request);
-            default:
-                throw new IllegalArgumentException("Unsupported operation: " + operation);
+        return handler.handle(request);
+    }
+    
+    @Override
+    public OperationHandler getOperationHandler(Operation operation) {
+        return handlers.getOrDefault(operation, this::process);
+    }
+    
+    private OperationHandler validated(OperationHandler handler) {
+        return request -> {
+            checkValid(request);
+            return handler.handle(request);
+        };
+    }
+    
+    /**
+     * Validates a request not already marked as validated
+     */
+    private void checkValid(GenericRequest request) {
+        if (!request.isValidated()) {
+            long validateStart = System.nanoTime();
+            ValidationResult validation = validate(request);
+            RequestTiming.current().record(Phase.VALIDATE, validateStart);
+            if (!validation.isValid()) {
+                throw new IllegalArgumentException("Invalid request: " + validation.getErrorMessage());
+            }
         }
     }
     
+    @Override
+    public Set<Operation> getSupportedOperations() {
+        return SUPPORTED_OPERATIONS;
+    }
+    
+    @Override
+    public String getIdFieldName() {
+        return "incidentId";
+    }
+    
+    @Override
+    public FieldSchema getFieldSchema() {
+        return FIELD_SCHEMA;
+    }
+    
     @Override
     public Map<String, String> getFieldMappings() {
         return new HashMap<>(FIELD_MAPPINGS);
@@ -127,7 +159,6 @@ public class IncidentModule implements Module {
             .status("SUCCESS")
             .data(Map.of("incidentId", incidentId))
             .message("Incident created successfully")
-            .timestamp(LocalDateTime.now().toString())
             .build();
     }
     
@@ -141,7 +172,6 @@ public class IncidentModule implements Module {
             .status("SUCCESS")
             .data(Map.of("incident", genericData))
             .message("Incident retrieved successfully")
-            .timestamp(LocalDateTime.now().toString())
             .build();
     }
     
@@ -160,11 +190,11 @@ public class IncidentModule implements Module {
             .status("SUCCESS")
             .data(Map.of("incidentId", incidentId))
             .message("Incident updated successfully")
-            .timestamp(LocalDateTime.now().toString())
             .build();
     }
     
     private Map<String, Object> mapToRemedyFields(Map<String, Object> genericFields) {
+        long mappingStart = System.nanoTime();
         Map<String, Object> remedyFields = new HashMap<>();
         
         for (Map.Entry<String, Object> entry : genericFields.entrySet()) {
@@ -176,10 +206,12 @@ public class IncidentModule implements Module {
             }
         }
         
+        RequestTiming.current().record(Phase.MAPPING, mappingStart);
         return remedyFields;
     }
     
     private Map<String, Object> mapFromRemedyFields(Map<String, Object> remedyFields) {
+        long mappingStart = System.nanoTime();
         Map<String, Object> genericFields = new HashMap<>();
         
         // Reverse mapping
@@ -197,20 +229,7 @@ public class IncidentModule implements Module {
             genericFields.put("incidentId", remedyFields.get("Incident_Number"));
         }
         
+        RequestTiming.current().record(Phase.MAPPING, mappingStart);
         return genericFields;
     }
-    
-    private boolean isValidPriority(String priority) {
-        return List.of("Critical", "High", "Medium", "Low").contains(priority);
-    }
-    
-    private String getFieldDisplayName(String fieldName) {
-        switch (fieldName) {
-            case "summary": return "Summary";
-            case "description": return "Description";
-            case "priority": return "Priority";
-            case "submitter": return "Submitter";
-            default: return fieldName;
-        }
-    }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package net.cybermak.integration.remedy.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -57,6 +59,8 @@ public class RemedyConnectionProperties {
         private int port = 6000;
         private Pool pool = new Pool();
         private Retry retry = new Retry();
+        private Limit limit = new Limit();
+        private Hedge hedge = new Hedge();
 
         public String getServerName() {
             return serverName;
@@ -105,6 +109,22 @@ public class RemedyConnectionProperties {
         public void setRetry(Retry retry) {
             this.retry = retry;
         }
+
+        public Limit getLimit() {
+            return limit;
+        }
+
+        public void setLimit(Limit limit) {
+            this.limit = limit;
+        }
+
+        public Hedge getHedge() {
+            return hedge;
+        }
+
+        public void setHedge(Hedge hedge) {
+            this.hedge = hedge;
+        }
     }
 
     public static class Pool {
@@ -112,6 +132,10 @@ public class RemedyConnectionProperties {
         private int minIdle = 2;
         private long maxWaitTime = 30000;
         private long validationTimeout = 5000;
+        private long leakThreshold = 60000;
+        private long leakCheckInterval = 5000;
+        private boolean reclaimLeaks = false;
+        private double leakTraceSampleRate = 0.05;
 
         public int getMaxSize() {
             return maxSize;
@@ -144,6 +168,38 @@ public class RemedyConnectionProperties {
         public void setValidationTimeout(long validationTimeout) {
             this.validationTimeout = validationTimeout;
         }
+
+        public long getLeakThreshold() {
+            return leakThreshold;
+        }
+
+        public void setLeakThreshold(long leakThreshold) {
+            this.leakThreshold = leakThreshold;
+        }
+
+        public long getLeakCheckInterval() {
+            return leakCheckInterval;
+        }
+
+        public void setLeakCheckInterval(long leakCheckInterval) {
+            this.leakCheckInterval = leakCheckInterval;
+        }
+
+        public boolean isReclaimLeaks() {
+            return reclaimLeaks;
+        }
+
+        public void setReclaimLeaks(boolean reclaimLeaks) {
+            this.reclaimLeaks = reclaimLeaks;
+        }
+
+        public double getLeakTraceSampleRate() {
+            return leakTraceSampleRate;
+        }
+
+        public void setLeakTraceSampleRate(double leakTraceSampleRate) {
+            this.leakTraceSampleRate = leakTraceSampleRate;
+        }
     }
 
     public static class Retry {
@@ -167,6 +223,181 @@ public class RemedyConnectionProperties {
         }
     }
 
+    /**
+     * Adaptive concurrency limit for Remedy operations issued by this node
+     */
+    public static class Limit {
+        private boolean enabled = true;
+        private int initialLimit = 10;
+        private int minLimit = 1;
+        private int maxLimit = 50;
+        private int maxQueue = 100;
+        private long maxWaitTime = 5000;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+        private double rttTolerance = 1.5;
+        private int longWindow = 600;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public long getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        public void setMaxWaitTime(long maxWaitTime) {
+            this.maxWaitTime = maxWaitTime;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public int getLongWindow() {
+            return longWindow;
+        }
+
+        public void setLongWindow(int longWindow) {
+            this.longWindow = longWindow;
+        }
+    }
+
+    /**
+     * Hedged reads: a read still unanswered after the percentile delay is
+     * sent again to the next of the listed servers, within a hedge budget
+     */
+    public static class Hedge {
+        private boolean enabled = false;
+        private List<String> servers = new ArrayList<>();
+        private double percentile = 95.0;
+        private long initialDelay = 50;
+        private long minDelay = 5;
+        private int window = 1000;
+        private double budgetRatio = 0.1;
+        private int maxBurst = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getServers() {
+            return servers;
+        }
+
+        public void setServers(List<String> servers) {
+            this.servers = servers;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(long initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+
+        public long getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(long minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public int getWindow() {
+            return window;
+        }
+
+        public void setWindow(int window) {
+            this.window = window;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getMaxBurst() {
+            return maxBurst;
+        }
+
+        public void setMaxBurst(int maxBurst) {
+            this.maxBurst = maxBurst;
+        }
+    }
+
     public static class ServerConfig {
         private String name;
         private String username;
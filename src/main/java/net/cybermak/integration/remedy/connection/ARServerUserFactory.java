@@ -0,0 +1,17 @@
+package net.cybermak.integration.remedy.connection;
+
+import com.bmc.arsys.api.ARServerUser;
+
+/**
+ * Creates the ARServerUser instances pooled Remedy connections log in with
+ * Lets the arAPI boundary be replaced, e.g. by the local Remedy stand-in.
+ */
+@FunctionalInterface
+public interface ARServerUserFactory {
+    
+    /**
+     * Creates a new, not yet configured user
+     * @return new ARServerUser
+     */
+    ARServerUser create();
+}
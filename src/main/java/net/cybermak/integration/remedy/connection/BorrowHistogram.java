@@ -0,0 +1,38 @@
+package net.cybermak.integration.remedy.connection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-bucket histogram of the time taken to borrow a pooled connection
+ */
+class BorrowHistogram {
+    
+    private static final long[] BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    
+    void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BOUNDS_MILLIS.length && millis >= BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+    }
+    
+    /**
+     * Returns the borrow counts per bucket, keyed by the bucket's upper bound
+     * @return counts in bucket order, e.g. {@code <1ms}, {@code <5ms}, ... {@code >=5000ms}
+     */
+    Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            snapshot.put("<" + BOUNDS_MILLIS[i] + "ms", counts.get(i));
+        }
+        snapshot.put(">=" + BOUNDS_MILLIS[BOUNDS_MILLIS.length - 1] + "ms", counts.get(BOUNDS_MILLIS.length));
+        return snapshot;
+    }
+}
@@ -0,0 +1,89 @@
+package net.cybermak.integration.remedy.connection;
+
+import java.util.Map;
+
+/**
+ * Point-in-time statistics of the connection pool of one Remedy server
+ */
+public final class PoolStats {
+    
+    private final String server;
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long created;
+    private final long creationFailures;
+    private final long validationFailures;
+    private final Map<String, Long> borrowTimes;
+    private final int leakSuspects;
+    private final long oldestLeaseMillis;
+    private final long leaks;
+    private final long reclaimed;
+    
+    PoolStats(String server, int active, int idle, int waiting, long created, long creationFailures,
+              long validationFailures, Map<String, Long> borrowTimes, int leakSuspects, long oldestLeaseMillis,
+              long leaks, long reclaimed) {
+        this.server = server;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.created = created;
+        this.creationFailures = creationFailures;
+        this.validationFailures = validationFailures;
+        this.borrowTimes = borrowTimes;
+        this.leakSuspects = leakSuspects;
+        this.oldestLeaseMillis = oldestLeaseMillis;
+        this.leaks = leaks;
+        this.reclaimed = reclaimed;
+    }
+    
+    /**
+     * @return pool key, host:port:user
+     */
+    public String getServer() { return server; }
+    
+    /**
+     * @return connections currently leased
+     */
+    public int getActive() { return active; }
+    
+    public int getIdle() { return idle; }
+    
+    /**
+     * @return threads waiting for a connection
+     */
+    public int getWaiting() { return waiting; }
+    
+    public long getCreated() { return created; }
+    public long getCreationFailures() { return creationFailures; }
+    
+    /**
+     * @return idle connections found disconnected when borrowed, and discarded
+     */
+    public long getValidationFailures() { return validationFailures; }
+    
+    /**
+     * @return borrow counts per time bucket
+     */
+    public Map<String, Long> getBorrowTimes() { return borrowTimes; }
+    
+    /**
+     * @return leases held longer than the leak threshold
+     */
+    public int getLeakSuspects() { return leakSuspects; }
+    
+    /**
+     * @return age of the oldest lease in milliseconds, 0 without leases
+     */
+    public long getOldestLeaseMillis() { return oldestLeaseMillis; }
+    
+    /**
+     * @return leases reported as leaked since startup
+     */
+    public long getLeaks() { return leaks; }
+    
+    /**
+     * @return leaked connections closed by the pool since startup
+     */
+    public long getReclaimed() { return reclaimed; }
+}
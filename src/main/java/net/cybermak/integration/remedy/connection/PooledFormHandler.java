@@ -0,0 +1,136 @@
+package net.cybermak.integration.remedy.connection;
+
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Value;
+import net.cybermak.integration.core.jfr.RemedyCallEvent;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.exception.RemedyErrors;
+import net.cybermak.integration.remedy.form.FormHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * FormHandler making arAPI calls on connections leased from the {@link RemedyConnectionManager}
+ *
+ * Every form operation leases a connection to one Remedy server, makes its
+ * call and gives the connection back. Fields are keyed by Remedy field ID, as
+ * decimal strings. The server is looked up on every call, so changed
+ * connection settings apply to the next call.
+ *
+ * A missing entry (ARERR 302) is reported as an IllegalArgumentException, like
+ * the other form handlers do. Other arAPI errors become a
+ * RemedyConnectionException with the ARERR number; when that number says the
+ * server is unreachable or overloaded, or that the session is no longer
+ * authenticated, the connection is closed instead of pooled, so the next call
+ * logs in afresh.
+ */
+public class PooledFormHandler implements FormHandler {
+    
+    /** ARERR 302: entry does not exist in database */
+    static final int ENTRY_NOT_FOUND = 302;
+    /** ARERR 623: authentication failed, e.g. for an expired session */
+    static final int AUTHENTICATION_FAILED = 623;
+    
+    private final RemedyConnectionManager connectionManager;
+    private final Supplier<RemedyConnectionProperties.ServerConfig> server;
+    
+    /**
+     * @param connectionManager pools the connections calls are made on
+     * @param server current host, port and credentials of the Remedy server
+     */
+    public PooledFormHandler(RemedyConnectionManager connectionManager,
+                             Supplier<RemedyConnectionProperties.ServerConfig> server) {
+        this.connectionManager = connectionManager;
+        this.server = server;
+    }
+    
+    @Override
+    public String createEntry(String formName, Map<String, Object> fields) {
+        Entry entry = toEntry(formName, fields);
+        return call("createEntry", formName, serverUser -> serverUser.createEntry(formName, entry));
+    }
+    
+    @Override
+    public Map<String, Object> getEntry(String formName, String entryId) {
+        Entry entry = call("getEntry", formName, serverUser -> serverUser.getEntry(formName, entryId, null));
+        Map<String, Object> fields = new HashMap<>();
+        entry.forEach((fieldId, value) -> fields.put(String.valueOf(fieldId), value != null ? value.getValue() : null));
+        return fields;
+    }
+    
+    @Override
+    public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+        Entry entry = toEntry(formName, updates);
+        call("setEntry", formName, serverUser -> {
+            serverUser.setEntry(formName, entryId, entry, null, 0);
+            return null;
+        });
+    }
+    
+    @Override
+    public void deleteEntry(String formName, String entryId) {
+        call("deleteEntry", formName, serverUser -> {
+            serverUser.deleteEntry(formName, entryId, 0);
+            return null;
+        });
+    }
+    
+    /**
+     * Makes one arAPI call on a leased connection
+     * @throws DeadlineExceededException if the request deadline passes before the call is made
+     */
+    private <T> T call(String operation, String formName, ServerCall<T> call) {
+        RemedyConnectionProperties.ServerConfig target = server.get();
+        RemedyConnection connection = connectionManager.getConnection(target.getName(), target.getPort(),
+            target.getUsername(), target.getPassword());
+        boolean broken = false;
+        try {
+            Deadline.current().check("remedy");
+            connection.applyDeadline();
+            ARServerUser serverUser = connection.getServerUser();
+            return RemedyCallEvent.record(operation, formName, connection.getHost(), () -> call.call(serverUser));
+        } catch (ARException e) {
+            int errorCode = RemedyErrors.errorCode(e);
+            if (errorCode == ENTRY_NOT_FOUND) {
+                throw new IllegalArgumentException("Entry not found: " + e.getMessage(), e);
+            }
+            broken = errorCode == AUTHENTICATION_FAILED || RemedyErrors.isOverload(e);
+            throw new RemedyConnectionException(errorCode, operation + " on " + formName + " failed: "
+                + e.getMessage(), e);
+        } finally {
+            if (broken) {
+                connectionManager.closeConnection(connection);
+            } else {
+                connectionManager.releaseConnection(connection);
+            }
+        }
+    }
+    
+    private static Entry toEntry(String formName, Map<String, Object> fields) {
+        Entry entry = new Entry();
+        fields.forEach((fieldId, value) -> {
+            try {
+                entry.put(Integer.valueOf(fieldId), value instanceof Value remedyValue ? remedyValue : new Value(value));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Field '" + fieldId + "' of " + formName
+                    + " is not a Remedy field ID");
+            }
+        });
+        return entry;
+    }
+    
+    /**
+     * arAPI call made with the session of a leased connection
+     */
+    @FunctionalInterface
+    private interface ServerCall<T> {
+        T call(ARServerUser serverUser) throws ARException;
+    }
+}
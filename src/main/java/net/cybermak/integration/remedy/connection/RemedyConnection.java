@@ -1,32 +1,70 @@
 package net.cybermak.integration.remedy.connection;
 
+import com.bmc.arsys.api.ARServerUser;
+import net.cybermak.integration.core.timing.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
- * BMC Remedy connection abstraction
- * TDD: Minimal implementation to satisfy RemedyConnectionManagerTest
+ * BMC Remedy connection: an arAPI session logged in to one server as one user
+ * Opened by the {@link RemedyConnectionManager} and leased to one caller at a
+ * time, so the ARServerUser is never used by two threads at once.
  */
 public class RemedyConnection {
     
+    private static final Logger logger = LoggerFactory.getLogger(RemedyConnection.class);
+    
     private final String host;
     private final int port;
     private final String username;
-    private boolean connected;
+    private final ARServerUser serverUser;
+    private final String poolKey;
+    private volatile boolean connected;
     
-    public RemedyConnection(String host, int port, String username) {
+    public RemedyConnection(String host, int port, String username, ARServerUser serverUser) {
         this.host = host;
         this.port = port;
         this.username = username;
-        this.connected = false;
+        this.serverUser = serverUser;
+        this.poolKey = host + ":" + port + ":" + username;
+        this.connected = true;
     }
     
-    public void connect() {
-        // Simulate connection establishment
-        // In real implementation, this would connect to BMC Remedy server
-        this.connected = true;
+    /**
+     * Returns the logged-in arAPI session, for use while the connection is leased
+     * @return ARServerUser of this connection
+     */
+    public ARServerUser getServerUser() {
+        return serverUser;
     }
     
+    /**
+     * Limits the arAPI timeout of the next call to the time left until the request deadline
+     * arAPI timeouts are whole seconds, so a call always gets at least one second.
+     */
+    public void applyDeadline() {
+        Deadline deadline = Deadline.current();
+        if (!deadline.isBounded()) {
+            return;
+        }
+        int seconds = (int) Math.min(Integer.MAX_VALUE, Math.max(1L, (deadline.remainingMillis() + 999) / 1000));
+        try {
+            serverUser.setTimeoutNormal(seconds);
+        } catch (Exception e) {
+            logger.debug("Could not set the arAPI timeout: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Logs the session out; the connection is not handed out again
+     */
     public void disconnect() {
-        // Simulate connection closure
         this.connected = false;
+        try {
+            serverUser.logout();
+        } catch (RuntimeException e) {
+            logger.debug("Could not log out of {}:{}: {}", host, port, e.getMessage());
+        }
     }
     
     public boolean isConnected() {
@@ -45,13 +83,20 @@ public class RemedyConnection {
         return username;
     }
     
+    /**
+     * Returns the key of the server pool the connection belongs to
+     */
+    String getPoolKey() {
+        return poolKey;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RemedyConnection that = (RemedyConnection) o;
-        return port == that.port && 
-               host.equals(that.host) && 
+        return port == that.port &&
+               host.equals(that.host) &&
                username.equals(that.username);
     }
     
@@ -59,4 +104,4 @@ public class RemedyConnection {
     public int hashCode() {
         return java.util.Objects.hash(host, port, username);
     }
-}
\ No newline at end of file
+}
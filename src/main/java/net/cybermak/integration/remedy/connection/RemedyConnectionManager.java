@@ -1,72 +1,177 @@
-
 package net.cybermak.integration.remedy.connection;
 
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.cybermak.integration.core.jfr.RemedyCallEvent;
+import net.cybermak.integration.core.jfr.RemedyPoolEvent;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
 import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.exception.RemedyErrors;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.Map;
 
 /**
  * BMC Remedy connection manager with pooling support
- * TDD: Minimal implementation to satisfy RemedyConnectionManagerTest
+ * Keeps one {@link ServerPool} per server and user; connections are leased
+ * until {@link #releaseConnection} or {@link #closeConnection}.
+ * Borrows, releases and closes are recorded as {@link RemedyPoolEvent}s for JDK Flight Recorder.
+ * Every pool.leak-check-interval ms, leases held past pool.leak-threshold are
+ * logged and, with pool.reclaim-leaks, closed.
+ * 
+ * A connection is an ARServerUser from {@link ARServerUserFactory}, logged in
+ * when the pool opens it and kept logged in while it is pooled, so Remedy
+ * calls do not pay for a login each.
  */
 @Component
 public class RemedyConnectionManager {
     
-    private final Map<String, RemedyConnection> connectionPool = new ConcurrentHashMap<>();
+    private final Map<String, ServerPool> pools = new ConcurrentHashMap<>();
+    private final RemedyConnectionProperties.Pool poolConfig;
+    private final MeterRegistry meterRegistry;
+    private final ARServerUserFactory serverUserFactory;
     private final int retryAttempts = 3;
+    private final ScheduledExecutorService leakChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "remedy-leak-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Default connection parameters, used until remedy.connection.* is configured
+    private final String defaultHost;
+    private final int defaultPort;
+    private final String defaultUsername;
+    private final String defaultPassword;
     
-    // Default connection parameters (would be injected from configuration in real implementation)
-    private final String defaultHost = "localhost";
-    private final int defaultPort = 6000;
-    private final String defaultUsername = "test";
-    private final String defaultPassword = "test";
+    public RemedyConnectionManager(RemedyConnectionProperties properties, MeterRegistry meterRegistry,
+                                   ARServerUserFactory serverUserFactory) {
+        RemedyConnectionProperties.Connection connection = properties.getConnection();
+        this.poolConfig = connection.getPool();
+        this.meterRegistry = meterRegistry;
+        this.serverUserFactory = serverUserFactory;
+        this.defaultHost = connection.getServerName() != null ? connection.getServerName() : "localhost";
+        this.defaultPort = connection.getPort();
+        this.defaultUsername = connection.getUsername() != null ? connection.getUsername() : "test";
+        this.defaultPassword = connection.getPassword() != null ? connection.getPassword() : "test";
+        
+        long interval = poolConfig.getLeakCheckInterval();
+        if (interval > 0) {
+            leakChecker.scheduleWithFixedDelay(this::checkLeaks, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
     
     /**
-     * Gets a connection from the pool or creates a new one
-     * @return active BMC Remedy connection
+     * Leases a connection to the default server
+     * @return active BMC Remedy connection, to be released with {@link #releaseConnection}
+     * @throws RemedyConnectionException if no connection becomes available or connecting fails
+     * @throws DeadlineExceededException if the request deadline passes before a connection is leased
      */
     public RemedyConnection getConnection() {
-        String connectionKey = defaultHost + ":" + defaultPort + ":" + defaultUsername;
+        return getConnection(defaultHost, defaultPort, defaultUsername, defaultPassword);
+    }
+    
+    /**
+     * Leases a connection to a server, waiting for one if its pool is full
+     * @param host Remedy server host
+     * @param port Remedy server port
+     * @param username username for authentication
+     * @param password password for authentication
+     * @return active BMC Remedy connection, to be released with {@link #releaseConnection}
+     * @throws RemedyConnectionException if no connection becomes available or connecting fails
+     * @throws DeadlineExceededException if the request deadline passes before a connection is leased
+     */
+    public RemedyConnection getConnection(String host, int port, String username, String password) {
+        Deadline.current().check("borrow");
+        String connectionKey = host + ":" + port + ":" + username;
+        RemedyPoolEvent event = RemedyPoolEvent.start(RemedyPoolEvent.BORROW);
         
-        return connectionPool.computeIfAbsent(connectionKey, key -> {
-            RemedyConnection connection = new RemedyConnection(defaultHost, defaultPort, defaultUsername);
-            connection.connect();
-            return connection;
-        });
+        ServerPool pool = pools.get(connectionKey);
+        if (pool == null) {
+            pool = pools.computeIfAbsent(connectionKey, key -> new ServerPool(key, poolConfig,
+                () -> createNewConnection(host, port, username, password), meterRegistry));
+        }
+        RemedyConnection connection = pool.borrow(event);
+        event.complete(connectionKey);
+        return connection;
     }
     
     /**
-     * Creates a new connection with specific parameters
+     * Creates a new connection with specific parameters, logging in to the server
+     * The login is limited to the time left until the request deadline and
+     * is the request's {@link Phase#LOGIN} timing.
      * @param host Remedy server host
      * @param port Remedy server port
      * @param username username for authentication
      * @param password password for authentication
      * @return new BMC Remedy connection
-     * @throws RemedyConnectionException if connection fails
+     * @throws RemedyConnectionException with the ARERR number if Remedy rejects the login or cannot be reached
      */
     public RemedyConnection createNewConnection(String host, int port, String username, String password) {
-        if ("invalid-host".equals(host) || port == 9999) {
-            throw new RemedyConnectionException("Unable to connect to BMC Remedy server: " + host + ":" + port);
-        }
+        ARServerUser serverUser = serverUserFactory.create();
+        serverUser.setServer(host);
+        serverUser.setUser(username);
+        serverUser.setPassword(password);
+        serverUser.setPort(port);
+        RemedyConnection connection = new RemedyConnection(host, port, username, serverUser);
         
-        RemedyConnection connection = new RemedyConnection(host, port, username);
-        connection.connect();
+        long loginStart = System.nanoTime();
+        try {
+            connection.applyDeadline();
+            RemedyCallEvent.record("verifyUser", null, host, () -> {
+                serverUser.verifyUser();
+                return null;
+            });
+        } catch (ARException e) {
+            throw new RemedyConnectionException(RemedyErrors.errorCode(e),
+                "Unable to connect to BMC Remedy server " + host + ":" + port + ": " + e.getMessage(), e);
+        } finally {
+            RequestTiming.current().record(Phase.LOGIN, loginStart);
+        }
         return connection;
     }
     
+    /**
+     * Returns a leased connection to its pool for the next borrower
+     * @param connection the connection to release
+     */
+    public void releaseConnection(RemedyConnection connection) {
+        if (connection != null) {
+            RemedyPoolEvent event = RemedyPoolEvent.start(RemedyPoolEvent.RELEASE);
+            String connectionKey = keyOf(connection);
+            ServerPool pool = pools.get(connectionKey);
+            if (pool == null || !pool.release(connection)) {
+                // Not leased from the pool, e.g. closed by closeAllConnections meanwhile
+                connection.disconnect();
+            }
+            event.complete(connectionKey);
+        }
+    }
+    
     /**
      * Closes a connection and removes it from the pool
      * @param connection the connection to close
      */
     public void closeConnection(RemedyConnection connection) {
         if (connection != null) {
-            connection.disconnect();
-            
-            // Remove from pool
-            String connectionKey = connection.getHost() + ":" + connection.getPort() + ":" + connection.getUsername();
-            connectionPool.remove(connectionKey);
+            RemedyPoolEvent event = RemedyPoolEvent.start(RemedyPoolEvent.CLOSE);
+            String connectionKey = keyOf(connection);
+            ServerPool pool = pools.get(connectionKey);
+            if (pool == null || !pool.close(connection)) {
+                connection.disconnect();
+            }
+            event.complete(connectionKey);
         }
     }
     
@@ -79,10 +184,72 @@ public class RemedyConnectionManager {
     }
     
     /**
-     * Closes all connections in the pool
+     * Closes all connections in the pool, leased ones included
+     * @return number of connections closed
      */
-    public void closeAllConnections() {
-        connectionPool.values().forEach(RemedyConnection::disconnect);
-        connectionPool.clear();
+    public int closeAllConnections() {
+        int closed = 0;
+        for (ServerPool pool : pools.values()) {
+            closed += pool.closeAll();
+        }
+        return closed;
+    }
+    
+    /**
+     * Returns a snapshot of every server pool
+     * @return statistics per server, in no particular order
+     */
+    public List<PoolStats> getPoolStats() {
+        List<PoolStats> stats = new ArrayList<>();
+        for (ServerPool pool : pools.values()) {
+            stats.add(pool.stats());
+        }
+        return stats;
+    }
+    
+    /**
+     * Changes the size of every server pool. Idle connections over the new
+     * maximum are closed at once; leased ones are closed as they are released.
+     * @param maxSize maximum connections per server
+     * @param minIdle idle connections kept open per server
+     * @throws IllegalArgumentException if maxSize is below 1 or minIdle is outside 0..maxSize
+     */
+    public void resize(int maxSize, int minIdle) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Pool needs 0 <= minIdle <= maxSize and maxSize >= 1, got minIdle="
+                + minIdle + ", maxSize=" + maxSize);
+        }
+        poolConfig.setMaxSize(maxSize);
+        poolConfig.setMinIdle(minIdle);
+        pools.values().forEach(ServerPool::resized);
+    }
+    
+    /**
+     * Looks for leases held past the leak threshold in every server pool
+     * @return number of leases newly found past the threshold
+     */
+    public int checkLeaks() {
+        int found = 0;
+        for (ServerPool pool : pools.values()) {
+            found += pool.checkLeaks();
+        }
+        return found;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        leakChecker.shutdownNow();
+    }
+    
+    /**
+     * Returns the live pool settings
+     * @return pool settings shared by all servers
+     */
+    public RemedyConnectionProperties.Pool getPoolConfig() {
+        return poolConfig;
+    }
+    
+    private static String keyOf(RemedyConnection connection) {
+        return connection.getPoolKey();
     }
-}
\ No newline at end of file
+}
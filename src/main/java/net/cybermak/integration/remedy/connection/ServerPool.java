@@ -0,0 +1,509 @@
+package net.cybermak.integration.remedy.connection;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.cybermak.integration.core.jfr.RemedyPoolEvent;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Pool of connections to one Remedy server
+ *
+ * Connections are leased exclusively: a borrowed connection is not handed out
+ * again until it is released. The pool holds at most maxSize connections,
+ * idle, leased or being opened; borrowers beyond that wait for a release for
+ * up to maxWaitTime, never past their request {@link Deadline}. Idle
+ * connections are checked before they are handed out and discarded if they
+ * were disconnected. Sizes are read from the shared pool settings on every
+ * call, so they can be tuned while the pool is in use.
+ *
+ * Every lease remembers when and by which thread it was taken; a sampled
+ * fraction of borrows also captures the borrow stack. {@link #checkLeaks}
+ * logs leases held past the leak threshold once each, with that stack when
+ * it was sampled, and closes them if reclaiming is enabled so a forgotten
+ * release cannot starve the pool. The lease and its stack are built before
+ * the pool lock is taken, so sampling never holds up other borrowers.
+ *
+ * The active, idle, waiting and long-lease gauges read counts kept up to date
+ * under the lock instead of taking a snapshot; long leases are those found
+ * past the threshold by the last leak check and still held.
+ *
+ * Borrow and lease times are read from the meter registry's clock, the one
+ * the pool timers record with.
+ */
+class ServerPool {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ServerPool.class);
+    
+    private final String key;
+    private final RemedyConnectionProperties.Pool config;
+    private final Supplier<RemedyConnection> opener;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final BorrowHistogram borrowTimes = new BorrowHistogram();
+    private final Timer borrowTimer;
+    private final Counter created;
+    private final Counter creationFailures;
+    private final Counter validationFailures;
+    private final Counter leaks;
+    private final Counter reclaimed;
+    private final Timer leaseTimer;
+    
+    // Guarded by lock
+    private final ArrayDeque<RemedyConnection> idle = new ArrayDeque<>();
+    private final Map<RemedyConnection, Lease> leases = new IdentityHashMap<>();
+    private int opening;
+    
+    // Written under lock, read without it by the gauges
+    private volatile int waiting;
+    private volatile int activeCount;
+    private volatile int idleCount;
+    private volatile int longLeases;
+    
+    ServerPool(String key, RemedyConnectionProperties.Pool config, Supplier<RemedyConnection> opener,
+               MeterRegistry meterRegistry) {
+        this.key = key;
+        this.config = config;
+        this.opener = opener;
+        this.clock = meterRegistry.config().clock();
+        
+        this.borrowTimer = Timer.builder("remedy.pool.borrow")
+            .description("Time taken to borrow a pooled Remedy connection")
+            .tag("server", key)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.created = Counter.builder("remedy.pool.created")
+            .description("Remedy connections opened by the pool")
+            .tag("server", key)
+            .register(meterRegistry);
+        this.creationFailures = Counter.builder("remedy.pool.creation.failures")
+            .description("Remedy connections that failed to open")
+            .tag("server", key)
+            .register(meterRegistry);
+        this.validationFailures = Counter.builder("remedy.pool.validation.failures")
+            .description("Idle Remedy connections found disconnected when borrowed")
+            .tag("server", key)
+            .register(meterRegistry);
+        this.leaks = Counter.builder("remedy.pool.leaks")
+            .description("Leases found held past the leak threshold")
+            .tag("server", key)
+            .register(meterRegistry);
+        this.reclaimed = Counter.builder("remedy.pool.leaks.reclaimed")
+            .description("Leaked Remedy connections closed by the pool")
+            .tag("server", key)
+            .register(meterRegistry);
+        this.leaseTimer = Timer.builder("remedy.pool.lease")
+            .description("Time Remedy connections were held by borrowers")
+            .tag("server", key)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("remedy.pool.leases.long", this, pool -> pool.longLeases)
+            .description("Leases found held past the leak threshold and not yet given back")
+            .tag("server", key)
+            .register(meterRegistry);
+        Gauge.builder("remedy.pool.active", this, pool -> pool.activeCount)
+            .description("Remedy connections currently leased")
+            .tag("server", key)
+            .register(meterRegistry);
+        Gauge.builder("remedy.pool.idle", this, pool -> pool.idleCount)
+            .description("Idle pooled Remedy connections")
+            .tag("server", key)
+            .register(meterRegistry);
+        Gauge.builder("remedy.pool.waiting", this, pool -> pool.waiting)
+            .description("Threads waiting for a pooled Remedy connection")
+            .tag("server", key)
+            .register(meterRegistry);
+    }
+    
+    String getKey() {
+        return key;
+    }
+    
+    /**
+     * Leases a connection, opening one if the pool has room and none is idle
+     * @param event pool event of the borrow, told when a connection is opened
+     * @return connection leased to the caller
+     * @throws RemedyConnectionException if none becomes available in time or opening fails
+     * @throws DeadlineExceededException if the request deadline passes while waiting
+     */
+    RemedyConnection borrow(RemedyPoolEvent event) {
+        Deadline deadline = Deadline.current();
+        long start = clock.monotonicTime();
+        Lease lease = newLease();
+        RemedyConnection connection;
+        
+        lock.lock();
+        try {
+            long remainingNanos = deadline.cap(TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitTime()));
+            while ((connection = pollValid()) == null && size() >= config.getMaxSize()) {
+                if (remainingNanos <= 0L) {
+                    if (deadline.isExpired()) {
+                        throw new DeadlineExceededException("borrow", -deadline.remainingMillis());
+                    }
+                    throw new RemedyConnectionException("Timed out after " + config.getMaxWaitTime()
+                        + " ms waiting for a connection to " + key + " (" + leases.size() + " leased)");
+                }
+                waiting++;
+                try {
+                    remainingNanos = available.awaitNanos(remainingNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RemedyConnectionException("Interrupted while waiting for a connection to " + key, e);
+                } finally {
+                    waiting--;
+                }
+            }
+            if (connection != null) {
+                leases.put(connection, lease.start(clock.monotonicTime()));
+            } else {
+                opening++;
+            }
+        } finally {
+            updateCounts();
+            lock.unlock();
+        }
+        
+        if (connection == null) {
+            event.created();
+            connection = open(lease);
+        }
+        long borrowNanos = clock.monotonicTime() - start;
+        borrowTimes.record(borrowNanos);
+        borrowTimer.record(borrowNanos, TimeUnit.NANOSECONDS);
+        return connection;
+    }
+    
+    /**
+     * Ends a lease, keeping the connection for the next borrower if it is
+     * still connected and the pool is not over its size
+     * @param connection leased connection
+     * @return false if the connection was not leased from this pool
+     */
+    boolean release(RemedyConnection connection) {
+        boolean keep;
+        Lease lease;
+        lock.lock();
+        try {
+            lease = leases.remove(connection);
+            if (lease == null) {
+                return false;
+            }
+            keep = connection.isConnected() && size() < config.getMaxSize();
+            if (keep) {
+                idle.push(connection);
+            }
+            dropped(lease);
+            available.signal();
+        } finally {
+            updateCounts();
+            lock.unlock();
+        }
+        if (!keep) {
+            connection.disconnect();
+        }
+        ended(lease);
+        return true;
+    }
+    
+    /**
+     * Closes a connection and drops it from the pool, then tops idle connections back up to minIdle
+     * @param connection leased or idle connection
+     * @return false if the connection was not part of this pool
+     */
+    boolean close(RemedyConnection connection) {
+        Lease lease;
+        boolean removed;
+        lock.lock();
+        try {
+            lease = leases.remove(connection);
+            removed = lease != null || idle.removeIf(pooled -> pooled == connection);
+            if (lease != null) {
+                dropped(lease);
+            }
+            available.signal();
+        } finally {
+            updateCounts();
+            lock.unlock();
+        }
+        connection.disconnect();
+        if (lease != null) {
+            ended(lease);
+        }
+        if (removed) {
+            fill();
+        }
+        return removed;
+    }
+    
+    /**
+     * Closes every connection, leased ones included
+     * @return number of connections closed
+     */
+    int closeAll() {
+        List<RemedyConnection> connections;
+        lock.lock();
+        try {
+            connections = new ArrayList<>(idle);
+            connections.addAll(leases.keySet());
+            idle.clear();
+            leases.clear();
+            longLeases = 0;
+            available.signalAll();
+        } finally {
+            updateCounts();
+            lock.unlock();
+        }
+        connections.forEach(RemedyConnection::disconnect);
+        return connections.size();
+    }
+    
+    /**
+     * Applies changed pool sizes: closes idle connections over maxSize,
+     * wakes waiters that now fit and opens idle connections up to minIdle
+     */
+    void resized() {
+        List<RemedyConnection> surplus = new ArrayList<>();
+        lock.lock();
+        try {
+            while (size() > config.getMaxSize() && !idle.isEmpty()) {
+                surplus.add(idle.pollLast());
+            }
+            available.signalAll();
+        } finally {
+            updateCounts();
+            lock.unlock();
+        }
+        surplus.forEach(RemedyConnection::disconnect);
+        fill();
+    }
+    
+    PoolStats stats() {
+        long now = clock.monotonicTime();
+        long leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLeakThreshold());
+        lock.lock();
+        try {
+            int leakSuspects = 0;
+            long oldestNanos = 0L;
+            for (Lease lease : leases.values()) {
+                long heldNanos = now - lease.borrowedAt;
+                oldestNanos = Math.max(oldestNanos, heldNanos);
+                if (heldNanos > leakThresholdNanos) {
+                    leakSuspects++;
+                }
+            }
+            return new PoolStats(key, leases.size(), idle.size(), waiting, (long) created.count(),
+                (long) creationFailures.count(), (long) validationFailures.count(), borrowTimes.snapshot(),
+                leakSuspects, TimeUnit.NANOSECONDS.toMillis(oldestNanos), (long) leaks.count(),
+                (long) reclaimed.count());
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Reports leases held past the leak threshold, each only the first time it
+     * is found, and closes them when reclaiming is enabled
+     * @return number of leases newly found past the threshold
+     */
+    int checkLeaks() {
+        long now = clock.monotonicTime();
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLeakThreshold());
+        boolean reclaim = config.isReclaimLeaks();
+        Map<RemedyConnection, Lease> found = new IdentityHashMap<>();
+        lock.lock();
+        try {
+            for (Map.Entry<RemedyConnection, Lease> entry : leases.entrySet()) {
+                Lease lease = entry.getValue();
+                if (!lease.reported && now - lease.borrowedAt > thresholdNanos) {
+                    lease.reported = true;
+                    found.put(entry.getKey(), lease);
+                }
+            }
+            if (reclaim && !found.isEmpty()) {
+                found.keySet().forEach(leases::remove);
+                available.signalAll();
+            } else {
+                longLeases += found.size();
+            }
+        } finally {
+            updateCounts();
+            lock.unlock();
+        }
+        
+        found.forEach((connection, lease) -> {
+            long heldMillis = TimeUnit.NANOSECONDS.toMillis(now - lease.borrowedAt);
+            leaks.increment();
+            if (lease.trace != null) {
+                logger.warn("Connection to {} held by {} for {} ms, past the leak threshold of {} ms{}", key,
+                    lease.thread, heldMillis, config.getLeakThreshold(), reclaim ? "; reclaiming it" : "", lease.trace);
+            } else {
+                logger.warn("Connection to {} held by {} for {} ms, past the leak threshold of {} ms{}"
+                    + " (borrow stack not sampled)", key, lease.thread, heldMillis, config.getLeakThreshold(),
+                    reclaim ? "; reclaiming it" : "");
+            }
+            if (reclaim) {
+                connection.disconnect();
+                reclaimed.increment();
+                leaseTimer.record(now - lease.borrowedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+        if (reclaim && !found.isEmpty()) {
+            fill();
+        }
+        return found.size();
+    }
+    
+    /**
+     * Opens idle connections until minIdle are idle or the pool is full
+     */
+    private void fill() {
+        while (true) {
+            lock.lock();
+            try {
+                if (idle.size() >= config.getMinIdle() || size() >= config.getMaxSize()) {
+                    return;
+                }
+                opening++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                open(null);
+            } catch (RuntimeException e) {
+                logger.warn("Could not open idle connection to {}: {}", key, e.getMessage());
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Opens a connection for a slot already counted in opening
+     * @param lease lease of the caller to hand it to, or null to add it to the idle connections
+     */
+    private RemedyConnection open(Lease lease) {
+        RemedyConnection connection;
+        try {
+            connection = opener.get();
+        } catch (RuntimeException e) {
+            creationFailures.increment();
+            lock.lock();
+            try {
+                opening--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+        created.increment();
+        
+        lock.lock();
+        try {
+            opening--;
+            if (lease != null) {
+                leases.put(connection, lease.start(clock.monotonicTime()));
+            } else {
+                idle.push(connection);
+                available.signal();
+            }
+        } finally {
+            updateCounts();
+            lock.unlock();
+        }
+        return connection;
+    }
+    
+    private Lease newLease() {
+        Throwable trace = ThreadLocalRandom.current().nextDouble() < config.getLeakTraceSampleRate()
+            ? new Throwable("Connection to " + key + " borrowed here")
+            : null;
+        return new Lease(Thread.currentThread().getName(), trace);
+    }
+    
+    /**
+     * Stops counting a lease just removed from the leases, with the lock held
+     */
+    private void dropped(Lease lease) {
+        if (lease.reported) {
+            longLeases--;
+        }
+    }
+    
+    private void ended(Lease lease) {
+        long heldNanos = clock.monotonicTime() - lease.borrowedAt;
+        leaseTimer.record(heldNanos, TimeUnit.NANOSECONDS);
+        if (lease.reported) {
+            logger.info("Connection to {} reported as leaked was given back after {} ms", key,
+                TimeUnit.NANOSECONDS.toMillis(heldNanos));
+        }
+    }
+    
+    /**
+     * Takes the most recently used idle connection that is still connected
+     */
+    private RemedyConnection pollValid() {
+        RemedyConnection connection;
+        while ((connection = idle.poll()) != null) {
+            if (connection.isConnected()) {
+                return connection;
+            }
+            validationFailures.increment();
+        }
+        return null;
+    }
+    
+    private int size() {
+        return idle.size() + leases.size() + opening;
+    }
+    
+    /**
+     * Publishes the leased and idle counts for the gauges, with the lock held
+     */
+    private void updateCounts() {
+        activeCount = leases.size();
+        idleCount = idle.size();
+    }
+    
+    /**
+     * One borrower's hold on a connection
+     */
+    private static final class Lease {
+        private final String thread;
+        private final Throwable trace;
+        // Guarded by the pool lock
+        private long borrowedAt;
+        private boolean reported;
+        
+        private Lease(String thread, Throwable trace) {
+            this.thread = thread;
+            this.trace = trace;
+        }
+        
+        /**
+         * Marks the connection as handed over at the given clock time, with the pool lock held
+         */
+        private Lease start(long now) {
+            borrowedAt = now;
+            return this;
+        }
+    }
+}
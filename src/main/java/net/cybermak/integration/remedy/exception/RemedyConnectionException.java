@@ -6,11 +6,30 @@ package net.cybermak.integration.remedy.exception;
  */
 public class RemedyConnectionException extends RuntimeException {
     
+    private final int errorCode;
+    
     public RemedyConnectionException(String message) {
-        super(message);
+        this(0, message, null);
     }
     
     public RemedyConnectionException(String message, Throwable cause) {
+        this(0, message, cause);
+    }
+    
+    public RemedyConnectionException(int errorCode, String message) {
+        this(errorCode, message, null);
+    }
+    
+    public RemedyConnectionException(int errorCode, String message, Throwable cause) {
         super(message, cause);
+        this.errorCode = errorCode;
+    }
+    
+    /**
+     * Returns the ARERR number of the failure
+     * @return ARERR number, or 0 if Remedy reported none
+     */
+    public int getErrorCode() {
+        return errorCode;
     }
-}
\ No newline at end of file
+}
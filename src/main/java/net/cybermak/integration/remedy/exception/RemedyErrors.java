@@ -0,0 +1,73 @@
+package net.cybermak.integration.remedy.exception;
+
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.StatusInfo;
+
+import java.util.Set;
+
+/**
+ * Classification of Remedy failures, mainly for the adaptive concurrency limit
+ * Only timeouts and busy-server errors (ARERR 90-94) mean Remedy is
+ * overloaded; rejected logins, business errors and bugs on our side do not.
+ */
+public final class RemedyErrors {
+    
+    /** ARERR 90: cannot establish a network connection to the AR System server */
+    public static final int NO_CONNECTION = 90;
+    /** ARERR 93: timeout during data retrieval */
+    public static final int SERVER_TIMEOUT = 93;
+    
+    // ARERR 90-94: no connection, RPC failed, and server timeouts on query, retrieval and update
+    private static final Set<Long> OVERLOAD_ERRORS = Set.of(90L, 91L, 92L, 93L, 94L);
+    
+    private RemedyErrors() {
+    }
+    
+    /**
+     * Tells whether an arAPI error reports an overloaded or unreachable server
+     * @param e arAPI error
+     * @return true for ARERR 90-94
+     */
+    public static boolean isOverload(ARException e) {
+        if (e.getLastStatus() == null) {
+            return false;
+        }
+        for (StatusInfo status : e.getLastStatus()) {
+            if (OVERLOAD_ERRORS.contains(status.getMessageNum())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the ARERR number an arAPI error reports first
+     * @param e arAPI error
+     * @return ARERR number, or 0 if the error has no status
+     */
+    public static int errorCode(ARException e) {
+        if (e.getLastStatus() == null || e.getLastStatus().isEmpty()) {
+            return 0;
+        }
+        return (int) e.getLastStatus().get(0).getMessageNum();
+    }
+    
+    /**
+     * Tells whether a failed Remedy call failed because Remedy is overloaded,
+     * looking through the causes for an arAPI error or a Remedy error number
+     * @param failure the failure
+     * @return true if the failure carries ARERR 90-94
+     */
+    public static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ARException arException) {
+                return isOverload(arException);
+            }
+            if (cause instanceof RemedyConnectionException connectionException
+                    && connectionException.getErrorCode() != 0) {
+                return OVERLOAD_ERRORS.contains((long) connectionException.getErrorCode());
+            }
+        }
+        return false;
+    }
+}
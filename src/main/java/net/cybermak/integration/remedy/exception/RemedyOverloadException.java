@@ -0,0 +1,16 @@
+package net.cybermak.integration.remedy.exception;
+
+/**
+ * Exception thrown when a Remedy operation is rejected because this node
+ * has no spare capacity to issue it
+ */
+public class RemedyOverloadException extends RuntimeException {
+    
+    public RemedyOverloadException(String message) {
+        super(message);
+    }
+    
+    public RemedyOverloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,47 @@
+package net.cybermak.integration.remedy.fault;
+
+import net.cybermak.integration.remedy.form.FormHandler;
+
+import java.util.Map;
+
+/**
+ * FormHandler decorator that runs every form operation through the
+ * {@link FaultInjector}, so Remedy degradation can be simulated at runtime
+ * in front of any handler
+ */
+public class FaultInjectingFormHandler implements FormHandler {
+    
+    private final FormHandler delegate;
+    private final FaultInjector faultInjector;
+    
+    public FaultInjectingFormHandler(FormHandler delegate, FaultInjector faultInjector) {
+        this.delegate = delegate;
+        this.faultInjector = faultInjector;
+    }
+    
+    @Override
+    public String createEntry(String formName, Map<String, Object> fields) {
+        return faultInjector.apply(formName, FormOperation.CREATE, () -> delegate.createEntry(formName, fields));
+    }
+    
+    @Override
+    public Map<String, Object> getEntry(String formName, String entryId) {
+        return faultInjector.apply(formName, FormOperation.GET, () -> delegate.getEntry(formName, entryId));
+    }
+    
+    @Override
+    public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+        faultInjector.apply(formName, FormOperation.UPDATE, () -> {
+            delegate.updateEntry(formName, entryId, updates);
+            return null;
+        });
+    }
+    
+    @Override
+    public void deleteEntry(String formName, String entryId) {
+        faultInjector.apply(formName, FormOperation.DELETE, () -> {
+            delegate.deleteEntry(formName, entryId);
+            return null;
+        });
+    }
+}
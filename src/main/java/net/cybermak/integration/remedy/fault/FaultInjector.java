@@ -0,0 +1,178 @@
+package net.cybermak.integration.remedy.fault;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.exception.RemedyErrors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds the active fault rules and applies them around form calls
+ * 
+ * Rules are kept in an immutable list swapped on change, so calls read them
+ * without locking. Every matching rule fires with its own probability:
+ * latency and drain delays add up, and a timeout or exception ends the call.
+ * Injected timeouts and exceptions carry the ARERR number of a Remedy server
+ * timeout or refused connection, so the concurrency limit backs off on them.
+ * Each injected fault is counted in remedy.fault.injected by type.
+ */
+public class FaultInjector {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjector.class);
+    
+    private final AtomicReference<List<FaultRule>> rules = new AtomicReference<>(List.of());
+    private final AtomicLong ruleIds = new AtomicLong();
+    private final Map<FaultType, Counter> injected = new EnumMap<>(FaultType.class);
+    
+    public FaultInjector(MeterRegistry meterRegistry) {
+        for (FaultType type : FaultType.values()) {
+            injected.put(type, Counter.builder("remedy.fault.injected")
+                .description("Faults injected into Remedy form calls")
+                .tag("type", type.name().toLowerCase())
+                .register(meterRegistry));
+        }
+    }
+    
+    /**
+     * Adds a rule
+     * @param type fault to inject
+     * @param formName form to target, or null for all forms
+     * @param operation operation to target, or null for all operations
+     * @param delayMillis delay for latency, timeout and slow drain faults
+     * @param probability chance in [0, 1] that a matching call is hit
+     * @param durationMillis how long the rule stays active, 0 for until removed
+     * @return the added rule
+     */
+    public FaultRule addRule(FaultType type, String formName, FormOperation operation, long delayMillis,
+                             double probability, long durationMillis) {
+        long now = System.currentTimeMillis();
+        long expiresAt = durationMillis > 0 ? now + durationMillis : 0L;
+        FaultRule rule = new FaultRule(ruleIds.incrementAndGet(), type, formName, operation, delayMillis,
+            probability, expiresAt);
+        rules.updateAndGet(current -> {
+            // Drop expired rules while the list is being rebuilt anyway
+            List<FaultRule> updated = new ArrayList<>();
+            for (FaultRule active : current) {
+                if (!active.isExpired(now)) {
+                    updated.add(active);
+                }
+            }
+            updated.add(rule);
+            return List.copyOf(updated);
+        });
+        logger.warn("Injecting {} into {} {} calls: delay {} ms, probability {}", type,
+            formName != null ? formName : "all", operation != null ? operation : "all", delayMillis, probability);
+        return rule;
+    }
+    
+    /**
+     * Removes a rule
+     * @param id rule ID
+     * @return true if the rule was active
+     */
+    public boolean removeRule(long id) {
+        List<FaultRule> before = rules.getAndUpdate(current -> current.stream()
+            .filter(rule -> rule.getId() != id)
+            .toList());
+        boolean removed = before.stream().anyMatch(rule -> rule.getId() == id);
+        if (removed) {
+            logger.warn("Removed fault rule {}", id);
+        }
+        return removed;
+    }
+    
+    /**
+     * Removes every rule
+     */
+    public void clear() {
+        rules.set(List.of());
+        logger.warn("Removed all fault rules");
+    }
+    
+    /**
+     * Returns the rules that have not expired
+     * @return active rules in the order they were added
+     */
+    public List<FaultRule> getRules() {
+        long now = System.currentTimeMillis();
+        return rules.get().stream().filter(rule -> !rule.isExpired(now)).toList();
+    }
+    
+    /**
+     * Returns the number of faults injected so far by type
+     * @return counts by type name
+     */
+    public Map<String, Long> getInjectedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        injected.forEach((type, counter) -> counts.put(type.name(), (long) counter.count()));
+        return counts;
+    }
+    
+    /**
+     * Runs a form call with the faults of the matching rules applied
+     * @param formName form being called
+     * @param operation operation being called
+     * @param call the form call
+     * @return the call's result
+     * @throws RemedyConnectionException for an injected timeout or exception
+     */
+    public <T> T apply(String formName, FormOperation operation, Supplier<T> call) {
+        List<FaultRule> current = rules.get();
+        if (current.isEmpty()) {
+            return call.get();
+        }
+        
+        long now = System.currentTimeMillis();
+        long drainMillis = 0L;
+        for (FaultRule rule : current) {
+            if (rule.isExpired(now) || !rule.matches(formName, operation) || !fires(rule)) {
+                continue;
+            }
+            injected.get(rule.getType()).increment();
+            switch (rule.getType()) {
+                case LATENCY -> sleep(rule.getDelayMillis());
+                case TIMEOUT -> {
+                    sleep(rule.getDelayMillis());
+                    throw new RemedyConnectionException(RemedyErrors.SERVER_TIMEOUT,
+                        "Injected timeout after " + rule.getDelayMillis()
+                        + " ms on " + operation + " " + formName);
+                }
+                case EXCEPTION -> throw new RemedyConnectionException(RemedyErrors.NO_CONNECTION,
+                    "Injected failure on " + operation + " " + formName);
+                case SLOW_DRAIN -> drainMillis += rule.getDelayMillis();
+            }
+        }
+        
+        T result = call.get();
+        sleep(drainMillis);
+        return result;
+    }
+    
+    private static boolean fires(FaultRule rule) {
+        return rule.getProbability() >= 1.0 || ThreadLocalRandom.current().nextDouble() < rule.getProbability();
+    }
+    
+    private static void sleep(long millis) {
+        if (millis <= 0L) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemedyConnectionException("Interrupted during injected delay");
+        }
+    }
+}
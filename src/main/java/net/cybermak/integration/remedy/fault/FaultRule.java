@@ -0,0 +1,44 @@
+package net.cybermak.integration.remedy.fault;
+
+/**
+ * One injected fault: what it does, which calls it hits and for how long
+ * A null form or operation matches every form or operation.
+ */
+public final class FaultRule {
+    
+    private final long id;
+    private final FaultType type;
+    private final String formName;
+    private final FormOperation operation;
+    private final long delayMillis;
+    private final double probability;
+    private final long expiresAtMillis;
+    
+    FaultRule(long id, FaultType type, String formName, FormOperation operation, long delayMillis,
+              double probability, long expiresAtMillis) {
+        this.id = id;
+        this.type = type;
+        this.formName = formName;
+        this.operation = operation;
+        this.delayMillis = delayMillis;
+        this.probability = probability;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+    
+    public long getId() { return id; }
+    public FaultType getType() { return type; }
+    public String getFormName() { return formName; }
+    public FormOperation getOperation() { return operation; }
+    public long getDelayMillis() { return delayMillis; }
+    public double getProbability() { return probability; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+    
+    boolean matches(String formName, FormOperation operation) {
+        return (this.formName == null || this.formName.equals(formName))
+            && (this.operation == null || this.operation == operation);
+    }
+    
+    boolean isExpired(long nowMillis) {
+        return expiresAtMillis > 0 && nowMillis >= expiresAtMillis;
+    }
+}
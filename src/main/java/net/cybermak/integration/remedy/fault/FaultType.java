@@ -0,0 +1,26 @@
+package net.cybermak.integration.remedy.fault;
+
+/**
+ * Kinds of Remedy degradation a fault rule injects
+ */
+public enum FaultType {
+    
+    /** Waits for the delay before the call, as a slow or overloaded server would */
+    LATENCY,
+    /** Waits for the delay and fails without making the call, as a timed out call would */
+    TIMEOUT,
+    /** Fails at once without making the call, as a refused connection would */
+    EXCEPTION,
+    /** Makes the call, then holds the result back for the delay, as a slow response drain would */
+    SLOW_DRAIN;
+    
+    /**
+     * Resolves a fault type name, ignoring case and accepting dashes
+     * @param name the type name, e.g. "slow-drain"
+     * @return the matching type
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static FaultType fromName(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase());
+    }
+}
@@ -0,0 +1,22 @@
+package net.cybermak.integration.remedy.fault;
+
+/**
+ * FormHandler operations a fault rule can target
+ */
+public enum FormOperation {
+    
+    CREATE,
+    GET,
+    UPDATE,
+    DELETE;
+    
+    /**
+     * Resolves an operation name, ignoring case
+     * @param name the operation name
+     * @return the matching operation
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static FormOperation fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
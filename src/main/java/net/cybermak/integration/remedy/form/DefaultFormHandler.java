@@ -19,18 +19,18 @@ public class DefaultFormHandler implements FormHandler {
     
     @Override
     public String createEntry(String formName, Map<String, Object> fields) {
-        logger.info("Creating entry in form: {} with fields: {}", formName, fields);
+        logger.debug("Creating entry in form: {}", formName);
         
         // For now, return mock entry ID
         // In real implementation, this would use BMC ARS API
         String entryId = "MOCK" + System.currentTimeMillis();
-        logger.info("Created entry with ID: {} in form: {}", entryId, formName);
+        logger.debug("Created entry with ID: {} in form: {}", entryId, formName);
         return entryId;
     }
     
     @Override
     public Map<String, Object> getEntry(String formName, String entryId) {
-        logger.info("Getting entry {} from form: {}", entryId, formName);
+        logger.debug("Getting entry {} from form: {}", entryId, formName);
         
         // For now, return mock data
         return Map.of(
@@ -43,19 +43,19 @@ public class DefaultFormHandler implements FormHandler {
     
     @Override
     public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
-        logger.info("Updating entry {} in form: {} with updates: {}", entryId, formName, updates);
+        logger.debug("Updating entry {} in form: {}", entryId, formName);
         
         // For now, just log the update
         // In real implementation, this would use BMC ARS API
-        logger.info("Updated entry {} successfully", entryId);
+        logger.debug("Updated entry {} successfully", entryId);
     }
     
     @Override
     public void deleteEntry(String formName, String entryId) {
-        logger.info("Deleting entry {} from form: {}", entryId, formName);
+        logger.debug("Deleting entry {} from form: {}", entryId, formName);
         
         // For now, just log the deletion  
         // In real implementation, this would use BMC ARS API
-        logger.info("Deleted entry {} successfully", entryId);
+        logger.debug("Deleted entry {} successfully", entryId);
     }
 }
\ No newline at end of file
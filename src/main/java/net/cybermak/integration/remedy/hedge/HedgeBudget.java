@@ -0,0 +1,32 @@
+package net.cybermak.integration.remedy.hedge;
+
+/**
+ * Token bucket capping hedged reads to a fraction of all reads
+ * Every read deposits budgetRatio tokens, up to maxBurst; a hedge spends one.
+ */
+class HedgeBudget {
+    
+    private final double ratio;
+    private final double maxTokens;
+    
+    // Guarded by this
+    private double tokens;
+    
+    HedgeBudget(double ratio, int maxBurst) {
+        this.ratio = ratio;
+        this.maxTokens = maxBurst;
+        this.tokens = maxBurst;
+    }
+    
+    synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+    
+    synchronized boolean tryWithdraw() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+}
@@ -0,0 +1,202 @@
+package net.cybermak.integration.remedy.hedge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.form.FormHandler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * FormHandler that hedges reads across Remedy servers
+ * 
+ * getEntry goes to the first server; if it has not answered within the hedge
+ * delay (a percentile of recent read latencies), the same read is sent to the
+ * next server and the first successful answer wins. Hedges are capped by a
+ * budget of a fraction of all reads, so a slow server group is not hit with
+ * twice the load. A read that fails before the delay fails as usual; hedging
+ * is for slow answers, not for retries. When the executor rejects an
+ * attempt, the read is not hedged: a rejected first attempt runs on the
+ * caller, a rejected hedge leaves the caller waiting for the first server.
+ * Writes are not idempotent and always go to the first server only.
+ */
+public class HedgingFormHandler implements FormHandler {
+    
+    private final List<FormHandler> servers;
+    private final Executor executor;
+    private final LatencyWindow latencies;
+    private final HedgeBudget budget;
+    private final AtomicInteger nextHedge = new AtomicInteger();
+    private final Counter hedged;
+    private final Counter hedgeWins;
+    private final Counter budgetExhausted;
+    private final Counter rejected;
+    
+    /**
+     * @param servers form handlers per server, the first being the one writes and reads go to
+     * @param executor runs the read attempts
+     * @param config hedge settings
+     * @param meterRegistry registry for the remedy.hedge metrics
+     */
+    public HedgingFormHandler(List<FormHandler> servers, Executor executor,
+                              RemedyConnectionProperties.Hedge config, MeterRegistry meterRegistry) {
+        if (servers.isEmpty()) {
+            throw new IllegalArgumentException("Hedging needs at least one server");
+        }
+        this.servers = List.copyOf(servers);
+        this.executor = executor;
+        this.latencies = new LatencyWindow(config.getWindow(), config.getPercentile(),
+            TimeUnit.MILLISECONDS.toNanos(config.getInitialDelay()), TimeUnit.MILLISECONDS.toNanos(config.getMinDelay()));
+        this.budget = new HedgeBudget(config.getBudgetRatio(), config.getMaxBurst());
+        
+        this.hedged = Counter.builder("remedy.hedge.requests")
+            .description("Reads sent to a second Remedy server")
+            .register(meterRegistry);
+        this.hedgeWins = Counter.builder("remedy.hedge.wins")
+            .description("Hedged reads answered first by the second server")
+            .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("remedy.hedge.budget.exhausted")
+            .description("Reads past the hedge delay that were not hedged for lack of budget")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("remedy.hedge.rejected")
+            .description("Read attempts not sent because the hedge executor was full")
+            .register(meterRegistry);
+        Gauge.builder("remedy.hedge.delay", this, HedgingFormHandler::getHedgeDelayMillis)
+            .description("Current delay in milliseconds after which reads are hedged")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public String createEntry(String formName, Map<String, Object> fields) {
+        return primary().createEntry(formName, fields);
+    }
+    
+    @Override
+    public Map<String, Object> getEntry(String formName, String entryId) {
+        return hedged(server -> () -> server.getEntry(formName, entryId));
+    }
+    
+    @Override
+    public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+        primary().updateEntry(formName, entryId, updates);
+    }
+    
+    @Override
+    public void deleteEntry(String formName, String entryId) {
+        primary().deleteEntry(formName, entryId);
+    }
+    
+    public double getHedgeDelayMillis() {
+        return latencies.delayNanos() / 1_000_000.0;
+    }
+    
+    private FormHandler primary() {
+        return servers.get(0);
+    }
+    
+    private <T> T hedged(Function<FormHandler, Supplier<T>> read) {
+        budget.deposit();
+        if (servers.size() == 1) {
+            return read.apply(primary()).get();
+        }
+        
+        long start = System.nanoTime();
+        CompletableFuture<T> first;
+        try {
+            first = CompletableFuture.supplyAsync(read.apply(primary()), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return read.apply(primary()).get();
+        }
+        try {
+            T result = first.get(latencies.delayNanos(), TimeUnit.NANOSECONDS);
+            latencies.record(System.nanoTime() - start);
+            return result;
+        } catch (TimeoutException e) {
+            // Past the hedge delay, handled below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemedyConnectionException("Interrupted while waiting for Remedy", e);
+        }
+        
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.increment();
+            return awaitFirst(first, start);
+        }
+        
+        FormHandler hedgeServer = servers.get(1 + Math.floorMod(nextHedge.getAndIncrement(), servers.size() - 1));
+        CompletableFuture<T> second;
+        try {
+            second = CompletableFuture.supplyAsync(read.apply(hedgeServer), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return awaitFirst(first, start);
+        }
+        hedged.increment();
+        // The primary's latency is what the delay predicts, even when the hedge wins
+        first.whenComplete((value, failure) -> {
+            if (failure == null) {
+                latencies.record(System.nanoTime() - start);
+            }
+        });
+        return join(firstSuccessful(first, second));
+    }
+    
+    private <T> T awaitFirst(CompletableFuture<T> first, long start) {
+        T result = join(first);
+        latencies.record(System.nanoTime() - start);
+        return result;
+    }
+    
+    private <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        first.whenComplete((value, failure) -> settle(winner, failures, value, failure, false));
+        second.whenComplete((value, failure) -> settle(winner, failures, value, failure, true));
+        return winner;
+    }
+    
+    private <T> void settle(CompletableFuture<T> winner, AtomicInteger failures, T value, Throwable failure,
+                            boolean hedge) {
+        if (failure == null) {
+            if (winner.complete(value) && hedge) {
+                hedgeWins.increment();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(failure);
+        }
+    }
+    
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+    
+    private static RuntimeException unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new RemedyConnectionException("Remedy read failed: " + failure.getMessage(), failure);
+    }
+}
@@ -0,0 +1,60 @@
+package net.cybermak.integration.remedy.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recent read latencies and the percentile the hedge delay is taken from
+ * 
+ * Latencies go into a fixed ring without locking; the percentile is
+ * recomputed from a sorted copy every {@value #RECOMPUTE_EVERY} samples, so
+ * reads only pay for a volatile read of the current value.
+ */
+class LatencyWindow {
+    
+    private static final int RECOMPUTE_EVERY = 64;
+    
+    private final long[] samples;
+    private final double percentile;
+    private final long initialNanos;
+    private final long minNanos;
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long percentileNanos;
+    
+    LatencyWindow(int size, double percentile, long initialNanos, long minNanos) {
+        this.samples = new long[Math.max(RECOMPUTE_EVERY, size)];
+        this.percentile = percentile;
+        this.initialNanos = initialNanos;
+        this.minNanos = minNanos;
+        this.percentileNanos = Math.max(initialNanos, minNanos);
+    }
+    
+    void record(long nanos) {
+        long count = recorded.incrementAndGet();
+        samples[(int) ((count - 1) % samples.length)] = nanos;
+        if (count % RECOMPUTE_EVERY == 0) {
+            recompute(count);
+        }
+    }
+    
+    /**
+     * Returns the delay after which a read is hedged
+     * @return the configured percentile of recent latencies, or the initial
+     *         delay until the window has filled once; never below the minimum
+     */
+    long delayNanos() {
+        return percentileNanos;
+    }
+    
+    private void recompute(long count) {
+        if (count < samples.length) {
+            return;
+        }
+        // Racing writers may leave a slot or two stale, which a percentile tolerates
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        long value = sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        percentileNanos = Math.max(minNanos, value);
+    }
+}
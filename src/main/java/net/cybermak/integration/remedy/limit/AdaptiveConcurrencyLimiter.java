@@ -0,0 +1,355 @@
+package net.cybermak.integration.remedy.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.exception.RemedyErrors;
+import net.cybermak.integration.remedy.exception.RemedyOverloadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive limit on the number of concurrent Remedy operations issued by this node
+ * 
+ * The limit follows a gradient algorithm: every successful call compares its
+ * latency with a long-term baseline and shrinks the limit when Remedy slows
+ * down, or grows it by roughly the square root of the limit while latency
+ * stays near the baseline. Calls that fail because Remedy timed out or is
+ * busy back the limit off multiplicatively (AIMD). Callers over the limit wait in a bounded queue
+ * for up to the configured time and are rejected with
+ * {@link RemedyOverloadException} beyond that. Callers never wait past their
+ * request {@link Deadline}; once it has passed they fail with
+ * {@link DeadlineExceededException} instead of issuing the operation.
+ * 
+ * Metrics: remedy.concurrency.limit, remedy.concurrency.inflight,
+ * remedy.concurrency.queued, remedy.concurrency.rejected and
+ * request.deadline.expired (stage borrow). Time spent
+ * waiting for a permit is the request's {@link Phase#BORROW} timing.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    
+    private final RemedyConnectionProperties.Limit config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Counter rejected;
+    private final Counter expired;
+    
+    // Guarded by lock
+    private double estimatedLimit;
+    private double longRttNanos;
+    private int inFlight;
+    private int queued;
+    
+    // Published for lock-free reads by metrics
+    private volatile int limit;
+    
+    public AdaptiveConcurrencyLimiter(RemedyConnectionProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getConnection().getLimit();
+        this.estimatedLimit = clamp(config.getInitialLimit());
+        this.limit = (int) estimatedLimit;
+        
+        Gauge.builder("remedy.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current adaptive limit of concurrent Remedy operations")
+            .register(meterRegistry);
+        Gauge.builder("remedy.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Remedy operations currently in flight")
+            .register(meterRegistry);
+        Gauge.builder("remedy.concurrency.queued", this, AdaptiveConcurrencyLimiter::getQueued)
+            .description("Callers waiting for Remedy capacity")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("remedy.concurrency.rejected")
+            .description("Remedy operations rejected for lack of capacity")
+            .register(meterRegistry);
+        this.expired = Counter.builder("request.deadline.expired")
+            .description("Work dropped because its request deadline had passed")
+            .tag("stage", "borrow")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Acquires a permit for one Remedy operation, waiting in the queue if the
+     * limit is reached
+     * @return permit that must be completed with onSuccess, onDropped or release
+     * @throws RemedyOverloadException if the queue is full or the wait times out
+     * @throws DeadlineExceededException if the request deadline passes first
+     */
+    public Permit acquire() {
+        Deadline deadline = Deadline.current();
+        if (deadline.isExpired()) {
+            throw expired(deadline);
+        }
+        if (!config.isEnabled()) {
+            return new Permit(System.nanoTime(), false);
+        }
+        
+        long borrowStart = System.nanoTime();
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                awaitCapacity(deadline);
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        RequestTiming.current().record(Phase.BORROW, borrowStart);
+        return new Permit(System.nanoTime(), true);
+    }
+    
+    /**
+     * Runs a Remedy operation within the limit and records its latency
+     * Failures that {@link RemedyErrors#isOverload} classifies as overload
+     * count as dropped calls; any other failure releases the permit without
+     * affecting the limit.
+     * @param operation the Remedy operation
+     * @return the operation result
+     */
+    public <T> T call(Supplier<T> operation) {
+        return call(operation, RemedyErrors::isOverload);
+    }
+    
+    /**
+     * Runs a Remedy operation within the limit and records its latency
+     * @param operation the Remedy operation
+     * @param overload tells which failures mean Remedy is overloaded and count as dropped calls;
+     *                 other failures release the permit without affecting the limit
+     * @return the operation result
+     */
+    public <T> T call(Supplier<T> operation, Predicate<? super RuntimeException> overload) {
+        Permit permit = acquire();
+        try {
+            T result = operation.get();
+            permit.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (overload.test(e)) {
+                permit.onDropped();
+            } else {
+                permit.release();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Runs a Remedy operation without a result within the limit
+     * @param operation the Remedy operation
+     */
+    public void run(Runnable operation) {
+        call(() -> {
+            operation.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Changes the limit bounds and queue size, moving the current limit
+     * inside the new bounds and waking queued callers that now fit
+     * @param minLimit lowest the adaptive limit may go, at least 1
+     * @param maxLimit highest the adaptive limit may go
+     * @param maxQueue callers allowed to wait for capacity
+     */
+    public void setLimits(int minLimit, int maxLimit, int maxQueue) {
+        if (minLimit < 1 || maxLimit < minLimit || maxQueue < 0) {
+            throw new IllegalArgumentException("Limits need 1 <= minLimit <= maxLimit and maxQueue >= 0, got minLimit="
+                + minLimit + ", maxLimit=" + maxLimit + ", maxQueue=" + maxQueue);
+        }
+        lock.lock();
+        try {
+            config.setMinLimit(minLimit);
+            config.setMaxLimit(maxLimit);
+            config.setMaxQueue(maxQueue);
+            estimatedLimit = clamp(estimatedLimit);
+            limit = (int) estimatedLimit;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public RemedyConnectionProperties.Limit getConfig() {
+        return config;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void awaitCapacity(Deadline deadline) {
+        if (queued >= config.getMaxQueue()) {
+            throw reject("Remedy capacity exhausted: " + inFlight + " operations in flight, "
+                + queued + " queued");
+        }
+        
+        long remainingNanos = deadline.cap(TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitTime()));
+        queued++;
+        try {
+            while (inFlight >= limit) {
+                if (remainingNanos <= 0L) {
+                    if (deadline.isExpired()) {
+                        throw expired(deadline);
+                    }
+                    throw reject("Timed out after " + config.getMaxWaitTime()
+                        + " ms waiting for Remedy capacity (limit " + limit + ")");
+                }
+                remainingNanos = available.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemedyOverloadException("Interrupted while waiting for Remedy capacity", e);
+        } finally {
+            queued--;
+        }
+    }
+    
+    private RemedyOverloadException reject(String message) {
+        rejected.increment();
+        return new RemedyOverloadException(message);
+    }
+    
+    private DeadlineExceededException expired(Deadline deadline) {
+        expired.increment();
+        return new DeadlineExceededException("borrow", -deadline.remainingMillis());
+    }
+    
+    private void complete(long startNanos, boolean sample, boolean dropped) {
+        long rttNanos = Math.max(1L, System.nanoTime() - startNanos);
+        
+        lock.lock();
+        try {
+            int inFlightAtCompletion = inFlight;
+            inFlight--;
+            
+            if (sample) {
+                int previous = limit;
+                update(rttNanos, dropped, inFlightAtCompletion);
+                if (limit > previous) {
+                    available.signalAll();
+                    return;
+                }
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void update(long rttNanos, boolean dropped, int inFlightAtCompletion) {
+        double newLimit;
+        
+        if (dropped) {
+            newLimit = estimatedLimit * config.getBackoffRatio();
+        } else {
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+            } else {
+                longRttNanos += (rttNanos - longRttNanos) / config.getLongWindow();
+            }
+            
+            // Let the baseline recover quickly after a sustained slowdown ends
+            if (longRttNanos / rttNanos > 2.0) {
+                longRttNanos *= 0.95;
+            }
+            
+            // Do not grow while the current limit is not being used
+            if (inFlightAtCompletion < estimatedLimit / 2) {
+                return;
+            }
+            
+            double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * longRttNanos / rttNanos));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * (1 - config.getSmoothing()) + newLimit * config.getSmoothing();
+        }
+        
+        estimatedLimit = clamp(newLimit);
+        int rounded = (int) estimatedLimit;
+        if (rounded != limit) {
+            logger.debug("Remedy concurrency limit changed from {} to {}", limit, rounded);
+            limit = rounded;
+        }
+    }
+    
+    private double clamp(double value) {
+        return Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), value));
+    }
+    
+    /**
+     * Permission to issue one Remedy operation
+     * Exactly one of the completion methods takes effect; later calls are ignored.
+     */
+    public final class Permit {
+        
+        private final long startNanos;
+        private final boolean counted;
+        private boolean completed;
+        
+        private Permit(long startNanos, boolean counted) {
+            this.startNanos = startNanos;
+            this.counted = counted;
+        }
+        
+        /**
+         * Completes the operation successfully and feeds its latency to the limit
+         */
+        public void onSuccess() {
+            finish(true, false);
+        }
+        
+        /**
+         * Completes an operation that failed or timed out, backing the limit off
+         */
+        public void onDropped() {
+            finish(true, true);
+        }
+        
+        /**
+         * Releases the permit without affecting the limit
+         */
+        public void release() {
+            finish(false, false);
+        }
+        
+        private void finish(boolean sample, boolean dropped) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            if (counted) {
+                complete(startNanos, sample, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package net.cybermak.integration.remedy.limit;
+
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.remedy.exception.RemedyErrors;
+import net.cybermak.integration.remedy.form.FormHandler;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * FormHandler decorator that issues every form operation through the
+ * {@link AdaptiveConcurrencyLimiter}, so form calls both respect and
+ * feed the node-wide Remedy concurrency limit. Only failures that
+ * {@link RemedyErrors#isOverload} classifies as overload back the limit off.
+ * The form call itself is the request's {@link Phase#REMEDY} timing.
+ */
+public class ConcurrencyLimitedFormHandler implements FormHandler {
+    
+    private final FormHandler delegate;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    
+    public ConcurrencyLimitedFormHandler(FormHandler delegate, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.delegate = delegate;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+    
+    @Override
+    public String createEntry(String formName, Map<String, Object> fields) {
+        return concurrencyLimiter.call(() -> timed(() -> delegate.createEntry(formName, fields)),
+            RemedyErrors::isOverload);
+    }
+    
+    @Override
+    public Map<String, Object> getEntry(String formName, String entryId) {
+        return concurrencyLimiter.call(() -> timed(() -> delegate.getEntry(formName, entryId)),
+            RemedyErrors::isOverload);
+    }
+    
+    @Override
+    public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+        concurrencyLimiter.call(() -> timed(() -> {
+            delegate.updateEntry(formName, entryId, updates);
+            return null;
+        }), RemedyErrors::isOverload);
+    }
+    
+    @Override
+    public void deleteEntry(String formName, String entryId) {
+        concurrencyLimiter.call(() -> timed(() -> {
+            delegate.deleteEntry(formName, entryId);
+            return null;
+        }), RemedyErrors::isOverload);
+    }
+    
+    private static <T> T timed(Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            RequestTiming.current().record(Phase.REMEDY, start);
+        }
+    }
+}
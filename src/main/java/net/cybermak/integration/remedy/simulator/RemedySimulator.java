@@ -0,0 +1,299 @@
+package net.cybermak.integration.remedy.simulator;
+
+import net.cybermak.integration.config.RemedySimulatorProperties;
+import net.cybermak.integration.config.RemedySimulatorProperties.Latency;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process stand-in for a Remedy server
+ * 
+ * Keeps entries in memory per form and makes every call behave like a call
+ * to a loaded server: it waits for a server thread when maxConcurrent calls
+ * are running and for a slot under maxCallsPerSecond, failing with ARERR 91
+ * when either wait exceeds the queue timeout; it then takes a log-normal
+ * latency for its kind of call and fails with ARERR 90 at the configured
+ * error rate. Sessions expire after the session TTL; an expired session
+ * either pays for a new login (as arAPI does transparently) or fails with
+ * ARERR 623, depending on reauthenticate.
+ */
+public class RemedySimulator {
+    
+    public static final int NETWORK_ERROR = 90;
+    public static final int SERVER_BUSY = 91;
+    public static final int AUTHENTICATION_FAILED = 623;
+    
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+    
+    private final RemedySimulatorProperties properties;
+    private final Map<String, Map<String, Map<String, Object>>> forms;
+    private final AtomicLong entryIds;
+    private final Semaphore serverThreads;
+    private final Object rateLock = new Object();
+    
+    // Guarded by rateLock
+    private long nextCallNanos;
+    
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong expiredSessions = new AtomicLong();
+    
+    public RemedySimulator(RemedySimulatorProperties properties) {
+        this(properties, new ConcurrentHashMap<>(), new AtomicLong(1));
+    }
+    
+    private RemedySimulator(RemedySimulatorProperties properties, Map<String, Map<String, Map<String, Object>>> forms,
+                            AtomicLong entryIds) {
+        this.properties = properties;
+        this.forms = forms;
+        this.entryIds = entryIds;
+        this.serverThreads = properties.getMaxConcurrent() > 0
+            ? new Semaphore(properties.getMaxConcurrent(), true) : null;
+    }
+    
+    /**
+     * Returns another server of the same server group
+     * It sees the same entries, as servers sharing one AR System database do,
+     * but has its own server threads, call rate, latencies and counters.
+     * @return new server
+     */
+    public RemedySimulator newServer() {
+        return new RemedySimulator(properties, forms, entryIds);
+    }
+    
+    /**
+     * Logs a user in
+     * @param user user name
+     * @return new session
+     */
+    public Session login(String user) {
+        call(SimulatedCall.LOGIN, null, () -> null);
+        logins.incrementAndGet();
+        return new Session(user, expiry());
+    }
+    
+    /**
+     * Creates an entry
+     * @param session caller's session
+     * @param formName form name
+     * @param fields field values
+     * @return generated entry ID
+     */
+    public String createEntry(Session session, String formName, Map<String, Object> fields) {
+        return call(SimulatedCall.CREATE, session, () -> {
+            String entryId = String.format("INC%012d", entryIds.getAndIncrement());
+            form(formName).put(entryId, new HashMap<>(fields));
+            return entryId;
+        });
+    }
+    
+    /**
+     * Reads an entry
+     * @param session caller's session
+     * @param formName form name
+     * @param entryId entry ID
+     * @return copy of the entry's field values
+     * @throws IllegalArgumentException if the entry does not exist
+     */
+    public Map<String, Object> getEntry(Session session, String formName, String entryId) {
+        return call(SimulatedCall.GET, session, () -> {
+            Map<String, Object> entry = existing(formName, entryId);
+            synchronized (entry) {
+                return new HashMap<>(entry);
+            }
+        });
+    }
+    
+    /**
+     * Updates an entry
+     * @param session caller's session
+     * @param formName form name
+     * @param entryId entry ID
+     * @param updates field values to change
+     * @throws IllegalArgumentException if the entry does not exist
+     */
+    public void setEntry(Session session, String formName, String entryId, Map<String, Object> updates) {
+        call(SimulatedCall.SET, session, () -> {
+            Map<String, Object> entry = existing(formName, entryId);
+            synchronized (entry) {
+                entry.putAll(updates);
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Deletes an entry; deleting a missing entry is not an error
+     * @param session caller's session
+     * @param formName form name
+     * @param entryId entry ID
+     */
+    public void deleteEntry(Session session, String formName, String entryId) {
+        call(SimulatedCall.DELETE, session, () -> form(formName).remove(entryId));
+    }
+    
+    /**
+     * Returns call counters since startup: calls, errors, rejected, logins and expiredSessions
+     * @return counter values by name
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("calls", calls.get());
+        stats.put("errors", errors.get());
+        stats.put("rejected", rejected.get());
+        stats.put("logins", logins.get());
+        stats.put("expiredSessions", expiredSessions.get());
+        return stats;
+    }
+    
+    private <T> T call(SimulatedCall call, Session session, Supplier<T> operation) {
+        calls.incrementAndGet();
+        if (session != null && session.isExpired()) {
+            expiredSessions.incrementAndGet();
+            if (!properties.isReauthenticate()) {
+                throw new SimulatedRemedyException(AUTHENTICATION_FAILED, "Authentication failed");
+            }
+            pause(SimulatedCall.LOGIN);
+            logins.incrementAndGet();
+            session.expiresAtNanos = expiry();
+        }
+        
+        long waitedNanos = awaitRateSlot();
+        awaitServerThread(waitedNanos);
+        try {
+            pause(call);
+            if (ThreadLocalRandom.current().nextDouble() < properties.getErrorRate()) {
+                errors.incrementAndGet();
+                throw new SimulatedRemedyException(NETWORK_ERROR,
+                    "Cannot establish a network connection to the AR System server");
+            }
+            return operation.get();
+        } finally {
+            if (serverThreads != null) {
+                serverThreads.release();
+            }
+        }
+    }
+    
+    /**
+     * Waits for the next free slot under maxCallsPerSecond
+     * @return nanoseconds waited
+     */
+    private long awaitRateSlot() {
+        double rate = properties.getMaxCallsPerSecond();
+        if (rate <= 0) {
+            return 0L;
+        }
+        
+        long waitNanos;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextCallNanos);
+            waitNanos = slot - now;
+            if (waitNanos > TimeUnit.MILLISECONDS.toNanos(properties.getQueueTimeout())) {
+                throw busy("call rate above " + rate + " per second");
+            }
+            nextCallNanos = slot + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        }
+        sleep(waitNanos);
+        return waitNanos;
+    }
+    
+    private void awaitServerThread(long waitedNanos) {
+        if (serverThreads == null) {
+            return;
+        }
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(properties.getQueueTimeout()) - waitedNanos;
+        try {
+            if (!serverThreads.tryAcquire(Math.max(0L, remainingNanos), TimeUnit.NANOSECONDS)) {
+                throw busy(properties.getMaxConcurrent() + " calls already running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimulatedRemedyException(NETWORK_ERROR, "Interrupted while waiting for the server");
+        }
+    }
+    
+    private SimulatedRemedyException busy(String reason) {
+        rejected.incrementAndGet();
+        return new SimulatedRemedyException(SERVER_BUSY, "RPC call failed; server busy, " + reason);
+    }
+    
+    private void pause(SimulatedCall call) {
+        sleep(sampleNanos(properties.getLatency(call)));
+    }
+    
+    /**
+     * Samples a log-normal latency with the configured median and 99th percentile
+     */
+    static long sampleNanos(Latency latency) {
+        double median = latency.getMedian();
+        if (median <= 0) {
+            return 0L;
+        }
+        double sigma = latency.getP99() > median ? Math.log(latency.getP99() / median) / Z_99 : 0.0;
+        double millis = median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return (long) (millis * 1_000_000L);
+    }
+    
+    private static void sleep(long nanos) {
+        if (nanos <= 0L) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimulatedRemedyException(NETWORK_ERROR, "Interrupted during the call");
+        }
+    }
+    
+    private long expiry() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getSessionTtl());
+    }
+    
+    private Map<String, Map<String, Object>> form(String formName) {
+        return forms.computeIfAbsent(formName, name -> new ConcurrentHashMap<>());
+    }
+    
+    private Map<String, Object> existing(String formName, String entryId) {
+        Map<String, Object> entry = form(formName).get(entryId);
+        if (entry == null) {
+            throw new IllegalArgumentException("Entry not found: " + entryId);
+        }
+        return entry;
+    }
+    
+    /**
+     * A logged-in user's session with the stand-in
+     */
+    public static final class Session {
+        
+        private final String user;
+        private volatile long expiresAtNanos;
+        
+        private Session(String user, long expiresAtNanos) {
+            this.user = user;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+        
+        public String getUser() {
+            return user;
+        }
+        
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
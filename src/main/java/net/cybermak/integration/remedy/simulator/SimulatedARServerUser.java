@@ -0,0 +1,96 @@
+package net.cybermak.integration.remedy.simulator;
+
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Constants;
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Value;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * ARServerUser whose calls go to the {@link RemedySimulator} instead of a Remedy server
+ * Logs in on verifyUser or lazily on the first call, like arAPI, and reports
+ * stand-in errors as ARExceptions with the matching ARERR number.
+ */
+public class SimulatedARServerUser extends ARServerUser {
+    
+    static final int ENTRY_NOT_FOUND = 302;
+    
+    private final RemedySimulator simulator;
+    private RemedySimulator.Session session;
+    
+    public SimulatedARServerUser(RemedySimulator simulator) {
+        this.simulator = simulator;
+    }
+    
+    @Override
+    public void verifyUser() throws ARException {
+        session = call(() -> simulator.login(getUser()));
+    }
+    
+    @Override
+    public String createEntry(String formName, Entry entry) throws ARException {
+        RemedySimulator.Session current = session();
+        return call(() -> simulator.createEntry(current, formName, toFields(entry)));
+    }
+    
+    @Override
+    public Entry getEntry(String formName, String entryId, int[] fieldIds) throws ARException {
+        RemedySimulator.Session current = session();
+        Map<String, Object> fields = call(() -> simulator.getEntry(current, formName, entryId));
+        Entry entry = new Entry();
+        fields.forEach((fieldId, value) -> entry.put(Integer.valueOf(fieldId), new Value(value)));
+        return entry;
+    }
+    
+    @Override
+    public void setEntry(String formName, String entryId, Entry entry, Timestamp getTime, int option)
+            throws ARException {
+        RemedySimulator.Session current = session();
+        call(() -> {
+            simulator.setEntry(current, formName, entryId, toFields(entry));
+            return null;
+        });
+    }
+    
+    @Override
+    public void deleteEntry(String formName, String entryId, int option) throws ARException {
+        RemedySimulator.Session current = session();
+        call(() -> {
+            simulator.deleteEntry(current, formName, entryId);
+            return null;
+        });
+    }
+    
+    @Override
+    public void logout() {
+        session = null;
+    }
+    
+    private RemedySimulator.Session session() throws ARException {
+        if (session == null) {
+            verifyUser();
+        }
+        return session;
+    }
+    
+    private static <T> T call(Supplier<T> call) throws ARException {
+        try {
+            return call.get();
+        } catch (SimulatedRemedyException e) {
+            throw new ARException(Constants.AR_RETURN_ERROR, e.getCode(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ARException(Constants.AR_RETURN_ERROR, ENTRY_NOT_FOUND, e.getMessage());
+        }
+    }
+    
+    private static Map<String, Object> toFields(Entry entry) {
+        Map<String, Object> fields = new HashMap<>();
+        entry.forEach((fieldId, value) -> fields.put(String.valueOf(fieldId), value != null ? value.getValue() : null));
+        return fields;
+    }
+}
@@ -0,0 +1,12 @@
+package net.cybermak.integration.remedy.simulator;
+
+/**
+ * Kinds of call the Remedy stand-in distinguishes for latency
+ */
+public enum SimulatedCall {
+    LOGIN,
+    CREATE,
+    GET,
+    SET,
+    DELETE
+}
@@ -0,0 +1,70 @@
+package net.cybermak.integration.remedy.simulator;
+
+import net.cybermak.integration.remedy.form.FormHandler;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * FormHandler backed by the {@link RemedySimulator}
+ * Shares one session between callers, as a pooled login would, and logs in
+ * again once when the stand-in reports the session has expired.
+ */
+public class SimulatedFormHandler implements FormHandler {
+    
+    private final RemedySimulator simulator;
+    private final String user;
+    private volatile RemedySimulator.Session session;
+    
+    public SimulatedFormHandler(RemedySimulator simulator, String user) {
+        this.simulator = simulator;
+        this.user = user;
+    }
+    
+    @Override
+    public String createEntry(String formName, Map<String, Object> fields) {
+        return withSession(current -> simulator.createEntry(current, formName, fields));
+    }
+    
+    @Override
+    public Map<String, Object> getEntry(String formName, String entryId) {
+        return withSession(current -> simulator.getEntry(current, formName, entryId));
+    }
+    
+    @Override
+    public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+        withSession(current -> {
+            simulator.setEntry(current, formName, entryId, updates);
+            return null;
+        });
+    }
+    
+    @Override
+    public void deleteEntry(String formName, String entryId) {
+        withSession(current -> {
+            simulator.deleteEntry(current, formName, entryId);
+            return null;
+        });
+    }
+    
+    private <T> T withSession(Function<RemedySimulator.Session, T> operation) {
+        RemedySimulator.Session current = session;
+        if (current == null) {
+            current = login();
+        }
+        try {
+            return operation.apply(current);
+        } catch (SimulatedRemedyException e) {
+            if (e.getCode() != RemedySimulator.AUTHENTICATION_FAILED) {
+                throw e;
+            }
+            return operation.apply(login());
+        }
+    }
+    
+    private RemedySimulator.Session login() {
+        RemedySimulator.Session current = simulator.login(user);
+        session = current;
+        return current;
+    }
+}
@@ -0,0 +1,17 @@
+package net.cybermak.integration.remedy.simulator;
+
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+
+/**
+ * Error returned by the Remedy stand-in, carrying the ARERR number Remedy would report
+ */
+public class SimulatedRemedyException extends RemedyConnectionException {
+    
+    public SimulatedRemedyException(int code, String message) {
+        super(code, "ERROR (" + code + "): " + message);
+    }
+    
+    public int getCode() {
+        return getErrorCode();
+    }
+}
@@ -10,6 +10,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebM
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import java.util.Map;
@@ -62,7 +65,7 @@ class EndToEndIntegrationTest {
             "submitter", "integration.test@example.com"
         );
 
-        mockMvc.perform(post("/api/v1/integration/incident")
+        performAsync(post("/api/v1/integration/incident")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(incidentData)))
                 .andExpect(status().isCreated())
@@ -82,7 +85,7 @@ class EndToEndIntegrationTest {
             // Missing required fields: description, priority, submitter
         );
 
-        mockMvc.perform(post("/api/v1/integration/incident")
+        performAsync(post("/api/v1/integration/incident")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(invalidIncident)))
                 .andExpect(status().isBadRequest())
@@ -103,7 +106,7 @@ class EndToEndIntegrationTest {
             "submitter", "test@example.com"
         );
 
-        String createResponse = mockMvc.perform(post("/api/v1/integration/incident")
+        String createResponse = performAsync(post("/api/v1/integration/incident")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(incidentData)))
                 .andExpect(status().isCreated())
@@ -117,7 +120,7 @@ class EndToEndIntegrationTest {
         String incidentId = (String) data.get("incidentId");
 
         // Then retrieve the incident
-        mockMvc.perform(get("/api/v1/integration/incident/" + incidentId)
+        performAsync(get("/api/v1/integration/incident/" + incidentId)
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status", is("SUCCESS")))
@@ -135,7 +138,7 @@ class EndToEndIntegrationTest {
             "field2", "value2"
         );
 
-        mockMvc.perform(post("/api/v1/integration/nonexistent")
+        performAsync(post("/api/v1/integration/nonexistent")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestData)))
                 .andExpect(status().isNotFound())
@@ -167,4 +170,14 @@ class EndToEndIntegrationTest {
         mockMvc.perform(get("/v3/api-docs"))
                 .andExpect(status().isOk());
     }
+
+    /**
+     * Performs a request against an async endpoint and dispatches its result
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package net.cybermak.integration.allocation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.api.bridge.IncidentModuleBridge;
+import net.cybermak.integration.api.controller.CreateIncidentController;
+import net.cybermak.integration.api.controller.GenericIntegrationController;
+import net.cybermak.integration.api.logging.PayloadLogger;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
+import net.cybermak.integration.api.service.CreateIncidentService;
+import net.cybermak.integration.api.service.modern.ModuleService;
+import net.cybermak.integration.config.AdmissionProperties;
+import net.cybermak.integration.config.AsyncProperties;
+import net.cybermak.integration.config.PayloadLoggingProperties;
+import net.cybermak.integration.config.SecurityConfig;
+import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.modules.incident.IncidentModule;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.PooledFormHandler;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.form.FormHandler;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import net.cybermak.integration.remedy.limit.ConcurrencyLimitedFormHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * TDD Test: bytes allocated per request on the incident storm path stay within
+ * the budgets committed in allocation-budgets.properties
+ * 
+ * Remedy is replaced by fixed responses so only our own allocations count;
+ * legacy incidents still go through the limiter and the connection pool.
+ * Logging runs at INFO, as in production.
+ */
+class AllocationBudgetTest {
+
+    private static final String INCIDENT_ID = "INC000000000001";
+
+    private static final Map<String, Object> ALERT = Map.of(
+        "sourceOfCreation", "SCOM",
+        "alertName", "CPU above threshold",
+        "alertDescription", "CPU usage above 95% for 10 minutes on app-server-01",
+        "severity", "1-Critical",
+        "alertLimitCategory", "Performance",
+        "add1", "app-server-01",
+        "add2", "production"
+    );
+
+    private static final Map<String, Object> INCIDENT = Map.of(
+        "summary", "CPU above threshold",
+        "description", "CPU usage above 95% for 10 minutes on app-server-01",
+        "priority", "High",
+        "submitter", "monitoring@example.com"
+    );
+
+    private final Logger applicationLogger = (Logger) LoggerFactory.getLogger("net.cybermak.integration");
+    private Level previousLevel;
+    private Properties budgets;
+    private RemedyConnectionManager connectionManager;
+    private FormHandler remedy;
+    private CreateIncidentService createIncidentService;
+    private AdmissionQueue admissionQueue;
+    private PayloadLogger payloadLogger;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        assumeTrue(AllocationMeter.isSupported(), "per-thread allocation counters are not available");
+        previousLevel = applicationLogger.getLevel();
+        applicationLogger.setLevel(Level.INFO);
+
+        budgets = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/allocation-budgets.properties")) {
+            budgets.load(in);
+        }
+
+        RemedyConnectionProperties connectionProperties = new RemedyConnectionProperties();
+        RemedyConnectionProperties.ServerConfig server = new RemedyConnectionProperties.ServerConfig();
+        server.setName("remedy");
+        server.setUsername("demo");
+        server.setPassword("demo");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        connectionManager = new RemedyConnectionManager(connectionProperties, meterRegistry, FixedServerUser::new);
+        remedy = new ConcurrencyLimitedFormHandler(new PooledFormHandler(connectionManager, () -> server),
+            new AdaptiveConcurrencyLimiter(connectionProperties, meterRegistry));
+        createIncidentService = new CreateIncidentService(remedy);
+        admissionQueue = new AdmissionQueue(new AdmissionProperties(), meterRegistry, Runnable::run);
+        payloadLogger = new PayloadLogger(new PayloadLoggingProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationLogger.setLevel(previousLevel);
+        if (connectionManager != null) {
+            connectionManager.shutdown();
+        }
+    }
+
+    @Test
+    void incidentModuleCreateStaysWithinBudget() throws Exception {
+        IncidentModule module = new IncidentModule(new FixedFormHandler());
+
+        assertWithinBudget("incidentModule.create", () -> module.process(request("incident", INCIDENT)));
+    }
+
+    @Test
+    void incidentModuleBridgeCreateStaysWithinBudget() throws Exception {
+        IncidentModuleBridge bridge = new IncidentModuleBridge(createIncidentService, remedy);
+
+        assertWithinBudget("incidentModuleBridge.create", () -> bridge.process(request("legacy-incident", ALERT)));
+    }
+
+    @Test
+    void createInBoundEntryStaysWithinBudget() throws Exception {
+        Entry entry = IncidentEntry.fromData(ALERT).getEntry();
+
+        assertWithinBudget("createIncidentService.createInBoundEntry",
+            () -> createIncidentService.createInBoundEntry(entry));
+    }
+
+    @Test
+    void legacyCreateIncidentControllerStaysWithinBudget() throws Exception {
+        SecurityConfig securityConfig = new SecurityConfig();
+        securityConfig.getApiKey().setLegacyKey("10");
+        CreateIncidentController controller = new CreateIncidentController(createIncidentService, securityConfig,
+            admissionQueue, payloadLogger, new AsyncProperties());
+        Map<String, Object> alert = new HashMap<>(ALERT);
+        alert.put("key", "10");
+
+        assertWithinBudget("createIncidentController.createIncident",
+            () -> controller.createIncident(IncidentEntry.fromData(alert), null, null));
+    }
+
+    @Test
+    void genericControllerCreateStaysWithinBudget() throws Exception {
+        GenericIntegrationController controller = genericController();
+
+        assertWithinBudget("genericController.create",
+            () -> controller.createEntry("incident", null, null, INCIDENT).join());
+    }
+
+    @Test
+    void genericControllerGetStaysWithinBudget() throws Exception {
+        GenericIntegrationController controller = genericController();
+
+        assertWithinBudget("genericController.get",
+            () -> controller.getEntry("incident", INCIDENT_ID, null).join());
+    }
+
+    private void assertWithinBudget(String path, AllocationMeter.Call call) throws Exception {
+        long budget = Long.parseLong(budgets.getProperty(path));
+
+        long allocated = AllocationMeter.bytesPerCall(call);
+
+        assertThat(allocated)
+            .as("bytes allocated per %s call (budget %d)", path, budget)
+            .isLessThanOrEqualTo(budget);
+    }
+
+    private GenericIntegrationController genericController() {
+        ModuleRegistry moduleRegistry = new ModuleRegistry();
+        moduleRegistry.registerModule(new IncidentModule(new FixedFormHandler()));
+        // Run module work on the caller so its allocations are counted on this thread
+        ModuleService moduleService = new ModuleService(moduleRegistry, Runnable::run, payloadLogger);
+        return new GenericIntegrationController(moduleService, admissionQueue, new AsyncProperties());
+    }
+
+    private static GenericRequest request(String moduleType, Map<String, Object> data) {
+        return GenericRequest.builder()
+            .moduleType(moduleType)
+            .operation("create")
+            .data(data)
+            .build();
+    }
+
+    /**
+     * Remedy user that accepts every call without a server
+     */
+    private static final class FixedServerUser extends ARServerUser {
+
+        @Override
+        public void verifyUser() {
+        }
+
+        @Override
+        public String createEntry(String formName, Entry entry) {
+            return INCIDENT_ID;
+        }
+    }
+
+    /**
+     * Form handler answering every call with the same incident
+     */
+    private static final class FixedFormHandler implements FormHandler {
+
+        private static final Map<String, Object> ENTRY = Map.of(
+            "Incident_Number", INCIDENT_ID,
+            "Short_Description", "CPU above threshold",
+            "Priority", "High",
+            "Status", "New"
+        );
+
+        @Override
+        public String createEntry(String formName, Map<String, Object> fields) {
+            return INCIDENT_ID;
+        }
+
+        @Override
+        public Map<String, Object> getEntry(String formName, String entryId) {
+            return ENTRY;
+        }
+
+        @Override
+        public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+        }
+
+        @Override
+        public void deleteEntry(String formName, String entryId) {
+        }
+    }
+}
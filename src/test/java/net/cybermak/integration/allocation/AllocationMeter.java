@@ -0,0 +1,56 @@
+package net.cybermak.integration.allocation;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures bytes allocated per call on the calling thread with the
+ * HotSpot per-thread allocation counter
+ */
+final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 2_000;
+    private static final int ROUNDS = 5;
+
+    private AllocationMeter() {}
+
+    static boolean isSupported() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported()
+            && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Returns the bytes one call allocates once warmed up
+     * Takes the lowest average of several rounds, so a GC or deoptimization
+     * landing in one round does not count against the call.
+     */
+    static long bytesPerCall(Call call) throws Exception {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                call.run();
+            }
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+            lowest = Math.min(lowest, allocated / MEASURED_CALLS);
+        }
+        return lowest;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+            return threads;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    interface Call {
+        void run() throws Exception;
+    }
+}
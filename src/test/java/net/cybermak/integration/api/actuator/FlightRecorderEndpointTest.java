@@ -0,0 +1,64 @@
+package net.cybermak.integration.api.actuator;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.cybermak.integration.config.FlightRecorderProperties;
+import net.cybermak.integration.core.jfr.RemedyCallEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: on-demand JFR recordings of integration events
+ */
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        FlightRecorderProperties properties = new FlightRecorderProperties();
+        properties.setDirectory(directory.toString());
+        endpoint = new FlightRecorderEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+
+    @Test
+    void shouldReportNoRecordingInitially() {
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+    }
+
+    @Test
+    void shouldRecordRemedyCallsUntilStopped() throws Exception {
+        Map<String, Object> started = endpoint.start(null, 60000L);
+        assertThat(started).containsEntry("state", "RUNNING");
+        assertThat(endpoint.start(null, null).get("file")).isEqualTo(started.get("file"));
+
+        RemedyCallEvent.record("createEntry", "HPD:Help Desk", "remedy-01", () -> "INC000000000001");
+        Map<String, Object> stopped = endpoint.stop();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of((String) stopped.get("file")));
+        assertThat(events)
+            .filteredOn(event -> event.getEventType().getName().equals("net.cybermak.integration.RemedyCall"))
+            .singleElement()
+            .satisfies(event -> {
+                assertThat(event.getString("operation")).isEqualTo("createEntry");
+                assertThat(event.getString("server")).isEqualTo("remedy-01");
+                assertThat(event.getBoolean("success")).isTrue();
+            });
+    }
+}
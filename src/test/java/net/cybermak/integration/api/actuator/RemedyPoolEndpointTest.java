@@ -0,0 +1,122 @@
+package net.cybermak.integration.api.actuator;
+
+import com.bmc.arsys.api.ARServerUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.config.AdmissionProperties;
+import net.cybermak.integration.config.IngestionProperties;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: Remedy pool statistics and live tuning
+ */
+class RemedyPoolEndpointTest {
+
+    private RemedyConnectionManager connectionManager;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private AdmissionQueue admissionQueue;
+    private IngestionProperties ingestionProperties;
+    private RemedyPoolEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RemedyConnectionProperties properties = new RemedyConnectionProperties();
+        connectionManager = new RemedyConnectionManager(properties, meterRegistry, () -> new ARServerUser() {
+            @Override
+            public void verifyUser() {
+            }
+        });
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        admissionQueue = new AdmissionQueue(new AdmissionProperties(), meterRegistry, Runnable::run);
+        ingestionProperties = new IngestionProperties();
+        endpoint = new RemedyPoolEndpoint(connectionManager, concurrencyLimiter, admissionQueue, ingestionProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        admissionQueue.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportEachServerPool() {
+        connectionManager.getConnection();
+        connectionManager.releaseConnection(connectionManager.getConnection());
+
+        List<Map<String, Object>> servers = (List<Map<String, Object>>) endpoint.pools().get("servers");
+
+        assertThat(servers).hasSize(1);
+        assertThat(servers.get(0))
+            .containsEntry("server", "localhost:6000:test")
+            .containsEntry("active", 1)
+            .containsEntry("idle", 1)
+            .containsEntry("created", 2L)
+            .containsKey("borrowTime");
+    }
+
+    @Test
+    void shouldApplyTunedSettings() {
+        Map<String, Object> settings = endpoint.tune(4, 1, 2, 8, 10, 5, 32, 30000L, true);
+
+        assertThat(settings)
+            .containsEntry("maxSize", 4)
+            .containsEntry("minIdle", 1)
+            .containsEntry("maxLimit", 8)
+            .containsEntry("maxConcurrent", 5)
+            .containsEntry("ingestionConcurrency", 32)
+            .containsEntry("leakThreshold", 30000L)
+            .containsEntry("reclaimLeaks", true);
+        assertThat(concurrencyLimiter.getLimit()).isBetween(2, 8);
+        assertThat(admissionQueue.getMaxConcurrent()).isEqualTo(5);
+        assertThat(ingestionProperties.getConcurrency()).isEqualTo(32);
+    }
+
+    @Test
+    void shouldLeaveOmittedSettingsUnchanged() {
+        Map<String, Object> before = endpoint.pools();
+
+        endpoint.tune(null, null, null, null, null, 7, null, null, null);
+
+        assertThat(connectionManager.getPoolConfig().getMaxSize()).isEqualTo(10);
+        assertThat(concurrencyLimiter.getConfig().getMaxLimit()).isEqualTo(50);
+        assertThat(before.get("settings")).isNotEqualTo(endpoint.pools().get("settings"));
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> endpoint.tune(2, 3, null, null, null, null, null, null, null))
+            .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.tune(null, null, 10, 5, null, null, null, null, null))
+            .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.tune(null, null, null, null, null, 0, null, null, null))
+            .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.tune(null, null, null, null, null, null, null, 0L, null))
+            .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThat(connectionManager.getPoolConfig().getMaxSize()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldApplyNothingWhenAnySettingIsInvalid() {
+        Object before = endpoint.pools().get("settings");
+
+        assertThatThrownBy(() -> endpoint.tune(4, 1, 10, 5, null, 7, 32, 30000L, true))
+            .isInstanceOf(InvalidEndpointRequestException.class);
+
+        assertThat(endpoint.pools().get("settings")).isEqualTo(before);
+        assertThat(connectionManager.getPoolConfig().getMaxSize()).isEqualTo(10);
+        assertThat(admissionQueue.getMaxConcurrent()).isNotEqualTo(7);
+    }
+}
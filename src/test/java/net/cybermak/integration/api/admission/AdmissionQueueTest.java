@@ -0,0 +1,290 @@
+package net.cybermak.integration.api.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.config.AdmissionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Severity-prioritized admission queue tests
+ */
+class AdmissionQueueTest {
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setMaxConcurrent(1);
+        properties.setMaxQueue(1);
+        properties.setShedThresholds(Map.of(PriorityClass.LOW, 1));
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldMapSeverityLabelsToClasses() {
+        assertThat(PriorityClass.fromSeverity("1-Critical")).isEqualTo(PriorityClass.CRITICAL);
+        assertThat(PriorityClass.fromSeverity("Major")).isEqualTo(PriorityClass.HIGH);
+        assertThat(PriorityClass.fromSeverity("Warning")).isEqualTo(PriorityClass.MEDIUM);
+        assertThat(PriorityClass.fromSeverity("4-Low")).isEqualTo(PriorityClass.LOW);
+        assertThat(PriorityClass.fromSeverity(null)).isEqualTo(PriorityClass.MEDIUM);
+        assertThat(PriorityClass.of(Map.of("priority", "High"))).isEqualTo(PriorityClass.HIGH);
+    }
+
+    @Test
+    void shouldRunImmediatelyWhenCapacityIsAvailable() {
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+
+        assertThat(queue.admit(PriorityClass.LOW, () -> "done")).isEqualTo("done");
+        assertThat(queue.getRunning()).isZero();
+    }
+
+    @Test
+    void shouldShedLowestClassFirst() throws Exception {
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> holder = executor.submit(() -> queue.admit(PriorityClass.MEDIUM, () -> {
+            await(release);
+            return "holder";
+        }));
+        waitUntil(() -> queue.getRunning() == 1);
+
+        Future<String> low = executor.submit(() -> queue.admit(PriorityClass.LOW, () -> "low"));
+        waitUntil(() -> queue.getQueued(PriorityClass.LOW) == 1);
+
+        // LOW threshold reached: a second LOW request is shed on arrival
+        assertThatThrownBy(() -> queue.admit(PriorityClass.LOW, () -> "rejected"))
+            .isInstanceOf(AdmissionRejectedException.class)
+            .satisfies(e -> assertThat(((AdmissionRejectedException) e).getRetryAfterSeconds()).isEqualTo(5));
+
+        // A CRITICAL request displaces the waiting LOW request
+        Future<String> critical = executor.submit(() -> queue.admit(PriorityClass.CRITICAL, () -> "critical"));
+        assertThatThrownBy(() -> low.get(1, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(AdmissionRejectedException.class);
+
+        release.countDown();
+        assertThat(holder.get(1, TimeUnit.SECONDS)).isEqualTo("holder");
+        assertThat(critical.get(1, TimeUnit.SECONDS)).isEqualTo("critical");
+        assertThat(meterRegistry.get("admission.shed").tag("class", "low").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldGrantFreedSlotToHighestClass() throws Exception {
+        properties.setShedThresholds(Map.of());
+        properties.setMaxQueue(10);
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CountDownLatch release = new CountDownLatch(1);
+        StringBuffer order = new StringBuffer();
+
+        executor.submit(() -> queue.admit(PriorityClass.MEDIUM, () -> {
+            await(release);
+            return null;
+        }));
+        waitUntil(() -> queue.getRunning() == 1);
+
+        Future<?> low = executor.submit(() -> queue.admit(PriorityClass.LOW, () -> order.append("low ")));
+        waitUntil(() -> queue.getQueued(PriorityClass.LOW) == 1);
+        Future<?> high = executor.submit(() -> queue.admit(PriorityClass.HIGH, () -> order.append("high ")));
+        waitUntil(() -> queue.getQueued(PriorityClass.HIGH) == 1);
+
+        release.countDown();
+        high.get(1, TimeUnit.SECONDS);
+        low.get(1, TimeUnit.SECONDS);
+
+        assertThat(order.toString()).isEqualTo("high low ");
+    }
+
+    @Test
+    void shouldShareSlotsBetweenSourcesByWeight() throws Exception {
+        properties.setShedThresholds(Map.of());
+        properties.setMaxQueue(10);
+        AdmissionProperties.Source zabbix = new AdmissionProperties.Source();
+        zabbix.setWeight(2);
+        properties.getFairness().setSources(Map.of("Zabbix", zabbix));
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CountDownLatch release = new CountDownLatch(1);
+        StringBuffer order = new StringBuffer();
+
+        executor.submit(() -> queue.admit(PriorityClass.MEDIUM, () -> {
+            await(release);
+            return null;
+        }));
+        waitUntil(() -> queue.getRunning() == 1);
+
+        List<Future<?>> pending = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            pending.add(enqueue(queue, "Zabbix", order));
+            int expected = i;
+            waitUntil(() -> queue.getQueued("Zabbix") == expected);
+        }
+        for (int i = 1; i <= 2; i++) {
+            pending.add(enqueue(queue, "SCOM", order));
+            int expected = i;
+            waitUntil(() -> queue.getQueued("SCOM") == expected);
+        }
+
+        release.countDown();
+        for (Future<?> future : pending) {
+            future.get(1, TimeUnit.SECONDS);
+        }
+
+        assertThat(order.toString()).isEqualTo("Zabbix SCOM Zabbix Zabbix SCOM Zabbix ");
+        assertThat(queue.getQueued("Zabbix")).isZero();
+    }
+
+    @Test
+    void shouldShedWhenSourceQueueIsFull() throws Exception {
+        properties.setShedThresholds(Map.of());
+        properties.setMaxQueue(10);
+        properties.getFairness().setMaxQueuePerSource(1);
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CountDownLatch release = new CountDownLatch(1);
+        StringBuffer order = new StringBuffer();
+
+        executor.submit(() -> queue.admit(PriorityClass.MEDIUM, () -> {
+            await(release);
+            return null;
+        }));
+        waitUntil(() -> queue.getRunning() == 1);
+
+        Future<?> noisy = enqueue(queue, "noisy", order);
+        waitUntil(() -> queue.getQueued("noisy") == 1);
+
+        // The noisy source is at its bound, other sources are still queued
+        assertThatThrownBy(() -> queue.admit(PriorityClass.MEDIUM, "noisy", () -> "rejected"))
+            .isInstanceOf(AdmissionRejectedException.class)
+            .hasMessageContaining("source n...")
+            .hasMessageNotContaining("noisy");
+        Future<?> quiet = enqueue(queue, "quiet", order);
+        waitUntil(() -> queue.getQueued("quiet") == 1);
+
+        release.countDown();
+        noisy.get(1, TimeUnit.SECONDS);
+        quiet.get(1, TimeUnit.SECONDS);
+        assertThat(order.toString()).isEqualTo("noisy quiet ");
+    }
+
+    @Test
+    void shouldForgetSourcesShedOnArrival() throws Exception {
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CompletableFuture<String> remedyCall = new CompletableFuture<>();
+        queue.admitAsync(PriorityClass.MEDIUM, "SCOM", () -> remedyCall);
+        CompletableFuture<String> low = queue.admitAsync(PriorityClass.LOW, "SCOM",
+            () -> CompletableFuture.completedFuture("low"));
+
+        // LOW threshold reached: a request from a new source is shed without being tracked
+        CompletableFuture<String> shed = queue.admitAsync(PriorityClass.LOW, "Zabbix",
+            () -> CompletableFuture.completedFuture("shed"));
+
+        assertThatThrownBy(() -> shed.get(1, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(AdmissionRejectedException.class);
+        assertThat(queue.getSourceCount()).isEqualTo(1);
+
+        remedyCall.complete("first");
+        assertThat(low.get(1, TimeUnit.SECONDS)).isEqualTo("low");
+        queue.shutdown();
+    }
+
+    @Test
+    void shouldHoldSlotUntilAsyncWorkCompletes() throws Exception {
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CompletableFuture<String> remedyCall = new CompletableFuture<>();
+
+        CompletableFuture<String> first = queue.admitAsync(PriorityClass.MEDIUM, "SCOM", () -> remedyCall);
+        assertThat(queue.getRunning()).isEqualTo(1);
+
+        // The second request waits off the calling thread until the first completes
+        CompletableFuture<String> second = queue.admitAsync(PriorityClass.MEDIUM, "SCOM",
+            () -> CompletableFuture.completedFuture("second"));
+        waitUntil(() -> queue.getQueued(PriorityClass.MEDIUM) == 1);
+        assertThat(second).isNotDone();
+
+        remedyCall.complete("first");
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(queue.getRunning()).isZero();
+        queue.shutdown();
+    }
+
+    @Test
+    void shouldStartQueuedAsyncWorkOnTheExecutor() throws Exception {
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CompletableFuture<String> remedyCall = new CompletableFuture<>();
+        queue.admitAsync(PriorityClass.MEDIUM, "SCOM", () -> remedyCall);
+
+        CompletableFuture<Thread> second = queue.admitAsync(PriorityClass.MEDIUM, "SCOM",
+            () -> CompletableFuture.completedFuture(Thread.currentThread()));
+
+        // Freeing the slot does not run the next request's work on the freeing thread
+        remedyCall.complete("first");
+        assertThat(second.get(1, TimeUnit.SECONDS)).isNotSameAs(Thread.currentThread());
+        assertThat(queue.getRunning()).isZero();
+        queue.shutdown();
+    }
+
+    @Test
+    void shouldFailQueuedAsyncRequestsAfterTheMaxWaitTime() throws Exception {
+        properties.setMaxWaitTime(50);
+        AdmissionQueue queue = new AdmissionQueue(properties, meterRegistry, executor);
+        CompletableFuture<String> remedyCall = new CompletableFuture<>();
+        queue.admitAsync(PriorityClass.MEDIUM, "SCOM", () -> remedyCall);
+
+        CompletableFuture<String> waiting = queue.admitAsync(PriorityClass.MEDIUM, "SCOM",
+            () -> CompletableFuture.completedFuture("never"));
+
+        assertThatThrownBy(() -> waiting.get(1, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(AdmissionRejectedException.class);
+        assertThat(queue.getQueued()).isZero();
+
+        remedyCall.complete("first");
+        assertThat(queue.getRunning()).isZero();
+        queue.shutdown();
+    }
+
+    private Future<?> enqueue(AdmissionQueue queue, String source, StringBuffer order) {
+        return executor.submit(() -> queue.admit(PriorityClass.MEDIUM, source, () -> order.append(source).append(' ')));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) {
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < giveUp) {
+            Thread.yield();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
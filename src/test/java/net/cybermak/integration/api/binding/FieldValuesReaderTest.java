@@ -0,0 +1,92 @@
+package net.cybermak.integration.api.binding;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.cybermak.integration.core.model.FieldSchema;
+import net.cybermak.integration.core.model.FieldValues;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: binding JSON request bodies into a module field schema
+ */
+class FieldValuesReaderTest {
+
+    private static final FieldSchema SCHEMA = FieldSchema.of("incidentId", "alertName", "severity");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldBindSchemaFieldsIntoSlots() throws Exception {
+        FieldValues values = read("{\"alertName\":\"CPU high\",\"severity\":2,\"incidentId\":null}");
+
+        assertThat(values.get(SCHEMA.slotOf("alertName"))).isEqualTo("CPU high");
+        assertThat(values.get(SCHEMA.slotOf("severity"))).isEqualTo(2);
+        assertThat(values).containsOnlyKeys("alertName", "severity", "incidentId");
+    }
+
+    @Test
+    void shouldKeepExplicitNullsApartFromAbsentFields() throws Exception {
+        FieldValues values = read("{\"alertName\":null,\"extra\":null}");
+
+        assertThat(values).hasSize(2).containsEntry("alertName", null).containsEntry("extra", null);
+        assertThat(values.isPresent(SCHEMA.slotOf("alertName"))).isTrue();
+        assertThat(values.isPresent(SCHEMA.slotOf("severity"))).isFalse();
+        assertThat(values).doesNotContainKey("severity");
+
+        values.remove("alertName");
+        assertThat(values).containsOnlyKeys("extra");
+    }
+
+    @Test
+    void shouldKeepFieldsOutsideSchema() throws Exception {
+        FieldValues values = read("{\"alertName\":\"CPU high\",\"tags\":[\"a\",\"b\"],\"extra\":{\"x\":true}}");
+
+        assertThat(values).hasSize(3);
+        assertThat(values.get("tags")).isEqualTo(List.of("a", "b"));
+        assertThat(values.get("extra")).isEqualTo(Map.of("x", true));
+        assertThat(values).isEqualTo(Map.of("alertName", "CPU high", "tags", List.of("a", "b"),
+            "extra", Map.of("x", true)));
+    }
+
+    @Test
+    void shouldCopyOnWith() throws Exception {
+        FieldValues values = read("{\"alertName\":\"CPU high\"}");
+
+        FieldValues updated = values.with("incidentId", "INC1");
+
+        assertThat(updated).containsEntry("incidentId", "INC1").containsEntry("alertName", "CPU high");
+        assertThat(values).doesNotContainKey("incidentId");
+    }
+
+    @Test
+    void shouldReadArrayOfObjects() throws Exception {
+        try (JsonParser parser = objectMapper.createParser("[{\"alertName\":\"a\"},{\"alertName\":\"b\"}]")) {
+            parser.nextToken();
+
+            List<Map<String, Object>> items = FieldValuesReader.readArray(parser, SCHEMA);
+
+            assertThat(items).extracting(item -> item.get("alertName")).containsExactly("a", "b");
+        }
+    }
+
+    @Test
+    void shouldRejectNonObjectBody() {
+        assertThatThrownBy(() -> read("[1, 2]"))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessageContaining("Expected a JSON object");
+    }
+
+    private FieldValues read(String json) throws Exception {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            return FieldValuesReader.readObject(parser, SCHEMA);
+        }
+    }
+}
\ No newline at end of file
@@ -1,25 +1,55 @@
 package net.cybermak.integration.api.controller;
 
+import com.bmc.arsys.api.ARServerUser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.api.bridge.IncidentModuleBridge;
+import net.cybermak.integration.api.logging.PayloadLogger;
+import net.cybermak.integration.api.service.CreateIncidentService;
+import net.cybermak.integration.api.service.modern.ModuleService;
+import net.cybermak.integration.config.AdmissionProperties;
+import net.cybermak.integration.config.AsyncProperties;
+import net.cybermak.integration.config.PayloadLoggingProperties;
+import net.cybermak.integration.config.WebMvcConfiguration;
 import net.cybermak.integration.core.ModuleRegistry;
 import net.cybermak.integration.core.model.GenericRequest;
 import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.timing.Deadline;
 import net.cybermak.integration.modules.incident.IncidentModule;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.PooledFormHandler;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
 import net.cybermak.integration.remedy.form.FormHandler;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import net.cybermak.integration.remedy.limit.ConcurrencyLimitedFormHandler;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,7 +60,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @WebMvcTest(controllers = GenericIntegrationController.class, 
             useDefaultFilters = false)
-@Import({TestConfig.class})
+@Import({TestConfig.class, WebMvcConfiguration.class})
 class GenericIntegrationControllerTest {
 
     @Autowired
@@ -66,6 +96,7 @@ class GenericIntegrationControllerTest {
         
         IncidentModule mockIncidentModule = new IncidentModule(formHandler);
         when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(mockIncidentModule));
+        when(moduleRegistry.getRoute("incident")).thenReturn(Optional.of(ModuleRegistry.Route.of(mockIncidentModule)));
         when(formHandler.createEntry(any(), any())).thenReturn("INC000000000123");
 
         Map<String, Object> requestData = Map.of(
@@ -75,7 +106,7 @@ class GenericIntegrationControllerTest {
             "submitter", "test.user@example.com"
         );
 
-        mockMvc.perform(post("/api/v1/integration/incident")
+        performAsync(post("/api/v1/integration/incident")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestData)))
                 .andExpect(status().isCreated())
@@ -90,6 +121,7 @@ class GenericIntegrationControllerTest {
         
         IncidentModule mockIncidentModule = new IncidentModule(formHandler);
         when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(mockIncidentModule));
+        when(moduleRegistry.getRoute("incident")).thenReturn(Optional.of(ModuleRegistry.Route.of(mockIncidentModule)));
         when(formHandler.getEntry(any(), any())).thenReturn(Map.of(
             "Incident_Number", "INC000000000123",
             "Short_Description", "Test incident",
@@ -97,7 +129,7 @@ class GenericIntegrationControllerTest {
             "Status", "New"
         ));
 
-        mockMvc.perform(get("/api/v1/integration/incident/INC000000000123")
+        performAsync(get("/api/v1/integration/incident/INC000000000123")
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status", is("SUCCESS")))
@@ -111,13 +143,14 @@ class GenericIntegrationControllerTest {
         
         IncidentModule mockIncidentModule = new IncidentModule(formHandler);
         when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(mockIncidentModule));
+        when(moduleRegistry.getRoute("incident")).thenReturn(Optional.of(ModuleRegistry.Route.of(mockIncidentModule)));
 
         Map<String, Object> updateData = Map.of(
             "status", "In Progress",
             "priority", "Critical"
         );
 
-        mockMvc.perform(put("/api/v1/integration/incident/INC000000000123")
+        performAsync(put("/api/v1/integration/incident/INC000000000123")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateData)))
                 .andExpect(status().isOk())
@@ -132,13 +165,14 @@ class GenericIntegrationControllerTest {
         
         IncidentModule mockIncidentModule = new IncidentModule(formHandler);
         when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(mockIncidentModule));
+        when(moduleRegistry.getRoute("incident")).thenReturn(Optional.of(ModuleRegistry.Route.of(mockIncidentModule)));
 
         Map<String, Object> invalidData = Map.of(
             "summary", "Test incident"
             // Missing required fields
         );
 
-        mockMvc.perform(post("/api/v1/integration/incident")
+        performAsync(post("/api/v1/integration/incident")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(invalidData)))
                 .andExpect(status().isBadRequest())
@@ -156,7 +190,7 @@ class GenericIntegrationControllerTest {
             "field1", "value1"
         );
 
-        mockMvc.perform(post("/api/v1/integration/unknown")
+        performAsync(post("/api/v1/integration/unknown")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestData)))
                 .andExpect(status().isNotFound())
@@ -170,6 +204,7 @@ class GenericIntegrationControllerTest {
         
         IncidentModule mockIncidentModule = new IncidentModule(formHandler);
         when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(mockIncidentModule));
+        when(moduleRegistry.getRoute("incident")).thenReturn(Optional.of(ModuleRegistry.Route.of(mockIncidentModule)));
         when(formHandler.createEntry(any(), any()))
             .thenReturn("INC000000000123", "INC000000000124");
 
@@ -178,7 +213,7 @@ class GenericIntegrationControllerTest {
             Map.of("summary", "Incident 2", "description", "Desc 2", "priority", "Medium", "submitter", "user2@test.com")
         );
 
-        mockMvc.perform(post("/api/v1/integration/incident/batch")
+        performAsync(post("/api/v1/integration/incident/batch")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(batchData)))
                 .andExpect(status().isOk())
@@ -188,6 +223,88 @@ class GenericIntegrationControllerTest {
                 .andExpect(jsonPath("$.data.results[1].incidentId", is("INC000000000124")));
     }
 
+    @Test
+    void shouldNotShedLargeBatchesOnTheSourceQueueBound() throws Exception {
+        IncidentModule mockIncidentModule = new IncidentModule(formHandler);
+        when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(mockIncidentModule));
+        when(moduleRegistry.getRoute("incident")).thenReturn(Optional.of(ModuleRegistry.Route.of(mockIncidentModule)));
+        // Remedy holds the first items until the rest of the batch has had its chance to queue
+        CountDownLatch release = new CountDownLatch(1);
+        when(formHandler.createEntry(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "INC000000000123";
+        });
+
+        // Well over the default per-source queue bound of 50
+        List<Map<String, Object>> batchData = Collections.nCopies(120,
+            Map.of("summary", "Incident", "description", "Desc", "priority", "Low", "submitter", "user@test.com"));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/integration/incident/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchData)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        verify(formHandler, timeout(5000).atLeastOnce()).createEntry(any(), any());
+        release.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.results", hasSize(120)))
+                .andExpect(jsonPath("$.data.results[*].error").doesNotExist())
+                .andExpect(jsonPath("$.data.results[*].incidentId", everyItem(is("INC000000000123"))));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWhenRemedyExecutorIsFull() {
+        ModuleRegistry registry = new ModuleRegistry();
+        registry.registerModule(new IncidentModule(formHandler));
+        ModuleService moduleService = new ModuleService(registry, task -> {
+            throw new RejectedExecutionException("Remedy executor is full");
+        }, new PayloadLogger(new PayloadLoggingProperties()));
+        GenericIntegrationController controller = new GenericIntegrationController(moduleService,
+            new AdmissionQueue(new AdmissionProperties(), new SimpleMeterRegistry(), Runnable::run), new AsyncProperties());
+
+        ResponseEntity<GenericResponse> response = controller.getEntry("incident", "INC000000000123", null).join();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void shouldReturnGatewayTimeoutWhenIncidentDeadlinePassesInRemedy() throws Exception {
+        RemedyConnectionProperties connectionProperties = new RemedyConnectionProperties();
+        RemedyConnectionProperties.ServerConfig server = new RemedyConnectionProperties.ServerConfig();
+        server.setName("remedy");
+        server.setUsername("demo");
+        server.setPassword("demo");
+        // Login outlasts the request deadline, which has passed when the entry is created
+        ARServerUser slowLogin = new ARServerUser() {
+            @Override
+            public void verifyUser() {
+                Deadline deadline = Deadline.current();
+                while (!deadline.isExpired()) {
+                    LockSupport.parkNanos(deadline.remainingNanos());
+                }
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RemedyConnectionManager connectionManager = new RemedyConnectionManager(connectionProperties, meterRegistry,
+            () -> slowLogin);
+        FormHandler remedy = new ConcurrencyLimitedFormHandler(new PooledFormHandler(connectionManager, () -> server),
+            new AdaptiveConcurrencyLimiter(connectionProperties, meterRegistry));
+        ModuleRegistry registry = new ModuleRegistry();
+        registry.registerModule(new IncidentModuleBridge(new CreateIncidentService(remedy), remedy));
+        ModuleService moduleService = new ModuleService(registry, Runnable::run,
+            new PayloadLogger(new PayloadLoggingProperties()));
+        GenericIntegrationController controller = new GenericIntegrationController(moduleService,
+            new AdmissionQueue(new AdmissionProperties(), new SimpleMeterRegistry(), Runnable::run), new AsyncProperties());
+
+        ResponseEntity<GenericResponse> response = controller.createEntry("incident", null, 100L,
+            Map.of("alertName", "CPU", "alertDescription", "CPU above 90%", "severity", "1-Critical")).join();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        connectionManager.shutdown();
+    }
+
     @Test
     void shouldHandleInternalServerError() throws Exception {
         // Red Phase: Will fail until we implement error handling
@@ -219,8 +336,9 @@ class GenericIntegrationControllerTest {
         
         IncidentModule mockIncidentModule = new IncidentModule(formHandler);
         when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(mockIncidentModule));
+        when(moduleRegistry.getRoute("incident")).thenReturn(Optional.of(ModuleRegistry.Route.of(mockIncidentModule)));
 
-        mockMvc.perform(get("/api/v1/integration/incident/search")
+        performAsync(get("/api/v1/integration/incident/search")
                 .param("status", "New")
                 .param("priority", "High")
                 .accept(MediaType.APPLICATION_JSON))
@@ -228,4 +346,14 @@ class GenericIntegrationControllerTest {
                 .andExpect(jsonPath("$.status", is("SUCCESS")))
                 .andExpect(jsonPath("$.data.incidents", isA(List.class)));
     }
+
+    /**
+     * Performs a request against an async endpoint and dispatches its result
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
\ No newline at end of file
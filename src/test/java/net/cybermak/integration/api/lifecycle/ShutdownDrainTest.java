@@ -0,0 +1,136 @@
+package net.cybermak.integration.api.lifecycle;
+
+import com.bmc.arsys.api.ARServerUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.api.admission.AdmissionRejectedException;
+import net.cybermak.integration.api.admission.PriorityClass;
+import net.cybermak.integration.config.AdmissionProperties;
+import net.cybermak.integration.config.ShutdownProperties;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: draining Remedy work on shutdown
+ */
+class ShutdownDrainTest {
+
+    private ShutdownProperties properties;
+    private AdmissionQueue admissionQueue;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private ThreadPoolTaskExecutor remedyExecutor;
+    private RemedyConnectionManager connectionManager;
+    private ExecutorService callers;
+    private ShutdownDrain shutdownDrain;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        properties = new ShutdownProperties();
+        properties.setPollInterval(5);
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(new RemedyConnectionProperties(), meterRegistry);
+        remedyExecutor = new ThreadPoolTaskExecutor();
+        remedyExecutor.initialize();
+        admissionQueue = new AdmissionQueue(new AdmissionProperties(), meterRegistry, remedyExecutor);
+        connectionManager = new RemedyConnectionManager(new RemedyConnectionProperties(), meterRegistry,
+            () -> new ARServerUser() {
+                @Override
+                public void verifyUser() {
+                }
+            });
+        callers = Executors.newCachedThreadPool();
+        shutdownDrain = new ShutdownDrain(properties, admissionQueue, concurrencyLimiter, remedyExecutor,
+            connectionManager);
+        shutdownDrain.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        remedyExecutor.shutdown();
+        admissionQueue.shutdown();
+    }
+
+    @Test
+    void shouldFinishAdmittedWorkBeforeClosingConnections() throws Exception {
+        connectionManager.getConnection();
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> create = callers.submit(() -> admissionQueue.admit(PriorityClass.HIGH, () -> {
+            started.countDown();
+            return concurrencyLimiter.call(() -> {
+                sleep(100);
+                return "INC000000000001";
+            });
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        shutdownDrain.stop();
+
+        assertThat(create.get(5, TimeUnit.SECONDS)).isEqualTo("INC000000000001");
+        ShutdownDrain.Report report = shutdownDrain.getLastReport();
+        assertThat(report.getBefore().getAdmitted()).isEqualTo(1);
+        assertThat(report.getAbandoned().isIdle()).isTrue();
+        assertThat(report.getConnectionsClosed()).isEqualTo(1);
+        assertThat(shutdownDrain.isRunning()).isFalse();
+    }
+
+    @Test
+    void shouldShedNewRequestsOnceDraining() {
+        shutdownDrain.stop();
+
+        assertThat(admissionQueue.isClosed()).isTrue();
+        assertThatThrownBy(() -> admissionQueue.admit(PriorityClass.CRITICAL, () -> "INC000000000002"))
+            .isInstanceOf(AdmissionRejectedException.class)
+            .hasMessageContaining("shutting down");
+    }
+
+    @Test
+    void shouldGiveUpAfterTheGracePeriod() throws Exception {
+        properties.setGracePeriod(50);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        callers.submit(() -> admissionQueue.admit(PriorityClass.LOW, () -> {
+            started.countDown();
+            await(release);
+            return "INC000000000003";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        shutdownDrain.stop();
+        release.countDown();
+
+        ShutdownDrain.Report report = shutdownDrain.getLastReport();
+        assertThat(report.getAbandoned().getAdmitted()).isEqualTo(1);
+        assertThat(report.getElapsedMillis()).isLessThan(5000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
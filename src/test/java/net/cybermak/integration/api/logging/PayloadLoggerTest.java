@@ -0,0 +1,88 @@
+package net.cybermak.integration.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.cybermak.integration.config.PayloadLoggingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: sampled, redacted payload logging
+ */
+class PayloadLoggerTest {
+
+    private final PayloadLoggingProperties properties = new PayloadLoggingProperties();
+    private final PayloadLogger payloadLogger = new PayloadLogger(properties);
+    private final Logger logger = (Logger) LoggerFactory.getLogger(PayloadLoggerTest.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    void shouldRedactAndTruncatePayloadFields() {
+        properties.setSampleRate(1.0);
+        properties.setMaxValueLength(5);
+
+        payloadLogger.log(logger, "create", "incident", Map.of("key", "10", "alertName", "CPU above threshold"));
+
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> fields = appender.list.get(0).getKeyValuePairs().stream()
+            .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+        assertThat(fields)
+            .containsEntry("event", "create")
+            .containsEntry("payload.key", PayloadLogger.REDACTED)
+            .containsEntry("payload.alertName", "CPU a...(19 chars)");
+    }
+
+    @Test
+    void shouldNotBuildPayloadWhenNotSampled() {
+        properties.setSampleRate(0.0);
+
+        payloadLogger.log(logger, "create", "incident", () -> {
+            throw new AssertionError("payload built for an unsampled request");
+        });
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void shouldLogEveryPayloadAtDebug() {
+        properties.setSampleRate(0.0);
+        logger.setLevel(Level.DEBUG);
+
+        payloadLogger.log(logger, "search", "incident", Map.of("status", "Active"));
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("search payload for incident");
+    }
+
+    @Test
+    void shouldNotLogWhenDisabled() {
+        properties.setEnabled(false);
+        properties.setSampleRate(1.0);
+
+        payloadLogger.log(logger, "create", "incident", Map.of("alertName", "CPU"));
+
+        assertThat(appender.list).isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package net.cybermak.integration.api.model.requests;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: streaming legacy alert JSON into the staging form entry
+ */
+class IncidentEntryDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void shouldBindFieldsByStagingFormId() throws Exception {
+        IncidentEntry incident = objectMapper.readValue("{\"sourceOfCreation\":\"SCOM\",\"alertName\":\"CPU\","
+            + "\"alertDescription\":\"CPU above 95%\",\"severity\":\"1-Critical\",\"alertLimitCategory\":\"Perf\","
+            + "\"add1\":\"host\",\"add2\":\"prod\",\"key\":\"10\"}", IncidentEntry.class);
+
+        assertThat(incident.getKey()).isEqualTo("10");
+        assertThat(incident.getSeverity()).isEqualTo("1-Critical");
+        assertThat(incident.getSourceOfCreation()).isEqualTo("SCOM");
+        assertThat(incident.getEntry()).hasSize(7);
+        assertThat(incident.getEntry().get(IncidentEntry.ALERT_NAME_FIELD).getValue()).isEqualTo("CPU");
+        assertThat(incident.getEntry().get(IncidentEntry.ADD2_FIELD).getValue()).isEqualTo("prod");
+    }
+
+    @Test
+    void shouldMatchLegacyMappingForMissingAndScalarFields() throws Exception {
+        IncidentEntry incident = objectMapper.readValue(
+            "{\"alertName\":\"CPU\",\"severity\":2,\"ignored\":{\"a\":[1]},\"key\":\"10\"}", IncidentEntry.class);
+
+        // Missing fields are sent as null, numbers as text, as with IncidentDetails
+        assertThat(incident.getEntry()).containsOnlyKeys(IncidentEntry.from(new IncidentDetails()).getEntry().keySet());
+        assertThat(incident.getEntry().get(IncidentEntry.ADD1_FIELD).getValue()).isNull();
+        assertThat(incident.getSeverity()).isEqualTo("2");
+    }
+
+    @Test
+    void shouldDefaultTheKeyOfModuleRequests() {
+        assertThat(IncidentEntry.fromData(Map.of("alertName", "CPU")).getKey()).isEqualTo("10");
+        assertThat(IncidentEntry.fromData(Map.of("alertName", "CPU", "key", "")).getKey()).isEqualTo("10");
+        assertThat(IncidentEntry.fromData(Map.of("alertName", "CPU", "key", "20")).getKey()).isEqualTo("20");
+    }
+
+    @Test
+    void shouldRejectNonScalarFieldValues() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"alertName\":{\"x\":1}}", IncidentEntry.class))
+            .isInstanceOf(MismatchedInputException.class);
+    }
+
+    @Test
+    void shouldHonourFailOnUnknownProperties() {
+        ObjectMapper strict = new ObjectMapper();
+
+        assertThatThrownBy(() -> strict.readValue("{\"alertName\":\"CPU\",\"other\":1}", IncidentEntry.class))
+            .isInstanceOf(UnrecognizedPropertyException.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package net.cybermak.integration.api.service;
+
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Constants;
+import com.bmc.arsys.api.Entry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.PooledFormHandler;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import net.cybermak.integration.remedy.limit.ConcurrencyLimitedFormHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: incident creation on pooled Remedy connections, feeding Remedy
+ * outcomes to the concurrency limit
+ */
+class CreateIncidentServiceTest {
+
+    private static final int AUTHENTICATION_FAILED = 623;
+    private static final int REQUIRED_FIELD_MISSING = 326;
+    private static final int SERVER_BUSY = 91;
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private ScriptedServerUser serverUser;
+    private RemedyConnectionManager connectionManager;
+    private CreateIncidentService createIncidentService;
+
+    @BeforeEach
+    void setUp() {
+        RemedyConnectionProperties properties = new RemedyConnectionProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RemedyConnectionProperties.ServerConfig server = new RemedyConnectionProperties.ServerConfig();
+        server.setName("remedy");
+        server.setUsername("demo");
+        server.setPassword("demo");
+
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        serverUser = new ScriptedServerUser();
+        connectionManager = new RemedyConnectionManager(properties, meterRegistry, () -> serverUser);
+        createIncidentService = new CreateIncidentService(new ConcurrencyLimitedFormHandler(
+            new PooledFormHandler(connectionManager, () -> server), concurrencyLimiter));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    void shouldCreateIncident() {
+        assertThat(createIncidentService.createIncident(alert())).isEqualTo("INC000000000001");
+        assertThat(serverUser.fields).containsEntry(IncidentEntry.ALERT_NAME_FIELD, "CPU");
+        assertThat(concurrencyLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldLogInOnceForConsecutiveIncidents() {
+        createIncidentService.createIncident(alert());
+        createIncidentService.createIncident(alert());
+
+        assertThat(serverUser.logins).isEqualTo(1);
+        assertThat(connectionManager.getPoolStats().get(0).getActive()).isZero();
+        assertThat(connectionManager.getPoolStats().get(0).getIdle()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCreateWhenLoginIsRejected() {
+        int limit = concurrencyLimiter.getLimit();
+        serverUser.loginError = AUTHENTICATION_FAILED;
+
+        assertThat(createIncidentService.createIncident(alert())).isEmpty();
+
+        assertThat(serverUser.created).isFalse();
+        assertThat(concurrencyLimiter.getLimit()).isEqualTo(limit);
+        assertThat(concurrencyLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldLeaveLimitAloneOnBusinessErrors() {
+        int limit = concurrencyLimiter.getLimit();
+        serverUser.createError = REQUIRED_FIELD_MISSING;
+
+        assertThat(createIncidentService.createIncident(alert())).isEmpty();
+
+        assertThat(concurrencyLimiter.getLimit()).isEqualTo(limit);
+        assertThat(concurrencyLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldBackOffWhenRemedyIsBusy() {
+        int limit = concurrencyLimiter.getLimit();
+        serverUser.loginError = SERVER_BUSY;
+
+        assertThat(createIncidentService.createIncident(alert())).isEmpty();
+
+        assertThat(concurrencyLimiter.getLimit()).isLessThan(limit);
+    }
+
+    @Test
+    void shouldCloseConnectionsOfBusyServer() {
+        serverUser.createError = SERVER_BUSY;
+
+        assertThat(createIncidentService.createIncident(alert())).isEmpty();
+
+        assertThat(serverUser.loggedOut).isTrue();
+        assertThat(connectionManager.getPoolStats().get(0).getActive()).isZero();
+    }
+
+    private static IncidentEntry alert() {
+        return IncidentEntry.fromData(Map.of("sourceOfCreation", "SCOM", "alertName", "CPU",
+            "severity", "1-Critical"));
+    }
+
+    /**
+     * Remedy user failing login or createEntry with a chosen ARERR number
+     */
+    private static final class ScriptedServerUser extends ARServerUser {
+        private int loginError;
+        private int createError;
+        private int logins;
+        private boolean created;
+        private boolean loggedOut;
+        private final Map<Integer, Object> fields = new HashMap<>();
+
+        @Override
+        public void verifyUser() throws ARException {
+            if (loginError != 0) {
+                throw new ARException(Constants.AR_RETURN_ERROR, loginError, "ARERR " + loginError);
+            }
+            logins++;
+        }
+
+        @Override
+        public String createEntry(String formName, Entry entry) throws ARException {
+            if (createError != 0) {
+                throw new ARException(Constants.AR_RETURN_ERROR, createError, "ARERR " + createError);
+            }
+            entry.forEach((fieldId, value) -> fields.put(fieldId, value.getValue()));
+            created = true;
+            return "INC000000000001";
+        }
+
+        @Override
+        public void logout() {
+            loggedOut = true;
+        }
+    }
+}
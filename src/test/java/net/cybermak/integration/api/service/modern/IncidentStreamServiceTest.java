@@ -0,0 +1,96 @@
+package net.cybermak.integration.api.service.modern;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.admission.AdmissionQueue;
+import net.cybermak.integration.api.model.requests.IncidentDetails;
+import net.cybermak.integration.api.model.responses.IngestResult;
+import net.cybermak.integration.config.AdmissionProperties;
+import net.cybermak.integration.config.IngestionProperties;
+import net.cybermak.integration.config.SecurityConfig;
+import net.cybermak.integration.core.Module;
+import net.cybermak.integration.core.ModuleRegistry;
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.ValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * TDD Test: streaming incident ingestion
+ */
+class IncidentStreamServiceTest {
+
+    private Module module;
+    private IncidentStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        module = mock(Module.class);
+        when(module.getModuleType()).thenReturn("incident");
+        when(module.validate(any())).thenAnswer(invocation -> {
+            GenericRequest request = invocation.getArgument(0);
+            return request.getData().containsKey("alertName")
+                ? ValidationResult.valid()
+                : ValidationResult.invalid("alertName is required for incident creation");
+        });
+        when(module.process(any())).thenAnswer(invocation -> {
+            GenericRequest request = invocation.getArgument(0);
+            return GenericResponse.builder()
+                .status("SUCCESS")
+                .message("Incident created successfully")
+                .data(Map.of("incidentId", "INC-" + request.getData().get("alertName")))
+                .build();
+        });
+        when(module.processAsync(any(), any())).thenCallRealMethod();
+
+        ModuleRegistry moduleRegistry = mock(ModuleRegistry.class);
+        when(moduleRegistry.getModule("incident")).thenReturn(Optional.of(module));
+
+        SecurityConfig securityConfig = new SecurityConfig();
+        securityConfig.getApiKey().setLegacyKey("10");
+
+        service = new IncidentStreamService(moduleRegistry,
+            new AdmissionQueue(new AdmissionProperties(), new SimpleMeterRegistry(), Runnable::run),
+            securityConfig, new IngestionProperties(), Schedulers.boundedElastic());
+    }
+
+    @Test
+    void shouldEmitResultsInStreamOrder() {
+        List<IngestResult> results = service.ingest(Flux.just(
+                incident("a", "10"), incident("b", "10"), incident("c", "10")), "monitoring")
+            .collectList()
+            .block();
+
+        assertThat(results).extracting(IngestResult::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(results).extracting(IngestResult::getIncidentId).containsExactly("INC-a", "INC-b", "INC-c");
+        assertThat(results).extracting(IngestResult::getStatus).containsOnly(IngestResult.CREATED);
+    }
+
+    @Test
+    void shouldRejectInvalidIncidentsWithoutStoppingTheStream() {
+        List<IngestResult> results = service.ingest(Flux.just(
+                incident("a", "wrong"), incident(null, "10"), incident("c", "10")), "monitoring")
+            .collectList()
+            .block();
+
+        assertThat(results).extracting(IngestResult::getStatus)
+            .containsExactly(IngestResult.REJECTED, IngestResult.INVALID, IngestResult.CREATED);
+        assertThat(results.get(1).getMessage()).contains("alertName is required");
+    }
+
+    private static IncidentDetails incident(String alertName, String key) {
+        return new IncidentDetails("Zabbix", alertName, "Disk usage above 90%", "2-High",
+            null, null, null, key);
+    }
+}
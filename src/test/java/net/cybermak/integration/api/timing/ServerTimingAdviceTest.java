@@ -0,0 +1,79 @@
+package net.cybermak.integration.api.timing;
+
+import net.cybermak.integration.config.ServerTimingProperties;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: request body timing and the Server-Timing header
+ */
+class ServerTimingAdviceTest {
+
+    private ServerTimingProperties properties;
+    private ServerTimingAdvice advice;
+    private RequestTiming timing;
+    private MockHttpServletRequest servletRequest;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServerTimingProperties();
+        advice = new ServerTimingAdvice(properties);
+        timing = RequestTiming.start();
+        servletRequest = new MockHttpServletRequest("POST", "/api/v1/integration/incident");
+        servletRequest.setAttribute(ServerTimingFilter.TIMING_ATTRIBUTE, timing);
+    }
+
+    @Test
+    void shouldNotExposeTimingsByDefault() {
+        ServletServerHttpResponse response = writeBody();
+
+        assertThat(response.getHeaders().containsKey(ServerTimingAdvice.SERVER_TIMING_HEADER)).isFalse();
+    }
+
+    @Test
+    void shouldWriteHeaderWhenTurnedOn() {
+        properties.setHeader(true);
+        timing.record(Phase.REMEDY, System.nanoTime() - 2_000_000L);
+
+        ServletServerHttpResponse response = writeBody();
+
+        assertThat(response.getHeaders().getFirst(ServerTimingAdvice.SERVER_TIMING_HEADER))
+            .startsWith("remedy;dur=")
+            .contains("total;dur=");
+    }
+
+    @Test
+    void shouldTimeRequestBodyParsing() throws Exception {
+        try (RequestTiming.Scope scope = timing.bind()) {
+            advice.beforeBodyRead(null, null, Object.class, MappingJackson2HttpMessageConverter.class);
+            advice.afterBodyRead("body", null, null, Object.class, MappingJackson2HttpMessageConverter.class);
+        }
+
+        assertThat(timing.hasRecorded(Phase.PARSE)).isTrue();
+    }
+
+    @Test
+    void shouldStayOutOfTheWayWhenDisabled() {
+        properties.setEnabled(false);
+
+        assertThat(advice.supports(null, MappingJackson2HttpMessageConverter.class)).isFalse();
+        assertThat(advice.supports(null, Object.class, MappingJackson2HttpMessageConverter.class)).isFalse();
+    }
+
+    private ServletServerHttpResponse writeBody() {
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+        advice.beforeBodyWrite("body", null, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+            new ServletServerHttpRequest(servletRequest), response);
+        return response;
+    }
+}
@@ -0,0 +1,76 @@
+package net.cybermak.integration.api.timing;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.config.ServerTimingProperties;
+import net.cybermak.integration.core.timing.Phase;
+import net.cybermak.integration.core.timing.RequestTiming;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: per-request timing of API requests
+ */
+class ServerTimingFilterTest {
+
+    private ServerTimingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServerTimingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ServerTimingFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void shouldRecordPhasesOfApiRequests() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/integration/incident");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/integration/{moduleType}");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> RequestTiming.current().record(Phase.REMEDY, System.nanoTime() - 1_000_000L));
+
+        assertThat(ServerTimingFilter.timingOf(request).hasRecorded(Phase.REMEDY)).isTrue();
+        Timer remedy = meterRegistry.find("http.server.phase")
+            .tag("phase", Phase.REMEDY.getMetricName())
+            .tag("uri", "/api/v1/integration/{moduleType}")
+            .timer();
+        assertThat(remedy).isNotNull();
+        assertThat(remedy.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUnbindTimingAfterRequest() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/integration/modules"),
+            new MockHttpServletResponse(), (req, res) -> assertThat(RequestTiming.current().isEnabled()).isTrue());
+
+        assertThat(RequestTiming.current().isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldSkipRequestsOutsideTheApi() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        assertThat(ServerTimingFilter.timingOf(request)).isNull();
+        assertThat(meterRegistry.find("http.server.phase").timers()).isEmpty();
+    }
+
+    @Test
+    void shouldSkipAllRequestsWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/integration/modules");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        assertThat(ServerTimingFilter.timingOf(request)).isNull();
+    }
+}
@@ -0,0 +1,121 @@
+package net.cybermak.integration.config;
+
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Value;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.api.model.requests.IncidentEntry;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
+import net.cybermak.integration.remedy.fault.FaultInjector;
+import net.cybermak.integration.remedy.form.FormHandler;
+import net.cybermak.integration.remedy.hedge.HedgingFormHandler;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import net.cybermak.integration.remedy.simulator.RemedySimulator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: the FormHandler bean hedges reads across the configured Remedy servers
+ */
+class FormHandlerConfigurationTest {
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private RemedyConnectionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RemedyConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RemedyConnectionProperties();
+        properties.setServers(Map.of(
+            "primary", server("remedy-a"),
+            "secondary", server("remedy-b")));
+        RemedyConnectionProperties.Hedge hedge = properties.getConnection().getHedge();
+        hedge.setEnabled(true);
+        hedge.setServers(List.of("primary", "secondary"));
+        meterRegistry = new SimpleMeterRegistry();
+        connectionManager = new RemedyConnectionManager(properties, meterRegistry, () -> new RecordingServerUser(calls));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    void shouldHedgeOverPooledConnectionsWithoutTheStandIn() {
+        FormHandler formHandler = formHandler();
+
+        String entryId = formHandler.createEntry(IncidentEntry.STAGING_FORM,
+            Map.of(IncidentEntry.ALERT_NAME_FIELD.toString(), "CPU"));
+        Map<String, Object> entry = formHandler.getEntry(IncidentEntry.STAGING_FORM, entryId);
+
+        assertThat(formHandler).isInstanceOf(HedgingFormHandler.class);
+        assertThat(entry).containsEntry(IncidentEntry.ALERT_NAME_FIELD.toString(), "CPU");
+        assertThat(calls).contains("createEntry@remedy-a", "getEntry@remedy-a");
+    }
+
+    @Test
+    void shouldRejectHedgeServerMissingFromServers() {
+        properties.getConnection().getHedge().setServers(List.of("primary", "tertiary"));
+
+        assertThatThrownBy(this::formHandler)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("tertiary");
+    }
+
+    private FormHandler formHandler() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        return new FormHandlerConfiguration().formHandler(connectionManager, null,
+            new AdaptiveConcurrencyLimiter(properties, meterRegistry), properties, meterRegistry, Runnable::run,
+            beans.getBeanProvider(RemedySimulator.class), beans.getBeanProvider(FaultInjector.class));
+    }
+
+    private static RemedyConnectionProperties.ServerConfig server(String name) {
+        RemedyConnectionProperties.ServerConfig server = new RemedyConnectionProperties.ServerConfig();
+        server.setName(name);
+        server.setUsername("demo");
+        server.setPassword("demo");
+        return server;
+    }
+
+    /**
+     * Remedy user that records each call with the server it was made on
+     */
+    private static final class RecordingServerUser extends ARServerUser {
+
+        private final List<String> calls;
+
+        RecordingServerUser(List<String> calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public void verifyUser() {
+        }
+
+        @Override
+        public String createEntry(String formName, Entry entry) {
+            calls.add("createEntry@" + getServer());
+            return "000000000000001";
+        }
+
+        @Override
+        public Entry getEntry(String formName, String entryId, int[] fieldIds) {
+            calls.add("getEntry@" + getServer());
+            Entry entry = new Entry();
+            entry.put(IncidentEntry.ALERT_NAME_FIELD, new Value("CPU"));
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.cybermak.integration.config;
+
+import net.cybermak.integration.api.utility.AES;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: remedy.properties snapshot and reload
+ */
+class RemedyConfigHolderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldParseAndDecryptOnce() throws Exception {
+        Path file = write("serverName=remedy01\nuserName=integration\n"
+            + "userPassword=ENC(" + AES.encryptData("s3cret") + ")\nport=6000\n");
+
+        RemedyConfigSnapshot config = holder(file).current();
+
+        assertThat(config.getServerName()).isEqualTo("remedy01");
+        assertThat(config.getPassword()).isEqualTo("s3cret");
+        assertThat(config.getPort()).isEqualTo(6000);
+        assertThat(config.getVersion()).isEqualTo(1);
+        assertThat(config.getValue("missing")).isEqualTo("The key missing does not exists!");
+    }
+
+    @Test
+    void shouldPublishNewSnapshotOnReload() throws Exception {
+        Path file = write("serverName=remedy01\nport=6000\n");
+        RemedyConfigHolder holder = holder(file);
+        RemedyConfigSnapshot before = holder.current();
+
+        write("serverName=remedy02\nport=6001\n");
+
+        assertThat(holder.reload()).isTrue();
+        assertThat(holder.current().getServerName()).isEqualTo("remedy02");
+        assertThat(holder.current().getPort()).isEqualTo(6001);
+        assertThat(holder.current().getVersion()).isEqualTo(2);
+        // Snapshots already handed out are unchanged
+        assertThat(before.getServerName()).isEqualTo("remedy01");
+    }
+
+    @Test
+    void shouldKeepPreviousSnapshotWhenReloadFails() throws Exception {
+        Path file = write("serverName=remedy01\nport=6000\n");
+        RemedyConfigHolder holder = holder(file);
+
+        write("serverName=remedy02\nport=not-a-port\n");
+
+        assertThat(holder.reload()).isFalse();
+        assertThat(holder.current().getServerName()).isEqualTo("remedy01");
+        assertThat(holder.current().getVersion()).isEqualTo(1);
+    }
+
+    private RemedyConfigHolder holder(Path file) {
+        RemedyConfigProperties properties = new RemedyConfigProperties();
+        properties.setFile(file.toString());
+        properties.setWatch(false);
+        return new RemedyConfigHolder(properties);
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(directory.resolve("remedy.properties"), content);
+    }
+}
@@ -0,0 +1,45 @@
+package net.cybermak.integration.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: cached coarse-grained response timestamps
+ */
+class CoarseClockTest {
+
+    @Test
+    void shouldFormatLikeLocalDateTime() {
+        LocalDateTime before = LocalDateTime.now().minusNanos(CoarseClock.RESOLUTION_MILLIS * 1_000_000);
+
+        LocalDateTime parsed = LocalDateTime.parse(CoarseClock.now());
+
+        assertThat(parsed).isAfterOrEqualTo(before.withNano(before.getNano() / 1_000_000 * 1_000_000));
+        assertThat(Duration.between(parsed, LocalDateTime.now())).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldShareTimestampWithinTick() {
+        long tickStart = 1_700_000_000_000L;
+
+        String first = CoarseClock.at(tickStart);
+        String second = CoarseClock.at(tickStart + CoarseClock.RESOLUTION_MILLIS - 1);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldAdvanceWithTheNextTick() {
+        long tickStart = 1_700_000_000_000L;
+
+        String first = CoarseClock.at(tickStart);
+        String next = CoarseClock.at(tickStart + CoarseClock.RESOLUTION_MILLIS);
+
+        assertThat(next).isNotEqualTo(first);
+        assertThat(LocalDateTime.parse(next)).isAfter(LocalDateTime.parse(first));
+    }
+}
@@ -0,0 +1,112 @@
+package net.cybermak.integration.core;
+
+import net.cybermak.integration.config.ModulePluginProperties;
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.ValidationResult;
+import net.cybermak.integration.core.plugin.ModulePluginLoader;
+import net.cybermak.integration.remedy.form.FormHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * TDD Test: loading modules from plugin jars
+ */
+class ModulePluginLoaderTest {
+
+    @TempDir
+    Path pluginDirectory;
+
+    private ModuleRegistry moduleRegistry;
+    private ModulePluginLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        ModulePluginProperties properties = new ModulePluginProperties();
+        properties.setEnabled(true);
+        properties.setWatch(false);
+        properties.setDirectory(pluginDirectory.toString());
+        
+        moduleRegistry = new ModuleRegistry();
+        loader = new ModulePluginLoader(moduleRegistry, mock(FormHandler.class), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.close();
+    }
+
+    @Test
+    void shouldRegisterAndUnregisterPluginModules() throws Exception {
+        Path jar = writePlugin("workorder.jar", PluginModule.class.getName());
+        
+        loader.start();
+        assertThat(moduleRegistry.getModule("plugin")).isPresent();
+        assertThat(loader.getLoadedPlugins()).containsKey("workorder.jar");
+        
+        Files.delete(jar);
+        loader.rescan();
+        assertThat(moduleRegistry.getModule("plugin")).isEmpty();
+        assertThat(loader.getLoadedPlugins()).isEmpty();
+    }
+
+    @Test
+    void shouldNotReplaceBuiltInModules() throws Exception {
+        Module builtIn = new PluginModule();
+        moduleRegistry.registerModule(builtIn);
+        writePlugin("conflict.jar", PluginModule.class.getName());
+        
+        loader.start();
+        
+        assertThat(moduleRegistry.getModule("plugin")).containsSame(builtIn);
+        assertThat(loader.getLoadedPlugins()).isEmpty();
+    }
+
+    private Path writePlugin(String name, String moduleClass) throws Exception {
+        Path jar = pluginDirectory.resolve(name);
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(new JarEntry("META-INF/services/" + Module.class.getName()));
+            jarOut.write((moduleClass + "\n").getBytes(StandardCharsets.UTF_8));
+            jarOut.closeEntry();
+        }
+        return jar;
+    }
+
+    // Module listed by the test plugin jars
+    public static class PluginModule implements Module {
+        
+        @Override
+        public String getModuleType() {
+            return "plugin";
+        }
+
+        @Override
+        public ValidationResult validate(GenericRequest request) {
+            return ValidationResult.valid();
+        }
+
+        @Override
+        public GenericResponse process(GenericRequest request) {
+            return GenericResponse.builder().status("SUCCESS").data(Map.of()).build();
+        }
+
+        @Override
+        public Map<String, String> getFieldMappings() {
+            return Map.of();
+        }
+    }
+}
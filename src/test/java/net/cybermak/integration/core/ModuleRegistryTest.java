@@ -2,13 +2,16 @@ package net.cybermak.integration.core;
 
 import net.cybermak.integration.core.model.GenericRequest;
 import net.cybermak.integration.core.model.GenericResponse;
+import net.cybermak.integration.core.model.Operation;
 import net.cybermak.integration.core.model.ValidationResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -119,6 +122,95 @@ class ModuleRegistryTest {
         assertThat(moduleRegistry.getAllModules()).isEmpty();
     }
 
+    @Test
+    void shouldPublishNewVersionOnEveryChange() {
+        ModuleRegistry.Snapshot before = moduleRegistry.getSnapshot();
+        
+        moduleRegistry.registerModule(testModule);
+        moduleRegistry.registerModule(anotherTestModule);
+        moduleRegistry.unregisterModule("test");
+        
+        assertThat(moduleRegistry.getVersion()).isEqualTo(before.getVersion() + 3);
+        // Snapshots already handed out are unchanged
+        assertThat(before.getModules()).isEmpty();
+        assertThat(moduleRegistry.getAllModuleTypes()).containsExactly("another-test");
+    }
+
+    @Test
+    void shouldApplyReplacementAtomically() {
+        moduleRegistry.registerModule(testModule);
+        moduleRegistry.registerModule(anotherTestModule);
+        long version = moduleRegistry.getVersion();
+        TestModule replacement = new TestModule("test");
+        
+        moduleRegistry.replaceModules(List.of("test"), List.of(replacement));
+        assertThat(moduleRegistry.getModule("test")).contains(replacement);
+        
+        // A conflicting change leaves the registry untouched
+        assertThatThrownBy(() -> moduleRegistry.replaceModules(List.of("test"),
+                List.of(new TestModule("new"), new TestModule("another-test"))))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(moduleRegistry.getModule("test")).contains(replacement);
+        assertThat(moduleRegistry.getModule("new")).isEmpty();
+        assertThat(moduleRegistry.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void shouldPrecomputeRoutePerModule() {
+        Module readOnly = new TestModule("read-only") {
+            @Override
+            public Set<Operation> getSupportedOperations() {
+                return EnumSet.of(Operation.GET, Operation.SEARCH);
+            }
+            
+            @Override
+            public String getIdFieldName() {
+                return "readOnlyId";
+            }
+        };
+        moduleRegistry.registerModule(testModule);
+        moduleRegistry.registerModule(readOnly);
+        
+        ModuleRegistry.Route route = moduleRegistry.getRoute("read-only").orElseThrow();
+        assertThat(route.getModule()).isSameAs(readOnly);
+        assertThat(route.getIdFieldName()).isEqualTo("readOnlyId");
+        assertThat(route.supports(Operation.GET)).isTrue();
+        assertThat(route.supports(Operation.CREATE)).isFalse();
+        assertThat(route.supports(null)).isFalse();
+        
+        ModuleRegistry.Route defaults = moduleRegistry.getRoute("test").orElseThrow();
+        assertThat(defaults.getIdFieldName()).isEqualTo("id");
+        assertThat(EnumSet.allOf(Operation.class)).allMatch(defaults::supports);
+        assertThat(moduleRegistry.getRoute("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldResolveOperationHandlersOnceAtRegistration() {
+        GenericResponse searched = GenericResponse.builder().status("SUCCESS").build();
+        Module searchOnly = new TestModule("search-only") {
+            @Override
+            public Set<Operation> getSupportedOperations() {
+                return EnumSet.of(Operation.SEARCH);
+            }
+
+            @Override
+            public OperationHandler getOperationHandler(Operation operation) {
+                return request -> searched;
+            }
+        };
+        moduleRegistry.registerModule(searchOnly);
+        moduleRegistry.registerModule(testModule);
+
+        ModuleRegistry.Route route = moduleRegistry.getRoute("search-only").orElseThrow();
+        assertThat(route.getHandler(Operation.SEARCH).handle(null)).isSameAs(searched);
+        assertThat(route.getHandler(Operation.GET)).isNull();
+
+        // Modules without their own handlers are dispatched through process
+        GenericResponse created = moduleRegistry.getRoute("test").orElseThrow()
+            .getHandler(Operation.CREATE).handle(null);
+        assertThat(created.getData()).containsEntry("id", "test-123");
+    }
+
     // Test implementation of Module interface for testing
     private static class TestModule implements Module {
         private final String moduleType;
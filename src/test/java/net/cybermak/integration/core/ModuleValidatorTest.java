@@ -0,0 +1,102 @@
+package net.cybermak.integration.core;
+
+import net.cybermak.integration.core.model.GenericRequest;
+import net.cybermak.integration.core.model.ValidationResult;
+import net.cybermak.integration.core.validation.ModuleValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compiled module validator tests
+ */
+class ModuleValidatorTest {
+
+    private final ModuleValidator validator = ModuleValidator.builder()
+        .requireNonEmptyData("Request data cannot be empty")
+        .required("create", "summary", "Summary is required")
+        .required("create", "priority", "Priority is required")
+        .present("get", "id", "ID is required")
+        .allowedValues("priority", Set.of("High", "Low"), "Invalid priority")
+        .build();
+
+    @Test
+    void shouldReturnSharedValidResult() {
+        ValidationResult first = validator.validate(request("create", Map.of("summary", "a", "priority", "High")));
+        ValidationResult second = validator.validate(request("get", Map.of("id", "1")));
+
+        assertThat(first.isValid()).isTrue();
+        assertThat(first).isSameAs(second);
+        assertThat(first.getErrors()).isEmpty();
+    }
+
+    @Test
+    void shouldCollectAllErrorsForOperation() {
+        ValidationResult result = validator.validate(request("create", Map.of("summary", "   ", "other", "x")));
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getErrors()).containsExactly("Summary is required", "Priority is required");
+    }
+
+    @Test
+    void shouldApplyCommonRulesToEveryOperation() {
+        ValidationResult result = validator.validate(request("get", Map.of("id", "1", "priority", "Medium")));
+
+        assertThat(result.getErrors()).containsExactly("Invalid priority");
+    }
+
+    @Test
+    void shouldRejectEmptyData() {
+        ValidationResult result = validator.validate(request("create", new HashMap<>()));
+
+        assertThat(result.getErrors()).containsExactly("Request data cannot be empty");
+    }
+
+    @Test
+    void shouldStopAtFirstErrorWhenFailFast() {
+        ModuleValidator failFast = ModuleValidator.builder()
+            .failFast()
+            .required("create", "a", "a is required")
+            .required("create", "b", "b is required")
+            .build();
+
+        assertThat(failFast.validate(request("create", Map.of())).getErrors())
+            .containsExactly("a is required");
+    }
+
+    @Test
+    void shouldRejectUnsupportedOperations() {
+        ModuleValidator strict = ModuleValidator.builder()
+            .requireOperation("Operation cannot be null or empty")
+            .rejectUnsupportedOperations("Unsupported operation: ")
+            .ignoreOperationCase()
+            .operations("search")
+            .build();
+
+        assertThat(strict.validate(request("SEARCH", Map.of())).isValid()).isTrue();
+        assertThat(strict.validate(request("delete", Map.of())).getErrors())
+            .containsExactly("Unsupported operation: delete");
+        assertThat(strict.validate(request(" ", Map.of())).getErrors())
+            .containsExactly("Operation cannot be null or empty");
+    }
+
+    @Test
+    void shouldTreatWhitespaceAsBlank() {
+        assertThat(ModuleValidator.isBlank(null)).isTrue();
+        assertThat(ModuleValidator.isBlank(" \t\n")).isTrue();
+        assertThat(ModuleValidator.isBlank(" x ")).isFalse();
+        assertThat(ModuleValidator.isBlank(42)).isFalse();
+    }
+
+    private GenericRequest request(String operation, Map<String, Object> data) {
+        return GenericRequest.builder()
+            .moduleType("test")
+            .operation(operation)
+            .data(data)
+            .build();
+    }
+}
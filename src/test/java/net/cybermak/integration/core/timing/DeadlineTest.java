@@ -0,0 +1,63 @@
+package net.cybermak.integration.core.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: request deadlines
+ */
+class DeadlineTest {
+
+    @Test
+    void shouldNeverExpireOutsideARequest() {
+        Deadline deadline = Deadline.current();
+
+        assertThat(deadline.isBounded()).isFalse();
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.cap(1_000L)).isEqualTo(1_000L);
+        deadline.check("dispatch");
+    }
+
+    @Test
+    void shouldDropWorkOnceExpired() {
+        Deadline deadline = Deadline.after(0);
+
+        assertThat(deadline.isExpired()).isTrue();
+        assertThat(deadline.cap(1_000_000L)).isLessThanOrEqualTo(0L);
+        assertThatThrownBy(() -> deadline.check("queue"))
+            .isInstanceOf(DeadlineExceededException.class)
+            .hasMessageContaining("before queue")
+            .extracting("stage").isEqualTo("queue");
+    }
+
+    @Test
+    void shouldCapWaitsAtTheRemainingTime() {
+        Deadline deadline = Deadline.after(60_000);
+
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.cap(Long.MAX_VALUE)).isBetween(0L, 60_000_000_000L);
+        assertThat(deadline.cap(1_000L)).isEqualTo(1_000L);
+    }
+
+    @Test
+    void shouldCarryDeadlineOntoWrappedTasks() throws Exception {
+        Deadline deadline = Deadline.after(60_000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (RequestTiming.Scope scope = deadline.bind()) {
+            CompletableFuture<Deadline> seen = new CompletableFuture<>();
+            executor.execute(Deadline.wrap(() -> seen.complete(Deadline.current())));
+
+            assertThat(seen.get()).isSameAs(deadline);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(Deadline.current().isBounded()).isFalse();
+    }
+}
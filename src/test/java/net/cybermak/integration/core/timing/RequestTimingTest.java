@@ -0,0 +1,74 @@
+package net.cybermak.integration.core.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TDD Test: per-request phase timing
+ */
+class RequestTimingTest {
+
+    @Test
+    void shouldIgnoreRecordingsOutsideARequest() {
+        RequestTiming timing = RequestTiming.current();
+        timing.record(Phase.REMEDY, System.nanoTime() - 1_000_000L);
+
+        assertThat(timing.isEnabled()).isFalse();
+        assertThat(timing.hasRecorded(Phase.REMEDY)).isFalse();
+    }
+
+    @Test
+    void shouldFormatRecordedPhasesInOrder() {
+        RequestTiming timing = RequestTiming.start();
+        timing.record(Phase.REMEDY, System.nanoTime() - 12_345_678L);
+        timing.record(Phase.PARSE, System.nanoTime() - 50_000L);
+
+        String header = timing.toServerTiming();
+
+        assertThat(header).matches("parse;dur=0\\.\\d\\d, remedy;dur=12\\.\\d\\d, total;dur=\\d+\\.\\d\\d");
+    }
+
+    @Test
+    void shouldSumPhasesRecordedSeveralTimes() {
+        RequestTiming timing = RequestTiming.start();
+        long now = System.nanoTime();
+        timing.record(Phase.MAPPING, now - 1_000_000L);
+        timing.record(Phase.MAPPING, now - 1_000_000L);
+
+        assertThat(timing.getNanos(Phase.MAPPING)).isGreaterThanOrEqualTo(2_000_000L);
+    }
+
+    @Test
+    void shouldCarryTimingOntoWrappedTasks() throws Exception {
+        RequestTiming timing = RequestTiming.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (RequestTiming.Scope scope = timing.bind()) {
+            CompletableFuture<RequestTiming> seen = new CompletableFuture<>();
+            executor.execute(RequestTiming.wrap(() -> seen.complete(RequestTiming.current())));
+
+            assertThat(seen.get()).isSameAs(timing);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(timing.hasRecorded(Phase.QUEUE)).isTrue();
+        assertThat(RequestTiming.current().isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldRecordPhaseBetweenBeginAndStop() {
+        RequestTiming timing = RequestTiming.start();
+        timing.stop(Phase.SERIALIZE);
+        assertThat(timing.hasRecorded(Phase.SERIALIZE)).isFalse();
+
+        timing.begin(Phase.SERIALIZE);
+        timing.stop(Phase.SERIALIZE);
+
+        assertThat(timing.hasRecorded(Phase.SERIALIZE)).isTrue();
+    }
+}
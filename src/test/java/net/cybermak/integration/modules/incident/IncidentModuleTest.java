@@ -222,4 +222,22 @@ class IncidentModuleTest {
         // Verify the mapped fields are passed to Remedy
         verify(formHandler).createEntry(eq("HPD:Help Desk"), any(Map.class));
     }
+
+    @Test
+    void shouldSkipValidationForAlreadyValidatedRequest() {
+        when(formHandler.createEntry(eq("HPD:Help Desk"), any(Map.class)))
+            .thenReturn("INC000000000790");
+        
+        GenericRequest request = GenericRequest.builder()
+            .moduleType("incident")
+            .operation("create")
+            .data(Map.of("summary", "Validated upstream"))
+            .validated(true)
+            .build();
+        
+        GenericResponse response = incidentModule.process(request);
+        
+        assertThat(response.getStatus()).isEqualTo("SUCCESS");
+        verify(formHandler).createEntry(eq("HPD:Help Desk"), any(Map.class));
+    }
 }
\ No newline at end of file
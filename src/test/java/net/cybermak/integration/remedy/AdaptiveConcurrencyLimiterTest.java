@@ -0,0 +1,154 @@
+package net.cybermak.integration.remedy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.core.timing.Deadline;
+import net.cybermak.integration.core.timing.DeadlineExceededException;
+import net.cybermak.integration.core.timing.RequestTiming;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.exception.RemedyOverloadException;
+import net.cybermak.integration.remedy.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Adaptive Remedy concurrency limiter tests
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private RemedyConnectionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RemedyConnectionProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldStartAtInitialLimitAndExposeMetric() {
+        properties.getConnection().getLimit().setInitialLimit(8);
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+        assertThat(meterRegistry.get("remedy.concurrency.limit").gauge().value()).isEqualTo(8.0);
+    }
+
+    @Test
+    void shouldBackOffOnDroppedCalls() {
+        properties.getConnection().getLimit().setInitialLimit(20);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire().onDropped();
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() {
+        RemedyConnectionProperties.Limit limit = properties.getConnection().getLimit();
+        limit.setInitialLimit(1);
+        limit.setMaxLimit(1);
+        limit.setMaxQueue(0);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire).isInstanceOf(RemedyOverloadException.class);
+        assertThat(meterRegistry.get("remedy.concurrency.rejected").counter().count()).isEqualTo(1.0);
+
+        permit.onSuccess();
+        limiter.acquire().release();
+    }
+
+    @Test
+    void shouldTimeOutQueuedCallers() {
+        RemedyConnectionProperties.Limit limit = properties.getConnection().getLimit();
+        limit.setInitialLimit(1);
+        limit.setMaxLimit(1);
+        limit.setMaxWaitTime(20);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+            .isInstanceOf(RemedyOverloadException.class)
+            .hasMessageContaining("Timed out");
+        assertThat(limiter.getQueued()).isZero();
+    }
+
+    @Test
+    void shouldReleasePermitWhenCallFails() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new IllegalStateException("AR server error");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(limiter.call(() -> "INC000000000001")).isEqualTo("INC000000000001");
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldBackOffOnlyForOverloadFailures() {
+        properties.getConnection().getLimit().setInitialLimit(20);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new IllegalStateException("Mapping bug");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new RemedyConnectionException(326, "Required field missing");
+        })).isInstanceOf(RemedyConnectionException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new RemedyConnectionException(91, "Server busy");
+        })).isInstanceOf(RemedyConnectionException.class);
+
+        assertThat(limiter.getLimit()).isLessThan(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldDropCallsPastTheirDeadlineWithoutIssuingThem() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        try (RequestTiming.Scope scope = Deadline.after(0).bind()) {
+            assertThatThrownBy(() -> limiter.call(() -> "INC000000000001"))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessageContaining("borrow");
+        }
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(meterRegistry.get("request.deadline.expired").tag("stage", "borrow").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldStopWaitingForCapacityAtTheDeadline() {
+        RemedyConnectionProperties.Limit limit = properties.getConnection().getLimit();
+        limit.setInitialLimit(1);
+        limit.setMaxLimit(1);
+        limit.setMaxWaitTime(10000);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        long start = System.nanoTime();
+        try (RequestTiming.Scope scope = Deadline.after(50).bind()) {
+            assertThatThrownBy(limiter::acquire).isInstanceOf(DeadlineExceededException.class);
+        }
+
+        assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+        assertThat(limiter.getQueued()).isZero();
+        permit.onSuccess();
+    }
+}
@@ -0,0 +1,113 @@
+package net.cybermak.integration.remedy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.fault.FaultInjectingFormHandler;
+import net.cybermak.integration.remedy.fault.FaultInjector;
+import net.cybermak.integration.remedy.fault.FaultRule;
+import net.cybermak.integration.remedy.fault.FaultType;
+import net.cybermak.integration.remedy.fault.FormOperation;
+import net.cybermak.integration.remedy.form.RemedyFormHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: fault injection into Remedy form calls
+ */
+class FaultInjectingFormHandlerTest {
+
+    private static final String FORM = "HPD:Help Desk";
+    private static final Map<String, Object> INCIDENT = Map.of(
+        "Short_Description", "CPU above threshold",
+        "Priority", "High",
+        "Status", "New"
+    );
+
+    private SimpleMeterRegistry meterRegistry;
+    private FaultInjector faultInjector;
+    private RemedyFormHandler remedyFormHandler;
+    private FaultInjectingFormHandler formHandler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        faultInjector = new FaultInjector(meterRegistry);
+        remedyFormHandler = new RemedyFormHandler();
+        formHandler = new FaultInjectingFormHandler(remedyFormHandler, faultInjector);
+    }
+
+    @Test
+    void shouldPassCallsThroughWithoutRules() {
+        String entryId = formHandler.createEntry(FORM, INCIDENT);
+
+        assertThat(formHandler.getEntry(FORM, entryId)).containsEntry("Status", "New");
+    }
+
+    @Test
+    void shouldFailMatchingCallsWithoutMakingThem() {
+        faultInjector.addRule(FaultType.EXCEPTION, FORM, FormOperation.CREATE, 0, 1.0, 0);
+
+        assertThatThrownBy(() -> formHandler.createEntry(FORM, INCIDENT))
+            .isInstanceOf(RemedyConnectionException.class)
+            .hasMessageContaining("Injected failure");
+        assertThat(meterRegistry.get("remedy.fault.injected").tag("type", "exception").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldOnlyHitTheTargetedOperation() {
+        faultInjector.addRule(FaultType.EXCEPTION, FORM, FormOperation.GET, 0, 1.0, 0);
+
+        String entryId = formHandler.createEntry(FORM, INCIDENT);
+
+        assertThatThrownBy(() -> formHandler.getEntry(FORM, entryId))
+            .isInstanceOf(RemedyConnectionException.class);
+    }
+
+    @Test
+    void shouldDelayBeforeTimingOut() {
+        faultInjector.addRule(FaultType.TIMEOUT, null, null, 50, 1.0, 0);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> formHandler.createEntry(FORM, INCIDENT))
+            .isInstanceOf(RemedyConnectionException.class)
+            .hasMessageContaining("Injected timeout");
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(50_000_000L);
+    }
+
+    @Test
+    void shouldMakeTheCallBeforeSlowDrain() {
+        faultInjector.addRule(FaultType.SLOW_DRAIN, null, FormOperation.CREATE, 50, 1.0, 0);
+
+        long start = System.nanoTime();
+        String entryId = formHandler.createEntry(FORM, INCIDENT);
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(50_000_000L);
+        assertThat(remedyFormHandler.getEntry(FORM, entryId)).containsEntry("Status", "New");
+    }
+
+    @Test
+    void shouldStopInjectingOnceRemovedOrExpired() throws InterruptedException {
+        FaultRule removed = faultInjector.addRule(FaultType.EXCEPTION, null, null, 0, 1.0, 0);
+        faultInjector.addRule(FaultType.EXCEPTION, null, null, 0, 1.0, 20);
+
+        assertThat(faultInjector.removeRule(removed.getId())).isTrue();
+        Thread.sleep(30);
+
+        assertThat(faultInjector.getRules()).isEmpty();
+        assertThat(formHandler.createEntry(FORM, INCIDENT)).isNotBlank();
+    }
+
+    @Test
+    void shouldNeverFireAtZeroProbability() {
+        faultInjector.addRule(FaultType.EXCEPTION, null, null, 0, 0.0, 0);
+
+        assertThat(formHandler.createEntry(FORM, INCIDENT)).isNotBlank();
+    }
+}
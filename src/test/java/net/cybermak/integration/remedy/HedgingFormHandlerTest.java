@@ -0,0 +1,176 @@
+package net.cybermak.integration.remedy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.form.FormHandler;
+import net.cybermak.integration.remedy.hedge.HedgingFormHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: hedging Remedy reads across servers
+ */
+class HedgingFormHandlerTest {
+
+    private static final String FORM = "HPD:Help Desk";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private RemedyConnectionProperties.Hedge config;
+    private Server primary;
+    private Server secondary;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+        config = new RemedyConnectionProperties.Hedge();
+        config.setInitialDelay(20);
+        primary = new Server("primary");
+        secondary = new Server("secondary");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldAnswerFromPrimaryWhenFast() {
+        HedgingFormHandler formHandler = hedging();
+
+        assertThat(formHandler.getEntry(FORM, "INC1")).containsEntry("server", "primary");
+        assertThat(secondary.reads.get()).isZero();
+        assertThat(meterRegistry.get("remedy.hedge.requests").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldHedgeSlowReadToNextServer() {
+        primary.delayMillis = 1000;
+        HedgingFormHandler formHandler = hedging();
+
+        assertThat(formHandler.getEntry(FORM, "INC1")).containsEntry("server", "secondary");
+        assertThat(meterRegistry.get("remedy.hedge.requests").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("remedy.hedge.wins").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldWaitForPrimaryWhenBudgetIsExhausted() {
+        primary.delayMillis = 60;
+        config.setMaxBurst(1);
+        config.setBudgetRatio(0.0);
+        HedgingFormHandler formHandler = hedging();
+
+        formHandler.getEntry(FORM, "INC1");
+        assertThat(formHandler.getEntry(FORM, "INC2")).containsEntry("server", "primary");
+
+        assertThat(secondary.reads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("remedy.hedge.budget.exhausted").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldWaitForPrimaryWhenHedgeIsRejected() {
+        primary.delayMillis = 60;
+        AtomicInteger accepted = new AtomicInteger();
+        Executor oneAttempt = task -> {
+            if (accepted.incrementAndGet() > 1) {
+                throw new RejectedExecutionException("Hedge executor is full");
+            }
+            executor.execute(task);
+        };
+        HedgingFormHandler formHandler = new HedgingFormHandler(List.of(primary, secondary), oneAttempt, config,
+            meterRegistry);
+
+        assertThat(formHandler.getEntry(FORM, "INC1")).containsEntry("server", "primary");
+
+        assertThat(secondary.reads.get()).isZero();
+        assertThat(meterRegistry.get("remedy.hedge.requests").counter().count()).isZero();
+        assertThat(meterRegistry.get("remedy.hedge.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldFailFastFailuresWithoutHedging() {
+        primary.failure = new RemedyConnectionException("Remedy unavailable");
+        HedgingFormHandler formHandler = hedging();
+
+        assertThatThrownBy(() -> formHandler.getEntry(FORM, "INC1"))
+            .isInstanceOf(RemedyConnectionException.class)
+            .hasMessage("Remedy unavailable");
+        assertThat(secondary.reads.get()).isZero();
+    }
+
+    @Test
+    void shouldSendWritesToPrimaryOnly() {
+        primary.delayMillis = 100;
+        HedgingFormHandler formHandler = hedging();
+
+        assertThat(formHandler.createEntry(FORM, Map.of("Status", "New"))).isEqualTo("primary");
+        formHandler.updateEntry(FORM, "INC1", Map.of("Status", "Resolved"));
+        formHandler.deleteEntry(FORM, "INC1");
+
+        assertThat(primary.writes.get()).isEqualTo(3);
+        assertThat(secondary.writes.get()).isZero();
+    }
+
+    private HedgingFormHandler hedging() {
+        return new HedgingFormHandler(List.of(primary, secondary), executor, config, meterRegistry);
+    }
+
+    /**
+     * Server answering reads with its own name after a delay
+     */
+    private static final class Server implements FormHandler {
+        private final String name;
+        private final AtomicInteger reads = new AtomicInteger();
+        private final AtomicInteger writes = new AtomicInteger();
+        private volatile long delayMillis;
+        private volatile RuntimeException failure;
+
+        Server(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String createEntry(String formName, Map<String, Object> fields) {
+            writes.incrementAndGet();
+            return name;
+        }
+
+        @Override
+        public Map<String, Object> getEntry(String formName, String entryId) {
+            reads.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("server", name, "id", entryId);
+        }
+
+        @Override
+        public void updateEntry(String formName, String entryId, Map<String, Object> updates) {
+            writes.incrementAndGet();
+        }
+
+        @Override
+        public void deleteEntry(String formName, String entryId) {
+            writes.incrementAndGet();
+        }
+    }
+}
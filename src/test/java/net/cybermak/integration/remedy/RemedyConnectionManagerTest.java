@@ -1,12 +1,25 @@
 package net.cybermak.integration.remedy;
 
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Constants;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.cybermak.integration.remedy.config.RemedyConnectionProperties;
+import net.cybermak.integration.remedy.connection.PoolStats;
 import net.cybermak.integration.remedy.connection.RemedyConnection;
 import net.cybermak.integration.remedy.connection.RemedyConnectionManager;
 import net.cybermak.integration.remedy.exception.RemedyConnectionException;
+import net.cybermak.integration.remedy.exception.RemedyErrors;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -22,11 +35,22 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 })
 class RemedyConnectionManagerTest {
 
+    private RemedyConnectionProperties properties;
+    private MockClock clock;
+    private SimpleMeterRegistry meterRegistry;
     private RemedyConnectionManager connectionManager;
 
     @BeforeEach
     void setUp() {
-        connectionManager = new RemedyConnectionManager();
+        properties = new RemedyConnectionProperties();
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        connectionManager = new RemedyConnectionManager(properties, meterRegistry, StubServerUser::new);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.shutdown();
     }
 
     @Test
@@ -37,6 +61,8 @@ class RemedyConnectionManagerTest {
         
         assertThat(connection).isNotNull();
         assertThat(connection.isConnected()).isTrue();
+        assertThat(connection.getServerUser().getServer()).isEqualTo("localhost");
+        assertThat(((StubServerUser) connection.getServerUser()).logins).isEqualTo(1);
     }
 
     @Test
@@ -44,12 +70,155 @@ class RemedyConnectionManagerTest {
         // Red Phase: Will fail until we implement connection pooling
         
         RemedyConnection connection1 = connectionManager.getConnection();
+        connectionManager.releaseConnection(connection1);
         RemedyConnection connection2 = connectionManager.getConnection();
         
         assertThat(connection1).isNotNull();
-        assertThat(connection2).isNotNull();
-        // Should reuse connection from pool
-        assertThat(connection1).isEqualTo(connection2);
+        assertThat(connection2).isSameAs(connection1);
+        assertThat(connectionManager.getPoolStats().get(0).getCreated()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLeaseConnectionsExclusively() {
+        RemedyConnection connection1 = connectionManager.getConnection();
+        RemedyConnection connection2 = connectionManager.getConnection();
+
+        assertThat(connection1).isNotSameAs(connection2);
+        PoolStats stats = connectionManager.getPoolStats().get(0);
+        assertThat(stats.getServer()).isEqualTo("localhost:6000:test");
+        assertThat(stats.getActive()).isEqualTo(2);
+        assertThat(stats.getCreated()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWaitForReleaseWhenPoolIsFull() throws Exception {
+        properties.getConnection().getPool().setMaxSize(1);
+        RemedyConnection leased = connectionManager.getConnection();
+
+        CompletableFuture<RemedyConnection> waiter = CompletableFuture.supplyAsync(connectionManager::getConnection);
+        awaitWaiting(1);
+        assertThat(waiter).isNotDone();
+        assertThat(connectionManager.getPoolStats().get(0).getWaiting()).isEqualTo(1);
+
+        connectionManager.releaseConnection(leased);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(leased);
+    }
+
+    @Test
+    void shouldTimeOutWhenPoolStaysFull() {
+        properties.getConnection().getPool().setMaxSize(1);
+        properties.getConnection().getPool().setMaxWaitTime(20);
+        connectionManager.getConnection();
+
+        assertThatThrownBy(connectionManager::getConnection)
+            .isInstanceOf(RemedyConnectionException.class)
+            .hasMessageContaining("Timed out");
+    }
+
+    @Test
+    void shouldDiscardDisconnectedIdleConnection() {
+        RemedyConnection connection = connectionManager.getConnection();
+        connectionManager.releaseConnection(connection);
+        connection.disconnect();
+
+        RemedyConnection replacement = connectionManager.getConnection();
+
+        assertThat(replacement).isNotSameAs(connection);
+        assertThat(replacement.isConnected()).isTrue();
+        assertThat(connectionManager.getPoolStats().get(0).getValidationFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountCreationFailures() {
+        assertThatThrownBy(() -> connectionManager.getConnection("invalid-host", 6000, "test", "test"))
+            .isInstanceOf(RemedyConnectionException.class)
+            .extracting(e -> ((RemedyConnectionException) e).getErrorCode())
+            .isEqualTo(RemedyErrors.NO_CONNECTION);
+
+        PoolStats stats = connectionManager.getPoolStats().get(0);
+        assertThat(stats.getCreationFailures()).isEqualTo(1);
+        assertThat(stats.getActive()).isZero();
+    }
+
+    @Test
+    void shouldReportLeaseHeldPastLeakThreshold() {
+        properties.getConnection().getPool().setLeakThreshold(10);
+        connectionManager.getConnection();
+        clock.add(30, TimeUnit.MILLISECONDS);
+
+        PoolStats stats = connectionManager.getPoolStats().get(0);
+        assertThat(stats.getLeakSuspects()).isEqualTo(1);
+        assertThat(stats.getOldestLeaseMillis()).isGreaterThanOrEqualTo(10);
+        assertThat(stats.getBorrowTimes().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportLeakedLeaseOnce() {
+        properties.getConnection().getPool().setLeakThreshold(10);
+        properties.getConnection().getPool().setLeakTraceSampleRate(1.0);
+        RemedyConnection leaked = connectionManager.getConnection();
+        clock.add(30, TimeUnit.MILLISECONDS);
+
+        assertThat(connectionManager.checkLeaks()).isEqualTo(1);
+        assertThat(connectionManager.checkLeaks()).isZero();
+
+        assertThat(leaked.isConnected()).isTrue();
+        assertThat(connectionManager.getPoolStats().get(0).getLeaks()).isEqualTo(1);
+        assertThat(meterRegistry.get("remedy.pool.leaks").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("remedy.pool.leases.long").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldKeepPoolGaugesCurrent() {
+        properties.getConnection().getPool().setLeakThreshold(10);
+        RemedyConnection leaked = connectionManager.getConnection();
+        connectionManager.releaseConnection(connectionManager.getConnection());
+        clock.add(30, TimeUnit.MILLISECONDS);
+        connectionManager.checkLeaks();
+
+        assertThat(meterRegistry.get("remedy.pool.active").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("remedy.pool.idle").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("remedy.pool.waiting").gauge().value()).isZero();
+        assertThat(meterRegistry.get("remedy.pool.leases.long").gauge().value()).isEqualTo(1.0);
+
+        connectionManager.releaseConnection(leaked);
+
+        assertThat(meterRegistry.get("remedy.pool.active").gauge().value()).isZero();
+        assertThat(meterRegistry.get("remedy.pool.idle").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("remedy.pool.leases.long").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldReclaimLeakedLeaseWhenEnabled() {
+        properties.getConnection().getPool().setMaxSize(1);
+        properties.getConnection().getPool().setMinIdle(0);
+        properties.getConnection().getPool().setLeakThreshold(10);
+        properties.getConnection().getPool().setReclaimLeaks(true);
+        RemedyConnection leaked = connectionManager.getConnection();
+        clock.add(30, TimeUnit.MILLISECONDS);
+
+        assertThat(connectionManager.checkLeaks()).isEqualTo(1);
+
+        assertThat(leaked.isConnected()).isFalse();
+        RemedyConnection next = connectionManager.getConnection();
+        assertThat(next).isNotSameAs(leaked);
+        connectionManager.releaseConnection(leaked);
+        PoolStats stats = connectionManager.getPoolStats().get(0);
+        assertThat(stats.getReclaimed()).isEqualTo(1);
+        assertThat(stats.getActive()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShrinkIdleConnectionsOnResize() {
+        RemedyConnection connection1 = connectionManager.getConnection();
+        RemedyConnection connection2 = connectionManager.getConnection();
+        connectionManager.releaseConnection(connection1);
+        connectionManager.releaseConnection(connection2);
+
+        connectionManager.resize(1, 0);
+
+        assertThat(connectionManager.getPoolStats().get(0).getIdle()).isEqualTo(1);
+        assertThatThrownBy(() -> connectionManager.resize(1, 2)).isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -57,7 +226,8 @@ class RemedyConnectionManagerTest {
         // Red Phase: Will fail until we implement error handling
         
         // Simulate connection failure by using invalid configuration
-        RemedyConnectionManager invalidManager = new RemedyConnectionManager();
+        RemedyConnectionManager invalidManager = new RemedyConnectionManager(properties, meterRegistry,
+            StubServerUser::new);
         // This would be configured with invalid settings in real implementation
         
         assertThatThrownBy(() -> {
@@ -75,6 +245,7 @@ class RemedyConnectionManagerTest {
         connectionManager.closeConnection(connection);
         
         assertThat(connection.isConnected()).isFalse();
+        assertThat(((StubServerUser) connection.getServerUser()).loggedOut).isTrue();
     }
 
     @Test
@@ -87,4 +258,36 @@ class RemedyConnectionManagerTest {
         
         assertThat(retryAttempts).isGreaterThan(0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Waits until the given number of borrowers wait for the first pool
+     */
+    private void awaitWaiting(int waiting) {
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (connectionManager.getPoolStats().get(0).getWaiting() != waiting && System.nanoTime() < giveUp) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Remedy user that logs in anywhere but on invalid-host, which cannot be reached
+     */
+    private static final class StubServerUser extends ARServerUser {
+        private int logins;
+        private boolean loggedOut;
+
+        @Override
+        public void verifyUser() throws ARException {
+            if ("invalid-host".equals(getServer())) {
+                throw new ARException(Constants.AR_RETURN_ERROR, RemedyErrors.NO_CONNECTION,
+                    "Cannot establish a network connection to the AR System server");
+            }
+            logins++;
+        }
+
+        @Override
+        public void logout() {
+            loggedOut = true;
+        }
+    }
+}
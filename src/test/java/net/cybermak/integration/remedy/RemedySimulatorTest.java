@@ -0,0 +1,112 @@
+package net.cybermak.integration.remedy;
+
+import net.cybermak.integration.config.RemedySimulatorProperties;
+import net.cybermak.integration.remedy.simulator.RemedySimulator;
+import net.cybermak.integration.remedy.simulator.SimulatedCall;
+import net.cybermak.integration.remedy.simulator.SimulatedFormHandler;
+import net.cybermak.integration.remedy.simulator.SimulatedRemedyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TDD Test: local Remedy stand-in for load and latency testing
+ */
+class RemedySimulatorTest {
+
+    private RemedySimulatorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RemedySimulatorProperties();
+        properties.setLatency(new EnumMap<>(SimulatedCall.class));
+    }
+
+    @Test
+    void shouldStoreEntriesPerForm() {
+        RemedySimulator simulator = new RemedySimulator(properties);
+        RemedySimulator.Session session = simulator.login("demo");
+
+        String entryId = simulator.createEntry(session, "HPD:Help Desk", Map.of("Status", "New"));
+        simulator.setEntry(session, "HPD:Help Desk", entryId, Map.of("Status", "Assigned"));
+
+        assertThat(entryId).startsWith("INC");
+        assertThat(simulator.getEntry(session, "HPD:Help Desk", entryId)).containsEntry("Status", "Assigned");
+
+        simulator.deleteEntry(session, "HPD:Help Desk", entryId);
+
+        assertThatThrownBy(() -> simulator.getEntry(session, "HPD:Help Desk", entryId))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(simulator.getStats()).containsEntry("logins", 1L).containsEntry("calls", 5L);
+    }
+
+    @Test
+    void shouldShareEntriesAcrossServersOfAGroup() {
+        RemedySimulator primary = new RemedySimulator(properties);
+        RemedySimulator secondary = primary.newServer();
+
+        String entryId = primary.createEntry(primary.login("prod"), "HPD:Help Desk", Map.of("Status", "New"));
+
+        assertThat(secondary.getEntry(secondary.login("prod2"), "HPD:Help Desk", entryId))
+            .containsEntry("Status", "New");
+        assertThat(primary.getStats()).containsEntry("calls", 2L);
+        assertThat(secondary.getStats()).containsEntry("calls", 2L);
+    }
+
+    @Test
+    void shouldFailAtConfiguredErrorRate() {
+        properties.setErrorRate(1.0);
+        RemedySimulator simulator = new RemedySimulator(properties);
+
+        assertThatThrownBy(() -> simulator.login("demo"))
+            .isInstanceOfSatisfying(SimulatedRemedyException.class,
+                e -> assertThat(e.getCode()).isEqualTo(RemedySimulator.NETWORK_ERROR));
+        assertThat(simulator.getStats()).containsEntry("errors", 1L);
+    }
+
+    @Test
+    void shouldRejectCallsAboveThroughputCap() {
+        properties.setMaxCallsPerSecond(1);
+        properties.setQueueTimeout(100);
+        RemedySimulator simulator = new RemedySimulator(properties);
+        RemedySimulator.Session session = simulator.login("demo");
+
+        assertThatThrownBy(() -> simulator.createEntry(session, "HPD:Help Desk", Map.of()))
+            .isInstanceOfSatisfying(SimulatedRemedyException.class,
+                e -> assertThat(e.getCode()).isEqualTo(RemedySimulator.SERVER_BUSY));
+        assertThat(simulator.getStats()).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void shouldExpireSessions() throws InterruptedException {
+        properties.setSessionTtl(1);
+        properties.setReauthenticate(false);
+        RemedySimulator simulator = new RemedySimulator(properties);
+        RemedySimulator.Session session = simulator.login("demo");
+        Thread.sleep(5);
+
+        assertThatThrownBy(() -> simulator.createEntry(session, "HPD:Help Desk", Map.of()))
+            .isInstanceOfSatisfying(SimulatedRemedyException.class,
+                e -> assertThat(e.getCode()).isEqualTo(RemedySimulator.AUTHENTICATION_FAILED));
+    }
+
+    @Test
+    void shouldLogInAgainWhenFormHandlerSessionExpires() throws InterruptedException {
+        properties.setSessionTtl(1);
+        properties.setReauthenticate(false);
+        RemedySimulator simulator = new RemedySimulator(properties);
+        SimulatedFormHandler formHandler = new SimulatedFormHandler(simulator, "demo");
+
+        formHandler.createEntry("HPD:Help Desk", Map.of("Status", "New"));
+        Thread.sleep(5);
+        String entryId = formHandler.createEntry("HPD:Help Desk", Map.of("Status", "New"));
+
+        assertThat(formHandler.getEntry("HPD:Help Desk", entryId)).containsEntry("Status", "New");
+        assertThat(simulator.getStats().get("logins")).isGreaterThanOrEqualTo(2L);
+    }
+}